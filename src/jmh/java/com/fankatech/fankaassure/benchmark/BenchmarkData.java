@@ -0,0 +1,72 @@
+package com.fankatech.fankaassure.benchmark;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic fixtures shared by the benchmarks, so runs are comparable across commits
+final class BenchmarkData {
+
+    private static final String[] CLAIM_TYPES = {"MEDICAL", "ACCIDENT", "DEATH", "PROPERTY", "MOTOR"};
+    private static final String[] STATUSES = {"REGISTERED", "UNDER_REVIEW", "APPROVED", "REJECTED", "PAID"};
+    private static final String[] FREQUENCIES = {"MONTHLY", "QUARTERLY", "SEMI_ANNUAL", "ANNUAL"};
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static List<ClaimDTO> claims(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<ClaimDTO> claims = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDate incident = BASE_DATE.plusDays(random.nextInt(365));
+            claims.add(ClaimDTO.builder()
+                    .id((long) i)
+                    .claimNumber(String.format("CLM-%08d", i))
+                    .policyId(1L + random.nextInt(count))
+                    .policyNumber(String.format("POL-%08d", 1 + random.nextInt(count)))
+                    .customerId(1L + random.nextInt(count))
+                    .claimType(CLAIM_TYPES[random.nextInt(CLAIM_TYPES.length)])
+                    .incidentDate(incident)
+                    .claimDate(incident.plusDays(random.nextInt(30)))
+                    .claimedAmount(money(random, 500, 250_000))
+                    .description("Claim " + i + " lodged through the member portal")
+                    .provider("Provider " + random.nextInt(200))
+                    .fraudScore(random.nextInt(101))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+        }
+        return claims;
+    }
+
+    static List<PolicyDTO> policies(int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<PolicyDTO> policies = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDate start = BASE_DATE.minusDays(random.nextInt(3650));
+            policies.add(PolicyDTO.builder()
+                    .id((long) i)
+                    .policyNumber(String.format("POL-%08d", i))
+                    .customerId(1L + random.nextInt(count))
+                    .productId(1L + random.nextInt(20))
+                    .groupId(random.nextInt(4) == 0 ? 1L + random.nextInt(50) : null)
+                    .startDate(start)
+                    .endDate(start.plusYears(10))
+                    .coverAmount(money(random, 10_000, 5_000_000))
+                    .premiumAmount(money(random, 50, 5_000))
+                    .premiumFrequency(FREQUENCIES[random.nextInt(FREQUENCIES.length)])
+                    .status("ACTIVE")
+                    .build());
+        }
+        return policies;
+    }
+
+    static BigDecimal money(SplittableRandom random, int min, int max) {
+        return BigDecimal.valueOf(min * 100L + random.nextLong((max - min) * 100L), 2);
+    }
+}
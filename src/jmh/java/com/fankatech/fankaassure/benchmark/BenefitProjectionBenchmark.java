@@ -0,0 +1,60 @@
+package com.fankatech.fankaassure.benchmark;
+
+import com.fankatech.fankaassure.domain.pension.service.AnnuityFactorTable;
+import com.fankatech.fankaassure.domain.pension.service.BenefitProjectionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projection of a pension scheme cohort under one assumption set. The larger sizes cross the
+ * engine's fork/join split threshold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenefitProjectionBenchmark {
+
+    @Param({"1000", "100000"})
+    int members;
+
+    private final BenefitProjectionEngine engine = new BenefitProjectionEngine();
+    private final BenefitProjectionEngine.Assumptions assumptions =
+            new BenefitProjectionEngine.Assumptions("BASE", 0.05, 0.08, 0.06);
+    private AnnuityFactorTable factors;
+    private BenefitProjectionEngine.Cohort cohort;
+    private BenefitProjectionEngine.Result result;
+
+    @Setup
+    public void setUp() {
+        factors = AnnuityFactorTable.build(assumptions.annuityRate());
+        SplittableRandom random = new SplittableRandom(42);
+        cohort = new BenefitProjectionEngine.Cohort(members);
+        for (int i = 0; i < members; i++) {
+            byte sex = random.nextBoolean() ? AnnuityFactorTable.SEX_MALE : AnnuityFactorTable.SEX_FEMALE;
+            cohort.add(i, 20 + random.nextDouble(44), sex, 60_000 + random.nextDouble(900_000),
+                    random.nextDouble(5_000_000), 0.10 + random.nextDouble(0.10), 60 + random.nextInt(6));
+        }
+        result = new BenefitProjectionEngine.Result(members);
+    }
+
+    @Benchmark
+    public BenefitProjectionEngine.Result project() {
+        engine.project(cohort, assumptions, factors, result);
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.fankatech.fankaassure.benchmark;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON binding of the list endpoints' page responses and of a claim request body, using an
+ * {@link ObjectMapper} configured like the one Spring Boot builds for the web layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"20", "500"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ClaimDTO> claims;
+    private Page<PolicyDTO> policies;
+    private byte[] claimJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        claims = new PageImpl<>(BenchmarkData.claims(pageSize), pageable, 100_000);
+        policies = new PageImpl<>(BenchmarkData.policies(pageSize), pageable, 100_000);
+        claimJson = objectMapper.writeValueAsBytes(claims.getContent().get(0));
+    }
+
+    @Benchmark
+    public byte[] serializeClaimPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(claims);
+    }
+
+    @Benchmark
+    public byte[] serializePolicyPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(policies);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ClaimDTO deserializeClaim() throws IOException {
+        return objectMapper.readValue(claimJson, ClaimDTO.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fankatech.fankaassure.benchmark;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.util.ExcelGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.fankatech.fankaassure.util.ExcelGenerator.column;
+
+// Streaming claim export with the same columns as the claims report, written to a discarding stream
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExcelExportBenchmark {
+
+    @Param({"1000", "50000"})
+    int rows;
+
+    private final ExcelGenerator excelGenerator = new ExcelGenerator(500);
+    private final List<ExcelGenerator.Column<ClaimDTO>> columns = List.of(
+            column("Claim Number", ClaimDTO::getClaimNumber),
+            column("Policy Number", ClaimDTO::getPolicyNumber),
+            column("Customer ID", ClaimDTO::getCustomerId),
+            column("Type", ClaimDTO::getClaimType),
+            column("Incident Date", ClaimDTO::getIncidentDate),
+            column("Claim Date", ClaimDTO::getClaimDate),
+            column("Claimed Amount", ClaimDTO::getClaimedAmount),
+            column("Approved Amount", ClaimDTO::getApprovedAmount),
+            column("Status", ClaimDTO::getStatus));
+    private List<ClaimDTO> claims;
+
+    @Setup
+    public void setUp() {
+        claims = BenchmarkData.claims(rows);
+    }
+
+    @Benchmark
+    public long writeClaims() throws IOException {
+        return excelGenerator.write(OutputStream.nullOutputStream(), "Claims", columns, claims.stream());
+    }
+}
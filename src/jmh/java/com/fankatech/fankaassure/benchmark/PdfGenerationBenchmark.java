@@ -0,0 +1,65 @@
+package com.fankatech.fankaassure.benchmark;
+
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.util.PdfGenerator;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static com.fankatech.fankaassure.util.PdfGenerator.addDetail;
+
+// A policy schedule with letterhead and a precompiled conditions appendix, as served by the policy document endpoint
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfGenerationBenchmark {
+
+    private PdfGenerator pdfGenerator;
+    private PdfGenerator.Template conditions;
+    private PolicyDTO policy;
+
+    @Setup
+    public void setUp() throws IOException {
+        pdfGenerator = new PdfGenerator("FankaAssure", "1 Benchmark Road");
+        conditions = pdfGenerator.compile((document, fonts) -> {
+            document.add(new Paragraph("General Conditions", fonts.title()));
+            for (int i = 1; i <= 40; i++) {
+                document.add(new Paragraph(i + ". The insurer's liability under this section is limited to the sum "
+                        + "insured stated in the schedule, subject to the exclusions that follow.", fonts.body()));
+            }
+        });
+        policy = BenchmarkData.policies(1).get(0);
+    }
+
+    @Benchmark
+    public void renderPolicySchedule() throws IOException {
+        pdfGenerator.render(OutputStream.nullOutputStream(), "Policy " + policy.getPolicyNumber(), (document, fonts) -> {
+            document.add(new Paragraph("Policy Schedule", fonts.title()));
+            PdfPTable details = PdfGenerator.detailsTable();
+            addDetail(details, fonts, "Policy number", policy.getPolicyNumber());
+            addDetail(details, fonts, "Start date", policy.getStartDate());
+            addDetail(details, fonts, "End date", policy.getEndDate());
+            addDetail(details, fonts, "Sum insured", policy.getCoverAmount());
+            addDetail(details, fonts, "Premium", policy.getPremiumAmount());
+            addDetail(details, fonts, "Premium frequency", policy.getPremiumFrequency());
+            addDetail(details, fonts, "Status", policy.getStatus());
+            document.add(details);
+        }, conditions);
+    }
+}
@@ -0,0 +1,67 @@
+package com.fankatech.fankaassure.benchmark;
+
+import com.fankatech.fankaassure.domain.finance.repository.PremiumScheduleRepository.OpenPremium;
+import com.fankatech.fankaassure.domain.finance.service.ReconciliationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index build plus matching of a day's payments against open premiums. Payments are split
+ * across the three matching rules so each lookup path is exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReconciliationBenchmark {
+
+    @Param({"10000", "200000"})
+    int premiums;
+
+    private final ReconciliationEngine engine = new ReconciliationEngine();
+    private List<OpenPremium> open;
+    private List<ReconciliationEngine.Item> items;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        open = new ArrayList<>(premiums);
+        items = new ArrayList<>(premiums);
+        for (long i = 1; i <= premiums; i++) {
+            BigDecimal amount = BenchmarkData.money(random, 50, 5_000);
+            String policyNumber = String.format("POL-%08d", i);
+            open.add(new OpenPremium(i, i, i, policyNumber, today.minusDays(random.nextInt(31)), amount, BigDecimal.ZERO));
+            items.add(switch ((int) (i % 3)) {
+                case 0 -> new ReconciliationEngine.Item(i, null, null, i, amount, today);
+                case 1 -> new ReconciliationEngine.Item(i, "Premium " + policyNumber.toLowerCase(), null, null, amount, today);
+                default -> new ReconciliationEngine.Item(i, "EFT " + i, i, null, amount, today);
+            });
+        }
+    }
+
+    @Benchmark
+    public ReconciliationEngine.Result reconcile() {
+        ReconciliationEngine.Index index = engine.newIndex();
+        open.forEach(index::add);
+        return engine.match(index, items);
+    }
+}
@@ -0,0 +1,43 @@
+package com.fankatech.fankaassure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Broadcasts local-tier invalidations over a Redis pub/sub channel. Messages have the form
+ * {@code <nodeId>|<cacheName>|<key>}; an empty key means the whole cache was cleared.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(nodeId + "|" + cacheName + "|" + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(nodeId + "|" + cacheName + "|");
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to the local-tier TTL for this entry
+            log.warn("Could not broadcast cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+}
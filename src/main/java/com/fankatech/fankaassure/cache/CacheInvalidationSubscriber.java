@@ -0,0 +1,107 @@
+package com.fankatech.fankaassure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subscribes the cache manager to the invalidation channel. The subscription is made after
+ * startup and retried until Redis is reachable, so a node without Redis still starts and serves
+ * from its local tier alone. Once subscribed, the container reconnects by itself. Local tiers are
+ * cleared whenever a subscription is made, since invalidations sent before it were missed.
+ * Connecting blocks on Redis, so it is done without holding a lock: the scheduler runs on virtual
+ * threads, and a monitor held across the connect would pin the carrier.
+ */
+@Slf4j
+public class CacheInvalidationSubscriber implements DisposableBean {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final TwoTierCacheManager cacheManager;
+    private final String channel;
+
+    private final AtomicReference<RedisMessageListenerContainer> container = new AtomicReference<>();
+    // At most one subscription attempt at a time; the flag also publishes failureLogged between attempts
+    private final AtomicBoolean connecting = new AtomicBoolean();
+    private volatile boolean closed;
+    private boolean failureLogged;
+
+    public CacheInvalidationSubscriber(RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager,
+                                       String channel) {
+        this.connectionFactory = connectionFactory;
+        this.cacheManager = cacheManager;
+        this.channel = channel;
+    }
+
+    public boolean isSubscribed() {
+        RedisMessageListenerContainer current = container.get();
+        return current != null && current.isRunning();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${fankaassure.cache.invalidation-resubscribe-interval:PT30S}")
+    public void subscribe() {
+        if (closed || isSubscribed() || !connecting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            connect();
+        } finally {
+            connecting.set(false);
+        }
+    }
+
+    private void connect() {
+        // A container whose first subscription failed is not reused; each attempt starts afresh
+        RedisMessageListenerContainer attempt = new RedisMessageListenerContainer();
+        attempt.setConnectionFactory(connectionFactory);
+        attempt.addMessageListener(cacheManager, new ChannelTopic(channel));
+        try {
+            attempt.afterPropertiesSet();
+            attempt.start();
+        } catch (RuntimeException e) {
+            destroyQuietly(attempt);
+            if (!failureLogged) {
+                log.warn("Cache invalidation channel unavailable, local tiers rely on their TTL until Redis is reachable: {}",
+                        e.getMessage());
+                failureLogged = true;
+            }
+            return;
+        }
+        RedisMessageListenerContainer previous = container.getAndSet(attempt);
+        if (previous != null) {
+            destroyQuietly(previous);
+        }
+        // destroy() may have run while connecting; whichever side takes the container closes it
+        if (closed) {
+            if (container.compareAndSet(attempt, null)) {
+                destroyQuietly(attempt);
+            }
+            return;
+        }
+        failureLogged = false;
+        cacheManager.clearLocalTiers();
+        log.info("Subscribed to cache invalidation channel {}", channel);
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        RedisMessageListenerContainer current = container.getAndSet(null);
+        if (current != null) {
+            destroyQuietly(current);
+        }
+    }
+
+    private static void destroyQuietly(RedisMessageListenerContainer container) {
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.debug("Error while closing cache invalidation container", e);
+        }
+    }
+}
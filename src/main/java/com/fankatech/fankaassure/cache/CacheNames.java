@@ -0,0 +1,11 @@
+package com.fankatech.fankaassure.cache;
+
+public final class CacheNames {
+
+    public static final String PRODUCTS = "products";
+    public static final String PENSION_PLANS = "pensionPlans";
+    public static final String CUSTOMERS = "customers";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,178 @@
+package com.fankatech.fankaassure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * A bounded in-process cache in front of a shared Redis cache. Reads try the local tier first and
+ * populate it from Redis on a miss; evictions clear both tiers and are broadcast so every other
+ * node drops its local copy too. If Redis is unavailable the cache degrades to the local tier.
+ * The local tier holds values as JSON, so every read returns a fresh instance a caller may mutate.
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final Cache near;
+    private final Cache far;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final ObjectMapper objectMapper;
+
+    private record Frozen(Class<?> type, byte[] json) {
+    }
+
+    public TwoTierCache(String name, Cache near, Cache far, CacheInvalidationPublisher invalidationPublisher,
+                        ObjectMapper objectMapper) {
+        this.name = name;
+        this.near = near;
+        this.far = far;
+        this.invalidationPublisher = invalidationPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = nearKey(key);
+        ValueWrapper value = near.get(nearKey);
+        if (value != null) {
+            return new SimpleValueWrapper(thaw(value.get()));
+        }
+        value = farGet(key);
+        if (value != null) {
+            near.put(nearKey, freeze(value.get()));
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object stored = value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value in '" + name + "' is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // The near tier serializes concurrent loads of the same key on this node
+        return (T) thaw(near.get(nearKey(key), () -> {
+            ValueWrapper cached = farGet(key);
+            if (cached != null) {
+                return freeze(cached.get());
+            }
+            T loaded = valueLoader.call();
+            farPut(key, loaded);
+            return freeze(loaded);
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        farPut(key, value);
+        near.put(nearKey(key), freeze(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            far.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Redis evict failed for {}::{}: {}", name, key, e.getMessage());
+        }
+        near.evict(nearKey(key));
+        invalidationPublisher.publishEvict(name, nearKey(key));
+    }
+
+    @Override
+    public void clear() {
+        try {
+            far.clear();
+        } catch (RuntimeException e) {
+            log.warn("Redis clear failed for {}: {}", name, e.getMessage());
+        }
+        near.clear();
+        invalidationPublisher.publishClear(name);
+    }
+
+    // Applies an invalidation received from another node; only the local tier is affected
+    void evictLocal(String key) {
+        near.evict(key);
+    }
+
+    void clearLocal() {
+        near.clear();
+    }
+
+    private ValueWrapper farGet(Object key) {
+        try {
+            ValueWrapper value = far.get(key);
+            return value != null ? new SimpleValueWrapper(value.get()) : null;
+        } catch (RuntimeException e) {
+            log.warn("Redis read failed for {}::{}, serving from local tier: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void farPut(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            far.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Redis write failed for {}::{}: {}", name, key, e.getMessage());
+        }
+    }
+
+    private Object freeze(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new Frozen(value.getClass(), objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot cache " + value.getClass().getName() + " in '" + name + "'", e);
+        }
+    }
+
+    private Object thaw(Object stored) {
+        if (!(stored instanceof Frozen frozen)) {
+            return stored;
+        }
+        try {
+            return objectMapper.readValue(frozen.json(), frozen.type());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read cached " + frozen.type().getName() + " from '" + name + "'", e);
+        }
+    }
+
+    // Local keys are normalized to strings so invalidations received as text match typed keys
+    private static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+}
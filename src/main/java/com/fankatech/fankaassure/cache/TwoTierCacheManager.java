@@ -0,0 +1,87 @@
+package com.fankatech.fankaassure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager farCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final long nearMaximumSize;
+    private final Duration nearTimeToLive;
+    private final ObjectMapper objectMapper;
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager farCacheManager, CacheInvalidationPublisher invalidationPublisher,
+                               long nearMaximumSize, Duration nearTimeToLive, ObjectMapper objectMapper) {
+        this.farCacheManager = farCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.nearMaximumSize = nearMaximumSize;
+        this.nearTimeToLive = nearTimeToLive;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        // Puts and evictions issued inside a transaction are applied only after it commits
+        return decoratedCaches.computeIfAbsent(name,
+                n -> new TransactionAwareCacheDecorator(caches.computeIfAbsent(n, this::createCache)));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 3 || parts[0].equals(invalidationPublisher.getNodeId())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+        log.debug("Applied remote invalidation {}::{} from node {}", parts[1], parts[2], parts[0]);
+    }
+
+    // Drops every local tier, for when invalidations from other nodes may have been missed
+    public void clearLocalTiers() {
+        caches.values().forEach(TwoTierCache::clearLocal);
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache far = farCacheManager.getCache(name);
+        if (far == null) {
+            throw new IllegalArgumentException("No Redis cache configured for '" + name + "'");
+        }
+        CaffeineCache near = new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(nearMaximumSize)
+                .expireAfterWrite(nearTimeToLive)
+                .recordStats()
+                .build(), false);
+        return new TwoTierCache(name, near, far, invalidationPublisher, objectMapper);
+    }
+}
@@ -1,4 +1,78 @@
 package com.fankatech.fankaassure.config;
 
+import com.fankatech.fankaassure.cache.CacheInvalidationPublisher;
+import com.fankatech.fankaassure.cache.CacheInvalidationSubscriber;
+import com.fankatech.fankaassure.cache.CacheNames;
+import com.fankatech.fankaassure.cache.TwoTierCacheManager;
+import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@EnableCaching
 public class CacheConfig {
+
+    @Value("${fankaassure.cache.near.maximum-size:10000}")
+    private long nearMaximumSize;
+
+    @Value("${fankaassure.cache.near.time-to-live:5m}")
+    private Duration nearTimeToLive;
+
+    @Value("${fankaassure.cache.far.time-to-live:30m}")
+    private Duration farTimeToLive;
+
+    @Value("${fankaassure.cache.invalidation-channel:fankaassure:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, invalidationChannel, UUID.randomUUID().toString());
+    }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            ObjectMapper objectMapper,
+                                            CacheInvalidationPublisher cacheInvalidationPublisher) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(farTimeToLive)
+                .disableCachingNullValues()
+                .prefixCacheNameWith("fankaassure:");
+
+        RedisCacheManager farCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(Map.of(
+                        CacheNames.PRODUCTS, typed(defaults, objectMapper, InsuranceProductDTO.class),
+                        CacheNames.PENSION_PLANS, typed(defaults, objectMapper, PensionPlanDTO.class),
+                        CacheNames.CUSTOMERS, typed(defaults, objectMapper, CustomerDTO.class)))
+                .disableCreateOnMissingCache()
+                .build();
+        farCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(farCacheManager, cacheInvalidationPublisher, nearMaximumSize, nearTimeToLive, objectMapper);
+    }
+
+    @Bean
+    public CacheInvalidationSubscriber cacheInvalidationSubscriber(RedisConnectionFactory connectionFactory,
+                                                                   TwoTierCacheManager cacheManager) {
+        return new CacheInvalidationSubscriber(connectionFactory, cacheManager, invalidationChannel);
+    }
+
+    private static RedisCacheConfiguration typed(RedisCacheConfiguration defaults, ObjectMapper objectMapper, Class<?> type) {
+        return defaults.serializeValuesWith(SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, type)));
+    }
 }
@@ -0,0 +1,69 @@
+package com.fankatech.fankaassure.config;
+
+import com.fankatech.fankaassure.datasource.ReadWriteDataSource;
+import com.fankatech.fankaassure.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The primary pool from {@code spring.datasource}, plus optional read replicas from
+ * {@code fankaassure.datasource.replicas} that serve {@code @Transactional(readOnly = true)} work.
+ * Replica pools take the primary's {@code spring.datasource.hikari} settings.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaSet replicaSet(DataSourceProperties properties, Environment environment,
+                                 @Value("${fankaassure.datasource.replica-lag-query:}") String lagQuery,
+                                 @Value("${fankaassure.datasource.replica-lag-tolerance:5s}") Duration lagTolerance) {
+        Binder binder = Binder.get(environment);
+        List<ReplicaSet.Settings> settings = binder.bind("fankaassure.datasource.replicas", Bindable.listOf(ReplicaSet.Settings.class))
+                .orElse(List.of());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaSet.Settings replica : settings) {
+            String name = StringUtils.hasText(replica.name()) ? replica.name() : "replica-" + (replicas.size() + 1);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username() != null ? replica.username() : properties.determineUsername())
+                    .password(replica.password() != null ? replica.password() : properties.determinePassword())
+                    .build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+            dataSource.setPoolName(name);
+            dataSource.setReadOnly(true);
+            if (replica.maximumPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            }
+            replicas.put(name, dataSource);
+        }
+        return new ReplicaSet(replicas, StringUtils.hasText(lagQuery) ? lagQuery : ReplicaSet.POSTGRES_LAG_QUERY, lagTolerance);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, ReplicaSet replicaSet) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        if (replicaSet.isEmpty()) {
+            return primary;
+        }
+        primary.setPoolName("primary");
+        return new ReadWriteDataSource(primary, replicaSet);
+    }
+}
@@ -1,4 +1,29 @@
 package com.fankatech.fankaassure.config;
 
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+@Configuration
 public class JwtConfig {
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Bean
+    public SecretKey jwtSigningKey() {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    @Bean
+    public JwtParser jwtParser(SecretKey jwtSigningKey) {
+        return Jwts.parserBuilder().setSigningKey(jwtSigningKey).build();
+    }
 }
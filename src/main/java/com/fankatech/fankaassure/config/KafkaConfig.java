@@ -1,4 +1,149 @@
 package com.fankatech.fankaassure.config;
 
+import com.fankatech.fankaassure.domain.claims.service.ClaimProcessingRecoverer;
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingCommand;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
 public class KafkaConfig {
+
+    @Value("${fankaassure.claims.processing.topic:fankaassure.claims.processing}")
+    private String claimProcessingTopic;
+
+    @Value("${fankaassure.claims.processing.partitions:12}")
+    private int claimProcessingPartitions;
+
+    @Value("${fankaassure.claims.processing.replicas:1}")
+    private short claimProcessingReplicas;
+
+    @Value("${fankaassure.claims.processing.concurrency:4}")
+    private int claimProcessingConcurrency;
+
+    @Value("${fankaassure.events.topic:fankaassure.domain-events}")
+    private String domainEventTopic;
+
+    @Value("${fankaassure.events.partitions:12}")
+    private int domainEventPartitions;
+
+    @Value("${fankaassure.events.replicas:1}")
+    private short domainEventReplicas;
+
+    @Value("${fankaassure.events.relay.compression:lz4}")
+    private String domainEventCompression;
+
+    @Value("${fankaassure.events.relay.linger-ms:20}")
+    private int domainEventLingerMs;
+
+    @Value("${fankaassure.events.relay.producer-batch-bytes:262144}")
+    private int domainEventBatchBytes;
+
+    @Bean
+    public NewTopic claimProcessingTopic() {
+        return TopicBuilder.name(claimProcessingTopic)
+                .partitions(claimProcessingPartitions)
+                .replicas(claimProcessingReplicas)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, ClaimProcessingCommand> claimProcessingProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildProducerProperties(null));
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        // An acknowledged command must not be lost or duplicated by producer retries
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, ClaimProcessingCommand> claimProcessingKafkaTemplate(
+            ProducerFactory<String, ClaimProcessingCommand> claimProcessingProducerFactory) {
+        KafkaTemplate<String, ClaimProcessingCommand> template = new KafkaTemplate<>(claimProcessingProducerFactory);
+        template.setDefaultTopic(claimProcessingTopic);
+        return template;
+    }
+
+    @Bean
+    public ConsumerFactory<String, ClaimProcessingCommand> claimProcessingConsumerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildConsumerProperties(null));
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // A malformed record surfaces as a DeserializationException instead of stalling the partition
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>(ClaimProcessingCommand.class, false)));
+    }
+
+    /**
+     * One consumer per thread, each owning a share of the partitions; records for the same claim
+     * share a key and therefore a partition, so they are never adjudicated concurrently.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ClaimProcessingCommand> claimProcessingListenerFactory(
+            ConsumerFactory<String, ClaimProcessingCommand> claimProcessingConsumerFactory,
+            ClaimProcessingRecoverer claimProcessingRecoverer) {
+        ConcurrentKafkaListenerContainerFactory<String, ClaimProcessingCommand> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(claimProcessingConsumerFactory);
+        factory.setConcurrency(claimProcessingConcurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(claimProcessingRecoverer, new FixedBackOff(1000L, 3)));
+        return factory;
+    }
+
+    @Bean
+    public NewTopic domainEventTopic() {
+        return TopicBuilder.name(domainEventTopic)
+                .partitions(domainEventPartitions)
+                .replicas(domainEventReplicas)
+                .build();
+    }
+
+    /**
+     * Producer for the outbox relay. Payloads are already JSON in the outbox. Records are sent a
+     * batch at a time, so lingering and large compressed batches cost no latency on write paths;
+     * idempotence keeps per-partition order across retries.
+     */
+    @Bean
+    public ProducerFactory<String, String> domainEventProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildProducerProperties(null));
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, domainEventCompression);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, domainEventLingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, domainEventBatchBytes);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> domainEventKafkaTemplate(ProducerFactory<String, String> domainEventProducerFactory) {
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(domainEventProducerFactory);
+        template.setDefaultTopic(domainEventTopic);
+        return template;
+    }
 }
@@ -0,0 +1,25 @@
+package com.fankatech.fankaassure.config;
+
+import com.fankatech.fankaassure.metrics.QueryCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static so the post-processor is registered before the data source is created
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)
+                        ? new QueryCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.fankatech.fankaassure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Both use the auto-configured executor and scheduler, which run on virtual threads when spring.threads.virtual.enabled is set
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+}
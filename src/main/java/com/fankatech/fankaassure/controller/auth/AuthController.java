@@ -0,0 +1,40 @@
+package com.fankatech.fankaassure.controller.auth;
+
+import com.fankatech.fankaassure.dto.auth.LoginRequestDTO;
+import com.fankatech.fankaassure.dto.auth.TokenDTO;
+import com.fankatech.fankaassure.security.JwtTokenProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "APIs for issuing and revoking access tokens")
+public class AuthController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @PostMapping("/login")
+    @Operation(summary = "Exchange credentials for an access token")
+    public ResponseEntity<TokenDTO> login(@Valid @RequestBody LoginRequestDTO request) {
+        return ResponseEntity.ok(jwtTokenProvider.createToken(authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()))));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the access token used for this request")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        jwtTokenProvider.revoke(authorization.substring(BEARER_PREFIX.length()).strip());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,20 +2,30 @@ package com.fankatech.fankaassure.controller.claims;
 
 import com.fankatech.fankaassure.domain.claims.service.ClaimService;
 import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.claims.ClaimDocumentDTO;
 import com.fankatech.fankaassure.dto.claims.ClaimProcessingDTO;
 import com.fankatech.fankaassure.dto.claims.ClaimStatusUpdateDTO;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.util.ExcelGenerator;
+import com.fankatech.fankaassure.util.FileUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -34,7 +44,7 @@ public class ClaimController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all claims with optional filters")
+    @Operation(summary = "Get all claims with optional filters, newest first; only that sort is accepted")
     public ResponseEntity<Page<ClaimDTO>> getAllClaims(
             @RequestParam(required = false) String claimNumber,
             @RequestParam(required = false) String policyNumber,
@@ -45,6 +55,34 @@ public class ClaimController {
         return ResponseEntity.ok(claimService.getAllClaims(claimNumber, policyNumber, status, fromDate, toDate, pageable));
     }
 
+    @GetMapping("/seek")
+    @Operation(summary = "Get claims with keyset pagination; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<CursorPageDTO<ClaimDTO>> seekClaims(
+            @RequestParam(required = false) String claimNumber,
+            @RequestParam(required = false) String policyNumber,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(claimService.seekClaims(claimNumber, policyNumber, status, fromDate, toDate, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export claims to Excel")
+    public ResponseEntity<StreamingResponseBody> exportClaims(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        StreamingResponseBody body = out -> claimService.exportClaims(status, fromDate, toDate, out);
+        return ResponseEntity
+                .ok()
+                .header("Content-Type", ExcelGenerator.CONTENT_TYPE)
+                .header("Content-Disposition", "attachment; filename=claims.xlsx")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get claim by ID")
     public ResponseEntity<ClaimDTO> getClaimById(@PathVariable Long id) {
@@ -61,23 +99,33 @@ public class ClaimController {
 
     @PostMapping("/{id}/documents")
     @Operation(summary = "Upload supporting documents for a claim")
-    public ResponseEntity<ClaimDTO> uploadClaimDocuments(
+    public ResponseEntity<List<ClaimDocumentDTO>> uploadClaimDocuments(
             @PathVariable Long id,
             @RequestParam("files") List<MultipartFile> files,
             @RequestParam("documentType") String documentType) {
         return ResponseEntity.ok(claimService.addClaimDocuments(id, files, documentType));
     }
 
+    @GetMapping("/{id}/documents")
+    @Operation(summary = "List the documents of a claim")
+    public ResponseEntity<List<ClaimDocumentDTO>> getClaimDocuments(@PathVariable Long id) {
+        return ResponseEntity.ok(claimService.getClaimDocuments(id));
+    }
+
     @GetMapping("/{id}/documents/{documentId}")
-    @Operation(summary = "Download claim document")
-    public ResponseEntity<byte[]> downloadClaimDocument(
+    @Operation(summary = "Download claim document; supports Range requests")
+    public ResponseEntity<StreamingResponseBody> downloadClaimDocument(
             @PathVariable Long id,
-            @PathVariable Long documentId) {
-        byte[] document = claimService.getClaimDocument(id, documentId);
-        return ResponseEntity
-                .ok()
-                .header("Content-Type", "application/octet-stream")
-                .body(document);
+            @PathVariable Long documentId,
+            HttpServletRequest request) {
+        ClaimService.DocumentContent content = claimService.getClaimDocument(id, documentId);
+        ClaimDocumentDTO document = content.document();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(document.getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(document.getFileName(), StandardCharsets.UTF_8)
+                .build());
+        return FileUtils.serve(request, content.path(), document.getSizeBytes(), "\"" + document.getSha256() + "\"", headers);
     }
 
     @PostMapping("/{id}/process")
@@ -85,7 +133,15 @@ public class ClaimController {
     public ResponseEntity<ClaimProcessingDTO> processClaim(
             @PathVariable Long id,
             @Valid @RequestBody ClaimProcessingDTO processingDTO) {
-        return ResponseEntity.ok(claimService.processClaim(id, processingDTO));
+        ClaimProcessingDTO processing = claimService.processClaim(id, processingDTO);
+        HttpStatus status = "QUEUED".equals(processing.getStatus()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(processing);
+    }
+
+    @GetMapping("/processing/{trackingId}")
+    @Operation(summary = "Get the status of a claim processing request")
+    public ResponseEntity<ClaimProcessingDTO> getProcessingStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(claimService.getProcessingStatus(trackingId));
     }
 
     @PostMapping("/{id}/status")
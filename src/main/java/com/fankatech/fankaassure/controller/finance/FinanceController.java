@@ -1,9 +1,14 @@
 package com.fankatech.fankaassure.controller.finance;
 
 import com.fankatech.fankaassure.domain.finance.service.*;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
 import com.fankatech.fankaassure.dto.finance.PremiumDTO;
+import com.fankatech.fankaassure.dto.finance.ReminderCampaignDTO;
 import com.fankatech.fankaassure.dto.finance.PaymentDTO;
 import com.fankatech.fankaassure.dto.finance.InvoiceDTO;
+import com.fankatech.fankaassure.dto.finance.ReconciliationReportDTO;
+import com.fankatech.fankaassure.dto.finance.SuspenseItemDTO;
+import com.fankatech.fankaassure.util.ExcelGenerator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,7 +18,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -29,6 +37,7 @@ public class FinanceController {
     private final InvoiceService invoiceService;
     private final ReinsuranceService reinsuranceService;
     private final InvestmentService investmentService;
+    private final ReconciliationService reconciliationService;
 
     // Premium management endpoints
     @PostMapping("/premiums")
@@ -52,11 +61,39 @@ public class FinanceController {
         return ResponseEntity.ok(premiumService.getAllDuePremiums(fromDate, toDate, pageable));
     }
 
+    @GetMapping("/premiums/due/export")
+    @Operation(summary = "Export due premiums to Excel")
+    public ResponseEntity<StreamingResponseBody> exportDuePremiums(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        StreamingResponseBody body = out -> premiumService.exportDuePremiums(fromDate, toDate, out);
+        return ResponseEntity
+                .ok()
+                .header("Content-Type", ExcelGenerator.CONTENT_TYPE)
+                .header("Content-Disposition", "attachment; filename=due_premiums.xlsx")
+                .body(body);
+    }
+
     @PostMapping("/premiums/{id}/reminder")
-    @Operation(summary = "Send payment reminder")
+    @Operation(summary = "Queue a payment reminder")
     public ResponseEntity<Void> sendPaymentReminder(@PathVariable Long id) {
         premiumService.sendPaymentReminder(id);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/premiums/reminders/campaigns")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Queue reminders for every open premium falling due in a date range")
+    public ResponseEntity<ReminderCampaignDTO> startReminderCampaign(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(premiumService.startReminderCampaign(fromDate, toDate));
+    }
+
+    @GetMapping("/premiums/reminders/campaigns/{campaignId}")
+    @Operation(summary = "Get reminder campaign progress")
+    public ResponseEntity<ReminderCampaignDTO> getReminderCampaign(@PathVariable Long campaignId) {
+        return ResponseEntity.ok(premiumService.getReminderCampaign(campaignId));
     }
 
     // Payment management endpoints
@@ -67,7 +104,7 @@ public class FinanceController {
     }
 
     @GetMapping("/payments")
-    @Operation(summary = "Get all payments")
+    @Operation(summary = "Get all payments by payment date; only that sort is accepted")
     public ResponseEntity<Page<PaymentDTO>> getAllPayments(
             @RequestParam(required = false) String paymentReference,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
@@ -76,12 +113,63 @@ public class FinanceController {
         return ResponseEntity.ok(paymentService.getAllPayments(paymentReference, fromDate, toDate, pageable));
     }
 
+    @GetMapping("/payments/seek")
+    @Operation(summary = "Walk payments in date order with keyset pagination; pass nextCursor back as cursor")
+    public ResponseEntity<CursorPageDTO<PaymentDTO>> seekPayments(
+            @RequestParam(required = false) String paymentReference,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(paymentService.seekPayments(paymentReference, fromDate, toDate, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/payments/export")
+    @Operation(summary = "Export payments to Excel")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        StreamingResponseBody body = out -> paymentService.exportPayments(fromDate, toDate, out);
+        return ResponseEntity
+                .ok()
+                .header("Content-Type", ExcelGenerator.CONTENT_TYPE)
+                .header("Content-Disposition", "attachment; filename=payments.xlsx")
+                .body(body);
+    }
+
     @GetMapping("/payments/customer/{customerId}")
     @Operation(summary = "Get payments by customer ID")
     public ResponseEntity<List<PaymentDTO>> getPaymentsByCustomerId(@PathVariable Long customerId) {
         return ResponseEntity.ok(paymentService.getPaymentsByCustomerId(customerId));
     }
 
+    // Reconciliation endpoints
+    @PostMapping("/reconciliations")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Allocate a day's unallocated payments to open premiums")
+    public ResponseEntity<ReconciliationReportDTO> reconcilePayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(reconciliationService.reconcilePayments(date));
+    }
+
+    @PostMapping("/reconciliations/statement")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconcile a bank statement CSV (reference, date, amount) against open premiums")
+    public ResponseEntity<ReconciliationReportDTO> reconcileStatement(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "BANK_TRANSFER") String paymentMethod) {
+        return ResponseEntity.ok(reconciliationService.reconcileStatement(file, paymentMethod));
+    }
+
+    @GetMapping("/reconciliations/suspense")
+    @Operation(summary = "Get payments left in suspense for a payment date")
+    public ResponseEntity<Page<SuspenseItemDTO>> getSuspense(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            Pageable pageable) {
+        return ResponseEntity.ok(reconciliationService.getSuspense(date, pageable));
+    }
+
     // Invoice management endpoints
     @PostMapping("/invoices")
     @Operation(summary = "Generate an invoice")
@@ -1,9 +1,15 @@
 package com.fankatech.fankaassure.controller.insurance;
 
+import com.fankatech.fankaassure.domain.insurance.service.GroupRatingService;
 import com.fankatech.fankaassure.domain.insurance.service.InsuranceProductService;
 import com.fankatech.fankaassure.domain.insurance.service.PolicyService;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.dto.insurance.GroupRatingDTO;
+import com.fankatech.fankaassure.dto.insurance.GroupRatingRequestDTO;
 import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
 import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.dto.insurance.ProductRateDTO;
+import com.fankatech.fankaassure.util.PdfGenerator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,6 +32,7 @@ public class InsuranceController {
 
     private final InsuranceProductService insuranceProductService;
     private final PolicyService policyService;
+    private final GroupRatingService groupRatingService;
 
     // Product management endpoints
     @PostMapping("/products")
@@ -55,6 +63,21 @@ public class InsuranceController {
         return ResponseEntity.ok(insuranceProductService.updateProduct(id, productDTO));
     }
 
+    @GetMapping("/products/{id}/rates")
+    @Operation(summary = "Get the group rate table of a product")
+    public ResponseEntity<List<ProductRateDTO>> getProductRates(@PathVariable Long id) {
+        return ResponseEntity.ok(insuranceProductService.getProductRates(id));
+    }
+
+    @PutMapping("/products/{id}/rates")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Replace the group rate table of a product")
+    public ResponseEntity<List<ProductRateDTO>> replaceProductRates(
+            @PathVariable Long id,
+            @RequestBody List<@Valid ProductRateDTO> rates) {
+        return ResponseEntity.ok(insuranceProductService.replaceProductRates(id, rates));
+    }
+
     @DeleteMapping("/products/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete an insurance product")
@@ -63,6 +86,23 @@ public class InsuranceController {
         return ResponseEntity.noContent().build();
     }
 
+    // Group rating endpoints
+    @PostMapping("/groups/{groupId}/quote")
+    @Operation(summary = "Quote premiums for every member of a group")
+    public ResponseEntity<GroupRatingDTO> quoteGroup(
+            @PathVariable Long groupId,
+            @Valid @RequestBody GroupRatingRequestDTO request) {
+        return ResponseEntity.ok(groupRatingService.quoteGroup(groupId, request));
+    }
+
+    @PostMapping("/groups/{groupId}/policies")
+    @Operation(summary = "Issue rated policies to every member of a group")
+    public ResponseEntity<GroupRatingDTO> createGroupPolicies(
+            @PathVariable Long groupId,
+            @Valid @RequestBody GroupRatingRequestDTO request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(policyService.createGroupPolicies(groupId, request));
+    }
+
     // Policy management endpoints
     @PostMapping("/policies")
     @Operation(summary = "Create a new insurance policy")
@@ -71,7 +111,7 @@ public class InsuranceController {
     }
 
     @GetMapping("/policies")
-    @Operation(summary = "Get all insurance policies")
+    @Operation(summary = "Get all insurance policies, newest first; only that sort is accepted")
     public ResponseEntity<Page<PolicyDTO>> getAllPolicies(
             @RequestParam(required = false) String customerName,
             @RequestParam(required = false) String policyNumber,
@@ -80,6 +120,18 @@ public class InsuranceController {
         return ResponseEntity.ok(policyService.getAllPolicies(customerName, policyNumber, productCode, pageable));
     }
 
+    @GetMapping("/policies/seek")
+    @Operation(summary = "Get insurance policies with keyset pagination; pass nextCursor back as cursor")
+    public ResponseEntity<CursorPageDTO<PolicyDTO>> seekPolicies(
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String policyNumber,
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(policyService.seekPolicies(customerName, policyNumber, productCode, cursor, size, includeTotal));
+    }
+
     @GetMapping("/policies/{id}")
     @Operation(summary = "Get insurance policy by ID")
     public ResponseEntity<PolicyDTO> getPolicyById(@PathVariable Long id) {
@@ -116,11 +168,11 @@ public class InsuranceController {
 
     @GetMapping("/policies/{id}/document")
     @Operation(summary = "Generate policy document")
-    public ResponseEntity<byte[]> generatePolicyDocument(@PathVariable Long id) {
-        byte[] document = policyService.generatePolicyDocument(id);
+    public ResponseEntity<StreamingResponseBody> generatePolicyDocument(@PathVariable Long id) {
+        StreamingResponseBody document = policyService.preparePolicyDocument(id)::writeTo;
         return ResponseEntity
                 .ok()
-                .header("Content-Type", "application/pdf")
+                .header("Content-Type", PdfGenerator.CONTENT_TYPE)
                 .header("Content-Disposition", "attachment; filename=policy_" + id + ".pdf")
                 .body(document);
     }
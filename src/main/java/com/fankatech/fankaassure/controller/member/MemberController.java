@@ -1,11 +1,16 @@
 package com.fankatech.fankaassure.controller.member;
 
 import com.fankatech.fankaassure.domain.member.service.BeneficiaryService;
+import com.fankatech.fankaassure.domain.member.service.Customer360Service;
 import com.fankatech.fankaassure.domain.member.service.CustomerService;
 import com.fankatech.fankaassure.domain.member.service.GroupService;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.dto.member.Customer360DTO;
 import com.fankatech.fankaassure.dto.member.CustomerDTO;
 import com.fankatech.fankaassure.dto.member.BeneficiaryDTO;
 import com.fankatech.fankaassure.dto.member.GroupDTO;
+import com.fankatech.fankaassure.dto.member.GroupImportReportDTO;
+import com.fankatech.fankaassure.dto.member.GroupMembershipReportDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,6 +31,7 @@ import java.util.List;
 public class MemberController {
 
     private final CustomerService customerService;
+    private final Customer360Service customer360Service;
     private final BeneficiaryService beneficiaryService;
     private final GroupService groupService;
 
@@ -37,7 +43,7 @@ public class MemberController {
     }
 
     @GetMapping("/customers")
-    @Operation(summary = "Get all customers")
+    @Operation(summary = "Get all customers by id; only that sort is accepted")
     public ResponseEntity<Page<CustomerDTO>> getAllCustomers(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String idNumber,
@@ -47,12 +53,37 @@ public class MemberController {
         return ResponseEntity.ok(customerService.getAllCustomers(name, idNumber, email, phone, pageable));
     }
 
+    @GetMapping("/customers/seek")
+    @Operation(summary = "Get customers with keyset pagination; pass nextCursor back as cursor")
+    public ResponseEntity<CursorPageDTO<CustomerDTO>> seekCustomers(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String idNumber,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(customerService.seekCustomers(name, idNumber, email, phone, cursor, size, includeTotal));
+    }
+
     @GetMapping("/customers/{id}")
     @Operation(summary = "Get customer by ID")
     public ResponseEntity<CustomerDTO> getCustomerById(@PathVariable Long id) {
         return ResponseEntity.ok(customerService.getCustomerById(id));
     }
 
+    @GetMapping("/customers/{id}/360")
+    @Operation(summary = "Get a customer with their policies and latest claims and payments")
+    public ResponseEntity<Customer360DTO> getCustomer360(@PathVariable Long id) {
+        return ResponseEntity.ok(customer360Service.getCustomer360(id));
+    }
+
+    @GetMapping("/customers/360")
+    @Operation(summary = "Get the 360 view of several customers; unknown IDs are skipped")
+    public ResponseEntity<List<Customer360DTO>> getCustomers360(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(customer360Service.getCustomers360(ids));
+    }
+
     @PutMapping("/customers/{id}")
     @Operation(summary = "Update customer information")
     public ResponseEntity<CustomerDTO> updateCustomer(
@@ -106,6 +137,22 @@ public class MemberController {
         return ResponseEntity.ok(groupService.addMembersToGroup(id, customerIds));
     }
 
+    @PutMapping("/groups/{id}/members")
+    @Operation(summary = "Replace the whole membership of a group")
+    public ResponseEntity<GroupMembershipReportDTO> replaceGroupMembers(
+            @PathVariable Long id,
+            @RequestBody List<Long> customerIds) {
+        return ResponseEntity.ok(groupService.replaceGroupMembers(id, customerIds));
+    }
+
+    @PostMapping("/groups/{id}/members/remove")
+    @Operation(summary = "Remove members from a group")
+    public ResponseEntity<GroupMembershipReportDTO> removeMembersFromGroup(
+            @PathVariable Long id,
+            @RequestBody List<Long> customerIds) {
+        return ResponseEntity.ok(groupService.removeMembersFromGroup(id, customerIds));
+    }
+
     @DeleteMapping("/groups/{groupId}/members/{customerId}")
     @Operation(summary = "Remove a member from a group")
     public ResponseEntity<Void> removeMemberFromGroup(
@@ -117,7 +164,7 @@ public class MemberController {
 
     @PostMapping("/groups/import")
     @Operation(summary = "Import group members from Excel")
-    public ResponseEntity<GroupDTO> importGroupMembers(
+    public ResponseEntity<GroupImportReportDTO> importGroupMembers(
             @RequestParam Long groupId,
             @RequestParam("file") MultipartFile file) {
         return ResponseEntity.ok(groupService.importGroupMembers(groupId, file));
@@ -1,23 +1,37 @@
 package com.fankatech.fankaassure.controller.pension;
 
+import com.fankatech.fankaassure.domain.pension.service.BenefitProjectionService;
 import com.fankatech.fankaassure.domain.pension.service.ContributionService;
 import com.fankatech.fankaassure.domain.pension.service.PensionMemberService;
 import com.fankatech.fankaassure.domain.pension.service.PensionPlanService;
+import com.fankatech.fankaassure.domain.pension.service.StatementBatchService;
 import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
 import com.fankatech.fankaassure.dto.pension.PensionMemberDTO;
 import com.fankatech.fankaassure.dto.pension.ContributionDTO;
 import com.fankatech.fankaassure.dto.pension.BenefitCalculationDTO;
+import com.fankatech.fankaassure.dto.pension.ContributionBatchReportDTO;
+import com.fankatech.fankaassure.dto.pension.PlanProjectionDTO;
+import com.fankatech.fankaassure.dto.pension.ProjectionAssumptionsDTO;
+import com.fankatech.fankaassure.dto.pension.StatementRunDTO;
+import com.fankatech.fankaassure.util.PdfGenerator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,6 +43,8 @@ public class PensionController {
     private final PensionPlanService pensionPlanService;
     private final PensionMemberService pensionMemberService;
     private final ContributionService contributionService;
+    private final StatementBatchService statementBatchService;
+    private final BenefitProjectionService benefitProjectionService;
 
     // Pension Plan endpoints
     @PostMapping("/plans")
@@ -91,15 +107,39 @@ public class PensionController {
 
     @GetMapping("/members/{id}/statement")
     @Operation(summary = "Generate member statement")
-    public ResponseEntity<byte[]> generateMemberStatement(@PathVariable Long id) {
-        byte[] statement = pensionMemberService.generateMemberStatement(id);
+    public ResponseEntity<StreamingResponseBody> generateMemberStatement(@PathVariable Long id) {
+        StreamingResponseBody statement = pensionMemberService.prepareMemberStatement(id)::writeTo;
         return ResponseEntity
                 .ok()
-                .header("Content-Type", "application/pdf")
+                .header("Content-Type", PdfGenerator.CONTENT_TYPE)
                 .header("Content-Disposition", "attachment; filename=statement_" + id + ".pdf")
                 .body(statement);
     }
 
+    @PostMapping("/statements/runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Start a bulk statement run for a plan, or for every member when no plan is given")
+    public ResponseEntity<StatementRunDTO> startStatementRun(
+            @RequestParam(required = false) Long planId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate statementDate,
+            @RequestParam(required = false, defaultValue = StatementBatchService.FORMAT_DIRECTORY) String format) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(statementBatchService.startRun(planId, statementDate, format));
+    }
+
+    @GetMapping("/statements/runs/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get the progress of a bulk statement run")
+    public ResponseEntity<StatementRunDTO> getStatementRun(@PathVariable Long runId) {
+        return ResponseEntity.ok(statementBatchService.getRun(runId));
+    }
+
+    @PostMapping("/statements/runs/{runId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Resume a failed or interrupted statement run from its last checkpoint")
+    public ResponseEntity<StatementRunDTO> resumeStatementRun(@PathVariable Long runId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(statementBatchService.resumeRun(runId));
+    }
+
     // Contribution endpoints
     @PostMapping("/contributions")
     @Operation(summary = "Record a new contribution")
@@ -120,6 +160,13 @@ public class PensionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(contributionService.recordBatchContributions(contributionDTOs));
     }
 
+    @PostMapping(value = "/contributions/batch/stream",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Stream a large contribution file (JSON array or NDJSON) with chunked commits")
+    public ResponseEntity<ContributionBatchReportDTO> streamBatchContributions(InputStream body) {
+        return ResponseEntity.ok(contributionService.streamBatchContributions(body));
+    }
+
     // Benefit calculation endpoints
     @PostMapping("/benefits/calculate")
     @Operation(summary = "Calculate retirement benefits")
@@ -131,7 +178,17 @@ public class PensionController {
     @Operation(summary = "Get retirement benefits projection")
     public ResponseEntity<BenefitCalculationDTO> getBenefitsProjection(
             @PathVariable Long id,
-            @RequestParam(required = false, defaultValue = "65") int retirementAge) {
+            @RequestParam(required = false, defaultValue = "65") @Min(40) @Max(75) int retirementAge) {
         return ResponseEntity.ok(pensionMemberService.getBenefitsProjection(id, retirementAge));
     }
+
+    @PostMapping("/plans/{id}/projections")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Project retirement benefits for every member of a plan under one or more assumption sets")
+    public ResponseEntity<PlanProjectionDTO> projectPlan(
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "false") boolean includeMembers,
+            @Valid @RequestBody List<@Valid ProjectionAssumptionsDTO> scenarios) {
+        return ResponseEntity.ok(benefitProjectionService.projectPlan(id, scenarios, includeMembers));
+    }
 }
\ No newline at end of file
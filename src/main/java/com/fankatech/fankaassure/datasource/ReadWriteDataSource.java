@@ -0,0 +1,40 @@
+package com.fankatech.fankaassure.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary data source, with connections for read-only transactions taken from a
+ * {@link ReplicaSet}. Connections are fetched on first use, after the transaction manager has
+ * marked them read-only, so the choice can follow {@code @Transactional(readOnly = true)}; work
+ * outside a read-only transaction, including everything that writes, stays on the primary.
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    public ReadWriteDataSource(DataSource primary, ReplicaSet replicaSet) {
+        super(primary);
+        setReadOnlyDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return replicaSet.getConnection(primary);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        });
+    }
+
+    // The replica pools belong to the ReplicaSet bean and are closed with it
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable primary) {
+            primary.close();
+        }
+    }
+}
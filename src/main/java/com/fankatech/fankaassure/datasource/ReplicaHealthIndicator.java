@@ -0,0 +1,34 @@
+package com.fankatech.fankaassure.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Reports each replica's last probe; always UP, since reads fall back to the primary
+@Component
+@RequiredArgsConstructor
+public class ReplicaHealthIndicator implements HealthIndicator {
+
+    private final ReplicaSet replicaSet;
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up();
+        for (ReplicaSet.Status status : replicaSet.statuses()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", status.state());
+            if (status.lag() != null) {
+                details.put("lagMs", status.lag().toMillis());
+            }
+            if (status.error() != null) {
+                details.put("error", status.error());
+            }
+            health.withDetail(status.name(), details);
+        }
+        return health.build();
+    }
+}
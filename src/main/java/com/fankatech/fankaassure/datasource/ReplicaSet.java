@@ -0,0 +1,139 @@
+package com.fankatech.fankaassure.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas for read-only transactions. Every replica is probed on a schedule with a lag
+ * query; one that fails the probe, or lags the primary by more than the tolerance, is taken out
+ * of rotation until a later probe passes. Connections are handed out round-robin over the
+ * replicas in rotation, falling back to the primary when there are none.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    // Zero on a primary or a replica that has replayed everything it received
+    public static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END""";
+
+    public enum State {
+        UP, LAGGING, DOWN
+    }
+
+    // A replica as configured under fankaassure.datasource.replicas; credentials default to the primary's
+    public record Settings(String name, String url, String username, String password, Integer maximumPoolSize) {
+    }
+
+    public record Status(String name, State state, Duration lag, String error) {
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile Status status;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.status = new Status(name, State.DOWN, null, "Not checked yet");
+        }
+    }
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration lagTolerance;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<Replica> inRotation = List.of();
+
+    public ReplicaSet(Map<String, DataSource> replicas, String lagQuery, Duration lagTolerance) {
+        this.replicas = replicas.entrySet().stream()
+                .map(replica -> new Replica(replica.getKey(), replica.getValue()))
+                .toList();
+        this.lagQuery = lagQuery;
+        this.lagTolerance = lagTolerance;
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    public List<Status> statuses() {
+        return replicas.stream().map(replica -> replica.status).toList();
+    }
+
+    /**
+     * Returns a connection to a replica in rotation, or to {@code fallback} when there is none. A
+     * replica that refuses a connection is taken out of rotation until its next probe.
+     */
+    public Connection getConnection(DataSource fallback) throws SQLException {
+        List<Replica> candidates = inRotation;
+        int start = candidates.isEmpty() ? 0 : Math.floorMod(next.getAndIncrement(), candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Replica replica = candidates.get((start + i) % candidates.size());
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                update(replica, new Status(replica.name, State.DOWN, null, e.getMessage()));
+                inRotation = replicas.stream().filter(r -> r.status.state() == State.UP).toList();
+            }
+        }
+        return fallback.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${fankaassure.datasource.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        List<Replica> up = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            update(replica, probe(replica));
+            if (replica.status.state() == State.UP) {
+                up.add(replica);
+            }
+        }
+        inRotation = List.copyOf(up);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Status probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            Duration lag = rs.next() ? Duration.ofMillis(Math.round(rs.getDouble(1) * 1000)) : Duration.ZERO;
+            return new Status(replica.name, lag.compareTo(lagTolerance) > 0 ? State.LAGGING : State.UP, lag, null);
+        } catch (SQLException | RuntimeException e) {
+            return new Status(replica.name, State.DOWN, null, e.getMessage());
+        }
+    }
+
+    private static void update(Replica replica, Status status) {
+        State previous = replica.status.state();
+        replica.status = status;
+        if (status.state() == State.UP && previous != State.UP) {
+            log.info("Replica {} is in rotation (lag {} ms)", replica.name, status.lag().toMillis());
+        } else if (status.state() == State.LAGGING && previous != State.LAGGING) {
+            log.warn("Replica {} is {} ms behind the primary; reads go elsewhere until it catches up",
+                    replica.name, status.lag().toMillis());
+        } else if (status.state() == State.DOWN && previous == State.UP) {
+            log.warn("Replica {} is unavailable: {}", replica.name, status.error());
+        }
+    }
+}
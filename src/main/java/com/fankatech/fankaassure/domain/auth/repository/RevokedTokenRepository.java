@@ -0,0 +1,41 @@
+package com.fankatech.fankaassure.domain.auth.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RevokedTokenRepository {
+
+    public record RevokedToken(String tokenId, Instant expiresAt, Instant revokedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String tokenId, Instant expiresAt) {
+        jdbcTemplate.update("""
+                INSERT INTO revoked_token (token_id, expires_at) VALUES (?, ?)
+                ON CONFLICT (token_id) DO NOTHING
+                """, tokenId, Timestamp.from(expiresAt));
+    }
+
+    // Unexpired revocations recorded after the given instant, or all of them when it is null
+    public List<RevokedToken> findRevokedSince(Instant since) {
+        return jdbcTemplate.query("""
+                        SELECT token_id, expires_at, revoked_at FROM revoked_token
+                         WHERE expires_at > now() AND revoked_at > ?
+                        """,
+                (rs, rowNum) -> new RevokedToken(rs.getString("token_id"),
+                        rs.getTimestamp("expires_at").toInstant(), rs.getTimestamp("revoked_at").toInstant()),
+                Timestamp.from(since != null ? since : Instant.EPOCH));
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update("DELETE FROM revoked_token WHERE expires_at <= now()");
+    }
+}
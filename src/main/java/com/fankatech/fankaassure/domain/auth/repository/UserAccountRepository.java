@@ -0,0 +1,32 @@
+package com.fankatech.fankaassure.domain.auth.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class UserAccountRepository {
+
+    // Roles are stored comma-separated without the ROLE_ prefix, e.g. "ADMIN,USER"
+    public record UserAccount(String username, String passwordHash, String roles, boolean enabled) {
+    }
+
+    private static final RowMapper<UserAccount> ROW_MAPPER = (rs, rowNum) -> new UserAccount(
+            rs.getString("username"),
+            rs.getString("password_hash"),
+            rs.getString("roles"),
+            rs.getBoolean("enabled"));
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<UserAccount> findByUsername(String username) {
+        return namedJdbcTemplate.query("SELECT username, password_hash, roles, enabled FROM app_user WHERE username = :username",
+                        Map.of("username", username), ROW_MAPPER)
+                .stream().findFirst();
+    }
+}
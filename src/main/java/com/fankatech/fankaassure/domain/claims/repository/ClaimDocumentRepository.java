@@ -0,0 +1,56 @@
+package com.fankatech.fankaassure.domain.claims.repository;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDocumentDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+@Repository
+@RequiredArgsConstructor
+public class ClaimDocumentRepository {
+
+    private static final RowMapper<ClaimDocumentDTO> ROW_MAPPER = (rs, rowNum) -> ClaimDocumentDTO.builder()
+            .id(rs.getLong("id"))
+            .claimId(rs.getLong("claim_id"))
+            .documentType(rs.getString("document_type"))
+            .fileName(rs.getString("file_name"))
+            .contentType(rs.getString("content_type"))
+            .sizeBytes(rs.getLong("size_bytes"))
+            .sha256(rs.getString("sha256"))
+            .uploadedBy(rs.getString("uploaded_by"))
+            .uploadedAt(rs.getObject("uploaded_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClaimDocumentDTO insert(ClaimDocumentDTO document) {
+        return jdbcTemplate.queryForObject("""
+                        INSERT INTO claim_document (claim_id, document_type, file_name, content_type, size_bytes, sha256, uploaded_by)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)
+                        RETURNING *
+                        """, ROW_MAPPER,
+                document.getClaimId(), document.getDocumentType(), document.getFileName(), document.getContentType(),
+                document.getSizeBytes(), document.getSha256(), document.getUploadedBy());
+    }
+
+    public Optional<ClaimDocumentDTO> findById(Long claimId, Long id) {
+        return jdbcTemplate.query("SELECT * FROM claim_document WHERE id = ? AND claim_id = ?", ROW_MAPPER, id, claimId)
+                .stream().findFirst();
+    }
+
+    public void forEachHash(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("SELECT claim_id, sha256 FROM claim_document", rs -> {
+            consumer.accept(rs.getLong("claim_id"), rs.getString("sha256"));
+        });
+    }
+
+    public List<ClaimDocumentDTO> findByClaimId(Long claimId) {
+        return jdbcTemplate.query("SELECT * FROM claim_document WHERE claim_id = ? ORDER BY id", ROW_MAPPER, claimId);
+    }
+}
@@ -0,0 +1,72 @@
+package com.fankatech.fankaassure.domain.claims.repository;
+
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class ClaimProcessingRepository {
+
+    static final RowMapper<ClaimProcessingDTO> ROW_MAPPER = (rs, rowNum) -> ClaimProcessingDTO.builder()
+            .trackingId(rs.getString("tracking_id"))
+            .claimId(rs.getLong("claim_id"))
+            .assessedAmount(rs.getBigDecimal("assessed_amount"))
+            .notes(rs.getString("notes"))
+            .status(rs.getString("status"))
+            .decision(rs.getString("decision"))
+            .approvedAmount(rs.getBigDecimal("approved_amount"))
+            .message(rs.getString("message"))
+            .submittedAt(rs.getObject("submitted_at", LocalDateTime.class))
+            .completedAt(rs.getObject("completed_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClaimProcessingDTO insert(ClaimProcessingDTO processing) {
+        return jdbcTemplate.queryForObject("""
+                        INSERT INTO claim_processing (tracking_id, claim_id, assessed_amount, notes, status)
+                        VALUES (?, ?, ?, ?, 'QUEUED')
+                        RETURNING *
+                        """, ROW_MAPPER,
+                UUID.fromString(processing.getTrackingId()), processing.getClaimId(),
+                processing.getAssessedAmount(), processing.getNotes());
+    }
+
+    public Optional<ClaimProcessingDTO> findByTrackingId(String trackingId) {
+        return jdbcTemplate.query("SELECT * FROM claim_processing WHERE tracking_id = ?", ROW_MAPPER, UUID.fromString(trackingId))
+                .stream().findFirst();
+    }
+
+    /**
+     * Claims a queued command for processing. Returns false when it was already handled (or is
+     * being handled under another open transaction, which this call waits for), so redelivered
+     * messages are dropped.
+     */
+    public boolean tryStart(String trackingId) {
+        return jdbcTemplate.update(
+                "UPDATE claim_processing SET status = 'PROCESSING' WHERE tracking_id = ? AND status = 'QUEUED'",
+                UUID.fromString(trackingId)) > 0;
+    }
+
+    public void complete(String trackingId, String decision, BigDecimal approvedAmount, String message) {
+        jdbcTemplate.update("""
+                UPDATE claim_processing
+                   SET status = 'COMPLETED', decision = ?, approved_amount = ?, message = ?, completed_at = now()
+                 WHERE tracking_id = ?
+                """, decision, approvedAmount, message, UUID.fromString(trackingId));
+    }
+
+    public void fail(String trackingId, String message) {
+        jdbcTemplate.update(
+                "UPDATE claim_processing SET status = 'FAILED', message = ?, completed_at = now() WHERE tracking_id = ?",
+                message, UUID.fromString(trackingId));
+    }
+}
@@ -0,0 +1,212 @@
+package com.fankatech.fankaassure.domain.claims.repository;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+@RequiredArgsConstructor
+public class ClaimRepository {
+
+    static final String SELECT_WITH_POLICY = """
+            SELECT c.*, p.policy_number
+              FROM claim c
+              JOIN policy p ON p.id = c.policy_id
+            """;
+
+    static final RowMapper<ClaimDTO> ROW_MAPPER = (rs, rowNum) -> ClaimDTO.builder()
+            .id(rs.getLong("id"))
+            .claimNumber(rs.getString("claim_number"))
+            .policyId(rs.getLong("policy_id"))
+            .policyNumber(rs.getString("policy_number"))
+            .customerId(rs.getLong("customer_id"))
+            .claimType(rs.getString("claim_type"))
+            .incidentDate(rs.getObject("incident_date", LocalDate.class))
+            .claimDate(rs.getObject("claim_date", LocalDate.class))
+            .claimedAmount(rs.getBigDecimal("claimed_amount"))
+            .approvedAmount(rs.getBigDecimal("approved_amount"))
+            .description(rs.getString("description"))
+            .status(rs.getString("status"))
+            .provider(rs.getString("provider"))
+            .fraudScore(rs.getObject("fraud_score", Integer.class))
+            .fraudFlags(rs.getString("fraud_flags"))
+            .build();
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    public record Filter(String claimNumber, String policyNumber, String status, LocalDate fromDate, LocalDate toDate) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Newest first; OFFSET paging for the Pageable API
+    public List<ClaimDTO> findPage(Filter filter, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_WITH_POLICY).append(" WHERE 1 = 1");
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY c.claim_date DESC, c.id DESC LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    // Same order as findPage, continuing strictly after (claimDate, id); both null for the first page
+    public List<ClaimDTO> findAfter(Filter filter, LocalDate claimDate, Long id, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_WITH_POLICY).append(" WHERE 1 = 1");
+        appendFilter(sql, args, filter);
+        if (claimDate != null) {
+            sql.append(" AND (c.claim_date, c.id) < (?, ?)");
+            args.add(Date.valueOf(claimDate));
+            args.add(id);
+        }
+        sql.append(" ORDER BY c.claim_date DESC, c.id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public long count(Filter filter) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM claim c JOIN policy p ON p.id = c.policy_id WHERE 1 = 1");
+        appendFilter(sql, args, filter);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, Filter filter) {
+        if (filter.claimNumber() != null) {
+            sql.append(" AND c.claim_number = ?");
+            args.add(filter.claimNumber());
+        }
+        if (filter.policyNumber() != null) {
+            sql.append(" AND p.policy_number = ?");
+            args.add(filter.policyNumber());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND c.status = ?");
+            args.add(filter.status());
+        }
+        if (filter.fromDate() != null) {
+            sql.append(" AND c.claim_date >= ?");
+            args.add(Date.valueOf(filter.fromDate()));
+        }
+        if (filter.toDate() != null) {
+            sql.append(" AND c.claim_date <= ?");
+            args.add(Date.valueOf(filter.toDate()));
+        }
+    }
+
+    // The claim number is derived from the generated id
+    public ClaimDTO insert(ClaimDTO claim) {
+        return jdbcTemplate.queryForObject("""
+                        WITH seq AS (SELECT nextval(pg_get_serial_sequence('claim', 'id')) AS id),
+                             c AS (
+                                 INSERT INTO claim (id, claim_number, policy_id, customer_id, claim_type, incident_date, claim_date,
+                                                    claimed_amount, description, provider, fraud_score, fraud_flags)
+                                 SELECT seq.id, 'CLM-' || lpad(seq.id::text, 8, '0'), ?, ?, ?, ?, ?, ?,
+                                        CAST(? AS TEXT), CAST(? AS VARCHAR), CAST(? AS SMALLINT), CAST(? AS VARCHAR)
+                                   FROM seq
+                                 RETURNING *
+                             )
+                        SELECT c.*, p.policy_number FROM c JOIN policy p ON p.id = c.policy_id
+                        """, ROW_MAPPER,
+                claim.getPolicyId(), claim.getCustomerId(), claim.getClaimType(), Date.valueOf(claim.getIncidentDate()),
+                Date.valueOf(claim.getClaimDate()), claim.getClaimedAmount(), claim.getDescription(), claim.getProvider(),
+                claim.getFraudScore(), claim.getFraudFlags());
+    }
+
+    // Adds a fraud rule hit found after registration; a rule already on the claim is not counted twice
+    public void addFraudFlag(Long id, int points, String flag) {
+        jdbcTemplate.update("""
+                UPDATE claim
+                   SET fraud_score = LEAST(100, COALESCE(fraud_score, 0) + ?),
+                       fraud_flags = CASE WHEN COALESCE(fraud_flags, '') = '' THEN ? ELSE fraud_flags || ',' || ? END,
+                       updated_at = now()
+                 WHERE id = ? AND position(? IN COALESCE(fraud_flags, '')) = 0
+                """, points, flag, flag, id, flag);
+    }
+
+    public Optional<ClaimDTO> findById(Long id) {
+        return jdbcTemplate.query(SELECT_WITH_POLICY + " WHERE c.id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    // The latest perCustomer claims of each customer, newest first within each customer
+    public List<ClaimDTO> findLatestByCustomerIds(Collection<Long> customerIds, int perCustomer) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                SELECT * FROM (
+                    SELECT c.*, p.policy_number,
+                           row_number() OVER (PARTITION BY c.customer_id ORDER BY c.claim_date DESC, c.id DESC) AS rn
+                      FROM claim c
+                      JOIN policy p ON p.id = c.policy_id
+                     WHERE c.customer_id IN (%s)
+                ) latest
+                 WHERE rn <= ?
+                 ORDER BY customer_id, claim_date DESC, id DESC
+                """.formatted(String.join(", ", Collections.nCopies(customerIds.size(), "?"))),
+                ROW_MAPPER, Stream.concat(customerIds.stream(), Stream.of(perCustomer)).toArray());
+    }
+
+    // Decides only an open claim, like approve; false when it was decided meanwhile
+    public boolean updateAdjudication(Long id, String status, BigDecimal approvedAmount) {
+        return jdbcTemplate.update("""
+                UPDATE claim SET status = ?, approved_amount = ?, updated_at = now()
+                 WHERE id = ? AND status IN ('REGISTERED', 'UNDER_REVIEW')
+                """, status, approvedAmount, id) > 0;
+    }
+
+    // Approves only from an open status, so a concurrent adjudication or a second approval cannot apply twice
+    public Optional<ClaimDTO> approve(Long id, BigDecimal approvedAmount) {
+        return jdbcTemplate.query("""
+                        WITH c AS (
+                            UPDATE claim SET status = 'APPROVED', approved_amount = ?, updated_at = now()
+                             WHERE id = ? AND status IN ('REGISTERED', 'UNDER_REVIEW')
+                            RETURNING *
+                        )
+                        SELECT c.*, p.policy_number FROM c JOIN policy p ON p.id = c.policy_id
+                        """, ROW_MAPPER, approvedAmount, id).stream().findFirst();
+    }
+
+    // Same contract as PaymentRepository#streamByDateRange: call in a transaction and close the stream
+    public Stream<ClaimDTO> streamByDateRange(String status, LocalDate fromDate, LocalDate toDate) {
+        StringBuilder sql = new StringBuilder(SELECT_WITH_POLICY).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>(3);
+        if (status != null) {
+            sql.append(" AND c.status = ?");
+            args.add(status);
+        }
+        if (fromDate != null) {
+            sql.append(" AND c.claim_date >= ?");
+            args.add(Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND c.claim_date <= ?");
+            args.add(Date.valueOf(toDate));
+        }
+        sql.append(" ORDER BY c.claim_date, c.id");
+        return jdbcTemplate.queryForStream(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,130 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.domain.claims.repository.ClaimProcessingRepository;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimRepository;
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
+import com.fankatech.fankaassure.domain.insurance.repository.PolicyRepository;
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingCommand;
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Runs the adjudication steps for one processing command: cover checks against the policy,
+ * settlement amount, and auto-approval or referral. Each command is applied at most once, and
+ * only to a claim that is still open: a command queued twice, or racing a manual approval, is
+ * completed as SKIPPED without touching the claim.
+ */
+@Slf4j
+@Component
+public class ClaimAdjudicator {
+
+    private final ClaimRepository claimRepository;
+    private final ClaimProcessingRepository claimProcessingRepository;
+    private final PolicyRepository policyRepository;
+    private final EventOutbox eventOutbox;
+    private final BigDecimal autoApproveLimit;
+    private final int fraudReferScore;
+
+    public ClaimAdjudicator(ClaimRepository claimRepository,
+                            ClaimProcessingRepository claimProcessingRepository,
+                            PolicyRepository policyRepository,
+                            EventOutbox eventOutbox,
+                            @Value("${fankaassure.claims.processing.auto-approve-limit:50000}") BigDecimal autoApproveLimit,
+                            @Value("${fankaassure.claims.fraud.refer-score:60}") int fraudReferScore) {
+        this.claimRepository = claimRepository;
+        this.claimProcessingRepository = claimProcessingRepository;
+        this.policyRepository = policyRepository;
+        this.eventOutbox = eventOutbox;
+        this.autoApproveLimit = autoApproveLimit;
+        this.fraudReferScore = fraudReferScore;
+    }
+
+    private static final Set<String> OPEN_STATUSES = Set.of("REGISTERED", "UNDER_REVIEW");
+
+    private record Decision(String decision, String claimStatus, BigDecimal approvedAmount, String message) {
+    }
+
+    record ClaimApproved(Long claimId, String claimNumber, Long policyId, Long customerId,
+                         BigDecimal approvedAmount, String trackingId) {
+    }
+
+    /**
+     * Adjudicates the claim and records the outcome in one transaction. Returns empty when the
+     * command was already processed, e.g. a redelivery after a consumer rebalance.
+     */
+    @Transactional
+    public Optional<ClaimProcessingDTO> adjudicate(ClaimProcessingCommand command) {
+        if (!claimProcessingRepository.tryStart(command.getTrackingId())) {
+            log.debug("Claim processing {} already handled, skipping", command.getTrackingId());
+            return Optional.empty();
+        }
+        Optional<ClaimDTO> claim = claimRepository.findById(command.getClaimId());
+        if (claim.isEmpty()) {
+            claimProcessingRepository.fail(command.getTrackingId(), "Claim " + command.getClaimId() + " no longer exists");
+            return claimProcessingRepository.findByTrackingId(command.getTrackingId());
+        }
+
+        if (!OPEN_STATUSES.contains(claim.get().getStatus())) {
+            return skip(command, claim.get());
+        }
+
+        Decision decision = decide(claim.get(), command.getAssessedAmount());
+        if (!claimRepository.updateAdjudication(claim.get().getId(), decision.claimStatus(), decision.approvedAmount())) {
+            // Decided by another command or a manual approval since it was read
+            return skip(command, claim.get());
+        }
+        claimProcessingRepository.complete(command.getTrackingId(), decision.decision(), decision.approvedAmount(), decision.message());
+        if ("APPROVED".equals(decision.claimStatus())) {
+            ClaimDTO approved = claim.get();
+            eventOutbox.append("claim", approved.getId(), EventOutbox.CLAIM_APPROVED, new ClaimApproved(approved.getId(),
+                    approved.getClaimNumber(), approved.getPolicyId(), approved.getCustomerId(), decision.approvedAmount(),
+                    command.getTrackingId()));
+        }
+        log.info("Claim {} adjudicated: {} ({})", claim.get().getClaimNumber(), decision.decision(), decision.message());
+        return claimProcessingRepository.findByTrackingId(command.getTrackingId());
+    }
+
+    private Optional<ClaimProcessingDTO> skip(ClaimProcessingCommand command, ClaimDTO claim) {
+        claimProcessingRepository.complete(command.getTrackingId(), "SKIPPED", null,
+                "Claim " + claim.getClaimNumber() + " was already decided");
+        log.info("Claim {} already decided, processing {} skipped", claim.getClaimNumber(), command.getTrackingId());
+        return claimProcessingRepository.findByTrackingId(command.getTrackingId());
+    }
+
+    private Decision decide(ClaimDTO claim, BigDecimal assessedAmount) {
+        PolicyDTO policy = policyRepository.findById(claim.getPolicyId()).orElse(null);
+        if (policy == null || !"ACTIVE".equals(policy.getStatus())) {
+            return new Decision("REJECTED", "REJECTED", null, "Policy is not active");
+        }
+        if (claim.getIncidentDate().isBefore(policy.getStartDate())
+                || (policy.getEndDate() != null && claim.getIncidentDate().isAfter(policy.getEndDate()))) {
+            return new Decision("REJECTED", "REJECTED", null, "Incident date is outside the policy period");
+        }
+
+        if (claim.getFraudScore() != null && claim.getFraudScore() >= fraudReferScore) {
+            return new Decision("REFERRED", "UNDER_REVIEW", null,
+                    "Fraud score " + claim.getFraudScore() + " (" + claim.getFraudFlags() + ") requires manual review");
+        }
+
+        BigDecimal amount = assessedAmount != null ? assessedAmount : claim.getClaimedAmount();
+        String message = "Settled at the " + (assessedAmount != null ? "assessed" : "claimed") + " amount";
+        if (policy.getCoverAmount() != null && amount.compareTo(policy.getCoverAmount()) > 0) {
+            amount = policy.getCoverAmount();
+            message = "Settlement capped at the sum insured";
+        }
+        if (amount.compareTo(autoApproveLimit) > 0) {
+            return new Decision("REFERRED", "UNDER_REVIEW", null,
+                    "Settlement of " + amount + " exceeds the auto-approval limit; referred for manual review");
+        }
+        return new Decision("APPROVED", "APPROVED", amount, message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import java.util.List;
+
+// Published when documents are added to a claim; listeners see it after the transaction commits
+public record ClaimDocumentsStoredEvent(Long claimId, List<String> sha256s) {
+}
@@ -0,0 +1,365 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.domain.claims.repository.ClaimDocumentRepository;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimRepository;
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Rolling claim features per customer, policy, provider and claim type over the last
+ * {@value #WINDOW_DAYS} days, plus the content hash of every claim document. Loaded once at
+ * startup and then updated incrementally from commit events, so reading the features of a new
+ * claim is a few hash lookups instead of history queries. Customers and policies, which are many
+ * and mostly have a claim or two, keep sparse windows; a key is dropped once its window is empty.
+ */
+@Slf4j
+@Component
+public class ClaimFeatureStore {
+
+    static final int WINDOW_DAYS = 365;
+    static final int RECENT_DAYS = 30;
+
+    // Claim counts and amounts of one key over the window; recent = the last RECENT_DAYS days
+    public record Snapshot(int recentClaims, int claims, double totalAmount) {
+
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0);
+
+        public double meanAmount() {
+            return claims > 0 ? totalAmount / claims : 0;
+        }
+    }
+
+    public record Features(Snapshot customer, Snapshot policy, Snapshot provider, Snapshot claimType) {
+    }
+
+    private interface Window {
+
+        void add(long epochDay, double amount);
+
+        // Expires claims that have left the window as of today; an empty window can be dropped
+        Snapshot snapshot(long today);
+    }
+
+    /**
+     * The claims of one customer or policy as a small array of (day, amount) ordered by day, so a
+     * key with one or two claims a year costs a few dozen bytes. Expired claims are dropped from
+     * the front when a snapshot is taken.
+     */
+    private static final class SparseWindow implements Window {
+        private long[] days = new long[2];
+        private double[] amounts = new double[2];
+        // Live claims are [start, end)
+        private int start;
+        private int end;
+        private double totalAmount;
+
+        @Override
+        public synchronized void add(long epochDay, double amount) {
+            if (end == days.length) {
+                int live = end - start;
+                int capacity = live < days.length / 2 ? days.length : days.length * 2;
+                long[] movedDays = new long[capacity];
+                double[] movedAmounts = new double[capacity];
+                System.arraycopy(days, start, movedDays, 0, live);
+                System.arraycopy(amounts, start, movedAmounts, 0, live);
+                days = movedDays;
+                amounts = movedAmounts;
+                start = 0;
+                end = live;
+            }
+            // Claims mostly arrive in date order, so this rarely shifts
+            int i = end++;
+            while (i > start && days[i - 1] > epochDay) {
+                days[i] = days[i - 1];
+                amounts[i] = amounts[i - 1];
+                i--;
+            }
+            days[i] = epochDay;
+            amounts[i] = amount;
+            totalAmount += amount;
+        }
+
+        @Override
+        public synchronized Snapshot snapshot(long today) {
+            long cutoff = today - WINDOW_DAYS;
+            while (start < end && days[start] <= cutoff) {
+                totalAmount -= amounts[start++];
+            }
+            if (start == end) {
+                start = 0;
+                end = 0;
+                totalAmount = 0;
+                return Snapshot.EMPTY;
+            }
+            int recent = 0;
+            for (int i = end - 1; i >= start && days[i] > today - RECENT_DAYS; i--) {
+                if (days[i] <= today) {
+                    recent++;
+                }
+            }
+            return new Snapshot(recent, end - start, totalAmount);
+        }
+    }
+
+    /**
+     * One bucket of claim count and amount per day of the window, in a ring indexed by epoch day.
+     * Running totals are kept over the live buckets and buckets are expired as the window moves,
+     * so adding a claim is O(1) and a snapshot only reads the {@value #RECENT_DAYS} recent buckets.
+     * About 7 KB each, so only used for the few busy keys: providers and claim types.
+     */
+    private static final class RingWindow implements Window {
+        private static final long NO_DAY = Long.MIN_VALUE;
+
+        private final long[] days = new long[WINDOW_DAYS];
+        private final int[] counts = new int[WINDOW_DAYS];
+        private final double[] amounts = new double[WINDOW_DAYS];
+        private int claims;
+        private double totalAmount;
+        // Buckets of this day and earlier have been expired
+        private long expiredThrough = NO_DAY;
+
+        RingWindow() {
+            Arrays.fill(days, NO_DAY);
+        }
+
+        @Override
+        public synchronized void add(long epochDay, double amount) {
+            if (epochDay <= expiredThrough) {
+                return;
+            }
+            int slot = slot(epochDay);
+            if (days[slot] != epochDay) {
+                if (days[slot] > epochDay) {
+                    // The bucket already holds a day a full window later
+                    return;
+                }
+                clear(slot);
+                days[slot] = epochDay;
+            }
+            counts[slot]++;
+            amounts[slot] += amount;
+            claims++;
+            totalAmount += amount;
+        }
+
+        @Override
+        public synchronized Snapshot snapshot(long today) {
+            long cutoff = today - WINDOW_DAYS;
+            if (cutoff > expiredThrough) {
+                // After a gap of a full window every bucket is visited once
+                long from = Math.max(expiredThrough + 1, cutoff - WINDOW_DAYS + 1);
+                for (long day = from; day <= cutoff; day++) {
+                    int slot = slot(day);
+                    if (days[slot] <= cutoff) {
+                        clear(slot);
+                    }
+                }
+                expiredThrough = cutoff;
+            }
+            if (claims == 0) {
+                return Snapshot.EMPTY;
+            }
+            int recent = 0;
+            for (long day = today - RECENT_DAYS + 1; day <= today; day++) {
+                int slot = slot(day);
+                if (days[slot] == day) {
+                    recent += counts[slot];
+                }
+            }
+            return new Snapshot(recent, claims, totalAmount);
+        }
+
+        private void clear(int slot) {
+            claims -= counts[slot];
+            totalAmount -= amounts[slot];
+            days[slot] = NO_DAY;
+            counts[slot] = 0;
+            amounts[slot] = 0;
+        }
+
+        private static int slot(long epochDay) {
+            return (int) Math.floorMod(epochDay, WINDOW_DAYS);
+        }
+    }
+
+    private final ClaimRepository claimRepository;
+    private final ClaimDocumentRepository claimDocumentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Window> customers = new ConcurrentHashMap<>();
+    private final Map<Long, Window> policies = new ConcurrentHashMap<>();
+    private final Map<String, Window> providers = new ConcurrentHashMap<>();
+    private final Map<String, Window> claimTypes = new ConcurrentHashMap<>();
+    // Document content hash -> the first claim it was uploaded to
+    private final Map<String, Long> documents = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    // Claims registered while the startup load is streaming, applied once it completes
+    private List<ClaimDTO> pending = new ArrayList<>();
+
+    public ClaimFeatureStore(ClaimRepository claimRepository,
+                             ClaimDocumentRepository claimDocumentRepository,
+                             TransactionTemplate transactionTemplate) {
+        this.claimRepository = claimRepository;
+        this.claimDocumentRepository = claimDocumentRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread.ofVirtual().name("claim-feature-load").start(this::load);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClaimRegistered(ClaimRegisteredEvent event) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(event.claim());
+                return;
+            }
+        }
+        add(event.claim());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentsStored(ClaimDocumentsStoredEvent event) {
+        for (String sha256 : event.sha256s()) {
+            documents.putIfAbsent(sha256, event.claimId());
+        }
+    }
+
+    public Features features(ClaimDTO claim, LocalDate today) {
+        long day = today.toEpochDay();
+        return new Features(
+                snapshot(customers, claim.getCustomerId(), day),
+                snapshot(policies, claim.getPolicyId(), day),
+                snapshot(providers, providerKey(claim.getProvider()), day),
+                snapshot(claimTypes, claim.getClaimType(), day));
+    }
+
+    // Number of the hashes already uploaded to a different claim
+    public int foreignDocuments(Long claimId, Collection<String> sha256s) {
+        int foreign = 0;
+        for (String sha256 : sha256s) {
+            Long owner = documents.get(sha256);
+            if (owner != null && !owner.equals(claimId)) {
+                foreign++;
+            }
+        }
+        return foreign;
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        long[] loaded = {0, 0};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ClaimDTO> claims = claimRepository.streamByDateRange(null, LocalDate.now().minusDays(WINDOW_DAYS), null)) {
+                    claims.forEach(claim -> {
+                        add(claim);
+                        loaded[0] = Math.max(loaded[0], claim.getId());
+                    });
+                }
+                claimDocumentRepository.forEachHash((claimId, sha256) -> {
+                    documents.putIfAbsent(sha256, claimId);
+                    loaded[1]++;
+                });
+            });
+        } catch (RuntimeException e) {
+            log.error("Claim feature store load failed; scoring continues with incremental features only", e);
+        }
+
+        List<ClaimDTO> registered;
+        synchronized (this) {
+            registered = pending;
+            pending = null;
+        }
+        for (ClaimDTO claim : registered) {
+            if (claim.getId() > loaded[0]) {
+                add(claim);
+            }
+        }
+        ready = true;
+        log.info("Claim feature store loaded {} document hash(es) and claims up to id {} in {} ms",
+                loaded[1], loaded[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Drops the windows of keys without a claim in the window, which are never read again otherwise
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void sweep() {
+        sweep(LocalDate.now());
+    }
+
+    void sweep(LocalDate today) {
+        long day = today.toEpochDay();
+        sweep(customers, day);
+        sweep(policies, day);
+        sweep(providers, day);
+        sweep(claimTypes, day);
+    }
+
+    private static <K> void sweep(Map<K, Window> windows, long today) {
+        windows.keySet().forEach(key -> snapshot(windows, key, today));
+    }
+
+    int windowCount() {
+        return customers.size() + policies.size() + providers.size() + claimTypes.size();
+    }
+
+    private void add(ClaimDTO claim) {
+        long day = claim.getClaimDate().toEpochDay();
+        double amount = claim.getClaimedAmount().doubleValue();
+        add(customers, claim.getCustomerId(), SparseWindow::new, day, amount);
+        add(policies, claim.getPolicyId(), SparseWindow::new, day, amount);
+        add(claimTypes, claim.getClaimType(), RingWindow::new, day, amount);
+        add(providers, providerKey(claim.getProvider()), RingWindow::new, day, amount);
+    }
+
+    // Windows are added to and dropped under the map's lock for the key, so an add never lands in a dropped window
+    private static <K> void add(Map<K, Window> windows, K key, Supplier<Window> factory, long day, double amount) {
+        if (key == null) {
+            return;
+        }
+        windows.compute(key, (k, window) -> {
+            Window target = window != null ? window : factory.get();
+            target.add(day, amount);
+            return target;
+        });
+    }
+
+    private static <K> Snapshot snapshot(Map<K, Window> windows, K key, long today) {
+        if (key == null) {
+            return Snapshot.EMPTY;
+        }
+        Snapshot[] snapshot = {Snapshot.EMPTY};
+        windows.computeIfPresent(key, (k, window) -> {
+            snapshot[0] = window.snapshot(today);
+            return snapshot[0].claims() > 0 ? window : null;
+        });
+        return snapshot[0];
+    }
+
+    private static String providerKey(String provider) {
+        return provider == null || provider.isBlank() ? null : provider.trim().toUpperCase(Locale.ROOT);
+    }
+}
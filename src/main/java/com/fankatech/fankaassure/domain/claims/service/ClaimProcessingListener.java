@@ -0,0 +1,20 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingCommand;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ClaimProcessingListener {
+
+    private final ClaimAdjudicator claimAdjudicator;
+
+    @KafkaListener(topics = "${fankaassure.claims.processing.topic:fankaassure.claims.processing}",
+            groupId = "${fankaassure.claims.processing.consumer-group:fankaassure-claims}",
+            containerFactory = "claimProcessingListenerFactory")
+    public void onCommand(ClaimProcessingCommand command) {
+        claimAdjudicator.adjudicate(command);
+    }
+}
@@ -0,0 +1,31 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.domain.claims.repository.ClaimProcessingRepository;
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingCommand;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.stereotype.Component;
+
+// Called by the claim processing container's error handler once retries are exhausted
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimProcessingRecoverer implements ConsumerRecordRecoverer {
+
+    private final ClaimProcessingRepository claimProcessingRepository;
+
+    @Override
+    public void accept(ConsumerRecord<?, ?> record, Exception e) {
+        if (record.value() instanceof ClaimProcessingCommand command) {
+            log.error("Claim processing {} for claim {} failed after retries", command.getTrackingId(), command.getClaimId(), e);
+            claimProcessingRepository.fail(command.getTrackingId(),
+                    "Processing failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } else {
+            log.error("Dropping unreadable claim processing record at {}-{}@{}",
+                    record.topic(), record.partition(), record.offset(), e);
+        }
+    }
+}
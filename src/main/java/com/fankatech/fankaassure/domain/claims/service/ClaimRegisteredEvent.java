@@ -0,0 +1,7 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+
+// Published when a claim is registered; listeners see it after the transaction commits
+public record ClaimRegisteredEvent(ClaimDTO claim) {
+}
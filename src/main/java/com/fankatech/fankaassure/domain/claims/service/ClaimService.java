@@ -1,53 +1,297 @@
 package com.fankatech.fankaassure.domain.claims.service;
 
+import com.fankatech.fankaassure.domain.claims.repository.ClaimDocumentRepository;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimProcessingRepository;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimRepository;
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
 import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.claims.ClaimDocumentDTO;
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingCommand;
 import com.fankatech.fankaassure.dto.claims.ClaimProcessingDTO;
 import com.fankatech.fankaassure.dto.claims.ClaimStatusUpdateDTO;
+import com.fankatech.fankaassure.domain.insurance.service.PolicyService;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import com.fankatech.fankaassure.security.SecurityUtils;
+import com.fankatech.fankaassure.util.DocumentStore;
+import com.fankatech.fankaassure.util.ExcelGenerator;
+import com.fankatech.fankaassure.util.PageTokens;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 
+import static com.fankatech.fankaassure.util.ExcelGenerator.column;
+
+@Slf4j
 @Service
 public class ClaimService {
+
+    private static final List<ExcelGenerator.Column<ClaimDTO>> EXPORT_COLUMNS = List.of(
+            column("Claim Number", ClaimDTO::getClaimNumber),
+            column("Policy Number", ClaimDTO::getPolicyNumber),
+            column("Customer ID", ClaimDTO::getCustomerId),
+            column("Type", ClaimDTO::getClaimType),
+            column("Incident Date", ClaimDTO::getIncidentDate),
+            column("Claim Date", ClaimDTO::getClaimDate),
+            column("Claimed Amount", ClaimDTO::getClaimedAmount),
+            column("Approved Amount", ClaimDTO::getApprovedAmount),
+            column("Status", ClaimDTO::getStatus));
+
+    private static final Set<String> PROCESSABLE_STATUSES = Set.of("REGISTERED", "UNDER_REVIEW");
+
+    // Fixed order of the claim listings, newest first; see ClaimRepository#findPage
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "claimDate", "id");
+
+    private final ClaimRepository claimRepository;
+    private final ClaimProcessingRepository claimProcessingRepository;
+    private final ClaimDocumentRepository claimDocumentRepository;
+    private final DocumentStore documentStore;
+    private final ClaimAdjudicator claimAdjudicator;
+    private final PolicyService policyService;
+    private final FraudScorer fraudScorer;
+    private final ClaimFeatureStore claimFeatureStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventOutbox eventOutbox;
+    private final KafkaTemplate<String, ClaimProcessingCommand> claimProcessingKafkaTemplate;
+    private final ExcelGenerator excelGenerator;
+    private final boolean asyncProcessing;
+
+    public ClaimService(ClaimRepository claimRepository,
+                        ClaimProcessingRepository claimProcessingRepository,
+                        ClaimDocumentRepository claimDocumentRepository,
+                        DocumentStore documentStore,
+                        ClaimAdjudicator claimAdjudicator,
+                        PolicyService policyService,
+                        FraudScorer fraudScorer,
+                        ClaimFeatureStore claimFeatureStore,
+                        ApplicationEventPublisher eventPublisher,
+                        EventOutbox eventOutbox,
+                        KafkaTemplate<String, ClaimProcessingCommand> claimProcessingKafkaTemplate,
+                        ExcelGenerator excelGenerator,
+                        @Value("${fankaassure.claims.processing.async:true}") boolean asyncProcessing) {
+        this.claimRepository = claimRepository;
+        this.claimProcessingRepository = claimProcessingRepository;
+        this.claimDocumentRepository = claimDocumentRepository;
+        this.documentStore = documentStore;
+        this.claimAdjudicator = claimAdjudicator;
+        this.policyService = policyService;
+        this.fraudScorer = fraudScorer;
+        this.claimFeatureStore = claimFeatureStore;
+        this.eventPublisher = eventPublisher;
+        this.eventOutbox = eventOutbox;
+        this.claimProcessingKafkaTemplate = claimProcessingKafkaTemplate;
+        this.excelGenerator = excelGenerator;
+        this.asyncProcessing = asyncProcessing;
+    }
+
+    // The fraud score is computed before the insert from in-memory features; see FraudScorer
+    @Transactional
     public ClaimDTO registerClaim(@Valid ClaimDTO claimDTO) {
-        return null;
+        PolicyDTO policy = policyService.getPolicyById(claimDTO.getPolicyId());
+        if (!"ACTIVE".equals(policy.getStatus())) {
+            throw new BusinessException("Policy " + policy.getPolicyNumber() + " is " + policy.getStatus() + "; claims cannot be registered");
+        }
+        claimDTO.setCustomerId(policy.getCustomerId());
+        claimDTO.setClaimDate(LocalDate.now());
+        FraudScorer.Assessment assessment = fraudScorer.score(claimDTO, policy);
+        claimDTO.setFraudScore(assessment.score());
+        claimDTO.setFraudFlags(assessment.flagList());
+
+        ClaimDTO claim = claimRepository.insert(claimDTO);
+        eventPublisher.publishEvent(new ClaimRegisteredEvent(claim));
+        return claim;
     }
 
+    @Transactional(readOnly = true)
     public Page<ClaimDTO> getAllClaims(String claimNumber, String policyNumber, String status, LocalDate fromDate, LocalDate toDate, Pageable pageable) {
-        return null;
+        PageTokens.requireOrder(pageable, ORDER);
+        ClaimRepository.Filter filter = new ClaimRepository.Filter(claimNumber, policyNumber, status, fromDate, toDate);
+        List<ClaimDTO> content = claimRepository.findPage(filter, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> claimRepository.count(filter));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ClaimDTO> seekClaims(String claimNumber, String policyNumber, String status, LocalDate fromDate,
+                                              LocalDate toDate, String cursor, Integer size, boolean includeTotal) {
+        ClaimRepository.Filter filter = new ClaimRepository.Filter(claimNumber, policyNumber, status, fromDate, toDate);
+        String scope = PageTokens.scope("claims", claimNumber, policyNumber, status, fromDate, toDate);
+        String[] after = PageTokens.decode(cursor, scope, 2);
+        int limit = PageTokens.size(size);
+        List<ClaimDTO> rows = after == null
+                ? claimRepository.findAfter(filter, null, null, limit + 1)
+                : claimRepository.findAfter(filter, PageTokens.key(after[0], LocalDate::parse), PageTokens.key(after[1], Long::valueOf), limit + 1);
+        return PageTokens.page(rows, limit, scope, c -> new Object[]{c.getClaimDate(), c.getId()},
+                includeTotal ? () -> claimRepository.count(filter) : null);
     }
 
+    @Transactional(readOnly = true)
     public ClaimDTO getClaimById(Long id) {
-        return null;
+        return claimRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Claim", id));
     }
 
     public ClaimDTO updateClaim(Long id, @Valid ClaimDTO claimDTO) {
         return null;
     }
 
-    public ClaimDTO addClaimDocuments(Long id, List<MultipartFile> files, String documentType) {
-        return null;
+    public record DocumentContent(ClaimDocumentDTO document, Path path) {
     }
 
-    public byte[] getClaimDocument(Long id, Long documentId) {
-        return null;
+    /**
+     * Streams each upload into the document store; identical content is stored once. Multipart
+     * parts are spooled to disk by the container, so no file is held on the heap.
+     */
+    @Transactional
+    public List<ClaimDocumentDTO> addClaimDocuments(Long id, List<MultipartFile> files, String documentType) {
+        getClaimById(id);
+        String uploadedBy = SecurityUtils.currentUsername().orElse(null);
+        List<ClaimDocumentDTO> documents = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                throw new BusinessException("Document " + file.getOriginalFilename() + " is empty");
+            }
+            DocumentStore.StoredContent stored;
+            try (InputStream in = file.getInputStream()) {
+                stored = documentStore.store(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not store document " + file.getOriginalFilename(), e);
+            }
+            documents.add(claimDocumentRepository.insert(ClaimDocumentDTO.builder()
+                    .claimId(id)
+                    .documentType(documentType)
+                    .fileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : "document")
+                    .contentType(contentType(file))
+                    .sizeBytes(stored.size())
+                    .sha256(stored.sha256())
+                    .uploadedBy(uploadedBy)
+                    .build()));
+        }
+        List<String> hashes = documents.stream().map(ClaimDocumentDTO::getSha256).toList();
+        if (claimFeatureStore.foreignDocuments(id, hashes) > 0) {
+            claimRepository.addFraudFlag(id, FraudScorer.DUPLICATE_DOCUMENT_POINTS, FraudScorer.DUPLICATE_DOCUMENT);
+        }
+        eventPublisher.publishEvent(new ClaimDocumentsStoredEvent(id, hashes));
+        return documents;
     }
 
+    private static String contentType(MultipartFile file) {
+        try {
+            return MediaType.parseMediaType(file.getContentType()).toString();
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+
+    public List<ClaimDocumentDTO> getClaimDocuments(Long id) {
+        getClaimById(id);
+        return claimDocumentRepository.findByClaimId(id);
+    }
+
+    public DocumentContent getClaimDocument(Long id, Long documentId) {
+        ClaimDocumentDTO document = claimDocumentRepository.findById(id, documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Claim document", documentId));
+        Path path = documentStore.resolve(document.getSha256());
+        if (!Files.isReadable(path)) {
+            throw new IllegalStateException("Content " + document.getSha256() + " of claim document " + documentId + " is missing");
+        }
+        return new DocumentContent(document, path);
+    }
+
+    /**
+     * Records a processing request and hands it to the adjudication consumers, keyed by claim id
+     * so requests for one claim stay in order. The returned tracking id can be polled; in
+     * synchronous mode the claim is adjudicated before returning. The status check reads the
+     * primary, not a replica through {@link #getClaimById}, so a claim just decided is not
+     * processed again from a stale copy.
+     */
     public ClaimProcessingDTO processClaim(Long id, @Valid ClaimProcessingDTO processingDTO) {
-        return null;
+        ClaimDTO claim = claimRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Claim", id));
+        if (!PROCESSABLE_STATUSES.contains(claim.getStatus())) {
+            throw new BusinessException("Claim " + claim.getClaimNumber() + " is " + claim.getStatus() + " and cannot be processed");
+        }
+        processingDTO.setTrackingId(UUID.randomUUID().toString());
+        processingDTO.setClaimId(id);
+        ClaimProcessingDTO processing = claimProcessingRepository.insert(processingDTO);
+        ClaimProcessingCommand command = ClaimProcessingCommand.builder()
+                .trackingId(processing.getTrackingId())
+                .claimId(id)
+                .assessedAmount(processingDTO.getAssessedAmount())
+                .notes(processingDTO.getNotes())
+                .build();
+
+        if (!asyncProcessing) {
+            return claimAdjudicator.adjudicate(command).orElse(processing);
+        }
+        claimProcessingKafkaTemplate.sendDefault(String.valueOf(id), command).whenComplete((result, e) -> {
+            if (e != null) {
+                log.error("Could not enqueue claim processing {} for claim {}", command.getTrackingId(), id, e);
+                claimProcessingRepository.fail(command.getTrackingId(), "Could not enqueue: " + e.getMessage());
+            }
+        });
+        return processing;
+    }
+
+    public ClaimProcessingDTO getProcessingStatus(String trackingId) {
+        try {
+            UUID.fromString(trackingId);
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("Claim processing", trackingId);
+        }
+        return claimProcessingRepository.findByTrackingId(trackingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Claim processing", trackingId));
     }
 
     public ClaimDTO updateClaimStatus(Long id, @Valid ClaimStatusUpdateDTO statusUpdateDTO) {
         return null;
     }
 
+    /**
+     * Manual approval of a claim still open for adjudication, at the claimed amount capped at the
+     * sum insured. Emits the same ClaimApproved event as automatic adjudication, without a tracking id.
+     */
+    @Transactional
     public ClaimDTO approveClaim(Long id, String notes) {
-        return null;
+        ClaimDTO claim = getClaimById(id);
+        PolicyDTO policy = policyService.getPolicyById(claim.getPolicyId());
+        BigDecimal amount = claim.getClaimedAmount();
+        if (policy.getCoverAmount() != null && amount.compareTo(policy.getCoverAmount()) > 0) {
+            amount = policy.getCoverAmount();
+        }
+        ClaimDTO approved = claimRepository.approve(id, amount)
+                .orElseThrow(() -> new BusinessException("Claim " + claim.getClaimNumber() + " is " + claim.getStatus() + " and cannot be approved"));
+        eventOutbox.append("claim", approved.getId(), EventOutbox.CLAIM_APPROVED, new ClaimAdjudicator.ClaimApproved(approved.getId(),
+                approved.getClaimNumber(), approved.getPolicyId(), approved.getCustomerId(), amount, null));
+        log.info("Claim {} approved manually at {}{}", approved.getClaimNumber(), amount, notes != null ? " (" + notes + ")" : "");
+        return approved;
     }
 
     public ClaimDTO rejectClaim(Long id, String rejectionReason) {
@@ -58,7 +302,20 @@ public class ClaimService {
         return null;
     }
 
+    @Transactional(readOnly = true)
     public List<ClaimDTO> getClaimsByCustomerId(Long customerId) {
-        return null;
+        return claimRepository.findLatestByCustomerIds(List.of(customerId), Integer.MAX_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> getLatestClaimsByCustomerIds(Collection<Long> customerIds, int perCustomer) {
+        return claimRepository.findLatestByCustomerIds(customerIds, perCustomer);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportClaims(String status, LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException {
+        try (Stream<ClaimDTO> claims = claimRepository.streamByDateRange(status, fromDate, toDate)) {
+            return excelGenerator.write(out, "Claims", EXPORT_COLUMNS, claims);
+        }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rule-based fraud score (0-100) for a claim at intake. Every rule reads precomputed features
+ * from {@link ClaimFeatureStore} and the policy already loaded for the claim, so scoring does no
+ * I/O; a score slower than the configured budget is logged.
+ */
+@Slf4j
+@Component
+public class FraudScorer {
+
+    public static final String DUPLICATE_DOCUMENT = "DUPLICATE_DOCUMENT";
+    public static final int DUPLICATE_DOCUMENT_POINTS = 30;
+
+    // A claim-type mean is only trusted once this many claims of the type are in the window
+    private static final int MIN_TYPE_SAMPLES = 20;
+
+    public record Assessment(int score, List<String> flags) {
+
+        public String flagList() {
+            return flags.isEmpty() ? null : String.join(",", flags);
+        }
+    }
+
+    private final ClaimFeatureStore claimFeatureStore;
+    private final long budgetNanos;
+
+    public FraudScorer(ClaimFeatureStore claimFeatureStore,
+                       @Value("${fankaassure.claims.fraud.scoring-budget:1ms}") Duration scoringBudget) {
+        this.claimFeatureStore = claimFeatureStore;
+        this.budgetNanos = scoringBudget.toNanos();
+    }
+
+    public Assessment score(ClaimDTO claim, PolicyDTO policy) {
+        long started = System.nanoTime();
+        LocalDate today = claim.getClaimDate() != null ? claim.getClaimDate() : LocalDate.now();
+        ClaimFeatureStore.Features features = claimFeatureStore.features(claim, today);
+        double amount = claim.getClaimedAmount().doubleValue();
+        List<String> flags = new ArrayList<>(4);
+        int score = 0;
+
+        long policyAgeDays = ChronoUnit.DAYS.between(policy.getStartDate(), claim.getIncidentDate());
+        if (policyAgeDays < 30) {
+            score += 25;
+            flags.add("EARLY_CLAIM");
+        } else if (policyAgeDays < 90) {
+            score += 10;
+            flags.add("EARLY_CLAIM");
+        }
+        if (ChronoUnit.DAYS.between(claim.getIncidentDate(), today) > 90) {
+            score += 5;
+            flags.add("LATE_NOTIFICATION");
+        }
+        if (features.customer().recentClaims() >= 2) {
+            score += 15;
+            flags.add("CUSTOMER_RECENT_CLAIMS");
+        }
+        if (features.customer().claims() >= 3) {
+            score += 15;
+            flags.add("FREQUENT_CLAIMANT");
+        }
+        if (features.policy().recentClaims() >= 1) {
+            score += 10;
+            flags.add("REPEATED_POLICY_CLAIM");
+        }
+        if (policy.getCoverAmount() != null && amount >= policy.getCoverAmount().doubleValue() * 0.9) {
+            score += 15;
+            flags.add("NEAR_SUM_INSURED");
+        }
+        ClaimFeatureStore.Snapshot type = features.claimType();
+        if (type.claims() >= MIN_TYPE_SAMPLES && amount > type.meanAmount() * 3) {
+            score += 15;
+            flags.add("AMOUNT_OUTLIER");
+        }
+        ClaimFeatureStore.Snapshot provider = features.provider();
+        if (provider.claims() >= MIN_TYPE_SAMPLES && provider.recentClaims() * 12 > provider.claims() * 3) {
+            // A provider billing at more than three times its yearly rate this month
+            score += 10;
+            flags.add("PROVIDER_SPIKE");
+        }
+
+        long elapsed = System.nanoTime() - started;
+        if (elapsed > budgetNanos) {
+            log.warn("Fraud scoring of a claim on policy {} took {} µs, over the {} µs budget",
+                    policy.getPolicyNumber(), elapsed / 1000, budgetNanos / 1000);
+        }
+        return new Assessment(Math.min(score, 100), flags);
+    }
+}
@@ -0,0 +1,63 @@
+package com.fankatech.fankaassure.domain.events.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxRepository {
+
+    // Key of the transaction-scoped advisory lock held by the relay draining the outbox
+    private static final long RELAY_LOCK_KEY = 0x6576656e74L;
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    public record OutboxEvent(Long id, String aggregateType, String aggregateId, String eventType,
+                              String payload, LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO event_outbox (aggregate_type, aggregate_id, event_type, payload)
+                        VALUES (?, ?, ?, CAST(? AS JSONB))
+                        """, events, events.size(), (ps, event) -> {
+                    ps.setString(1, event.aggregateType());
+                    ps.setString(2, event.aggregateId());
+                    ps.setString(3, event.eventType());
+                    ps.setString(4, event.payload());
+                });
+    }
+
+    // Only one relay may drain at a time, otherwise two instances could publish one aggregate's events out of order
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    public List<OutboxEvent> findBatch(int limit) {
+        return jdbcTemplate.query("SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at "
+                + "FROM event_outbox ORDER BY id LIMIT ?", ROW_MAPPER, limit);
+    }
+
+    // By id rather than up to the highest id: a transaction holding a lower id may commit after the batch was read
+    public void deleteAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM event_outbox WHERE id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")", ids.toArray());
+    }
+}
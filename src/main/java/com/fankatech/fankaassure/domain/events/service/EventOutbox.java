@@ -0,0 +1,55 @@
+package com.fankatech.fankaassure.domain.events.service;
+
+import com.fankatech.fankaassure.domain.events.repository.EventOutboxRepository;
+import com.fankatech.fankaassure.domain.events.repository.EventOutboxRepository.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Records domain events in {@code event_outbox}. Callers must already be in the transaction of
+ * the change the event describes, so the event is stored if and only if the change commits;
+ * {@link EventOutboxRelay} publishes it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    public static final String POLICY_CREATED = "PolicyCreated";
+    public static final String CLAIM_APPROVED = "ClaimApproved";
+    public static final String PAYMENT_RECORDED = "PaymentRecorded";
+    public static final String CONTRIBUTION_RECORDED = "ContributionRecorded";
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        eventOutboxRepository.insertAll(List.of(event(aggregateType, aggregateId, eventType, payload)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void appendAll(String aggregateType, Function<T, Object> aggregateId, String eventType, List<T> payloads) {
+        List<OutboxEvent> events = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            events.add(event(aggregateType, aggregateId.apply(payload), eventType, payload));
+        }
+        eventOutboxRepository.insertAll(events);
+    }
+
+    private OutboxEvent event(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        try {
+            return new OutboxEvent(null, aggregateType, String.valueOf(aggregateId), eventType,
+                    objectMapper.writeValueAsString(payload), null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + eventType + " event", e);
+        }
+    }
+}
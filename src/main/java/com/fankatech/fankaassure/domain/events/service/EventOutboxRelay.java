@@ -0,0 +1,107 @@
+package com.fankatech.fankaassure.domain.events.service;
+
+import com.fankatech.fankaassure.domain.events.repository.EventOutboxRepository;
+import com.fankatech.fankaassure.domain.events.repository.EventOutboxRepository.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the event outbox to Kafka. Each batch is read, sent without waiting per record (the
+ * producer batches and compresses them), flushed, and deleted only once every record is
+ * acknowledged, all under a transaction-scoped advisory lock so a single relay drains at a time.
+ * Records are keyed by aggregate, so one aggregate's events land on one partition in outbox
+ * order. Delivery is at least once; consumers deduplicate on the {@code eventId} header.
+ */
+@Slf4j
+@Component
+public class EventOutboxRelay {
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final KafkaTemplate<String, String> domainEventKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    public EventOutboxRelay(EventOutboxRepository eventOutboxRepository,
+                            KafkaTemplate<String, String> domainEventKafkaTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${fankaassure.events.relay.batch-size:1000}") int batchSize,
+                            @Value("${fankaassure.events.relay.send-timeout:30s}") Duration sendTimeout) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.domainEventKafkaTemplate = domainEventKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${fankaassure.events.relay.poll-interval:PT1S}")
+    public void relay() {
+        long published = 0;
+        try {
+            Integer count;
+            while ((count = transactionTemplate.execute(status -> relayBatch())) != null && count > 0) {
+                published += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Event relay stopped after {} event(s), the rest is retried on the next poll", published, e);
+            return;
+        }
+        if (published > 0) {
+            log.debug("Relayed {} domain event(s)", published);
+        }
+    }
+
+    private int relayBatch() {
+        if (!eventOutboxRepository.tryLockRelay()) {
+            return 0;
+        }
+        List<OutboxEvent> events = eventOutboxRepository.findBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        String topic = domainEventKafkaTemplate.getDefaultTopic();
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(topic,
+                    event.aggregateType() + "-" + event.aggregateId(), event.payload());
+            record.headers()
+                    .add("eventId", String.valueOf(event.id()).getBytes(StandardCharsets.UTF_8))
+                    .add("eventType", event.eventType().getBytes(StandardCharsets.UTF_8))
+                    .add("occurredAt", event.createdAt().toString().getBytes(StandardCharsets.UTF_8));
+            sends.add(domainEventKafkaTemplate.send(record));
+            ids.add(event.id());
+        }
+        domainEventKafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying domain events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Could not publish " + events.size() + " domain event(s)", e);
+        }
+        eventOutboxRepository.deleteAll(ids);
+        return events.size();
+    }
+}
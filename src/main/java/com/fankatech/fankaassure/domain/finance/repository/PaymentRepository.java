@@ -0,0 +1,235 @@
+package com.fankatech.fankaassure.domain.finance.repository;
+
+import com.fankatech.fankaassure.dto.finance.PaymentDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentRepository {
+
+    static final RowMapper<PaymentDTO> ROW_MAPPER = (rs, rowNum) -> PaymentDTO.builder()
+            .id(rs.getLong("id"))
+            .paymentReference(rs.getString("payment_reference"))
+            .customerId(rs.getLong("customer_id"))
+            .policyId(rs.getObject("policy_id", Long.class))
+            .premiumId(rs.getObject("premium_id", Long.class))
+            .amount(rs.getBigDecimal("amount"))
+            .paymentDate(rs.getObject("payment_date", LocalDate.class))
+            .paymentMethod(rs.getString("payment_method"))
+            .status(rs.getString("status"))
+            .build();
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    // Class id of the transaction-scoped advisory locks serializing statement postings per payment date
+    private static final int STATEMENT_LOCK_CLASS = 0x73746d74;
+
+    public record Filter(String paymentReference, LocalDate fromDate, LocalDate toDate) {
+    }
+
+    public record Allocation(long paymentId, long policyId, long premiumId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentDTO insert(PaymentDTO payment) {
+        return jdbcTemplate.queryForObject("""
+                        INSERT INTO payment (payment_reference, customer_id, policy_id, premium_id, amount, payment_date, payment_method, status)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, COALESCE(?, 'RECEIVED'))
+                        RETURNING *
+                        """, ROW_MAPPER,
+                payment.getPaymentReference(), payment.getCustomerId(), payment.getPolicyId(), payment.getPremiumId(),
+                payment.getAmount(), Date.valueOf(payment.getPaymentDate()), payment.getPaymentMethod(), payment.getStatus());
+    }
+
+    // Reserves the ids up front and sets them on the payments, so callers can reference the new rows
+    public void batchInsert(List<PaymentDTO> payments) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT nextval(pg_get_serial_sequence('payment', 'id')) FROM generate_series(1, ?)",
+                Long.class, payments.size());
+        for (int i = 0; i < payments.size(); i++) {
+            payments.get(i).setId(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO payment (id, payment_reference, customer_id, policy_id, premium_id, amount, payment_date, payment_method, status)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """, payments, payments.size(), (ps, payment) -> {
+                    ps.setLong(1, payment.getId());
+                    ps.setString(2, payment.getPaymentReference());
+                    ps.setLong(3, payment.getCustomerId());
+                    ps.setObject(4, payment.getPolicyId());
+                    ps.setObject(5, payment.getPremiumId());
+                    ps.setBigDecimal(6, payment.getAmount());
+                    ps.setDate(7, Date.valueOf(payment.getPaymentDate()));
+                    ps.setString(8, payment.getPaymentMethod());
+                    ps.setString(9, payment.getStatus());
+                });
+    }
+
+    // Payments of the day not yet allocated to a premium, including those left in suspense by an earlier run
+    public List<PaymentDTO> findUnallocated(LocalDate paymentDate) {
+        return jdbcTemplate.query("""
+                        SELECT * FROM payment
+                         WHERE payment_date = ? AND premium_id IS NULL AND status IN ('RECEIVED', 'SUSPENSE')
+                         ORDER BY id
+                        """, ROW_MAPPER, Date.valueOf(paymentDate));
+    }
+
+    /**
+     * Locks the given payments until the end of the transaction and returns those still
+     * unallocated. A concurrent run blocks here and then sees the allocation committed by the first.
+     */
+    public Set<Long> lockUnallocated(Collection<Long> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                        SELECT id FROM payment
+                         WHERE id IN (%s) AND premium_id IS NULL
+                         ORDER BY id
+                           FOR UPDATE
+                        """.formatted(String.join(", ", Collections.nCopies(paymentIds.size(), "?"))),
+                Long.class, paymentIds.toArray()));
+    }
+
+    // Serializes statement postings that touch the same payment dates until the end of the transaction
+    public void lockStatementDates(Collection<LocalDate> paymentDates) {
+        paymentDates.stream().distinct().sorted().forEach(date ->
+                jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)", STATEMENT_LOCK_CLASS, (int) date.toEpochDay()));
+    }
+
+    public void allocate(List<Allocation> allocations) {
+        jdbcTemplate.batchUpdate("UPDATE payment SET policy_id = ?, premium_id = ?, status = 'ALLOCATED' WHERE id = ? AND premium_id IS NULL",
+                allocations.stream().map(a -> new Object[]{a.policyId(), a.premiumId(), a.paymentId()}).toList());
+    }
+
+    public void markSuspense(List<Long> paymentIds) {
+        jdbcTemplate.batchUpdate("UPDATE payment SET status = 'SUSPENSE' WHERE id = ? AND premium_id IS NULL",
+                paymentIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    // reference|date|amount of every payment in the range, to detect statement lines posted before
+    public Set<String> findKeys(LocalDate fromDate, LocalDate toDate) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query("SELECT payment_reference, payment_date, amount FROM payment WHERE payment_date BETWEEN ? AND ?",
+                rs -> {
+                    keys.add(key(rs.getString("payment_reference"), rs.getObject("payment_date", LocalDate.class),
+                            rs.getBigDecimal("amount")));
+                }, Date.valueOf(fromDate), Date.valueOf(toDate));
+        return keys;
+    }
+
+    public static String key(String paymentReference, LocalDate paymentDate, BigDecimal amount) {
+        return paymentReference + "|" + paymentDate + "|" + amount.stripTrailingZeros().toPlainString();
+    }
+
+    // The latest perCustomer payments of each customer, newest first within each customer
+    public List<PaymentDTO> findLatestByCustomerIds(Collection<Long> customerIds, int perCustomer) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                SELECT * FROM (
+                    SELECT p.*, row_number() OVER (PARTITION BY p.customer_id ORDER BY p.payment_date DESC, p.id DESC) AS rn
+                      FROM payment p
+                     WHERE p.customer_id IN (%s)
+                ) latest
+                 WHERE rn <= ?
+                 ORDER BY customer_id, payment_date DESC, id DESC
+                """.formatted(String.join(", ", Collections.nCopies(customerIds.size(), "?"))),
+                ROW_MAPPER, Stream.concat(customerIds.stream(), Stream.of(perCustomer)).toArray());
+    }
+
+    public List<PaymentDTO> findPage(Filter filter, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM payment WHERE 1 = 1");
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY payment_date, id LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    // Continues strictly after (paymentDate, id) along idx_payment_date; both null for the first page
+    public List<PaymentDTO> findAfter(Filter filter, LocalDate paymentDate, Long id, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM payment WHERE 1 = 1");
+        appendFilter(sql, args, filter);
+        if (paymentDate != null) {
+            sql.append(" AND (payment_date, id) > (?, ?)");
+            args.add(Date.valueOf(paymentDate));
+            args.add(id);
+        }
+        sql.append(" ORDER BY payment_date, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public long count(Filter filter) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM payment WHERE 1 = 1");
+        appendFilter(sql, args, filter);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, Filter filter) {
+        if (filter.paymentReference() != null) {
+            sql.append(" AND payment_reference = ?");
+            args.add(filter.paymentReference());
+        }
+        if (filter.fromDate() != null) {
+            sql.append(" AND payment_date >= ?");
+            args.add(Date.valueOf(filter.fromDate()));
+        }
+        if (filter.toDate() != null) {
+            sql.append(" AND payment_date <= ?");
+            args.add(Date.valueOf(filter.toDate()));
+        }
+    }
+
+    /**
+     * Streams payments in date order through a server-side cursor. Must be called inside a
+     * transaction (the PostgreSQL driver only honours the fetch size with auto-commit off) and
+     * the returned stream must be closed.
+     */
+    public Stream<PaymentDTO> streamByDateRange(LocalDate fromDate, LocalDate toDate) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM payment WHERE 1 = 1");
+        List<Object> args = new ArrayList<>(2);
+        if (fromDate != null) {
+            sql.append(" AND payment_date >= ?");
+            args.add(Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND payment_date <= ?");
+            args.add(Date.valueOf(toDate));
+        }
+        sql.append(" ORDER BY payment_date, id");
+        return jdbcTemplate.queryForStream(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,78 @@
+package com.fankatech.fankaassure.domain.finance.repository;
+
+import com.fankatech.fankaassure.dto.finance.SuspenseItemDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class PaymentSuspenseRepository {
+
+    private static final RowMapper<SuspenseItemDTO> ROW_MAPPER = (rs, rowNum) -> SuspenseItemDTO.builder()
+            .id(rs.getLong("id"))
+            .paymentId(rs.getObject("payment_id", Long.class))
+            .paymentReference(rs.getString("payment_reference"))
+            .amount(rs.getBigDecimal("amount"))
+            .paymentDate(rs.getObject("payment_date", LocalDate.class))
+            .reason(rs.getString("reason"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .build();
+
+    // Identifies a statement line, which has no payment row until it is matched
+    public record LineKey(String paymentReference, LocalDate paymentDate, BigDecimal amount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<SuspenseItemDTO> items) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO payment_suspense (payment_id, payment_reference, amount, payment_date, reason)
+                        VALUES (?, ?, ?, ?, ?)
+                        """, items, items.size(), (ps, item) -> {
+                    ps.setObject(1, item.getPaymentId());
+                    ps.setString(2, item.getPaymentReference());
+                    ps.setBigDecimal(3, item.getAmount());
+                    ps.setDate(4, Date.valueOf(item.getPaymentDate()));
+                    ps.setString(5, item.getReason());
+                });
+    }
+
+    // Suspense entries of payments about to be reconciled again
+    public void deleteUnallocated(LocalDate paymentDate) {
+        jdbcTemplate.update("""
+                DELETE FROM payment_suspense
+                 WHERE payment_id IN (SELECT id FROM payment WHERE payment_date = ? AND premium_id IS NULL)
+                """, Date.valueOf(paymentDate));
+    }
+
+    // Suspense entries left by an earlier upload of the same statement lines, matched on reference, date and amount
+    public void deleteStatementLines(List<LineKey> lines) {
+        jdbcTemplate.batchUpdate("""
+                        DELETE FROM payment_suspense
+                         WHERE payment_id IS NULL AND payment_reference = ? AND payment_date = ? AND amount = ?
+                        """, lines, lines.size(), (ps, line) -> {
+                    ps.setString(1, line.paymentReference());
+                    ps.setDate(2, Date.valueOf(line.paymentDate()));
+                    ps.setBigDecimal(3, line.amount());
+                });
+    }
+
+    public List<SuspenseItemDTO> findByDate(LocalDate paymentDate, long offset, int limit) {
+        return jdbcTemplate.query("SELECT * FROM payment_suspense WHERE payment_date = ? ORDER BY id LIMIT ? OFFSET ?",
+                ROW_MAPPER, Date.valueOf(paymentDate), limit, offset);
+    }
+
+    public long countByDate(LocalDate paymentDate) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM payment_suspense WHERE payment_date = ?",
+                Long.class, Date.valueOf(paymentDate));
+        return count != null ? count : 0;
+    }
+}
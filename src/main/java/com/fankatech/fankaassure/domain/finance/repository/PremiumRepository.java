@@ -0,0 +1,120 @@
+package com.fankatech.fankaassure.domain.finance.repository;
+
+import com.fankatech.fankaassure.dto.finance.PremiumDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class PremiumRepository {
+
+    static final String SELECT_WITH_POLICY = """
+            SELECT pr.*, p.policy_number
+              FROM premium pr
+              JOIN policy p ON p.id = pr.policy_id
+            """;
+
+    static final RowMapper<PremiumDTO> ROW_MAPPER = (rs, rowNum) -> PremiumDTO.builder()
+            .id(rs.getLong("id"))
+            .policyId(rs.getLong("policy_id"))
+            .policyNumber(rs.getString("policy_number"))
+            .dueDate(rs.getObject("due_date", LocalDate.class))
+            .amount(rs.getBigDecimal("amount"))
+            .paidAmount(rs.getBigDecimal("paid_amount"))
+            .status(rs.getString("status"))
+            .paidDate(rs.getObject("paid_date", LocalDate.class))
+            .build();
+
+    // A payment applied to a premium whose paid amount was expectedPaidAmount when it was read
+    public record PaymentApplication(long premiumId, BigDecimal expectedPaidAmount, BigDecimal paidAmount,
+                                     String status, LocalDate paidDate) {
+    }
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<PremiumDTO> findById(Long id) {
+        return jdbcTemplate.query(SELECT_WITH_POLICY + " WHERE pr.id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public PremiumDTO insert(PremiumDTO premium) {
+        return jdbcTemplate.queryForObject("""
+                        WITH pr AS (
+                            INSERT INTO premium (policy_id, due_date, amount, paid_amount, status)
+                            VALUES (?, ?, ?, 0, 'DUE')
+                            RETURNING *
+                        )
+                        SELECT pr.*, p.policy_number FROM pr JOIN policy p ON p.id = pr.policy_id
+                        """, ROW_MAPPER,
+                premium.getPolicyId(), Date.valueOf(premium.getDueDate()), premium.getAmount());
+    }
+
+    // Ids are drawn from the sequence in one query up front, so the instalments go out as one batch
+    public void insertAll(List<PremiumDTO> premiums) {
+        if (premiums.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT nextval(pg_get_serial_sequence('premium', 'id')) FROM generate_series(1, ?)",
+                Long.class, premiums.size());
+        for (int i = 0; i < premiums.size(); i++) {
+            PremiumDTO premium = premiums.get(i);
+            premium.setId(ids.get(i));
+            premium.setPaidAmount(BigDecimal.ZERO);
+            premium.setStatus("DUE");
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO premium (id, policy_id, due_date, amount, paid_amount, status) VALUES (?, ?, ?, ?, 0, 'DUE')",
+                premiums, WRITE_BATCH_SIZE, (ps, premium) -> {
+                    ps.setLong(1, premium.getId());
+                    ps.setLong(2, premium.getPolicyId());
+                    ps.setObject(3, Date.valueOf(premium.getDueDate()));
+                    ps.setBigDecimal(4, premium.getAmount());
+                });
+    }
+
+    /**
+     * Adds a payment to an open instalment and settles it once fully paid. Returns the updated
+     * premium, or empty if the premium is not open; the row lock serializes concurrent payments.
+     */
+    public Optional<PremiumDTO> applyPayment(Long id, BigDecimal amount, LocalDate paidDate) {
+        return jdbcTemplate.query("""
+                        WITH pr AS (
+                            UPDATE premium
+                               SET paid_amount = paid_amount + ?,
+                                   status = CASE WHEN paid_amount + ? >= amount THEN 'PAID' ELSE 'PARTIAL' END,
+                                   paid_date = ?
+                             WHERE id = ? AND status IN ('DUE', 'PARTIAL')
+                            RETURNING *
+                        )
+                        SELECT pr.*, p.policy_number FROM pr JOIN policy p ON p.id = pr.policy_id
+                        """, ROW_MAPPER, amount, amount, Date.valueOf(paidDate), id)
+                .stream().findFirst();
+    }
+
+    public int cancelOpenByPolicy(Long policyId) {
+        return jdbcTemplate.update("UPDATE premium SET status = 'CANCELLED' WHERE policy_id = ? AND status IN ('DUE', 'PARTIAL')",
+                policyId);
+    }
+
+    /**
+     * Applies payments computed from a snapshot of the premiums. Each update only succeeds if the
+     * premium is still open with the expected paid amount; a zero in the returned counts means
+     * the premium changed since it was read.
+     */
+    public int[] applyPayments(List<PaymentApplication> applications) {
+        return jdbcTemplate.batchUpdate("""
+                        UPDATE premium SET paid_amount = ?, status = ?, paid_date = ?
+                         WHERE id = ? AND paid_amount = ? AND status IN ('DUE', 'PARTIAL')
+                        """, applications.stream().map(a -> new Object[]{
+                        a.paidAmount(), a.status(), Date.valueOf(a.paidDate()), a.premiumId(), a.expectedPaidAmount()})
+                .toList());
+    }
+}
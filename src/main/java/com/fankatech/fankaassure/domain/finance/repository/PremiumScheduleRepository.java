@@ -0,0 +1,201 @@
+package com.fankatech.fankaassure.domain.finance.repository;
+
+import com.fankatech.fankaassure.dto.finance.PremiumDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * The due-premium schedule: a copy of every open instalment keyed by (due_date, premium_id) plus
+ * a per-day count in {@code premium_due_bucket}. Callers keep it in step with {@code premium} in
+ * the same transaction, so due-date range queries never touch settled or cancelled premiums.
+ * <p>
+ * Each day's count is split over {@link #BUCKET_SLOTS} rows by {@code premium_id}, so writers
+ * scheduling or settling instalments due on the same day rarely contend for one row. An
+ * instalment is always counted in and out of the same slot; readers sum every slot of a day.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PremiumScheduleRepository {
+
+    private static final String SELECT_SCHEDULE = """
+            SELECT premium_id AS id, policy_id, policy_number, due_date, amount, paid_amount, status, paid_date
+              FROM premium_due_schedule
+             WHERE 1 = 1
+            """;
+
+    // Fixed by V18__shard_premium_due_bucket.sql; changing it means rebuilding the buckets
+    static final int BUCKET_SLOTS = 16;
+
+    private static final String DECREMENT_BUCKETS = """
+            UPDATE premium_due_bucket b
+               SET premium_count = b.premium_count - r.removed
+              FROM (SELECT due_date, premium_id %% %d AS slot, count(*) AS removed FROM removed GROUP BY 1, 2) r
+             WHERE b.due_date = r.due_date AND b.slot = r.slot
+            """.formatted(BUCKET_SLOTS);
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    public record OpenPremium(long premiumId, long policyId, long customerId, String policyNumber,
+                              LocalDate dueDate, BigDecimal amount, BigDecimal paidAmount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void add(List<PremiumDTO> premiums) {
+        if (premiums.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO premium_due_schedule (due_date, premium_id, policy_id, policy_number, amount, paid_amount, status, paid_date)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                        """, premiums, premiums.size(), (ps, premium) -> {
+                    ps.setObject(1, Date.valueOf(premium.getDueDate()));
+                    ps.setLong(2, premium.getId());
+                    ps.setLong(3, premium.getPolicyId());
+                    ps.setString(4, premium.getPolicyNumber());
+                    ps.setBigDecimal(5, premium.getAmount());
+                    ps.setBigDecimal(6, premium.getPaidAmount());
+                    ps.setString(7, premium.getStatus());
+                    ps.setObject(8, premium.getPaidDate() != null ? Date.valueOf(premium.getPaidDate()) : null);
+                });
+
+        // One upsert per distinct day and slot, in (day, slot) order so concurrent writers lock buckets consistently
+        Map<LocalDate, int[]> counts = new TreeMap<>();
+        for (PremiumDTO premium : premiums) {
+            counts.computeIfAbsent(premium.getDueDate(), d -> new int[BUCKET_SLOTS])[slot(premium.getId())]++;
+        }
+        List<Object[]> args = new ArrayList<>(counts.size());
+        counts.forEach((dueDate, slots) -> {
+            for (int slot = 0; slot < BUCKET_SLOTS; slot++) {
+                if (slots[slot] > 0) {
+                    args.add(new Object[]{Date.valueOf(dueDate), slot, slots[slot]});
+                }
+            }
+        });
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO premium_due_bucket (due_date, slot, premium_count) VALUES (?, ?, ?)
+                ON CONFLICT (due_date, slot) DO UPDATE SET premium_count = premium_due_bucket.premium_count + EXCLUDED.premium_count
+                """, args);
+    }
+
+    // For a part payment; the instalment stays open
+    public void updatePayment(PremiumDTO premium) {
+        jdbcTemplate.update("UPDATE premium_due_schedule SET paid_amount = ?, status = ?, paid_date = ? WHERE premium_id = ?",
+                premium.getPaidAmount(), premium.getStatus(),
+                premium.getPaidDate() != null ? Date.valueOf(premium.getPaidDate()) : null, premium.getId());
+    }
+
+    public void remove(Long premiumId) {
+        jdbcTemplate.update("WITH removed AS (DELETE FROM premium_due_schedule WHERE premium_id = ? RETURNING due_date, premium_id) "
+                + DECREMENT_BUCKETS, premiumId);
+    }
+
+    public void removeAll(Collection<Long> premiumIds) {
+        if (premiumIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("WITH removed AS (DELETE FROM premium_due_schedule WHERE premium_id IN ("
+                + String.join(", ", Collections.nCopies(premiumIds.size(), "?")) + ") RETURNING due_date, premium_id) "
+                + DECREMENT_BUCKETS, premiumIds.toArray());
+    }
+
+    public void updatePayments(List<PremiumRepository.PaymentApplication> applications) {
+        jdbcTemplate.batchUpdate("UPDATE premium_due_schedule SET paid_amount = ?, status = ?, paid_date = ? WHERE premium_id = ?",
+                applications.stream().map(a -> new Object[]{
+                        a.paidAmount(), a.status(), Date.valueOf(a.paidDate()), a.premiumId()}).toList());
+    }
+
+    public void removeByPolicy(Long policyId) {
+        jdbcTemplate.update("WITH removed AS (DELETE FROM premium_due_schedule WHERE policy_id = ? RETURNING due_date, premium_id) "
+                + DECREMENT_BUCKETS, policyId);
+    }
+
+    public List<PremiumDTO> findDue(LocalDate fromDate, LocalDate toDate, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_SCHEDULE);
+        appendRange(sql, args, fromDate, toDate);
+        sql.append(" ORDER BY due_date, premium_id LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), PremiumRepository.ROW_MAPPER, args.toArray());
+    }
+
+    // Sums the per-day bucket slots instead of counting schedule rows
+    public long countDue(LocalDate fromDate, LocalDate toDate) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT coalesce(sum(premium_count), 0) FROM premium_due_bucket WHERE 1 = 1");
+        appendRange(sql, args, fromDate, toDate);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    // Same contract as PaymentRepository#streamByDateRange: call in a transaction and close the stream
+    public Stream<PremiumDTO> streamDue(LocalDate fromDate, LocalDate toDate) {
+        List<Object> args = new ArrayList<>(2);
+        StringBuilder sql = new StringBuilder(SELECT_SCHEDULE);
+        appendRange(sql, args, fromDate, toDate);
+        sql.append(" ORDER BY due_date, premium_id");
+        return jdbcTemplate.queryForStream(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, PremiumRepository.ROW_MAPPER);
+    }
+
+    /**
+     * Streams open instalments due on or before {@code dueUpTo}, oldest first, with the owning
+     * customer. Must run inside a transaction.
+     */
+    public void forEachOpen(LocalDate dueUpTo, Consumer<OpenPremium> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                            SELECT s.premium_id, s.policy_id, p.customer_id, s.policy_number, s.due_date, s.amount, s.paid_amount
+                              FROM premium_due_schedule s
+                              JOIN policy p ON p.id = s.policy_id
+                             WHERE s.due_date <= ?
+                             ORDER BY s.due_date, s.premium_id
+                            """,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setObject(1, Date.valueOf(dueUpTo));
+            return ps;
+        }, rs -> {
+            consumer.accept(new OpenPremium(rs.getLong("premium_id"), rs.getLong("policy_id"), rs.getLong("customer_id"),
+                    rs.getString("policy_number"), rs.getObject("due_date", LocalDate.class),
+                    rs.getBigDecimal("amount"), rs.getBigDecimal("paid_amount")));
+        });
+    }
+
+    static int slot(long premiumId) {
+        return (int) (premiumId % BUCKET_SLOTS);
+    }
+
+    private static void appendRange(StringBuilder sql, List<Object> args, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null) {
+            sql.append(" AND due_date >= ?");
+            args.add(Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND due_date <= ?");
+            args.add(Date.valueOf(toDate));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.fankatech.fankaassure.domain.finance.repository;
+
+import com.fankatech.fankaassure.dto.finance.ReminderCampaignDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent outbox of payment reminders. Rows are claimed in batches with a lease, so several
+ * nodes can dispatch concurrently and a batch abandoned by a crashed node is picked up again once
+ * its lease runs out. Delivery is therefore at least once. A partial unique index keeps at most
+ * one pending reminder per premium, and reminders of premiums settled since queuing are cancelled
+ * when claimed instead of sent.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReminderOutboxRepository {
+
+    public record Reminder(long id, String recipient, String customerName, String policyNumber,
+                           LocalDate dueDate, BigDecimal amountDue, int attempts) {
+    }
+
+    private static final RowMapper<Reminder> REMINDER_MAPPER = (rs, rowNum) -> new Reminder(
+            rs.getLong("id"),
+            rs.getString("recipient"),
+            rs.getString("customer_name"),
+            rs.getString("policy_number"),
+            rs.getObject("due_date", LocalDate.class),
+            rs.getBigDecimal("amount_due"),
+            rs.getInt("attempts"));
+
+    // Open premiums with a reachable customer
+    private static final String SELECT_REMINDERS = """
+            SELECT CAST(? AS BIGINT), s.premium_id, c.email, c.first_name || ' ' || c.last_name, s.policy_number, s.due_date,
+                   s.amount - s.paid_amount
+              FROM premium_due_schedule s
+              JOIN policy p ON p.id = s.policy_id
+              JOIN customer c ON c.id = p.customer_id
+             WHERE c.email IS NOT NULL AND c.email <> ''
+            """;
+
+    // Premiums with a reminder already waiting to go out are skipped, see uq_reminder_outbox_active_premium
+    private static final String SKIP_QUEUED = """
+            ON CONFLICT (premium_id) WHERE status IN ('PENDING', 'SENDING') DO NOTHING
+            """;
+
+    private static final String INSERT_REMINDERS = """
+            INSERT INTO reminder_outbox (campaign_id, premium_id, recipient, customer_name, policy_number, due_date, amount_due)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long insertCampaign(LocalDate fromDate, LocalDate toDate) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO reminder_campaign (from_date, to_date) VALUES (?, ?) RETURNING id",
+                Long.class, Date.valueOf(fromDate), Date.valueOf(toDate));
+        return id != null ? id : 0;
+    }
+
+    // Queues every open premium due in the range in one statement; returns the number queued
+    public int enqueueDue(long campaignId, LocalDate fromDate, LocalDate toDate) {
+        return jdbcTemplate.update(INSERT_REMINDERS + SELECT_REMINDERS + " AND s.due_date BETWEEN ? AND ? " + SKIP_QUEUED,
+                campaignId, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+
+    public int enqueue(Long premiumId) {
+        return jdbcTemplate.update(INSERT_REMINDERS + SELECT_REMINDERS + " AND s.premium_id = ? " + SKIP_QUEUED, null, premiumId);
+    }
+
+    /**
+     * Leases up to limit due reminders. Reminders whose premium is no longer open are cancelled in
+     * the same statement and not returned, so a batch may hold fewer than limit rows while more
+     * remain due.
+     */
+    public List<Reminder> claim(int limit, Duration lease) {
+        return jdbcTemplate.query("""
+                        WITH claimed AS (
+                            SELECT o.id, pr.status IN ('DUE', 'PARTIAL') AS premium_open
+                              FROM reminder_outbox o
+                              JOIN premium pr ON pr.id = o.premium_id
+                             WHERE (o.status = 'PENDING' AND o.next_attempt_at <= now())
+                                OR (o.status = 'SENDING' AND o.locked_until < now())
+                             ORDER BY o.id
+                             LIMIT ?
+                               FOR UPDATE OF o SKIP LOCKED
+                        ), leased AS (
+                            UPDATE reminder_outbox o
+                               SET status = CASE WHEN claimed.premium_open THEN 'SENDING' ELSE 'CANCELLED' END,
+                                   attempts = o.attempts + CASE WHEN claimed.premium_open THEN 1 ELSE 0 END,
+                                   locked_until = CASE WHEN claimed.premium_open THEN now() + make_interval(secs => ?) END,
+                                   last_error = CASE WHEN claimed.premium_open THEN o.last_error ELSE 'Premium no longer open' END
+                              FROM claimed
+                             WHERE o.id = claimed.id
+                            RETURNING o.*
+                        )
+                        SELECT * FROM leased WHERE status = 'SENDING' ORDER BY id
+                        """, REMINDER_MAPPER, limit, (double) lease.toSeconds());
+    }
+
+    public void markSent(List<Long> ids) {
+        jdbcTemplate.batchUpdate("UPDATE reminder_outbox SET status = 'SENT', sent_at = now(), locked_until = NULL, last_error = NULL WHERE id = ?",
+                ids.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    public void markRetry(long id, String error, Instant nextAttemptAt) {
+        jdbcTemplate.update("""
+                        UPDATE reminder_outbox SET status = 'PENDING', next_attempt_at = ?, locked_until = NULL, last_error = ?
+                         WHERE id = ?
+                        """, Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update("UPDATE reminder_outbox SET status = 'FAILED', locked_until = NULL, last_error = ? WHERE id = ?",
+                error, id);
+    }
+
+    public Optional<ReminderCampaignDTO> findCampaign(Long id) {
+        return jdbcTemplate.query("""
+                        SELECT c.id, c.from_date, c.to_date, c.created_at,
+                               count(o.id) AS queued,
+                               count(o.id) FILTER (WHERE o.status IN ('PENDING', 'SENDING')) AS pending,
+                               count(o.id) FILTER (WHERE o.status = 'SENT') AS sent,
+                               count(o.id) FILTER (WHERE o.status = 'FAILED') AS failed,
+                               count(o.id) FILTER (WHERE o.status = 'CANCELLED') AS cancelled
+                          FROM reminder_campaign c
+                          LEFT JOIN reminder_outbox o ON o.campaign_id = c.id
+                         WHERE c.id = ?
+                         GROUP BY c.id
+                        """, (rs, rowNum) -> ReminderCampaignDTO.builder()
+                        .id(rs.getLong("id"))
+                        .fromDate(rs.getObject("from_date", LocalDate.class))
+                        .toDate(rs.getObject("to_date", LocalDate.class))
+                        .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                        .queued(rs.getLong("queued"))
+                        .pending(rs.getLong("pending"))
+                        .sent(rs.getLong("sent"))
+                        .failed(rs.getLong("failed"))
+                        .cancelled(rs.getLong("cancelled"))
+                        .status(rs.getLong("pending") > 0 ? "RUNNING" : "COMPLETED")
+                        .build(), id)
+                .stream().findFirst();
+    }
+}
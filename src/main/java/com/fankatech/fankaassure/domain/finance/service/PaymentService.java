@@ -1,25 +1,107 @@
 package com.fankatech.fankaassure.domain.finance.service;
 
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
+import com.fankatech.fankaassure.domain.finance.repository.PaymentRepository;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
 import com.fankatech.fankaassure.dto.finance.PaymentDTO;
+import com.fankatech.fankaassure.dto.finance.PremiumDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.util.ExcelGenerator;
+import com.fankatech.fankaassure.util.PageTokens;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static com.fankatech.fankaassure.util.ExcelGenerator.column;
 
 @Service
+@RequiredArgsConstructor
 public class PaymentService {
+
+    private static final List<ExcelGenerator.Column<PaymentDTO>> EXPORT_COLUMNS = List.of(
+            column("Payment ID", PaymentDTO::getId),
+            column("Reference", PaymentDTO::getPaymentReference),
+            column("Payment Date", PaymentDTO::getPaymentDate),
+            column("Customer ID", PaymentDTO::getCustomerId),
+            column("Policy ID", PaymentDTO::getPolicyId),
+            column("Premium ID", PaymentDTO::getPremiumId),
+            column("Amount", PaymentDTO::getAmount),
+            column("Method", PaymentDTO::getPaymentMethod),
+            column("Status", PaymentDTO::getStatus));
+
+    // Fixed order of the payment listings, in booking order; see PaymentRepository#findPage
+    private static final Sort ORDER = Sort.by("paymentDate", "id");
+
+    private final PaymentRepository paymentRepository;
+    private final PremiumService premiumService;
+    private final EventOutbox eventOutbox;
+    private final ExcelGenerator excelGenerator;
+
+    @Transactional
     public PaymentDTO recordPayment(@Valid PaymentDTO paymentDTO) {
-        return null;
+        if (paymentDTO.getPremiumId() != null) {
+            PremiumDTO premium = premiumService.applyPayment(paymentDTO.getPremiumId(), paymentDTO.getAmount(), paymentDTO.getPaymentDate())
+                    .orElseThrow(() -> new BusinessException("Premium " + paymentDTO.getPremiumId() + " does not exist or is not open for payment"));
+            if (paymentDTO.getPolicyId() == null) {
+                paymentDTO.setPolicyId(premium.getPolicyId());
+            } else if (!paymentDTO.getPolicyId().equals(premium.getPolicyId())) {
+                throw new BusinessException("Premium " + premium.getId() + " does not belong to policy " + paymentDTO.getPolicyId());
+            }
+        }
+        PaymentDTO payment = paymentRepository.insert(paymentDTO);
+        eventOutbox.append("payment", payment.getId(), EventOutbox.PAYMENT_RECORDED, payment);
+        return payment;
     }
 
+    @Transactional(readOnly = true)
     public Page<PaymentDTO> getAllPayments(String paymentReference, LocalDate fromDate, LocalDate toDate, Pageable pageable) {
-        return null;
+        PageTokens.requireOrder(pageable, ORDER);
+        PaymentRepository.Filter filter = new PaymentRepository.Filter(paymentReference, fromDate, toDate);
+        List<PaymentDTO> content = paymentRepository.findPage(filter, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> paymentRepository.count(filter));
     }
 
+    // Oldest first, so a reconciliation walk sees payments in booking order
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PaymentDTO> seekPayments(String paymentReference, LocalDate fromDate, LocalDate toDate,
+                                                  String cursor, Integer size, boolean includeTotal) {
+        PaymentRepository.Filter filter = new PaymentRepository.Filter(paymentReference, fromDate, toDate);
+        String scope = PageTokens.scope("payments", paymentReference, fromDate, toDate);
+        String[] after = PageTokens.decode(cursor, scope, 2);
+        int limit = PageTokens.size(size);
+        List<PaymentDTO> rows = after == null
+                ? paymentRepository.findAfter(filter, null, null, limit + 1)
+                : paymentRepository.findAfter(filter, PageTokens.key(after[0], LocalDate::parse), PageTokens.key(after[1], Long::valueOf), limit + 1);
+        return PageTokens.page(rows, limit, scope, p -> new Object[]{p.getPaymentDate(), p.getId()},
+                includeTotal ? () -> paymentRepository.count(filter) : null);
+    }
+
+    @Transactional(readOnly = true)
     public List<PaymentDTO> getPaymentsByCustomerId(Long customerId) {
-        return null;
+        return paymentRepository.findLatestByCustomerIds(List.of(customerId), Integer.MAX_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentDTO> getLatestPaymentsByCustomerIds(Collection<Long> customerIds, int perCustomer) {
+        return paymentRepository.findLatestByCustomerIds(customerIds, perCustomer);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportPayments(LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException {
+        try (Stream<PaymentDTO> payments = paymentRepository.streamByDateRange(fromDate, toDate)) {
+            return excelGenerator.write(out, "Payments", EXPORT_COLUMNS, payments);
+        }
     }
 }
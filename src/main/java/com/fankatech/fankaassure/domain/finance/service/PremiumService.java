@@ -1,29 +1,159 @@
 package com.fankatech.fankaassure.domain.finance.service;
 
+import com.fankatech.fankaassure.domain.finance.repository.PremiumRepository;
+import com.fankatech.fankaassure.domain.finance.repository.PremiumScheduleRepository;
+import com.fankatech.fankaassure.domain.finance.repository.ReminderOutboxRepository;
+import com.fankatech.fankaassure.domain.insurance.repository.PolicyRepository;
 import com.fankatech.fankaassure.dto.finance.PremiumDTO;
+import com.fankatech.fankaassure.dto.finance.ReminderCampaignDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import com.fankatech.fankaassure.util.ExcelGenerator;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.fankatech.fankaassure.util.ExcelGenerator.column;
 
 @Service
+@RequiredArgsConstructor
 public class PremiumService {
+
+    private static final List<ExcelGenerator.Column<PremiumDTO>> EXPORT_COLUMNS = List.of(
+            column("Premium ID", PremiumDTO::getId),
+            column("Policy Number", PremiumDTO::getPolicyNumber),
+            column("Due Date", PremiumDTO::getDueDate),
+            column("Amount", PremiumDTO::getAmount),
+            column("Paid Amount", PremiumDTO::getPaidAmount),
+            column("Status", PremiumDTO::getStatus));
+
+    private final PremiumRepository premiumRepository;
+    private final PremiumScheduleRepository premiumScheduleRepository;
+    private final PolicyRepository policyRepository;
+    private final ReminderOutboxRepository reminderOutboxRepository;
+    private final ExcelGenerator excelGenerator;
+
+    @Transactional
     public PremiumDTO registerPremium(@Valid PremiumDTO premiumDTO) {
-        return null;
+        PolicyDTO policy = policyRepository.findById(premiumDTO.getPolicyId())
+                .orElseThrow(() -> new ResourceNotFoundException("Policy", premiumDTO.getPolicyId()));
+        if ("CANCELLED".equals(policy.getStatus())) {
+            throw new BusinessException("Policy " + policy.getPolicyNumber() + " is cancelled");
+        }
+        PremiumDTO premium = premiumRepository.insert(premiumDTO);
+        premiumScheduleRepository.add(List.of(premium));
+        return premium;
+    }
+
+    /**
+     * Raises one instalment per due date for a policy term. Called by policy renewal inside its
+     * transaction.
+     */
+    @Transactional
+    public List<PremiumDTO> scheduleInstalments(PolicyDTO policy, List<LocalDate> dueDates) {
+        return scheduleInstalments(List.of(policy), dueDates);
+    }
+
+    /**
+     * Raises the same instalment dates for every policy that has a premium amount, written as one
+     * batch. Called by group policy issue inside its transaction.
+     */
+    @Transactional
+    public List<PremiumDTO> scheduleInstalments(List<PolicyDTO> policies, List<LocalDate> dueDates) {
+        List<PremiumDTO> premiums = new ArrayList<>(policies.size() * dueDates.size());
+        for (PolicyDTO policy : policies) {
+            if (policy.getPremiumAmount() == null) {
+                continue;
+            }
+            for (LocalDate dueDate : dueDates) {
+                premiums.add(PremiumDTO.builder()
+                        .policyId(policy.getId())
+                        .policyNumber(policy.getPolicyNumber())
+                        .dueDate(dueDate)
+                        .amount(policy.getPremiumAmount())
+                        .build());
+            }
+        }
+        premiumRepository.insertAll(premiums);
+        premiumScheduleRepository.add(premiums);
+        return premiums;
+    }
+
+    // Returns empty when the premium is already settled or cancelled
+    @Transactional
+    public Optional<PremiumDTO> applyPayment(Long premiumId, BigDecimal amount, LocalDate paymentDate) {
+        Optional<PremiumDTO> premium = premiumRepository.applyPayment(premiumId, amount, paymentDate);
+        premium.ifPresent(p -> {
+            if ("PAID".equals(p.getStatus())) {
+                premiumScheduleRepository.remove(p.getId());
+            } else {
+                premiumScheduleRepository.updatePayment(p);
+            }
+        });
+        return premium;
+    }
+
+    @Transactional
+    public int cancelOpenPremiums(Long policyId) {
+        premiumScheduleRepository.removeByPolicy(policyId);
+        return premiumRepository.cancelOpenByPolicy(policyId);
     }
 
     public List<PremiumDTO> getPremiumsByPolicyId(Long policyId) {
         return null;
     }
 
+    @Transactional(readOnly = true)
     public Page<PremiumDTO> getAllDuePremiums(LocalDate fromDate, LocalDate toDate, Pageable pageable) {
-        return null;
+        List<PremiumDTO> content = premiumScheduleRepository.findDue(fromDate, toDate, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> premiumScheduleRepository.countDue(fromDate, toDate));
     }
 
+    // Queued on the reminder outbox and sent by ReminderDispatcher like campaign reminders
     public void sendPaymentReminder(Long id) {
-        return;
+        PremiumDTO premium = premiumRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Premium", id));
+        if (!"DUE".equals(premium.getStatus()) && !"PARTIAL".equals(premium.getStatus())) {
+            throw new BusinessException("Premium " + id + " is " + premium.getStatus() + ", no reminder needed");
+        }
+        if (reminderOutboxRepository.enqueue(id) == 0) {
+            throw new BusinessException("Premium " + id + " already has a pending reminder or the customer has no email address");
+        }
+    }
+
+    @Transactional
+    public ReminderCampaignDTO startReminderCampaign(LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            throw new BusinessException("toDate must not be before fromDate");
+        }
+        long campaignId = reminderOutboxRepository.insertCampaign(fromDate, toDate);
+        reminderOutboxRepository.enqueueDue(campaignId, fromDate, toDate);
+        return getReminderCampaign(campaignId);
+    }
+
+    public ReminderCampaignDTO getReminderCampaign(Long id) {
+        return reminderOutboxRepository.findCampaign(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reminder campaign", id));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportDuePremiums(LocalDate fromDate, LocalDate toDate, OutputStream out) throws IOException {
+        try (Stream<PremiumDTO> premiums = premiumScheduleRepository.streamDue(fromDate, toDate)) {
+            return excelGenerator.write(out, "Due Premiums", EXPORT_COLUMNS, premiums);
+        }
     }
 }
@@ -0,0 +1,179 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.finance.repository.PremiumScheduleRepository.OpenPremium;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Matches payments to open premiums with hash lookups instead of per-payment queries. Open
+ * instalments are loaded once into an {@link Index} keyed by policy id, normalized policy number
+ * and (customer, amount); every payment is then matched in a single pass. Paid amounts are
+ * tracked on the index, so several payments against one policy fill its instalments oldest
+ * first and never over-allocate.
+ */
+@Component
+public class ReconciliationEngine {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[\\s,;:/#]+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^A-Z0-9]");
+
+    public enum Rule {
+        POLICY_ID, POLICY_REFERENCE, CUSTOMER_AMOUNT
+    }
+
+    // A payment or bank statement line; ids are null when the source does not carry them
+    public record Item(Long paymentId, String reference, Long customerId, Long policyId,
+                       BigDecimal amount, LocalDate paymentDate) {
+    }
+
+    public record Allocation(Item item, OpenPremium premium, Rule rule, BigDecimal expectedPaidAmount,
+                             BigDecimal paidAmount, boolean settled) {
+    }
+
+    public record Unmatched(Item item, String reason) {
+    }
+
+    public record Result(List<Allocation> allocations, List<Unmatched> unmatched) {
+    }
+
+    private record CustomerAmount(long customerId, long amountCents) {
+    }
+
+    private static final class Slot {
+        private final OpenPremium premium;
+        private BigDecimal paidAmount;
+
+        private Slot(OpenPremium premium) {
+            this.premium = premium;
+            this.paidAmount = premium.paidAmount();
+        }
+
+        private BigDecimal remaining() {
+            return premium.amount().subtract(paidAmount);
+        }
+    }
+
+    /**
+     * Open instalments of one reconciliation run. Premiums must be added oldest due date first.
+     * Not thread-safe.
+     */
+    public static final class Index {
+        private final Map<Long, List<Slot>> byPolicyId = new HashMap<>();
+        private final Map<String, Long> policyIdByNumber = new HashMap<>();
+        private final Map<CustomerAmount, List<Slot>> byCustomerAmount = new HashMap<>();
+        private int size;
+
+        public void add(OpenPremium premium) {
+            Slot slot = new Slot(premium);
+            byPolicyId.computeIfAbsent(premium.policyId(), id -> new ArrayList<>(4)).add(slot);
+            policyIdByNumber.putIfAbsent(normalize(premium.policyNumber()), premium.policyId());
+            byCustomerAmount.computeIfAbsent(new CustomerAmount(premium.customerId(), cents(slot.remaining())),
+                    key -> new ArrayList<>(2)).add(slot);
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public Index newIndex() {
+        return new Index();
+    }
+
+    public Result match(Index index, List<Item> items) {
+        List<Allocation> allocations = new ArrayList<>(items.size());
+        List<Unmatched> unmatched = new ArrayList<>();
+        for (Item item : items) {
+            if (item.amount() == null || item.amount().signum() <= 0) {
+                unmatched.add(new Unmatched(item, "Amount must be positive"));
+                continue;
+            }
+
+            Rule rule = Rule.POLICY_ID;
+            Slot slot = item.policyId() != null ? pick(index.byPolicyId.get(item.policyId()), item.amount()) : null;
+            if (slot == null) {
+                rule = Rule.POLICY_REFERENCE;
+                Long policyId = resolvePolicy(index, item.reference());
+                slot = policyId != null ? pick(index.byPolicyId.get(policyId), item.amount()) : null;
+            }
+            if (slot == null && item.customerId() != null) {
+                rule = Rule.CUSTOMER_AMOUNT;
+                slot = pickExact(index.byCustomerAmount.get(new CustomerAmount(item.customerId(), cents(item.amount()))),
+                        item.amount());
+            }
+            if (slot == null) {
+                unmatched.add(new Unmatched(item, "No open premium matches the policy, reference or amount"));
+                continue;
+            }
+
+            BigDecimal expected = slot.paidAmount;
+            slot.paidAmount = slot.paidAmount.add(item.amount());
+            allocations.add(new Allocation(item, slot.premium, rule, expected, slot.paidAmount, slot.remaining().signum() <= 0));
+        }
+        return new Result(allocations, unmatched);
+    }
+
+    // Prefers an instalment owing exactly the amount, otherwise the oldest one that can absorb it
+    private static Slot pick(List<Slot> slots, BigDecimal amount) {
+        if (slots == null) {
+            return null;
+        }
+        Slot exact = pickExact(slots, amount);
+        if (exact != null) {
+            return exact;
+        }
+        for (Slot slot : slots) {
+            if (slot.remaining().compareTo(amount) >= 0) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static Slot pickExact(List<Slot> slots, BigDecimal amount) {
+        if (slots == null) {
+            return null;
+        }
+        for (Slot slot : slots) {
+            if (slot.remaining().compareTo(amount) == 0) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    // The whole reference first, then each word of it, so "Premium POL-2024-0001 May" still resolves
+    private static Long resolvePolicy(Index index, String reference) {
+        if (reference == null || reference.isBlank()) {
+            return null;
+        }
+        Long policyId = index.policyIdByNumber.get(normalize(reference));
+        if (policyId != null) {
+            return policyId;
+        }
+        for (String token : TOKEN_SEPARATOR.split(reference.trim())) {
+            policyId = index.policyIdByNumber.get(normalize(token));
+            if (policyId != null) {
+                return policyId;
+            }
+        }
+        return null;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : NON_ALPHANUMERIC.matcher(value.toUpperCase()).replaceAll("");
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+}
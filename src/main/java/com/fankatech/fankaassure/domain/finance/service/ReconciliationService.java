@@ -0,0 +1,355 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
+import com.fankatech.fankaassure.domain.finance.repository.PaymentRepository;
+import com.fankatech.fankaassure.domain.finance.repository.PaymentSuspenseRepository;
+import com.fankatech.fankaassure.domain.finance.repository.PremiumRepository;
+import com.fankatech.fankaassure.domain.finance.repository.PremiumScheduleRepository;
+import com.fankatech.fankaassure.dto.finance.PaymentDTO;
+import com.fankatech.fankaassure.dto.finance.ReconciliationReportDTO;
+import com.fankatech.fankaassure.dto.finance.SuspenseItemDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Allocates unallocated payments (or bank statement lines) to open premiums. Matching runs in
+ * memory over a snapshot of the due schedule; allocations are then posted in batches, one
+ * transaction each. Every payment is claimed before its premium is credited and every premium
+ * carries an optimistic check, so neither an overlapping run nor a payment recorded concurrently
+ * is double-counted. Anything that cannot be allocated lands in {@code payment_suspense}.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    // POSTED allocations are matched; DUPLICATE ones were claimed by an overlapping run or upload
+    private enum Outcome {
+        POSTED, CONFLICT, DUPLICATE
+    }
+
+    private final ReconciliationEngine engine;
+    private final PaymentRepository paymentRepository;
+    private final PremiumRepository premiumRepository;
+    private final PremiumScheduleRepository premiumScheduleRepository;
+    private final PaymentSuspenseRepository paymentSuspenseRepository;
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int lookaheadDays;
+
+    public ReconciliationService(ReconciliationEngine engine,
+                                 PaymentRepository paymentRepository,
+                                 PremiumRepository premiumRepository,
+                                 PremiumScheduleRepository premiumScheduleRepository,
+                                 PaymentSuspenseRepository paymentSuspenseRepository,
+                                 EventOutbox eventOutbox,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${fankaassure.finance.reconciliation.batch-size:1000}") int batchSize,
+                                 @Value("${fankaassure.finance.reconciliation.lookahead-days:31}") int lookaheadDays) {
+        this.engine = engine;
+        this.paymentRepository = paymentRepository;
+        this.premiumRepository = premiumRepository;
+        this.premiumScheduleRepository = premiumScheduleRepository;
+        this.paymentSuspenseRepository = paymentSuspenseRepository;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lookaheadDays = lookaheadDays;
+    }
+
+    // Payments left in suspense by an earlier run are retried
+    public ReconciliationReportDTO reconcilePayments(LocalDate paymentDate) {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> paymentSuspenseRepository.deleteUnallocated(paymentDate));
+        List<ReconciliationEngine.Item> items = new ArrayList<>();
+        for (PaymentDTO payment : paymentRepository.findUnallocated(paymentDate)) {
+            items.add(new ReconciliationEngine.Item(payment.getId(), payment.getPaymentReference(), payment.getCustomerId(),
+                    payment.getPolicyId(), payment.getAmount(), payment.getPaymentDate()));
+        }
+        ReconciliationReportDTO report = ReconciliationReportDTO.builder()
+                .source("PAYMENTS")
+                .paymentDate(paymentDate)
+                .build();
+        return run(report, items, paymentDate, null, started);
+    }
+
+    /**
+     * Reconciles a bank statement CSV with a header row naming at least the {@code reference},
+     * {@code date} (ISO) and {@code amount} columns. Matched lines are recorded as allocated
+     * payments; lines already recorded by an earlier upload are skipped.
+     */
+    public ReconciliationReportDTO reconcileStatement(MultipartFile file, String paymentMethod) {
+        long started = System.nanoTime();
+        List<ReconciliationEngine.Item> lines = parseStatement(file);
+        ReconciliationReportDTO report = ReconciliationReportDTO.builder().source("STATEMENT").build();
+        if (lines.isEmpty()) {
+            report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+            return report;
+        }
+
+        LocalDate from = lines.get(0).paymentDate();
+        LocalDate to = from;
+        for (ReconciliationEngine.Item line : lines) {
+            from = line.paymentDate().isBefore(from) ? line.paymentDate() : from;
+            to = line.paymentDate().isAfter(to) ? line.paymentDate() : to;
+        }
+        Set<String> recorded = paymentRepository.findKeys(from, to);
+        List<ReconciliationEngine.Item> items = new ArrayList<>(lines.size());
+        for (ReconciliationEngine.Item line : lines) {
+            if (recorded.add(PaymentRepository.key(line.reference(), line.paymentDate(), line.amount()))) {
+                items.add(line);
+            } else {
+                report.setDuplicates(report.getDuplicates() + 1);
+            }
+        }
+        report.setPaymentDate(to);
+        return run(report, items, to, paymentMethod, started);
+    }
+
+    public Page<SuspenseItemDTO> getSuspense(LocalDate paymentDate, Pageable pageable) {
+        List<SuspenseItemDTO> content = paymentSuspenseRepository.findByDate(paymentDate, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> paymentSuspenseRepository.countByDate(paymentDate));
+    }
+
+    // statementMethod is null for recorded payments, otherwise matched lines are inserted with it
+    private ReconciliationReportDTO run(ReconciliationReportDTO report, List<ReconciliationEngine.Item> items,
+                                        LocalDate paymentDate, String statementMethod, long started) {
+        ReconciliationEngine.Index index = engine.newIndex();
+        transactionTemplate.executeWithoutResult(status ->
+                premiumScheduleRepository.forEachOpen(paymentDate.plusDays(lookaheadDays), index::add));
+        ReconciliationEngine.Result result = engine.match(index, items);
+
+        List<ReconciliationEngine.Unmatched> suspense = new ArrayList<>(result.unmatched());
+        List<ReconciliationEngine.Allocation> allocations = result.allocations();
+        for (int from = 0; from < allocations.size(); from += batchSize) {
+            List<ReconciliationEngine.Allocation> batch = allocations.subList(from, Math.min(from + batchSize, allocations.size()));
+            Outcome[] outcomes = transactionTemplate.execute(status -> postAllocations(batch, statementMethod));
+            for (int i = 0; i < batch.size(); i++) {
+                ReconciliationEngine.Allocation allocation = batch.get(i);
+                switch (outcomes[i]) {
+                    case POSTED -> {
+                        report.setMatched(report.getMatched() + 1);
+                        report.setMatchedAmount(report.getMatchedAmount().add(allocation.item().amount()));
+                        report.getMatchedByRule().merge(allocation.rule().name(), 1L, Long::sum);
+                    }
+                    case CONFLICT -> {
+                        report.setConflicts(report.getConflicts() + 1);
+                        suspense.add(new ReconciliationEngine.Unmatched(allocation.item(),
+                                "Premium " + allocation.premium().premiumId() + " changed while reconciling"));
+                    }
+                    case DUPLICATE -> report.setDuplicates(report.getDuplicates() + 1);
+                }
+            }
+        }
+        for (int from = 0; from < suspense.size(); from += batchSize) {
+            List<ReconciliationEngine.Unmatched> batch = suspense.subList(from, Math.min(from + batchSize, suspense.size()));
+            transactionTemplate.executeWithoutResult(status -> postSuspense(batch, statementMethod != null));
+            for (ReconciliationEngine.Unmatched unmatched : batch) {
+                report.setSuspenseAmount(report.getSuspenseAmount().add(
+                        unmatched.item().amount() != null ? unmatched.item().amount() : BigDecimal.ZERO));
+            }
+        }
+
+        report.setOpenPremiums(index.size());
+        report.setItems(items.size());
+        report.setSuspense(suspense.size());
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Reconciled {} {} item(s) for {}: {} matched, {} in suspense, {} conflicts in {} ms",
+                items.size(), report.getSource(), paymentDate, report.getMatched(), report.getSuspense(),
+                report.getConflicts(), report.getElapsedMillis());
+        return report;
+    }
+
+    /**
+     * Claims the batch's payments before crediting any premium: recorded payments are locked and
+     * those allocated meanwhile dropped; statement lines take a lock per payment date and those
+     * recorded meanwhile dropped. An overlapping run therefore never counts a payment twice.
+     */
+    private Outcome[] postAllocations(List<ReconciliationEngine.Allocation> batch, String statementMethod) {
+        Outcome[] outcomes = new Outcome[batch.size()];
+        if (statementMethod == null) {
+            Set<Long> unallocated = paymentRepository.lockUnallocated(batch.stream().map(a -> a.item().paymentId()).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                if (!unallocated.contains(batch.get(i).item().paymentId())) {
+                    outcomes[i] = Outcome.DUPLICATE;
+                }
+            }
+        } else {
+            List<LocalDate> dates = batch.stream().map(a -> a.item().paymentDate()).sorted().toList();
+            paymentRepository.lockStatementDates(dates);
+            Set<String> recorded = paymentRepository.findKeys(dates.get(0), dates.get(dates.size() - 1));
+            for (int i = 0; i < batch.size(); i++) {
+                ReconciliationEngine.Item item = batch.get(i).item();
+                if (recorded.contains(PaymentRepository.key(item.reference(), item.paymentDate(), item.amount()))) {
+                    outcomes[i] = Outcome.DUPLICATE;
+                }
+            }
+        }
+
+        List<Integer> claimed = new ArrayList<>(batch.size());
+        List<PremiumRepository.PaymentApplication> applications = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (outcomes[i] == null) {
+                ReconciliationEngine.Allocation allocation = batch.get(i);
+                claimed.add(i);
+                applications.add(new PremiumRepository.PaymentApplication(allocation.premium().premiumId(),
+                        allocation.expectedPaidAmount(), allocation.paidAmount(), allocation.settled() ? "PAID" : "PARTIAL",
+                        allocation.item().paymentDate()));
+            }
+        }
+        int[] counts = premiumRepository.applyPayments(applications);
+
+        List<ReconciliationEngine.Allocation> posted = new ArrayList<>(claimed.size());
+        List<PremiumRepository.PaymentApplication> partial = new ArrayList<>();
+        List<Long> settled = new ArrayList<>();
+        for (int j = 0; j < claimed.size(); j++) {
+            int i = claimed.get(j);
+            if (counts[j] == 0) {
+                outcomes[i] = Outcome.CONFLICT;
+                continue;
+            }
+            outcomes[i] = Outcome.POSTED;
+            ReconciliationEngine.Allocation allocation = batch.get(i);
+            posted.add(allocation);
+            if (allocation.settled()) {
+                settled.add(allocation.premium().premiumId());
+            } else {
+                partial.add(applications.get(j));
+            }
+        }
+
+        if (statementMethod == null) {
+            paymentRepository.allocate(posted.stream()
+                    .map(a -> new PaymentRepository.Allocation(a.item().paymentId(), a.premium().policyId(), a.premium().premiumId()))
+                    .toList());
+        } else {
+            List<PaymentDTO> payments = posted.stream()
+                    .map(a -> PaymentDTO.builder()
+                            .paymentReference(a.item().reference())
+                            .customerId(a.premium().customerId())
+                            .policyId(a.premium().policyId())
+                            .premiumId(a.premium().premiumId())
+                            .amount(a.item().amount())
+                            .paymentDate(a.item().paymentDate())
+                            .paymentMethod(statementMethod)
+                            .status("ALLOCATED")
+                            .build())
+                    .toList();
+            paymentRepository.batchInsert(payments);
+            eventOutbox.appendAll("payment", PaymentDTO::getId, EventOutbox.PAYMENT_RECORDED, payments);
+            paymentSuspenseRepository.deleteStatementLines(posted.stream().map(a -> lineKey(a.item())).toList());
+        }
+        premiumScheduleRepository.updatePayments(partial);
+        premiumScheduleRepository.removeAll(settled);
+        return outcomes;
+    }
+
+    // Statement lines replace the suspense entries of an earlier upload instead of adding to them
+    private void postSuspense(List<ReconciliationEngine.Unmatched> batch, boolean statement) {
+        List<Long> paymentIds = new ArrayList<>(batch.size());
+        List<SuspenseItemDTO> entries = new ArrayList<>(batch.size());
+        for (ReconciliationEngine.Unmatched unmatched : batch) {
+            ReconciliationEngine.Item item = unmatched.item();
+            if (item.paymentId() != null) {
+                paymentIds.add(item.paymentId());
+            }
+            entries.add(SuspenseItemDTO.builder()
+                    .paymentId(item.paymentId())
+                    .paymentReference(item.reference())
+                    .amount(item.amount() != null ? item.amount() : BigDecimal.ZERO)
+                    .paymentDate(item.paymentDate())
+                    .reason(unmatched.reason())
+                    .build());
+        }
+        if (statement) {
+            paymentRepository.lockStatementDates(batch.stream().map(u -> u.item().paymentDate()).toList());
+            paymentSuspenseRepository.deleteStatementLines(batch.stream().map(u -> lineKey(u.item())).toList());
+        }
+        paymentRepository.markSuspense(paymentIds);
+        paymentSuspenseRepository.insertAll(entries);
+    }
+
+    private static PaymentSuspenseRepository.LineKey lineKey(ReconciliationEngine.Item item) {
+        return new PaymentSuspenseRepository.LineKey(item.reference(), item.paymentDate(), item.amount());
+    }
+
+    private static List<ReconciliationEngine.Item> parseStatement(MultipartFile file) {
+        List<ReconciliationEngine.Item> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return lines;
+            }
+            List<String> columns = splitCsv(header.replace("\uFEFF", "").toLowerCase(Locale.ROOT));
+            int reference = columns.indexOf("reference");
+            int date = columns.indexOf("date");
+            int amount = columns.indexOf("amount");
+            if (reference < 0 || date < 0 || amount < 0) {
+                throw new BusinessException("Statement header must contain reference, date and amount columns");
+            }
+
+            String line;
+            int row = 1;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsv(line);
+                try {
+                    lines.add(new ReconciliationEngine.Item(null, fields.get(reference).trim(), null, null,
+                            new BigDecimal(fields.get(amount).trim().replace(",", "")),
+                            LocalDate.parse(fields.get(date).trim())));
+                } catch (IndexOutOfBoundsException | NumberFormatException | DateTimeParseException e) {
+                    throw new BusinessException("Invalid statement line " + row + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Could not read statement: " + e.getMessage());
+        }
+        return lines;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.finance.repository.ReminderOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the reminder outbox. Each poll claims batches until none are due, sends them and
+ * records the outcome: sent, retried with exponential backoff, or failed once the attempts run
+ * out or the server rejects the recipient.
+ */
+@Slf4j
+@Component
+public class ReminderDispatcher {
+
+    // Backoff doubles per attempt up to this many doublings
+    private static final int MAX_BACKOFF_DOUBLINGS = 6;
+
+    private final ReminderOutboxRepository reminderOutboxRepository;
+    private final ReminderSender reminderSender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReminderDispatcher(ReminderOutboxRepository reminderOutboxRepository,
+                              ReminderSender reminderSender,
+                              @Value("${fankaassure.finance.reminders.batch-size:200}") int batchSize,
+                              @Value("${fankaassure.finance.reminders.max-attempts:5}") int maxAttempts,
+                              @Value("${fankaassure.finance.reminders.retry-backoff:1m}") Duration retryBackoff,
+                              @Value("${fankaassure.finance.reminders.lease:10m}") Duration lease) {
+        this.reminderOutboxRepository = reminderOutboxRepository;
+        this.reminderSender = reminderSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+    }
+
+    @Scheduled(fixedDelayString = "${fankaassure.finance.reminders.poll-interval:PT10S}")
+    public void dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long sent = 0;
+            long failed = 0;
+            List<ReminderOutboxRepository.Reminder> batch;
+            while (!(batch = reminderOutboxRepository.claim(batchSize, lease)).isEmpty()) {
+                List<Long> sentIds = new ArrayList<>(batch.size());
+                for (ReminderSender.Outcome outcome : reminderSender.send(batch)) {
+                    ReminderOutboxRepository.Reminder reminder = outcome.reminder();
+                    if (outcome.sent()) {
+                        sentIds.add(reminder.id());
+                    } else if (outcome.retryable() && reminder.attempts() < maxAttempts) {
+                        reminderOutboxRepository.markRetry(reminder.id(), outcome.error(), Instant.now().plus(backoff(reminder.attempts())));
+                    } else {
+                        reminderOutboxRepository.markFailed(reminder.id(), outcome.error());
+                        failed++;
+                    }
+                }
+                reminderOutboxRepository.markSent(sentIds);
+                sent += sentIds.size();
+            }
+            if (sent > 0 || failed > 0) {
+                log.info("Reminder dispatch sent {} and gave up on {} reminder(s)", sent, failed);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        return retryBackoff.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS));
+    }
+}
@@ -0,0 +1,124 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.finance.repository.ReminderOutboxRepository;
+import com.fankatech.fankaassure.util.DateUtils;
+import com.fankatech.fankaassure.util.MailTransportPool;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renders and sends a batch of payment reminders over the shared SMTP connection pool, paced by
+ * a node-wide rate limit. Each reminder gets an {@link Outcome}; nothing is persisted here.
+ */
+@Slf4j
+@Component
+public class ReminderSender {
+
+    public record Outcome(ReminderOutboxRepository.Reminder reminder, boolean sent, boolean retryable, String error) {
+    }
+
+    private static final Set<String> FIELDS = Set.of("customerName", "policyNumber", "dueDate", "amountDue");
+
+    private static final String SUBJECT = "Premium due on policy {{policyNumber}}";
+
+    private static final String BODY = """
+            Dear {{customerName}},
+
+            This is a reminder that a premium of {{amountDue}} on policy {{policyNumber}} is due on {{dueDate}}.
+
+            If you have already paid, please disregard this message.
+
+            FankaAssure
+            """;
+
+    private final MailTransportPool transportPool;
+    private final InternetAddress from;
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+    private final ReminderTemplate subject = ReminderTemplate.compile(SUBJECT, FIELDS);
+    private final ReminderTemplate body = ReminderTemplate.compile(BODY, FIELDS);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ReminderSender(MailTransportPool transportPool,
+                          @Value("${fankaassure.finance.reminders.from:no-reply@fankaassure.com}") String from,
+                          @Value("${fankaassure.finance.reminders.rate-per-second:20}") double ratePerSecond) throws AddressException {
+        this.transportPool = transportPool;
+        this.from = new InternetAddress(from, true);
+        this.intervalNanos = ratePerSecond > 0 ? (long) (1_000_000_000L / ratePerSecond) : 0;
+    }
+
+    public List<Outcome> send(List<ReminderOutboxRepository.Reminder> reminders) {
+        List<Future<Outcome>> futures = new ArrayList<>(reminders.size());
+        for (ReminderOutboxRepository.Reminder reminder : reminders) {
+            futures.add(executor.submit(() -> sendOne(reminder)));
+        }
+        List<Outcome> outcomes = new ArrayList<>(reminders.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                outcomes.add(new Outcome(reminders.get(i), false, true, String.valueOf(e.getCause())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                outcomes.add(new Outcome(reminders.get(i), false, true, "Interrupted"));
+            }
+        }
+        return outcomes;
+    }
+
+    private Outcome sendOne(ReminderOutboxRepository.Reminder reminder) {
+        try {
+            Map<String, String> values = Map.of(
+                    "customerName", reminder.customerName(),
+                    "policyNumber", reminder.policyNumber(),
+                    "dueDate", DateUtils.format(reminder.dueDate()),
+                    "amountDue", String.format("%,.2f", reminder.amountDue()));
+            MimeMessage message = transportPool.createMessage();
+            message.setFrom(from);
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(reminder.recipient(), true));
+            message.setSubject(subject.render(values), StandardCharsets.UTF_8.name());
+            message.setText(body.render(values), StandardCharsets.UTF_8.name());
+
+            awaitSlot();
+            transportPool.send(message);
+            return new Outcome(reminder, true, false, null);
+        } catch (AddressException | SendFailedException e) {
+            log.debug("Reminder {} rejected for {}: {}", reminder.id(), reminder.recipient(), e.getMessage());
+            return new Outcome(reminder, false, false, e.getMessage());
+        } catch (MessagingException e) {
+            return new Outcome(reminder, false, true, e.getMessage());
+        }
+    }
+
+    // Hands out send slots intervalNanos apart, shared by every sending thread on this node
+    private void awaitSlot() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = Math.max(now, nextSlot.getAndUpdate(next -> Math.max(next, now) + intervalNanos));
+        long wait;
+        while ((wait = slot - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
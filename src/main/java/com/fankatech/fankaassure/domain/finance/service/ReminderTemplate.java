@@ -0,0 +1,62 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A text template with {@code {{field}}} placeholders. It is parsed once into literal and field
+ * segments, so rendering a message is a single pass of appends.
+ */
+final class ReminderTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals.length == fields.length + 1; field i sits between literal i and literal i + 1
+    private final String[] literals;
+    private final String[] fields;
+    private final int literalLength;
+
+    private ReminderTemplate(String[] literals, String[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static ReminderTemplate compile(String text, Set<String> knownFields) {
+        List<String> literals = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = text.indexOf(OPEN, position)) >= 0) {
+            int close = text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String field = text.substring(open + OPEN.length(), close).strip();
+            if (!knownFields.contains(field)) {
+                throw new IllegalArgumentException("Unknown template field '" + field + "'");
+            }
+            literals.add(text.substring(position, open));
+            fields.add(field);
+            position = close + CLOSE.length();
+        }
+        literals.add(text.substring(position));
+        return new ReminderTemplate(literals.toArray(String[]::new), fields.toArray(String[]::new));
+    }
+
+    String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + fields.length * 16);
+        out.append(literals[0]);
+        for (int i = 0; i < fields.length; i++) {
+            out.append(values.getOrDefault(fields[i], "")).append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.fankatech.fankaassure.domain.insurance.repository;
+
+import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
+import com.fankatech.fankaassure.dto.insurance.ProductRateDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class InsuranceProductRepository {
+
+    private static final RowMapper<InsuranceProductDTO> ROW_MAPPER = BeanPropertyRowMapper.newInstance(InsuranceProductDTO.class);
+    private static final RowMapper<ProductRateDTO> RATE_ROW_MAPPER = BeanPropertyRowMapper.newInstance(ProductRateDTO.class);
+
+    public record VersionedRates(int version, List<ProductRateDTO> rates) {
+    }
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<InsuranceProductDTO> findById(Long id) {
+        return namedJdbcTemplate.query("SELECT * FROM insurance_product WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    public InsuranceProductDTO insert(InsuranceProductDTO product) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("""
+                INSERT INTO insurance_product (product_code, name, description, category, base_premium,
+                                               min_cover_amount, max_cover_amount, term_months, active, version)
+                VALUES (:productCode, :name, :description, :category, :basePremium,
+                        :minCoverAmount, :maxCoverAmount, :termMonths, COALESCE(:active, TRUE), 1)
+                """, new BeanPropertySqlParameterSource(product), keyHolder, new String[]{"id"});
+        product.setId(keyHolder.getKeyAs(Long.class));
+        product.setVersion(1);
+        return product;
+    }
+
+    public boolean update(InsuranceProductDTO product) {
+        return namedJdbcTemplate.update("""
+                UPDATE insurance_product
+                   SET product_code = :productCode, name = :name, description = :description, category = :category,
+                       base_premium = :basePremium, min_cover_amount = :minCoverAmount,
+                       max_cover_amount = :maxCoverAmount, term_months = :termMonths,
+                       active = COALESCE(:active, active), version = version + 1, updated_at = now()
+                 WHERE id = :id
+                """, new BeanPropertySqlParameterSource(product)) > 0;
+    }
+
+    public List<ProductRateDTO> findRates(Long productId) {
+        return namedJdbcTemplate.query("SELECT * FROM product_rate WHERE product_id = :productId ORDER BY min_age, min_cover_amount",
+                Map.of("productId", productId), RATE_ROW_MAPPER);
+    }
+
+    // Rates with the product version they belong to, read in one statement so a lagging replica cannot pair old rates with a new version
+    public Optional<VersionedRates> findVersionedRates(Long productId) {
+        List<ProductRateDTO> rates = new ArrayList<>();
+        Integer[] version = {null};
+        namedJdbcTemplate.query("""
+                SELECT p.version AS product_version, r.*
+                  FROM insurance_product p
+                  LEFT JOIN product_rate r ON r.product_id = p.id
+                 WHERE p.id = :productId
+                 ORDER BY r.min_age, r.min_cover_amount
+                """, Map.of("productId", productId), rs -> {
+            version[0] = rs.getInt("product_version");
+            if (rs.getObject("min_age") != null) {
+                rates.add(RATE_ROW_MAPPER.mapRow(rs, rates.size()));
+            }
+        });
+        return version[0] != null ? Optional.of(new VersionedRates(version[0], rates)) : Optional.empty();
+    }
+
+    // Replaces the whole rate table and bumps the product version; false if the product does not exist
+    public boolean replaceRates(Long productId, List<ProductRateDTO> rates) {
+        if (namedJdbcTemplate.update("UPDATE insurance_product SET version = version + 1, updated_at = now() WHERE id = :id",
+                Map.of("id", productId)) == 0) {
+            return false;
+        }
+        namedJdbcTemplate.update("DELETE FROM product_rate WHERE product_id = :productId", Map.of("productId", productId));
+        namedJdbcTemplate.batchUpdate("""
+                INSERT INTO product_rate (product_id, min_age, max_age, min_cover_amount, rate_per_mille, dependant_loading)
+                VALUES (:productId, :minAge, :maxAge, :minCoverAmount, :ratePerMille, :dependantLoading)
+                """, rates.stream()
+                .map(rate -> new MapSqlParameterSource()
+                        .addValue("productId", productId)
+                        .addValue("minAge", rate.getMinAge())
+                        .addValue("maxAge", rate.getMaxAge())
+                        .addValue("minCoverAmount", rate.getMinCoverAmount())
+                        .addValue("ratePerMille", rate.getRatePerMille())
+                        .addValue("dependantLoading", rate.getDependantLoading()))
+                .toArray(SqlParameterSource[]::new));
+        return true;
+    }
+}
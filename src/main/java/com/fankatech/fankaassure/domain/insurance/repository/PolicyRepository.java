@@ -0,0 +1,203 @@
+package com.fankatech.fankaassure.domain.insurance.repository;
+
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class PolicyRepository {
+
+    static final RowMapper<PolicyDTO> ROW_MAPPER = (rs, rowNum) -> PolicyDTO.builder()
+            .id(rs.getLong("id"))
+            .policyNumber(rs.getString("policy_number"))
+            .customerId(rs.getLong("customer_id"))
+            .productId(rs.getLong("product_id"))
+            .groupId(rs.getObject("group_id", Long.class))
+            .startDate(rs.getObject("start_date", LocalDate.class))
+            .endDate(rs.getObject("end_date", LocalDate.class))
+            .coverAmount(rs.getBigDecimal("cover_amount"))
+            .premiumAmount(rs.getBigDecimal("premium_amount"))
+            .premiumFrequency(rs.getString("premium_frequency"))
+            .status(rs.getString("status"))
+            .cancellationReason(rs.getString("cancellation_reason"))
+            .build();
+
+    public record Filter(String customerName, String policyNumber, String productCode) {
+    }
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<PolicyDTO> findById(Long id) {
+        return jdbcTemplate.query("SELECT * FROM policy WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    // Newest first within each customer
+    public List<PolicyDTO> findByCustomerIds(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT * FROM policy WHERE customer_id IN ("
+                        + String.join(", ", Collections.nCopies(customerIds.size(), "?")) + ") ORDER BY customer_id, id DESC",
+                ROW_MAPPER, customerIds.toArray());
+    }
+
+    // The policy number defaults to one derived from the generated id
+    public PolicyDTO insert(PolicyDTO policy) {
+        return jdbcTemplate.queryForObject("""
+                        WITH seq AS (SELECT nextval(pg_get_serial_sequence('policy', 'id')) AS id)
+                        INSERT INTO policy (id, policy_number, customer_id, product_id, group_id, start_date, end_date,
+                                            cover_amount, premium_amount, premium_frequency)
+                        SELECT seq.id, COALESCE(CAST(? AS VARCHAR), 'POL-' || lpad(seq.id::text, 8, '0')), ?, ?,
+                               CAST(? AS BIGINT), ?, CAST(? AS DATE), ?, CAST(? AS NUMERIC), COALESCE(CAST(? AS VARCHAR), 'MONTHLY')
+                          FROM seq
+                        RETURNING *
+                        """, ROW_MAPPER,
+                policy.getPolicyNumber(), policy.getCustomerId(), policy.getProductId(), policy.getGroupId(),
+                Date.valueOf(policy.getStartDate()), policy.getEndDate() != null ? Date.valueOf(policy.getEndDate()) : null,
+                policy.getCoverAmount(), policy.getPremiumAmount(), policy.getPremiumFrequency());
+    }
+
+    /**
+     * Inserts new policies in one batch. Ids are drawn from the sequence in a single query first,
+     * so policy numbers default exactly as in {@link #insert}.
+     */
+    public void insertAll(List<PolicyDTO> policies) {
+        if (policies.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbcTemplate.queryForList("SELECT nextval(pg_get_serial_sequence('policy', 'id')) FROM generate_series(1, ?)",
+                Long.class, policies.size());
+        for (int i = 0; i < policies.size(); i++) {
+            PolicyDTO policy = policies.get(i);
+            policy.setId(ids.get(i));
+            if (policy.getPolicyNumber() == null) {
+                policy.setPolicyNumber(String.format("POL-%08d", policy.getId()));
+            }
+            if (policy.getPremiumFrequency() == null) {
+                policy.setPremiumFrequency("MONTHLY");
+            }
+            policy.setStatus("ACTIVE");
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO policy (id, policy_number, customer_id, product_id, group_id, start_date, end_date,
+                                            cover_amount, premium_amount, premium_frequency)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """, policies, WRITE_BATCH_SIZE, (ps, policy) -> {
+                    ps.setLong(1, policy.getId());
+                    ps.setString(2, policy.getPolicyNumber());
+                    ps.setLong(3, policy.getCustomerId());
+                    ps.setLong(4, policy.getProductId());
+                    ps.setObject(5, policy.getGroupId(), Types.BIGINT);
+                    ps.setObject(6, Date.valueOf(policy.getStartDate()));
+                    ps.setObject(7, policy.getEndDate() != null ? Date.valueOf(policy.getEndDate()) : null, Types.DATE);
+                    ps.setBigDecimal(8, policy.getCoverAmount());
+                    ps.setBigDecimal(9, policy.getPremiumAmount());
+                    ps.setString(10, policy.getPremiumFrequency());
+                });
+    }
+
+    // Customers holding a policy on the product through the group that is live on the given date
+    public Set<Long> findCoveredCustomerIds(Long groupId, Long productId, LocalDate onDate) {
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                        SELECT customer_id FROM policy
+                         WHERE group_id = ? AND product_id = ? AND status <> 'CANCELLED'
+                           AND (end_date IS NULL OR end_date >= ?)
+                        """, Long.class, groupId, productId, Date.valueOf(onDate)));
+    }
+
+    // Extends the term only if it still ends on currentEndDate, so a concurrent renewal cannot apply twice
+    public Optional<PolicyDTO> renew(Long id, LocalDate currentEndDate, LocalDate newEndDate) {
+        return jdbcTemplate.query("""
+                        UPDATE policy SET end_date = ?, status = 'ACTIVE', updated_at = now()
+                         WHERE id = ? AND end_date = ? AND status <> 'CANCELLED'
+                        RETURNING *
+                        """, ROW_MAPPER, Date.valueOf(newEndDate), id, Date.valueOf(currentEndDate))
+                .stream().findFirst();
+    }
+
+    public Optional<PolicyDTO> cancel(Long id, String cancellationReason) {
+        return jdbcTemplate.query("""
+                        UPDATE policy SET status = 'CANCELLED', cancellation_reason = ?, updated_at = now()
+                         WHERE id = ? AND status <> 'CANCELLED'
+                        RETURNING *
+                        """, ROW_MAPPER, cancellationReason, id)
+                .stream().findFirst();
+    }
+
+    // Newest first
+    public List<PolicyDTO> findPage(Filter filter, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = select(filter, "p.*");
+        appendFilter(sql, args, filter);
+        sql.append(" ORDER BY p.id DESC LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    // Continues strictly below beforeId; null for the first page
+    public List<PolicyDTO> findAfter(Filter filter, Long beforeId, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = select(filter, "p.*");
+        appendFilter(sql, args, filter);
+        if (beforeId != null) {
+            sql.append(" AND p.id < ?");
+            args.add(beforeId);
+        }
+        sql.append(" ORDER BY p.id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public long count(Filter filter) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = select(filter, "count(*)");
+        appendFilter(sql, args, filter);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    // Customer and product are only joined when filtered on
+    private static StringBuilder select(Filter filter, String columns) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM policy p");
+        if (filter.customerName() != null) {
+            sql.append(" JOIN customer cu ON cu.id = p.customer_id");
+        }
+        if (filter.productCode() != null) {
+            sql.append(" JOIN insurance_product ip ON ip.id = p.product_id");
+        }
+        return sql.append(" WHERE 1 = 1");
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, Filter filter) {
+        if (filter.customerName() != null) {
+            sql.append(" AND lower(cu.first_name || ' ' || cu.last_name) LIKE ?");
+            args.add("%" + filter.customerName().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (filter.policyNumber() != null) {
+            sql.append(" AND p.policy_number = ?");
+            args.add(filter.policyNumber());
+        }
+        if (filter.productCode() != null) {
+            sql.append(" AND ip.product_code = ?");
+            args.add(filter.productCode());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.fankatech.fankaassure.domain.insurance.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Group premium rating over primitive arrays. {@link Members} holds one member per index (struct
+ * of arrays) and premiums are written into a caller-supplied array, so the rating loop allocates
+ * nothing. Large groups are split across the fork/join pool by index range.
+ */
+@Component
+public class GroupRatingEngine {
+
+    // Below this many members a range is rated on the calling thread
+    private static final int SPLIT_THRESHOLD = 4096;
+
+    // Members to rate, one per index; an age of -1 marks a member with no date of birth
+    public static final class Members {
+        private long[] customerIds;
+        private int[] ages;
+        private double[] covers;
+        private int[] dependants;
+        private int size;
+
+        public Members(int capacity) {
+            capacity = Math.max(capacity, 16);
+            customerIds = new long[capacity];
+            ages = new int[capacity];
+            covers = new double[capacity];
+            dependants = new int[capacity];
+        }
+
+        public int add(long customerId, int age, double cover, int dependantCount) {
+            if (size == customerIds.length) {
+                int capacity = size * 2;
+                customerIds = Arrays.copyOf(customerIds, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                covers = Arrays.copyOf(covers, capacity);
+                dependants = Arrays.copyOf(dependants, capacity);
+            }
+            int i = size++;
+            customerIds[i] = customerId;
+            ages[i] = age;
+            covers[i] = cover;
+            dependants[i] = dependantCount;
+            return i;
+        }
+
+        public long customerId(int i) {
+            return customerIds[i];
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    // Writes each member's annual premium into premiums; NaN where the table has no rate
+    public void rate(ProductRateTable table, Members members, double[] premiums) {
+        int size = members.size();
+        if (size <= SPLIT_THRESHOLD) {
+            rateRange(table, members, premiums, 0, size);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RangeTask(table, members, premiums, 0, size));
+        }
+    }
+
+    static void rateRange(ProductRateTable table, Members members, double[] premiums, int from, int to) {
+        int[] ages = members.ages;
+        double[] covers = members.covers;
+        int[] dependants = members.dependants;
+        for (int i = from; i < to; i++) {
+            premiums[i] = table.annualPremium(ages[i], covers[i], dependants[i]);
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final ProductRateTable table;
+        private final Members members;
+        private final double[] premiums;
+        private final int from;
+        private final int to;
+
+        private RangeTask(ProductRateTable table, Members members, double[] premiums, int from, int to) {
+            this.table = table;
+            this.members = members;
+            this.premiums = premiums;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                rateRange(table, members, premiums, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(table, members, premiums, from, mid),
+                    new RangeTask(table, members, premiums, mid, to));
+        }
+    }
+}
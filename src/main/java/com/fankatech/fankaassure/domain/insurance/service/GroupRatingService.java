@@ -0,0 +1,153 @@
+package com.fankatech.fankaassure.domain.insurance.service;
+
+import com.fankatech.fankaassure.domain.insurance.repository.PolicyRepository;
+import com.fankatech.fankaassure.domain.member.repository.GroupRepository;
+import com.fankatech.fankaassure.dto.insurance.GroupRatingDTO;
+import com.fankatech.fankaassure.dto.insurance.GroupRatingRequestDTO;
+import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+/**
+ * Rates every member of a group against a product's rate table. Members are streamed into a
+ * {@link GroupRatingEngine.Members} batch and rated in parallel against the product's cached
+ * {@link ProductRateTable}; amounts are kept in cents so totals add up exactly to the issued
+ * instalments.
+ */
+@Service
+public class GroupRatingService {
+
+    /**
+     * The members of one rating run with their annual premiums (NaN when unrated), excluding
+     * members already covered on the product through the group.
+     */
+    public record Rating(InsuranceProductDTO product, GroupRatingRequestDTO request, String premiumFrequency,
+                         GroupRatingEngine.Members members, double[] annualPremiums, long coveredMembers) {
+
+        public boolean isRated(int i) {
+            return !Double.isNaN(annualPremiums[i]);
+        }
+
+        public long instalmentCents(int i) {
+            return Math.round(annualPremiums[i] * 100 / instalmentsPerYear(premiumFrequency));
+        }
+    }
+
+    private final GroupRepository groupRepository;
+    private final PolicyRepository policyRepository;
+    private final InsuranceProductService insuranceProductService;
+    private final ProductRateTables productRateTables;
+    private final GroupRatingEngine groupRatingEngine;
+    private final int maxReportedUnrated;
+
+    public GroupRatingService(GroupRepository groupRepository,
+                              PolicyRepository policyRepository,
+                              InsuranceProductService insuranceProductService,
+                              ProductRateTables productRateTables,
+                              GroupRatingEngine groupRatingEngine,
+                              @Value("${fankaassure.insurance.group-rating.max-reported-unrated:1000}") int maxReportedUnrated) {
+        this.groupRepository = groupRepository;
+        this.policyRepository = policyRepository;
+        this.insuranceProductService = insuranceProductService;
+        this.productRateTables = productRateTables;
+        this.groupRatingEngine = groupRatingEngine;
+        this.maxReportedUnrated = maxReportedUnrated;
+    }
+
+    @Transactional(readOnly = true)
+    public GroupRatingDTO quoteGroup(Long groupId, @Valid GroupRatingRequestDTO request) {
+        return summarize(groupId, rateGroup(groupId, request));
+    }
+
+    // Reads the members inside the caller's transaction
+    @Transactional(readOnly = true)
+    public Rating rateGroup(Long groupId, @Valid GroupRatingRequestDTO request) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+        InsuranceProductDTO product = insuranceProductService.getProductById(request.getProductId());
+        if (Boolean.FALSE.equals(product.getActive())) {
+            throw new BusinessException("Product " + product.getProductCode() + " is not active");
+        }
+        BigDecimal cover = request.getCoverAmount();
+        if ((product.getMinCoverAmount() != null && cover.compareTo(product.getMinCoverAmount()) < 0)
+                || (product.getMaxCoverAmount() != null && cover.compareTo(product.getMaxCoverAmount()) > 0)) {
+            throw new BusinessException("Cover " + cover + " is outside the limits of product " + product.getProductCode());
+        }
+        ProductRateTable table = productRateTables.forProduct(product);
+        if (table.isEmpty()) {
+            throw new BusinessException("Product " + product.getProductCode() + " has no group rate table");
+        }
+        String frequency = request.getPremiumFrequency() != null ? request.getPremiumFrequency() : "MONTHLY";
+        instalmentsPerYear(frequency);
+
+        LocalDate startDate = request.getStartDate();
+        double coverAmount = cover.doubleValue();
+        Set<Long> covered = policyRepository.findCoveredCustomerIds(groupId, product.getId(), startDate);
+        GroupRatingEngine.Members members = new GroupRatingEngine.Members((int) groupRepository.countMembers(groupId));
+        long[] coveredMembers = {0};
+        groupRepository.forEachRatingMember(groupId, (customerId, dateOfBirth, dependants) -> {
+            if (covered.contains(customerId)) {
+                coveredMembers[0]++;
+            } else {
+                int age = dateOfBirth != null ? (int) ChronoUnit.YEARS.between(dateOfBirth, startDate) : -1;
+                members.add(customerId, age, coverAmount, dependants);
+            }
+        });
+
+        double[] premiums = new double[members.size()];
+        groupRatingEngine.rate(table, members, premiums);
+        return new Rating(product, request, frequency, members, premiums, coveredMembers[0]);
+    }
+
+    public GroupRatingDTO summarize(Long groupId, Rating rating) {
+        GroupRatingDTO summary = GroupRatingDTO.builder()
+                .groupId(groupId)
+                .productId(rating.product().getId())
+                .productVersion(rating.product().getVersion())
+                .coverAmount(rating.request().getCoverAmount())
+                .startDate(rating.request().getStartDate())
+                .premiumFrequency(rating.premiumFrequency())
+                .coveredMembers(rating.coveredMembers())
+                .build();
+        GroupRatingEngine.Members members = rating.members();
+        long rated = 0;
+        long annualCents = 0;
+        long instalmentCents = 0;
+        for (int i = 0; i < members.size(); i++) {
+            if (rating.isRated(i)) {
+                rated++;
+                annualCents += Math.round(rating.annualPremiums()[i] * 100);
+                instalmentCents += rating.instalmentCents(i);
+            } else if (summary.getUnratedCustomerIds().size() < maxReportedUnrated) {
+                summary.getUnratedCustomerIds().add(members.customerId(i));
+            } else {
+                summary.setUnratedTruncated(true);
+            }
+        }
+        summary.setMemberCount(members.size() + rating.coveredMembers());
+        summary.setRatedMembers(rated);
+        summary.setTotalAnnualPremium(BigDecimal.valueOf(annualCents, 2));
+        summary.setTotalInstalmentPremium(BigDecimal.valueOf(instalmentCents, 2));
+        return summary;
+    }
+
+    static int instalmentsPerYear(String frequency) {
+        return switch (frequency) {
+            case "MONTHLY" -> 12;
+            case "QUARTERLY" -> 4;
+            case "SEMI_ANNUAL" -> 2;
+            case "ANNUAL" -> 1;
+            default -> throw new BusinessException("Unknown premium frequency " + frequency);
+        };
+    }
+}
@@ -1,28 +1,79 @@
 package com.fankatech.fankaassure.domain.insurance.service;
 
+import com.fankatech.fankaassure.cache.CacheNames;
+import com.fankatech.fankaassure.domain.insurance.repository.InsuranceProductRepository;
 import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
+import com.fankatech.fankaassure.dto.insurance.ProductRateDTO;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 public class InsuranceProductService {
+
+    private final InsuranceProductRepository insuranceProductRepository;
+
     // Product management endpoints
+    @Transactional
     public InsuranceProductDTO createProduct(@Valid InsuranceProductDTO productDTO) {
-        return null;
+        return insuranceProductRepository.insert(productDTO);
     }
 
     public Page<InsuranceProductDTO> getAllProducts(Pageable pageable) {
         return null;
     }
 
+    @Cacheable(cacheNames = CacheNames.PRODUCTS, key = "#id")
     public InsuranceProductDTO getProductById(Long id) {
-        return null;
+        return insuranceProductRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Insurance product", id));
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, key = "#id")
     public InsuranceProductDTO updateProduct(Long id, @Valid InsuranceProductDTO productDTO) {
-        return null;
+        productDTO.setId(id);
+        if (!insuranceProductRepository.update(productDTO)) {
+            throw new ResourceNotFoundException("Insurance product", id);
+        }
+        return insuranceProductRepository.findById(id).orElseThrow();
+    }
+
+    public List<ProductRateDTO> getProductRates(Long id) {
+        if (insuranceProductRepository.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Insurance product", id);
+        }
+        return insuranceProductRepository.findRates(id);
+    }
+
+    // The version bump retires cached rate tables of the product on every node
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, key = "#id")
+    public List<ProductRateDTO> replaceProductRates(Long id, List<@Valid ProductRateDTO> rates) {
+        for (ProductRateDTO rate : rates) {
+            if (rate.getMinCoverAmount() == null) {
+                rate.setMinCoverAmount(BigDecimal.ZERO);
+            }
+            if (rate.getDependantLoading() == null) {
+                rate.setDependantLoading(BigDecimal.ZERO);
+            }
+        }
+        // Rejects incomplete and overlapping rows before anything is written
+        ProductRateTable.build(id, 0, rates);
+        if (!insuranceProductRepository.replaceRates(id, rates)) {
+            throw new ResourceNotFoundException("Insurance product", id);
+        }
+        return insuranceProductRepository.findRates(id);
     }
 
     public void deleteProduct(Long id) {
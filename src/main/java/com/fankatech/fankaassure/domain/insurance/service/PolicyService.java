@@ -1,44 +1,277 @@
 package com.fankatech.fankaassure.domain.insurance.service;
 
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
+import com.fankatech.fankaassure.domain.finance.service.PremiumService;
+import com.fankatech.fankaassure.domain.insurance.repository.PolicyRepository;
+import com.fankatech.fankaassure.domain.member.repository.GroupRepository;
+import com.fankatech.fankaassure.domain.member.service.CustomerService;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.dto.finance.PremiumDTO;
+import com.fankatech.fankaassure.dto.insurance.GroupRatingDTO;
+import com.fankatech.fankaassure.dto.insurance.GroupRatingRequestDTO;
+import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
 import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import com.fankatech.fankaassure.util.PageTokens;
+import com.fankatech.fankaassure.util.PdfGenerator;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPTable;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import static com.fankatech.fankaassure.util.PdfGenerator.addDetail;
+
 @Service
+@RequiredArgsConstructor
 public class PolicyService {
+
+    private static final String[] GENERAL_CONDITIONS = {
+            "1. This policy is issued on the basis of the information provided by the policyholder, which forms part of this contract.",
+            "2. Premiums are payable in advance on each due date. Cover lapses if a premium remains unpaid after the grace period.",
+            "3. Claims must be notified within 30 days of the incident together with the supporting documents requested.",
+            "4. The policyholder may cancel this policy at any time by written notice; unearned premium is refunded pro rata.",
+            "5. This policy is governed by the insurance regulations in force in the country of issue."
+    };
+
+    // Fixed order of the policy listings, newest first; see PolicyRepository#findPage
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "id");
+
+    private final PolicyRepository policyRepository;
+    private final CustomerService customerService;
+    private final InsuranceProductService insuranceProductService;
+    private final PremiumService premiumService;
+    private final PdfGenerator pdfGenerator;
+    private final EventOutbox eventOutbox;
+    private final GroupRatingService groupRatingService;
+    private final GroupRepository groupRepository;
+
+    // General conditions are identical for every policy, so they are laid out once and appended as pages
+    private PdfGenerator.Template generalConditions;
+
+    @PostConstruct
+    void compileTemplates() throws IOException {
+        generalConditions = pdfGenerator.compile((document, fonts) -> {
+            document.add(new Paragraph("General Conditions", fonts.heading()));
+            for (String clause : GENERAL_CONDITIONS) {
+                Paragraph paragraph = new Paragraph(clause, fonts.body());
+                paragraph.setSpacingBefore(6);
+                document.add(paragraph);
+            }
+        });
+    }
+
+    /**
+     * Issues a policy for one product term (unless an end date is given) and raises the term's
+     * premium instalments.
+     */
+    @Transactional
     public PolicyDTO createPolicy(@Valid PolicyDTO policyDTO) {
-        return null;
+        customerService.getCustomerById(policyDTO.getCustomerId());
+        InsuranceProductDTO product = insuranceProductService.getProductById(policyDTO.getProductId());
+        if (policyDTO.getEndDate() == null) {
+            int termMonths = product.getTermMonths() != null ? product.getTermMonths() : 12;
+            policyDTO.setEndDate(policyDTO.getStartDate().plusMonths(termMonths).minusDays(1));
+        } else if (policyDTO.getEndDate().isBefore(policyDTO.getStartDate())) {
+            throw new BusinessException("Policy end date is before its start date");
+        }
+
+        PolicyDTO policy = policyRepository.insert(policyDTO);
+        if (policy.getPremiumAmount() != null) {
+            premiumService.scheduleInstalments(policy, instalmentDates(policy.getStartDate(), policy.getEndDate(), policy.getPremiumFrequency()));
+        }
+        eventOutbox.append("policy", policy.getId(), EventOutbox.POLICY_CREATED, policy);
+        return policy;
     }
 
+    /**
+     * Issues one policy per member of a group for one product term, rated against the product's
+     * rate table, and raises all of their instalments in batched writes. Members that already hold
+     * a live policy on the product through the group are skipped; nothing is issued if any other
+     * member cannot be rated. The group row stays locked until commit, so a concurrent issue for
+     * the same group waits and then skips the members covered here.
+     */
+    @Transactional
+    public GroupRatingDTO createGroupPolicies(Long groupId, @Valid GroupRatingRequestDTO request) {
+        if (!groupRepository.lockForUpdate(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+        GroupRatingService.Rating rating = groupRatingService.rateGroup(groupId, request);
+        GroupRatingDTO summary = groupRatingService.summarize(groupId, rating);
+        long unrated = summary.getMemberCount() - summary.getCoveredMembers() - summary.getRatedMembers();
+        if (unrated > 0) {
+            throw new BusinessException(unrated + " member(s) of group " + groupId
+                    + " have no date of birth or an age outside the rate table; quote the group to list them");
+        }
+
+        InsuranceProductDTO product = rating.product();
+        int termMonths = product.getTermMonths() != null ? product.getTermMonths() : 12;
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = startDate.plusMonths(termMonths).minusDays(1);
+        GroupRatingEngine.Members members = rating.members();
+        List<PolicyDTO> policies = new ArrayList<>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            policies.add(PolicyDTO.builder()
+                    .customerId(members.customerId(i))
+                    .productId(product.getId())
+                    .groupId(groupId)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .coverAmount(request.getCoverAmount())
+                    .premiumAmount(BigDecimal.valueOf(rating.instalmentCents(i), 2))
+                    .premiumFrequency(rating.premiumFrequency())
+                    .build());
+        }
+
+        policyRepository.insertAll(policies);
+        List<PremiumDTO> premiums = premiumService.scheduleInstalments(policies, instalmentDates(startDate, endDate, rating.premiumFrequency()));
+        eventOutbox.appendAll("policy", PolicyDTO::getId, EventOutbox.POLICY_CREATED, policies);
+        summary.setPoliciesIssued((long) policies.size());
+        summary.setInstalmentsRaised((long) premiums.size());
+        return summary;
+    }
+
+    @Transactional(readOnly = true)
     public Page<PolicyDTO> getAllPolicies(String customerName, String policyNumber, String productCode, Pageable pageable) {
-        return null;
+        PageTokens.requireOrder(pageable, ORDER);
+        PolicyRepository.Filter filter = new PolicyRepository.Filter(customerName, policyNumber, productCode);
+        List<PolicyDTO> content = policyRepository.findPage(filter, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> policyRepository.count(filter));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PolicyDTO> seekPolicies(String customerName, String policyNumber, String productCode,
+                                                 String cursor, Integer size, boolean includeTotal) {
+        PolicyRepository.Filter filter = new PolicyRepository.Filter(customerName, policyNumber, productCode);
+        String scope = PageTokens.scope("policies", customerName, policyNumber, productCode);
+        String[] after = PageTokens.decode(cursor, scope, 1);
+        int limit = PageTokens.size(size);
+        List<PolicyDTO> rows = policyRepository.findAfter(filter,
+                after == null ? null : PageTokens.key(after[0], Long::valueOf), limit + 1);
+        return PageTokens.page(rows, limit, scope, p -> new Object[]{p.getId()},
+                includeTotal ? () -> policyRepository.count(filter) : null);
+    }
+
+    @Transactional(readOnly = true)
     public PolicyDTO getPolicyById(Long id) {
-        return null;
+        return policyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Policy", id));
     }
 
     public PolicyDTO updatePolicy(Long id, @Valid PolicyDTO policyDTO) {
         return null;
     }
 
+    @Transactional(readOnly = true)
     public List<PolicyDTO> getPoliciesByCustomerId(Long customerId) {
-        return null;
+        return policyRepository.findByCustomerIds(List.of(customerId));
     }
 
+    @Transactional(readOnly = true)
+    public List<PolicyDTO> getPoliciesByCustomerIds(Collection<Long> customerIds) {
+        return policyRepository.findByCustomerIds(customerIds);
+    }
+
+    /**
+     * Extends the policy by one product term starting the day after the current end date and
+     * raises that term's premium instalments.
+     */
+    @Transactional
     public PolicyDTO renewPolicy(Long id) {
-        return null;
+        PolicyDTO policy = getPolicyById(id);
+        if ("CANCELLED".equals(policy.getStatus())) {
+            throw new BusinessException("Policy " + policy.getPolicyNumber() + " is cancelled and cannot be renewed");
+        }
+        if (policy.getEndDate() == null) {
+            throw new BusinessException("Policy " + policy.getPolicyNumber() + " has no fixed term to renew");
+        }
+        InsuranceProductDTO product = insuranceProductService.getProductById(policy.getProductId());
+        int termMonths = product.getTermMonths() != null ? product.getTermMonths() : 12;
+        LocalDate termStart = policy.getEndDate().plusDays(1);
+        LocalDate termEnd = termStart.plusMonths(termMonths).minusDays(1);
+
+        PolicyDTO renewed = policyRepository.renew(id, policy.getEndDate(), termEnd)
+                .orElseThrow(() -> new BusinessException("Policy " + policy.getPolicyNumber() + " was changed concurrently, retry the renewal"));
+        if (renewed.getPremiumAmount() != null) {
+            premiumService.scheduleInstalments(renewed, instalmentDates(termStart, termEnd, renewed.getPremiumFrequency()));
+        }
+        return renewed;
     }
 
+    // Open instalments are cancelled with the policy; refunds are handled separately
+    @Transactional
     public PolicyDTO cancelPolicy(Long id, String cancellationReason) {
-        return null;
+        PolicyDTO policy = getPolicyById(id);
+        PolicyDTO cancelled = policyRepository.cancel(id, cancellationReason)
+                .orElseThrow(() -> new BusinessException("Policy " + policy.getPolicyNumber() + " is already cancelled"));
+        premiumService.cancelOpenPremiums(id);
+        return cancelled;
+    }
+
+    private static List<LocalDate> instalmentDates(LocalDate termStart, LocalDate termEnd, String frequency) {
+        int months = switch (frequency != null ? frequency : "MONTHLY") {
+            case "QUARTERLY" -> 3;
+            case "SEMI_ANNUAL" -> 6;
+            case "ANNUAL" -> 12;
+            default -> 1;
+        };
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate due = termStart; !due.isAfter(termEnd); due = termStart.plusMonths((long) months * dates.size())) {
+            dates.add(due);
+        }
+        return dates;
     }
 
     public byte[] generatePolicyDocument(Long id) {
-        return null;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            preparePolicyDocument(id).writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Lookups happen here so a missing policy fails before the response starts streaming
+    public PdfGenerator.RenderTask preparePolicyDocument(Long id) {
+        PolicyDTO policy = getPolicyById(id);
+        CustomerDTO customer = customerService.getCustomerById(policy.getCustomerId());
+        InsuranceProductDTO product = insuranceProductService.getProductById(policy.getProductId());
+
+        return out -> pdfGenerator.render(out, "Policy " + policy.getPolicyNumber(), (document, fonts) -> {
+            document.add(new Paragraph("Policy Schedule", fonts.title()));
+            PdfPTable details = PdfGenerator.detailsTable();
+            addDetail(details, fonts, "Policy number", policy.getPolicyNumber());
+            addDetail(details, fonts, "Policyholder", customer.getFirstName() + " " + customer.getLastName());
+            addDetail(details, fonts, "ID number", customer.getIdNumber());
+            addDetail(details, fonts, "Product", product.getName() + " (" + product.getProductCode() + ")");
+            addDetail(details, fonts, "Start date", policy.getStartDate());
+            addDetail(details, fonts, "End date", policy.getEndDate());
+            addDetail(details, fonts, "Sum insured", policy.getCoverAmount());
+            addDetail(details, fonts, "Premium", policy.getPremiumAmount());
+            addDetail(details, fonts, "Premium frequency", policy.getPremiumFrequency());
+            addDetail(details, fonts, "Status", policy.getStatus());
+            document.add(details);
+            if (product.getDescription() != null) {
+                document.add(new Paragraph(product.getDescription(), fonts.body()));
+            }
+        }, generalConditions);
     }
 }
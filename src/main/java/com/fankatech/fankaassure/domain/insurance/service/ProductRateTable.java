@@ -0,0 +1,102 @@
+package com.fankatech.fankaassure.domain.insurance.service;
+
+import com.fankatech.fankaassure.dto.insurance.ProductRateDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable group rating table of one product version, flattened into arrays indexed by
+ * {@code age * bands + coverBand}, so rating a member is a band search over a handful of bounds
+ * and two array reads. Cells that no rate row covers hold NaN. Safe to share across threads.
+ */
+public final class ProductRateTable {
+
+    public static final int MAX_AGE = 120;
+
+    private final long productId;
+    private final int version;
+    // Ascending lower bounds of the cover bands
+    private final double[] coverBounds;
+    private final double[] ratesPerMille;
+    private final double[] dependantLoadings;
+
+    private ProductRateTable(long productId, int version, double[] coverBounds,
+                             double[] ratesPerMille, double[] dependantLoadings) {
+        this.productId = productId;
+        this.version = version;
+        this.coverBounds = coverBounds;
+        this.ratesPerMille = ratesPerMille;
+        this.dependantLoadings = dependantLoadings;
+    }
+
+    /**
+     * @throws BusinessException if a row is incomplete, outside ages 0-{@value #MAX_AGE}, or
+     *                           overlaps another row in age and cover band
+     */
+    public static ProductRateTable build(long productId, int version, List<ProductRateDTO> rows) {
+        double[] bounds = rows.stream().mapToDouble(ProductRateTable::minCover).distinct().sorted().toArray();
+        int bands = bounds.length;
+        double[] rates = new double[(MAX_AGE + 1) * bands];
+        double[] loadings = new double[rates.length];
+        Arrays.fill(rates, Double.NaN);
+
+        for (ProductRateDTO row : rows) {
+            if (row.getMinAge() == null || row.getMaxAge() == null || row.getRatePerMille() == null) {
+                throw new BusinessException("Every rate row needs minAge, maxAge and ratePerMille");
+            }
+            if (row.getMinAge() < 0 || row.getMaxAge() > MAX_AGE || row.getMinAge() > row.getMaxAge()) {
+                throw new BusinessException("Invalid rate age band " + row.getMinAge() + "-" + row.getMaxAge());
+            }
+            int band = Arrays.binarySearch(bounds, minCover(row));
+            double loading = row.getDependantLoading() != null ? row.getDependantLoading().doubleValue() : 0;
+            for (int age = row.getMinAge(); age <= row.getMaxAge(); age++) {
+                int cell = age * bands + band;
+                if (!Double.isNaN(rates[cell])) {
+                    throw new BusinessException("Rate rows overlap at age " + age + " for cover from " + minCover(row));
+                }
+                rates[cell] = row.getRatePerMille().doubleValue();
+                loadings[cell] = loading;
+            }
+        }
+        return new ProductRateTable(productId, version, bounds, rates, loadings);
+    }
+
+    public long productId() {
+        return productId;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return coverBounds.length == 0;
+    }
+
+    // Annual premium of one member, or NaN when the table has no rate for the age and cover
+    public double annualPremium(int age, double cover, int dependants) {
+        if (age < 0 || age > MAX_AGE) {
+            return Double.NaN;
+        }
+        int band = coverBand(cover);
+        if (band < 0) {
+            return Double.NaN;
+        }
+        int cell = age * coverBounds.length + band;
+        return cover / 1000 * ratesPerMille[cell] * (1 + dependants * dependantLoadings[cell]);
+    }
+
+    // Highest band whose lower bound is at most cover, or -1 below the first band
+    private int coverBand(double cover) {
+        int found = Arrays.binarySearch(coverBounds, cover);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private static double minCover(ProductRateDTO row) {
+        BigDecimal minCover = row.getMinCoverAmount();
+        return minCover != null ? minCover.doubleValue() : 0;
+    }
+}
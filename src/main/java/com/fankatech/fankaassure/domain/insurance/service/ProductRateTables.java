@@ -0,0 +1,44 @@
+package com.fankatech.fankaassure.domain.insurance.service;
+
+import com.fankatech.fankaassure.domain.insurance.repository.InsuranceProductRepository;
+import com.fankatech.fankaassure.dto.insurance.InsuranceProductDTO;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lazily built {@link ProductRateTable}s, one per product, tagged with the product version they
+ * were loaded at. Replacing a product's rates bumps its version, so the first lookup with the new
+ * version rebuilds the table on every node without any explicit invalidation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductRateTables {
+
+    private final InsuranceProductRepository insuranceProductRepository;
+    private final Map<Long, ProductRateTable> byProduct = new ConcurrentHashMap<>();
+
+    /**
+     * Tables are built outside the map, so a slow query never blocks lookups of other products,
+     * and published only if no newer version got there first. A table is tagged with the version
+     * its rates were read at; rates from a lagging replica are therefore rebuilt on a later lookup
+     * instead of being pinned under the newer version.
+     */
+    public ProductRateTable forProduct(InsuranceProductDTO product) {
+        int version = product.getVersion() != null ? product.getVersion() : 0;
+        ProductRateTable cached = byProduct.get(product.getId());
+        if (cached != null && cached.version() >= version) {
+            return cached;
+        }
+        InsuranceProductRepository.VersionedRates rates = insuranceProductRepository.findVersionedRates(product.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Insurance product", product.getId()));
+        ProductRateTable built = ProductRateTable.build(product.getId(), rates.version(), rates.rates());
+        log.debug("Built rate table of product {} at version {}", product.getId(), rates.version());
+        return byProduct.merge(product.getId(), built, (current, fresh) -> current.version() >= fresh.version() ? current : fresh);
+    }
+}
@@ -0,0 +1,193 @@
+package com.fankatech.fankaassure.domain.member.repository;
+
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerRepository {
+
+    private static final RowMapper<CustomerDTO> ROW_MAPPER = BeanPropertyRowMapper.newInstance(CustomerDTO.class);
+
+    // Only the searchable columns, for building the in-memory search index
+    private static final RowMapper<CustomerDTO> SEARCH_ROW_MAPPER = (rs, rowNum) -> CustomerDTO.builder()
+            .id(rs.getLong("id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .idNumber(rs.getString("id_number"))
+            .email(rs.getString("email"))
+            .phone(rs.getString("phone"))
+            .build();
+
+    private static final int STREAM_FETCH_SIZE = 5000;
+
+    private static final String LIKE_CONDITION = """
+             WHERE lower(first_name || ' ' || last_name) LIKE :q OR lower(id_number) LIKE :q
+                OR lower(email) LIKE :q OR phone LIKE :q
+            """;
+
+    public record Filter(String name, String idNumber, String email, String phone) {
+    }
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<CustomerDTO> findById(Long id) {
+        return namedJdbcTemplate.query("SELECT * FROM customer WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    public Map<String, Long> findIdsByIdNumbers(Collection<String> idNumbers) {
+        Map<String, Long> ids = new HashMap<>();
+        if (idNumbers.isEmpty()) {
+            return ids;
+        }
+        namedJdbcTemplate.query("SELECT id, id_number FROM customer WHERE id_number IN (:idNumbers)",
+                Map.of("idNumbers", idNumbers),
+                rs -> {
+                    ids.put(rs.getString("id_number"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public CustomerDTO insert(CustomerDTO customer) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("""
+                INSERT INTO customer (first_name, last_name, id_number, email, phone, date_of_birth, gender, address, status)
+                VALUES (:firstName, :lastName, :idNumber, :email, :phone, :dateOfBirth, :gender, :address,
+                        COALESCE(:status, 'ACTIVE'))
+                """, new BeanPropertySqlParameterSource(customer), keyHolder, new String[]{"id"});
+        customer.setId(keyHolder.getKeyAs(Long.class));
+        return customer;
+    }
+
+    public boolean update(CustomerDTO customer) {
+        return namedJdbcTemplate.update("""
+                UPDATE customer
+                   SET first_name = :firstName, last_name = :lastName, id_number = :idNumber, email = :email,
+                       phone = :phone, date_of_birth = :dateOfBirth, gender = :gender, address = :address,
+                       status = COALESCE(:status, status), updated_at = now()
+                 WHERE id = :id
+                """, new BeanPropertySqlParameterSource(customer)) > 0;
+    }
+
+    public List<CustomerDTO> findPage(Filter filter, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT * FROM customer WHERE 1 = 1");
+        appendFilter(sql, params, filter);
+        sql.append(" ORDER BY id LIMIT :limit OFFSET :offset");
+        params.addValue("limit", limit).addValue("offset", offset);
+        return namedJdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    // Continues strictly after afterId along the primary key; null for the first page
+    public List<CustomerDTO> findAfter(Filter filter, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT * FROM customer WHERE 1 = 1");
+        appendFilter(sql, params, filter);
+        if (afterId != null) {
+            sql.append(" AND id > :afterId");
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY id LIMIT :limit");
+        params.addValue("limit", limit);
+        return namedJdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    public long count(Filter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM customer WHERE 1 = 1");
+        appendFilter(sql, params, filter);
+        Long count = namedJdbcTemplate.queryForObject(sql.toString(), params, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static void appendFilter(StringBuilder sql, MapSqlParameterSource params, Filter filter) {
+        if (filter.name() != null) {
+            sql.append(" AND lower(first_name || ' ' || last_name) LIKE :name");
+            params.addValue("name", "%" + filter.name().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (filter.idNumber() != null) {
+            sql.append(" AND id_number = :idNumber");
+            params.addValue("idNumber", filter.idNumber());
+        }
+        if (filter.email() != null) {
+            sql.append(" AND lower(email) = :email");
+            params.addValue("email", filter.email().toLowerCase(Locale.ROOT));
+        }
+        if (filter.phone() != null) {
+            sql.append(" AND phone = :phone");
+            params.addValue("phone", filter.phone());
+        }
+    }
+
+    public List<CustomerDTO> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("SELECT * FROM customer WHERE id IN (:ids)", Map.of("ids", ids), ROW_MAPPER);
+    }
+
+    // Substring match on every searchable column; a full scan, used only until the search index is ready
+    public List<CustomerDTO> searchLike(String query, long offset, int limit) {
+        return namedJdbcTemplate.query("SELECT * FROM customer" + LIKE_CONDITION
+                        + " ORDER BY last_name, first_name, id LIMIT :limit OFFSET :offset",
+                Map.of("q", likePattern(query), "limit", limit, "offset", offset), ROW_MAPPER);
+    }
+
+    public long countLike(String query) {
+        Long count = namedJdbcTemplate.queryForObject("SELECT count(*) FROM customer" + LIKE_CONDITION,
+                Map.of("q", likePattern(query)), Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static String likePattern(String query) {
+        String escaped = query.toLowerCase(Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    public LocalDateTime maxUpdatedAt() {
+        return jdbcTemplate.queryForObject("SELECT max(updated_at) FROM customer", LocalDateTime.class);
+    }
+
+    /**
+     * Streams the searchable columns of every customer updated after {@code since} (all customers
+     * when null) through a server-side cursor. Must run inside a transaction.
+     */
+    public void forEachSearchEntry(LocalDateTime since, Consumer<CustomerDTO> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(since == null
+                            ? "SELECT id, first_name, last_name, id_number, email, phone FROM customer"
+                            : "SELECT id, first_name, last_name, id_number, email, phone FROM customer WHERE updated_at > ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            if (since != null) {
+                ps.setTimestamp(1, Timestamp.valueOf(since));
+            }
+            return ps;
+        }, rs -> {
+            consumer.accept(SEARCH_ROW_MAPPER.mapRow(rs, 0));
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.fankatech.fankaassure.domain.member.repository;
+
+import com.fankatech.fankaassure.dto.member.GroupDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class GroupRepository {
+
+    private static final RowMapper<GroupDTO> ROW_MAPPER = BeanPropertyRowMapper.newInstance(GroupDTO.class);
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @FunctionalInterface
+    public interface RatingMemberConsumer {
+        void accept(long customerId, LocalDate dateOfBirth, int dependants);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<GroupDTO> findById(Long id) {
+        return namedJdbcTemplate.query("""
+                SELECT g.*, (SELECT count(*) FROM group_member m WHERE m.group_id = g.id) AS member_count
+                  FROM customer_group g
+                 WHERE g.id = :id
+                """, Map.of("id", id), ROW_MAPPER).stream().findFirst();
+    }
+
+    // Locks the group row, so membership changes and policy issues of one group apply one after another
+    public boolean lockForUpdate(Long id) {
+        return !jdbcTemplate.queryForList("SELECT id FROM customer_group WHERE id = ? FOR UPDATE", Long.class, id).isEmpty();
+    }
+
+    public boolean existsById(Long id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM customer_group WHERE id = ?)", Boolean.class, id));
+    }
+
+    public GroupDTO insert(GroupDTO group) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("""
+                INSERT INTO customer_group (group_code, name, description, contact_email)
+                VALUES (:groupCode, :name, :description, :contactEmail)
+                """, new BeanPropertySqlParameterSource(group), keyHolder, new String[]{"id"});
+        group.setId(keyHolder.getKeyAs(Long.class));
+        group.setMemberCount(0L);
+        return group;
+    }
+
+    public long countMembers(Long groupId) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM group_member WHERE group_id = ?", Long.class, groupId);
+        return count != null ? count : 0;
+    }
+
+    public Set<Long> findAllMemberIds(Long groupId) {
+        Set<Long> ids = new HashSet<>();
+        jdbcTemplate.query("SELECT customer_id FROM group_member WHERE group_id = ?", rs -> {
+            ids.add(rs.getLong(1));
+        }, groupId);
+        return ids;
+    }
+
+    /**
+     * Streams the members with the details group rating needs, in customer id order. Must run
+     * inside a transaction for the fetch size to apply.
+     */
+    public void forEachRatingMember(Long groupId, RatingMemberConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                            SELECT gm.customer_id, c.date_of_birth, gm.dependants
+                              FROM group_member gm
+                              JOIN customer c ON c.id = gm.customer_id
+                             WHERE gm.group_id = ?
+                             ORDER BY gm.customer_id
+                            """,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setLong(1, groupId);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getInt(3));
+        });
+    }
+
+    public Set<Long> findMemberIds(Long groupId, Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT customer_id FROM group_member WHERE group_id = :groupId AND customer_id IN (:customerIds)",
+                Map.of("groupId", groupId, "customerIds", customerIds), Long.class));
+    }
+
+    public void batchInsertMembers(Long groupId, Collection<Long> customerIds) {
+        List<Long> ids = new ArrayList<>(customerIds);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO group_member (group_id, customer_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                ids, ids.size(), (ps, customerId) -> {
+                    ps.setLong(1, groupId);
+                    ps.setLong(2, customerId);
+                });
+    }
+
+    /**
+     * Inserts the members in one batch, skipping ids with no customer row instead of failing the
+     * batch on the foreign key. Returns the ids that were not inserted: unknown customers, or
+     * customers that became members concurrently.
+     */
+    public List<Long> batchInsertExistingMembers(Long groupId, List<Long> customerIds) {
+        int[] counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO group_member (group_id, customer_id)
+                SELECT ?, id FROM customer WHERE id = ?
+                ON CONFLICT DO NOTHING
+                """, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, groupId);
+                ps.setLong(2, customerIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return customerIds.size();
+            }
+        });
+        List<Long> skipped = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                skipped.add(customerIds.get(i));
+            }
+        }
+        return skipped;
+    }
+
+    public void batchDeleteMembers(Long groupId, List<Long> customerIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM group_member WHERE group_id = ? AND customer_id = ?",
+                customerIds, customerIds.size(), (ps, customerId) -> {
+                    ps.setLong(1, groupId);
+                    ps.setLong(2, customerId);
+                });
+    }
+}
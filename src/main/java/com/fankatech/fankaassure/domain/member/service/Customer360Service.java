@@ -0,0 +1,126 @@
+package com.fankatech.fankaassure.domain.member.service;
+
+import com.fankatech.fankaassure.domain.claims.service.ClaimService;
+import com.fankatech.fankaassure.domain.finance.service.PaymentService;
+import com.fankatech.fankaassure.domain.insurance.service.PolicyService;
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.finance.PaymentDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.dto.member.Customer360DTO;
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The customer page in one call: customers, their policies and their latest claims and payments,
+ * for any number of customers up to a limit. Each section is one batched query covering every
+ * requested customer, and the four run in parallel as read-only transactions of their own.
+ */
+@Service
+public class Customer360Service {
+
+    private final CustomerService customerService;
+    private final PolicyService policyService;
+    private final ClaimService claimService;
+    private final PaymentService paymentService;
+    private final int maxCustomers;
+    private final int recentRows;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public Customer360Service(CustomerService customerService,
+                              PolicyService policyService,
+                              ClaimService claimService,
+                              PaymentService paymentService,
+                              @Value("${fankaassure.member.customer-360.max-customers:100}") int maxCustomers,
+                              @Value("${fankaassure.member.customer-360.recent-rows:20}") int recentRows) {
+        this.customerService = customerService;
+        this.policyService = policyService;
+        this.claimService = claimService;
+        this.paymentService = paymentService;
+        this.maxCustomers = maxCustomers;
+        this.recentRows = recentRows;
+    }
+
+    public Customer360DTO getCustomer360(Long id) {
+        List<Customer360DTO> views = getCustomers360(List.of(id));
+        if (views.isEmpty()) {
+            throw new ResourceNotFoundException("Customer", id);
+        }
+        return views.get(0);
+    }
+
+    // In the order requested; unknown ids are skipped
+    public List<Customer360DTO> getCustomers360(Collection<Long> customerIds) {
+        Set<Long> ids = customerIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > maxCustomers) {
+            throw new BusinessException("At most " + maxCustomers + " customers can be fetched at once");
+        }
+
+        CompletableFuture<List<CustomerDTO>> customers = fetch(() -> customerService.getCustomersByIds(ids));
+        CompletableFuture<List<PolicyDTO>> policies = fetch(() -> policyService.getPoliciesByCustomerIds(ids));
+        CompletableFuture<List<ClaimDTO>> claims = fetch(() -> claimService.getLatestClaimsByCustomerIds(ids, recentRows));
+        CompletableFuture<List<PaymentDTO>> payments = fetch(() -> paymentService.getLatestPaymentsByCustomerIds(ids, recentRows));
+
+        Map<Long, CustomerDTO> customersById = await(customers).stream()
+                .collect(Collectors.toMap(CustomerDTO::getId, Function.identity()));
+        Map<Long, List<PolicyDTO>> policiesByCustomer = byCustomer(await(policies), PolicyDTO::getCustomerId);
+        Map<Long, List<ClaimDTO>> claimsByCustomer = byCustomer(await(claims), ClaimDTO::getCustomerId);
+        Map<Long, List<PaymentDTO>> paymentsByCustomer = byCustomer(await(payments), PaymentDTO::getCustomerId);
+
+        return ids.stream()
+                .map(customersById::get)
+                .filter(Objects::nonNull)
+                .map(customer -> Customer360DTO.builder()
+                        .customer(customer)
+                        .policies(policiesByCustomer.getOrDefault(customer.getId(), List.of()))
+                        .claims(claimsByCustomer.getOrDefault(customer.getId(), List.of()))
+                        .payments(paymentsByCustomer.getOrDefault(customer.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> fetch(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, executor);
+    }
+
+    private static <T> T await(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Rows arrive ordered within each customer, and groupingBy keeps that order
+    private static <T> Map<Long, List<T>> byCustomer(List<T> rows, Function<T, Long> customerId) {
+        return rows.stream().collect(Collectors.groupingBy(customerId));
+    }
+}
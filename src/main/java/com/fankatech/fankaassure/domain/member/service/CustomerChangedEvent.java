@@ -0,0 +1,7 @@
+package com.fankatech.fankaassure.domain.member.service;
+
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+
+// Published when a customer is created or updated; listeners see it after the transaction commits
+public record CustomerChangedEvent(CustomerDTO customer) {
+}
@@ -0,0 +1,448 @@
+package com.fankatech.fankaassure.domain.member.service;
+
+import com.fankatech.fankaassure.domain.member.repository.CustomerRepository;
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over customer names, ID numbers, emails and phones. Names are indexed
+ * as whole words, Soundex codes and trigrams, so misspelt and partial names still match; ID
+ * numbers, emails and phones are kept in sorted maps for exact and prefix lookups.
+ * <p>
+ * The index is built from the database on startup, updated after each committed
+ * register/update, and reconciled with a periodic delta scan on {@code updated_at} so changes
+ * made by other nodes or bulk imports are picked up. Updates are append-only: the old document is
+ * marked deleted and the index is rebuilt once deletions pass a quarter of all documents.
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndex {
+
+    public record Hits(List<Long> customerIds, int total) {
+    }
+
+    private static final double SCORE_ID_EXACT = 10;
+    private static final double SCORE_ID_PREFIX = 6;
+    private static final double SCORE_EMAIL_EXACT = 10;
+    private static final double SCORE_EMAIL_PREFIX = 6;
+    private static final double SCORE_PHONE_EXACT = 8;
+    private static final double SCORE_PHONE_PREFIX = 5;
+    private static final double SCORE_WORD = 5;
+    private static final double SCORE_PHONETIC = 3;
+    private static final double SCORE_TRIGRAM = 4;
+    private static final double MIN_TRIGRAM_OVERLAP = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final double MAX_DELETED_RATIO = 0.25;
+    // Rows committed slightly out of updated_at order are still caught by the next delta scan
+    private static final long DELTA_OVERLAP_MINUTES = 1;
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuildExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile boolean ready;
+    private State state = new State();
+    // Changes that arrive while a rebuild is streaming, replayed onto the new state before the swap
+    private List<CustomerDTO> pending;
+    private LocalDateTime watermark;
+
+    public CustomerSearchIndex(CustomerRepository customerRepository, TransactionTemplate transactionTemplate) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event.customer());
+            }
+            state.put(event.customer());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildIfFragmented();
+    }
+
+    @Scheduled(fixedDelayString = "${fankaassure.member.search.refresh-interval:PT30S}",
+            initialDelayString = "${fankaassure.member.search.refresh-interval:PT30S}")
+    public void refresh() {
+        LocalDateTime since;
+        boolean building;
+        lock.readLock().lock();
+        try {
+            since = watermark;
+            building = pending != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!ready && !building) {
+            // The startup build failed; it is retried on each refresh until it succeeds
+            scheduleRebuild();
+        }
+        if (!ready || building) {
+            return;
+        }
+
+        LocalDateTime next = customerRepository.maxUpdatedAt();
+        if (next == null || (since != null && !next.isAfter(since))) {
+            return;
+        }
+        List<CustomerDTO> changed = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> customerRepository.forEachSearchEntry(
+                since == null ? null : since.minusMinutes(DELTA_OVERLAP_MINUTES), changed::add));
+
+        int updated = 0;
+        lock.writeLock().lock();
+        try {
+            for (CustomerDTO customer : changed) {
+                if (state.put(customer)) {
+                    updated++;
+                }
+            }
+            watermark = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (updated > 0) {
+            log.debug("Customer search index refreshed {} document(s)", updated);
+        }
+        rebuildIfFragmented();
+    }
+
+    /**
+     * Ranks customers against a free-text query. Each term scores a customer by its best match
+     * (ID/email/phone exact or prefix, whole name word, phonetic, trigram overlap) and the term
+     * scores are summed; ties go to the lower customer id. Returns the first {@code limit} ids and
+     * the number of customers that matched at all.
+     */
+    public Hits search(String query, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                state.score(term).forEach((doc, score) -> scores.merge(doc, score, Double::sum));
+            }
+
+            Comparator<Map.Entry<Integer, Double>> worstFirst = Map.Entry.<Integer, Double>comparingByValue()
+                    .thenComparing(e -> state.customerIds[e.getKey()], Comparator.reverseOrder());
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Math.max(1, limit), worstFirst);
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = state.customerIds[top.poll().getKey()];
+            }
+            return new Hits(Arrays.asList(ids), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuildIfFragmented() {
+        boolean fragmented;
+        lock.readLock().lock();
+        try {
+            fragmented = state.size > 0 && state.deleted.cardinality() > state.size * MAX_DELETED_RATIO;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (fragmented) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Customer search index rebuild failed", e);
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime next = customerRepository.maxUpdatedAt();
+        State fresh = new State();
+        transactionTemplate.executeWithoutResult(status -> customerRepository.forEachSearchEntry(null, fresh::put));
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(fresh::put);
+            pending = null;
+            state = fresh;
+            watermark = next;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Customer search index built with {} customers in {} ms",
+                fresh.size, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    static List<String> terms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : query.toLowerCase(Locale.ROOT).split("[\\s,;]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    static String digits(String text) {
+        return text == null ? "" : text.replaceAll("\\D", "");
+    }
+
+    static String identifier(String text) {
+        return text == null ? "" : text.replaceAll("[^\\p{Alnum}]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // Padded so that leading and trailing letters get trigrams of their own
+    static List<String> trigrams(String word) {
+        String padded = "$" + word + "$";
+        List<String> grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    static String soundex(String word) {
+        StringBuilder code = new StringBuilder(4);
+        char last = 0;
+        for (int i = 0; i < word.length() && code.length() < 4; i++) {
+            char c = word.charAt(i);
+            char digit = switch (c) {
+                case 'b', 'f', 'p', 'v' -> '1';
+                case 'c', 'g', 'j', 'k', 'q', 's', 'x', 'z' -> '2';
+                case 'd', 't' -> '3';
+                case 'l' -> '4';
+                case 'm', 'n' -> '5';
+                case 'r' -> '6';
+                case 'h', 'w' -> last;
+                default -> 0;
+            };
+            if (code.isEmpty()) {
+                code.append(Character.toUpperCase(c));
+            } else if (digit != 0 && digit != last) {
+                code.append(digit);
+            }
+            last = digit;
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * One generation of the index. Document ids are assigned in insertion order, so every posting
+     * list is ascending and a re-indexed customer always gets a higher id than its stale copy.
+     */
+    private static final class State {
+        private final Map<String, IntList> postings = new HashMap<>();
+        private final NavigableMap<String, IntList> idNumbers = new TreeMap<>();
+        private final NavigableMap<String, IntList> emails = new TreeMap<>();
+        private final NavigableMap<String, IntList> phones = new TreeMap<>();
+        private final Map<Long, Integer> docOf = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] customerIds = new long[1024];
+        private int[] fingerprints = new int[1024];
+        private int size;
+
+        // Returns false when the customer is already indexed with the same searchable fields
+        boolean put(CustomerDTO customer) {
+            int fingerprint = Objects.hash(customer.getFirstName(), customer.getLastName(),
+                    customer.getIdNumber(), customer.getEmail(), customer.getPhone());
+            Integer previous = docOf.get(customer.getId());
+            if (previous != null) {
+                if (fingerprints[previous] == fingerprint) {
+                    return false;
+                }
+                deleted.set(previous);
+            }
+
+            int doc = size++;
+            if (doc == customerIds.length) {
+                customerIds = Arrays.copyOf(customerIds, doc * 2);
+                fingerprints = Arrays.copyOf(fingerprints, doc * 2);
+            }
+            customerIds[doc] = customer.getId();
+            fingerprints[doc] = fingerprint;
+            docOf.put(customer.getId(), doc);
+
+            for (String word : words(customer.getFirstName() + " " + customer.getLastName())) {
+                post(postings, "w:" + word, doc);
+                post(postings, "p:" + soundex(word), doc);
+                for (String gram : trigrams(word)) {
+                    post(postings, "g:" + gram, doc);
+                }
+            }
+            post(idNumbers, identifier(customer.getIdNumber()), doc);
+            post(emails, customer.getEmail() == null ? "" : customer.getEmail().toLowerCase(Locale.ROOT), doc);
+            post(phones, digits(customer.getPhone()), doc);
+            return true;
+        }
+
+        Map<Integer, Double> score(String term) {
+            Map<Integer, Double> best = new HashMap<>();
+
+            String id = identifier(term);
+            lookup(idNumbers, id, SCORE_ID_EXACT, SCORE_ID_PREFIX, best);
+            lookup(emails, term, SCORE_EMAIL_EXACT, SCORE_EMAIL_PREFIX, best);
+            String number = digits(term);
+            if (number.length() == id.length()) {
+                lookup(phones, number, SCORE_PHONE_EXACT, SCORE_PHONE_PREFIX, best);
+            }
+
+            for (String word : words(term)) {
+                match(postings.get("w:" + word), SCORE_WORD, best);
+                match(postings.get("p:" + soundex(word)), SCORE_PHONETIC, best);
+
+                List<String> grams = trigrams(word);
+                Map<Integer, Integer> shared = new HashMap<>();
+                for (String gram : new LinkedHashSet<>(grams)) {
+                    IntList docs = postings.get("g:" + gram);
+                    for (int i = 0; docs != null && i < docs.size; i++) {
+                        shared.merge(docs.values[i], 1, Integer::sum);
+                    }
+                }
+                shared.forEach((doc, count) -> {
+                    double overlap = Math.min(1, (double) count / grams.size());
+                    if (overlap >= MIN_TRIGRAM_OVERLAP) {
+                        offer(best, doc, SCORE_TRIGRAM * overlap);
+                    }
+                });
+            }
+            return best;
+        }
+
+        private void lookup(NavigableMap<String, IntList> keys, String key, double exact, double prefix,
+                            Map<Integer, Double> best) {
+            if (key.isEmpty()) {
+                return;
+            }
+            match(keys.get(key), exact, best);
+            if (key.length() >= MIN_PREFIX_LENGTH) {
+                for (Map.Entry<String, IntList> entry : keys.subMap(key, false, key + Character.MAX_VALUE, false).entrySet()) {
+                    match(entry.getValue(), prefix, best);
+                }
+            }
+        }
+
+        private void match(IntList docs, double score, Map<Integer, Double> best) {
+            for (int i = 0; docs != null && i < docs.size; i++) {
+                offer(best, docs.values[i], score);
+            }
+        }
+
+        private void offer(Map<Integer, Double> best, int doc, double score) {
+            if (!deleted.get(doc)) {
+                best.merge(doc, score, Math::max);
+            }
+        }
+
+        private static void post(Map<String, IntList> index, String key, int doc) {
+            if (!key.isEmpty()) {
+                index.computeIfAbsent(key, k -> new IntList()).add(doc);
+            }
+        }
+    }
+}
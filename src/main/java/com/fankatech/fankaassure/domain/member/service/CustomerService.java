@@ -1,30 +1,112 @@
 package com.fankatech.fankaassure.domain.member.service;
 
+import com.fankatech.fankaassure.cache.CacheNames;
+import com.fankatech.fankaassure.domain.member.repository.CustomerRepository;
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
 import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import com.fankatech.fankaassure.util.PageTokens;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class CustomerService {
+
+    // Fixed order of the customer listings; see CustomerRepository#findPage
+    private static final Sort ORDER = Sort.by("id");
+
+    private final CustomerRepository customerRepository;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
     public CustomerDTO registerCustomer(@Valid CustomerDTO customerDTO) {
-        return null;
+        CustomerDTO customer = customerRepository.insert(customerDTO);
+        eventPublisher.publishEvent(new CustomerChangedEvent(customer));
+        return customer;
     }
 
     public Page<CustomerDTO> getAllCustomers(String name, String idNumber, String email, String phone, Pageable pageable) {
-        return null;
+        PageTokens.requireOrder(pageable, ORDER);
+        CustomerRepository.Filter filter = new CustomerRepository.Filter(name, idNumber, email, phone);
+        List<CustomerDTO> content = customerRepository.findPage(filter, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> customerRepository.count(filter));
     }
 
+    public CursorPageDTO<CustomerDTO> seekCustomers(String name, String idNumber, String email, String phone,
+                                                    String cursor, Integer size, boolean includeTotal) {
+        CustomerRepository.Filter filter = new CustomerRepository.Filter(name, idNumber, email, phone);
+        String scope = PageTokens.scope("customers", name, idNumber, email, phone);
+        String[] after = PageTokens.decode(cursor, scope, 1);
+        int limit = PageTokens.size(size);
+        List<CustomerDTO> rows = customerRepository.findAfter(filter,
+                after == null ? null : PageTokens.key(after[0], Long::valueOf), limit + 1);
+        return PageTokens.page(rows, limit, scope, c -> new Object[]{c.getId()},
+                includeTotal ? () -> customerRepository.count(filter) : null);
+    }
+
+    @Cacheable(cacheNames = CacheNames.CUSTOMERS, key = "#id")
     public CustomerDTO getCustomerById(Long id) {
-        return null;
+        return customerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", id));
+    }
+
+    // Read past the cache; unknown ids are skipped
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> getCustomersByIds(Collection<Long> ids) {
+        return customerRepository.findByIds(ids);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.CUSTOMERS, key = "#id")
     public CustomerDTO updateCustomer(Long id, @Valid CustomerDTO customerDTO) {
-        return null;
+        customerDTO.setId(id);
+        if (!customerRepository.update(customerDTO)) {
+            throw new ResourceNotFoundException("Customer", id);
+        }
+        CustomerDTO customer = customerRepository.findById(id).orElseThrow();
+        eventPublisher.publishEvent(new CustomerChangedEvent(customer));
+        return customer;
     }
 
     public Page<CustomerDTO> searchCustomers(String query, Pageable pageable) {
-        return null;
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        if (!customerSearchIndex.isReady()) {
+            // Index still loading after startup; a plain scan is slow but correct
+            List<CustomerDTO> content = customerRepository.searchLike(query.strip(), pageable.getOffset(), pageable.getPageSize());
+            return PageableExecutionUtils.getPage(content, pageable, () -> customerRepository.countLike(query.strip()));
+        }
+
+        CustomerSearchIndex.Hits hits = customerSearchIndex.search(query,
+                (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()));
+        List<Long> pageIds = hits.customerIds().subList(
+                (int) Math.min(pageable.getOffset(), hits.customerIds().size()), hits.customerIds().size());
+        Map<Long, Integer> rank = new HashMap<>();
+        for (Long customerId : pageIds) {
+            rank.put(customerId, rank.size());
+        }
+        List<CustomerDTO> content = customerRepository.findByIds(pageIds).stream()
+                .sorted(Comparator.comparing(c -> rank.get(c.getId())))
+                .toList();
+        return new PageImpl<>(content, pageable, hits.total());
     }
 }
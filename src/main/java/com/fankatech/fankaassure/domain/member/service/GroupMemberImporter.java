@@ -0,0 +1,234 @@
+package com.fankatech.fankaassure.domain.member.service;
+
+import com.fankatech.fankaassure.domain.member.repository.CustomerRepository;
+import com.fankatech.fankaassure.domain.member.repository.GroupRepository;
+import com.fankatech.fankaassure.dto.member.GroupImportReportDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports group members from an XLSX sheet using POI's SAX event model, so rows are parsed one at a
+ * time rather than loading the workbook. The sheet needs a header row with an "ID Number" column;
+ * rows are resolved against customers and inserted in batches, each batch committed on its own.
+ */
+@Slf4j
+@Component
+public class GroupMemberImporter {
+
+    private static final Set<String> ID_NUMBER_HEADERS = Set.of("idnumber", "nationalid", "customeridnumber");
+
+    private final GroupRepository groupRepository;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public GroupMemberImporter(GroupRepository groupRepository,
+                               CustomerRepository customerRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${fankaassure.member.group-import.batch-size:1000}") int batchSize,
+                               @Value("${fankaassure.member.group-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.groupRepository = groupRepository;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public GroupImportReportDTO importMembers(Long groupId, MultipartFile file) {
+        GroupImportReportDTO report = new GroupImportReportDTO();
+        report.setGroupId(groupId);
+
+        // Spool to disk: OPCPackage.open(InputStream) would inflate every zip entry on the heap
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("group-import-", ".xlsx");
+            file.transferTo(spooled);
+            OPCPackage pkg = OPCPackage.open(spooled.toFile(), PackageAccess.READ);
+            try {
+                parseFirstSheet(pkg, new MemberRowHandler(groupId, report));
+            } finally {
+                // Read-only packages are released with revert(); close() would try to save
+                pkg.revert();
+            }
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new BusinessException("Unable to read group member workbook: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(spooled);
+        }
+
+        report.setMemberCount(groupRepository.countMembers(groupId));
+        log.info("Group {} import finished: {} rows, {} imported, {} already members, {} failed",
+                groupId, report.getTotalRows(), report.getImportedMembers(), report.getAlreadyMembers(), report.getFailedRows());
+        return report;
+    }
+
+    private void parseFirstSheet(OPCPackage pkg, MemberRowHandler rowHandler)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        XSSFReader reader = new XSSFReader(pkg);
+        ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+        StylesTable styles = reader.getStylesTable();
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) {
+            throw new BusinessException("Workbook contains no sheets");
+        }
+        try (InputStream sheet = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, rowHandler, new DataFormatter(), false));
+            parser.parse(new InputSource(sheet));
+        }
+        rowHandler.flush();
+    }
+
+    private void importBatch(Long groupId, Map<String, Long> batch, GroupImportReportDTO report) {
+        Map<String, Long> customerIds = customerRepository.findIdsByIdNumbers(batch.keySet());
+        Set<Long> resolved = new HashSet<>(customerIds.values());
+        Set<Long> existing = groupRepository.findMemberIds(groupId, resolved);
+
+        List<Long> toInsert = new ArrayList<>(resolved.size());
+        for (Map.Entry<String, Long> row : batch.entrySet()) {
+            Long customerId = customerIds.get(row.getKey());
+            if (customerId == null) {
+                fail(report, row.getValue(), row.getKey(), "No customer with this ID number");
+            } else if (existing.contains(customerId)) {
+                report.setAlreadyMembers(report.getAlreadyMembers() + 1);
+            } else {
+                toInsert.add(customerId);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> groupRepository.batchInsertMembers(groupId, toInsert));
+                report.setImportedMembers(report.getImportedMembers() + toInsert.size());
+            } catch (DataAccessException e) {
+                log.error("Group {} import batch of {} members rolled back", groupId, toInsert.size(), e);
+                for (Map.Entry<String, Long> row : batch.entrySet()) {
+                    Long customerId = customerIds.get(row.getKey());
+                    if (customerId != null && !existing.contains(customerId)) {
+                        fail(report, row.getValue(), row.getKey(), "Batch rolled back: " + e.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+        log.debug("Group {} import progress: {} rows processed", groupId, report.getTotalRows());
+    }
+
+    private void fail(GroupImportReportDTO report, long row, String idNumber, String message) {
+        report.setFailedRows(report.getFailedRows() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new GroupImportReportDTO.RowError(row, idNumber, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary import file {}", path, e);
+        }
+    }
+
+    private class MemberRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Long groupId;
+        private final GroupImportReportDTO report;
+        // id number -> 1-based sheet row, in sheet order; duplicates within a batch collapse to one row
+        private final Map<String, Long> batch = new LinkedHashMap<>();
+        private int idNumberColumn = -1;
+        private boolean headerSeen;
+        private String currentIdNumber;
+
+        MemberRowHandler(Long groupId, GroupImportReportDTO report) {
+            this.groupId = groupId;
+            this.report = report;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentIdNumber = null;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || formattedValue == null) {
+                return;
+            }
+            int column = new CellReference(cellReference).getCol();
+            if (!headerSeen) {
+                String header = formattedValue.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+                if (ID_NUMBER_HEADERS.contains(header)) {
+                    idNumberColumn = column;
+                }
+            } else if (column == idNumberColumn) {
+                currentIdNumber = formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerSeen) {
+                headerSeen = true;
+                if (idNumberColumn < 0) {
+                    throw new BusinessException("Header row must contain an 'ID Number' column");
+                }
+                return;
+            }
+            if (currentIdNumber == null || currentIdNumber.isEmpty()) {
+                return;
+            }
+            report.setTotalRows(report.getTotalRows() + 1);
+            if (batch.putIfAbsent(currentIdNumber, (long) rowNum + 1) != null) {
+                report.setAlreadyMembers(report.getAlreadyMembers() + 1);
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                importBatch(groupId, batch, report);
+                batch.clear();
+            }
+        }
+    }
+}
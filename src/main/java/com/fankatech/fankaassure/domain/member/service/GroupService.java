@@ -1,41 +1,124 @@
 package com.fankatech.fankaassure.domain.member.service;
 
+import com.fankatech.fankaassure.domain.member.repository.GroupRepository;
 import com.fankatech.fankaassure.dto.member.GroupDTO;
+import com.fankatech.fankaassure.dto.member.GroupImportReportDTO;
+import com.fankatech.fankaassure.dto.member.GroupMembershipReportDTO;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@RequiredArgsConstructor
 public class GroupService {
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberImporter groupMemberImporter;
+
+    @Transactional
     public GroupDTO createGroup(@Valid GroupDTO groupDTO) {
-        return null;
+        return groupRepository.insert(groupDTO);
     }
 
     public Page<GroupDTO> getAllGroups(String name, Pageable pageable) {
         return null;
     }
 
+    @Transactional(readOnly = true)
     public GroupDTO getGroupById(Long id) {
-        return null;
+        return groupRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Group", id));
     }
 
     public GroupDTO updateGroup(Long id, @Valid GroupDTO groupDTO) {
         return null;
     }
 
+    @Transactional
     public GroupDTO addMembersToGroup(Long id, List<Long> customerIds) {
-        return null;
+        changeMembers(id, customerIds, MembershipChange.ADD);
+        return getGroupById(id);
+    }
+
+    @Transactional
+    public GroupMembershipReportDTO removeMembersFromGroup(Long id, List<Long> customerIds) {
+        return changeMembers(id, customerIds, MembershipChange.REMOVE);
+    }
+
+    // Makes the membership exactly the given list, e.g. on an annual scheme renewal
+    @Transactional
+    public GroupMembershipReportDTO replaceGroupMembers(Long id, List<Long> customerIds) {
+        return changeMembers(id, customerIds, MembershipChange.REPLACE);
     }
 
+    @Transactional
     public void removeMemberFromGroup(Long groupId, Long customerId) {
-        return;
+        changeMembers(groupId, List.of(customerId), MembershipChange.REMOVE);
     }
 
-    public GroupDTO importGroupMembers(Long groupId, MultipartFile file) {
-        return null;
+    /**
+     * Loads the current membership once, diffs it against the request in memory and writes only
+     * the delta as batched inserts and deletes. The group row is locked first so two changes to
+     * the same group cannot diff against the same stale membership.
+     */
+    private GroupMembershipReportDTO changeMembers(Long groupId, List<Long> customerIds, MembershipChange change) {
+        if (!groupRepository.lockForUpdate(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+        Set<Long> requested = customerIds == null ? Set.of() : customerIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> current = groupRepository.findAllMemberIds(groupId);
+
+        List<Long> toAdd = change == MembershipChange.REMOVE ? List.of()
+                : requested.stream().filter(id -> !current.contains(id)).toList();
+        List<Long> toRemove = switch (change) {
+            case ADD -> List.of();
+            case REMOVE -> requested.stream().filter(current::contains).toList();
+            case REPLACE -> current.stream().filter(id -> !requested.contains(id)).toList();
+        };
+
+        if (!toRemove.isEmpty()) {
+            groupRepository.batchDeleteMembers(groupId, toRemove);
+        }
+        List<Long> skipped = toAdd.isEmpty() ? List.of() : groupRepository.batchInsertExistingMembers(groupId, toAdd);
+        List<Long> unknown = List.of();
+        if (!skipped.isEmpty()) {
+            // Skipped ids that are members now were added concurrently by an import
+            Set<Long> joined = groupRepository.findMemberIds(groupId, skipped);
+            unknown = skipped.stream().filter(id -> !joined.contains(id)).toList();
+        }
+
+        return GroupMembershipReportDTO.builder()
+                .groupId(groupId)
+                .addedMembers(toAdd.size() - skipped.size())
+                .removedMembers(toRemove.size())
+                .memberCount(groupRepository.countMembers(groupId))
+                .unknownCustomerIds(new ArrayList<>(unknown))
+                .build();
+    }
+
+    private enum MembershipChange {
+        ADD, REMOVE, REPLACE
+    }
+
+    // Not transactional on purpose: each batch of rows commits on its own
+    public GroupImportReportDTO importGroupMembers(Long groupId, MultipartFile file) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+        return groupMemberImporter.importMembers(groupId, file);
     }
 }
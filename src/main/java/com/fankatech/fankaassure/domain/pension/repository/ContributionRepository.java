@@ -0,0 +1,162 @@
+package com.fankatech.fankaassure.domain.pension.repository;
+
+import com.fankatech.fankaassure.dto.pension.ContributionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ContributionRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO contribution (member_id, contribution_date, employee_amount, employer_amount, voluntary_amount, reference)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final RowMapper<ContributionDTO> ROW_MAPPER = (rs, rowNum) -> ContributionDTO.builder()
+            .id(rs.getLong("id"))
+            .memberId(rs.getLong("member_id"))
+            .contributionDate(rs.getDate("contribution_date").toLocalDate())
+            .employeeAmount(rs.getBigDecimal("employee_amount"))
+            .employerAmount(rs.getBigDecimal("employer_amount"))
+            .voluntaryAmount(rs.getBigDecimal("voluntary_amount"))
+            .reference(rs.getString("reference"))
+            .build();
+
+    // Each contribution compounded from its date to the valuation date at a flat credited rate
+    private static final String ACCUMULATED_SQL = """
+            SELECT c.member_id,
+                   SUM((c.employee_amount + c.employer_amount + c.voluntary_amount)::double precision
+                       * POWER(1 + :rate, GREATEST(:valuationDate - c.contribution_date, 0) / 365.25)) AS balance
+              FROM contribution c
+            """;
+
+    @FunctionalInterface
+    public interface BalanceConsumer {
+        void accept(long memberId, double balance);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ContributionDTO save(ContributionDTO contribution) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            bind(ps, contribution);
+            return ps;
+        }, keyHolder);
+        contribution.setId(keyHolder.getKeyAs(Long.class));
+        return contribution;
+    }
+
+    // Batched insert that also reads back the generated ids
+    public List<ContributionDTO> saveAll(List<ContributionDTO> contributions) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, contributions.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return contributions.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < contributions.size() && i < keys.size(); i++) {
+            contributions.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+        return contributions;
+    }
+
+    // Plain JDBC batch without key retrieval, so the driver can rewrite it into multi-row inserts
+    public int batchInsert(List<ContributionDTO> contributions) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, contributions, contributions.size(), ContributionRepository::bind);
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    public List<ContributionDTO> findByMemberId(Long memberId) {
+        return jdbcTemplate.query(
+                "SELECT * FROM contribution WHERE member_id = ? ORDER BY contribution_date, id",
+                ROW_MAPPER, memberId);
+    }
+
+    // One query for a whole slice of members, grouped by member id
+    public Map<Long, List<ContributionDTO>> findByMemberIds(Collection<Long> memberIds, LocalDate fromDate, LocalDate toDate) {
+        Map<Long, List<ContributionDTO>> byMember = new HashMap<>();
+        if (memberIds.isEmpty()) {
+            return byMember;
+        }
+        namedJdbcTemplate.query("""
+                        SELECT * FROM contribution
+                         WHERE member_id IN (:memberIds) AND contribution_date BETWEEN :fromDate AND :toDate
+                         ORDER BY member_id, contribution_date, id
+                        """,
+                Map.of("memberIds", memberIds, "fromDate", Date.valueOf(fromDate), "toDate", Date.valueOf(toDate)),
+                rs -> {
+                    ContributionDTO contribution = ROW_MAPPER.mapRow(rs, 0);
+                    byMember.computeIfAbsent(contribution.getMemberId(), id -> new ArrayList<>()).add(contribution);
+                });
+        return byMember;
+    }
+
+    public double accumulatedBalance(Long memberId, double creditedRate, LocalDate valuationDate) {
+        Map<String, Object> params = Map.of("memberId", memberId, "rate", creditedRate, "valuationDate", Date.valueOf(valuationDate));
+        List<Double> balance = namedJdbcTemplate.queryForList(
+                ACCUMULATED_SQL + " WHERE c.member_id = :memberId AND c.contribution_date <= :valuationDate GROUP BY c.member_id",
+                params, Double.class);
+        return balance.isEmpty() ? 0 : balance.get(0);
+    }
+
+    // One row per member of the plan with contributions, in member id order
+    public void forEachAccumulatedBalance(Long planId, double creditedRate, LocalDate valuationDate, BalanceConsumer consumer) {
+        Map<String, Object> params = Map.of("planId", planId, "rate", creditedRate, "valuationDate", Date.valueOf(valuationDate));
+        namedJdbcTemplate.query(ACCUMULATED_SQL + """
+                          JOIN pension_member m ON m.id = c.member_id
+                         WHERE m.plan_id = :planId AND c.contribution_date <= :valuationDate
+                         GROUP BY c.member_id
+                         ORDER BY c.member_id
+                        """,
+                params, rs -> {
+                    consumer.accept(rs.getLong(1), rs.getDouble(2));
+                });
+    }
+
+    private static void bind(PreparedStatement ps, ContributionDTO contribution) throws SQLException {
+        ps.setLong(1, contribution.getMemberId());
+        ps.setDate(2, Date.valueOf(contribution.getContributionDate()));
+        ps.setBigDecimal(3, contribution.getEmployeeAmount());
+        ps.setBigDecimal(4, contribution.getEmployerAmount());
+        ps.setBigDecimal(5, contribution.getVoluntaryAmount() != null ? contribution.getVoluntaryAmount() : BigDecimal.ZERO);
+        ps.setString(6, contribution.getReference());
+    }
+}
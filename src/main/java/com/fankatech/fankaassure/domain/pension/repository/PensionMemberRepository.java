@@ -0,0 +1,60 @@
+package com.fankatech.fankaassure.domain.pension.repository;
+
+import com.fankatech.fankaassure.dto.pension.PensionMemberDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class PensionMemberRepository {
+
+    private static final RowMapper<PensionMemberDTO> ROW_MAPPER = BeanPropertyRowMapper.newInstance(PensionMemberDTO.class);
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<PensionMemberDTO> findById(Long id) {
+        return namedJdbcTemplate.query("SELECT * FROM pension_member WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    // Keyset slice ordered by id; pass the last id of the previous slice (or 0) to continue
+    public List<PensionMemberDTO> findSlice(Long planId, long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("afterId", afterId);
+        params.put("limit", limit);
+        String planFilter = "";
+        if (planId != null) {
+            params.put("planId", planId);
+            planFilter = " AND plan_id = :planId";
+        }
+        return namedJdbcTemplate.query(
+                "SELECT * FROM pension_member WHERE id > :afterId" + planFilter + " ORDER BY id LIMIT :limit",
+                params, ROW_MAPPER);
+    }
+
+    public int countByPlan(Long planId) {
+        Integer count = namedJdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pension_member WHERE plan_id = :planId", Map.of("planId", planId), Integer.class);
+        return count != null ? count : 0;
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT id FROM pension_member WHERE id IN (:ids)",
+                Map.of("ids", ids), Long.class));
+    }
+}
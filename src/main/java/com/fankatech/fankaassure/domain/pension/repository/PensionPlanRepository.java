@@ -0,0 +1,49 @@
+package com.fankatech.fankaassure.domain.pension.repository;
+
+import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class PensionPlanRepository {
+
+    private static final RowMapper<PensionPlanDTO> ROW_MAPPER = BeanPropertyRowMapper.newInstance(PensionPlanDTO.class);
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public Optional<PensionPlanDTO> findById(Long id) {
+        return namedJdbcTemplate.query("SELECT * FROM pension_plan WHERE id = :id", Map.of("id", id), ROW_MAPPER)
+                .stream().findFirst();
+    }
+
+    public PensionPlanDTO insert(PensionPlanDTO plan) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("""
+                INSERT INTO pension_plan (plan_code, name, description, employee_rate, employer_rate, retirement_age, annuity_rate)
+                VALUES (:planCode, :name, :description, :employeeRate, :employerRate, COALESCE(:retirementAge, 65), :annuityRate)
+                """, new BeanPropertySqlParameterSource(plan), keyHolder, new String[]{"id"});
+        plan.setId(keyHolder.getKeyAs(Long.class));
+        return plan;
+    }
+
+    public boolean update(PensionPlanDTO plan) {
+        return namedJdbcTemplate.update("""
+                UPDATE pension_plan
+                   SET plan_code = :planCode, name = :name, description = :description,
+                       employee_rate = :employeeRate, employer_rate = :employerRate,
+                       retirement_age = COALESCE(:retirementAge, retirement_age), annuity_rate = :annuityRate,
+                       updated_at = now()
+                 WHERE id = :id
+                """, new BeanPropertySqlParameterSource(plan)) > 0;
+    }
+}
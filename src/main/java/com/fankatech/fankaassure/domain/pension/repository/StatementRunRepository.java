@@ -0,0 +1,73 @@
+package com.fankatech.fankaassure.domain.pension.repository;
+
+import com.fankatech.fankaassure.dto.pension.StatementRunDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class StatementRunRepository {
+
+    private static final RowMapper<StatementRunDTO> ROW_MAPPER = BeanPropertyRowMapper.newInstance(StatementRunDTO.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public StatementRunDTO insert(StatementRunDTO run) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("""
+                INSERT INTO statement_run (plan_id, statement_date, output_format, output_path, status)
+                VALUES (:planId, :statementDate, :outputFormat, :outputPath, :status)
+                """, new BeanPropertySqlParameterSource(run), keyHolder, new String[]{"id"});
+        run.setId(keyHolder.getKeyAs(Long.class));
+        return run;
+    }
+
+    public Optional<StatementRunDTO> findById(Long id) {
+        return jdbcTemplate.query("SELECT * FROM statement_run WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Marks the run RUNNING under a lease held by {@code owner}. Returns false when the run has
+     * completed or is running under another owner's unexpired lease, on this node or any other.
+     */
+    public boolean claim(Long id, String outputPath, UUID owner, Duration lease) {
+        return jdbcTemplate.update("""
+                UPDATE statement_run
+                   SET status = 'RUNNING', output_path = ?, error_message = NULL, finished_at = NULL,
+                       started_at = COALESCE(started_at, now()),
+                       lease_owner = ?, lease_until = now() + make_interval(secs => ?)
+                 WHERE id = ? AND status <> 'COMPLETED'
+                   AND (status <> 'RUNNING' OR lease_until IS NULL OR lease_until < now())
+                """, outputPath, owner, lease.toSeconds(), id) > 0;
+    }
+
+    // Also renews the lease; false when the owner has lost it, in which case nothing is written
+    public boolean saveCheckpoint(Long id, UUID owner, Duration lease, Long lastMemberId, long processed, long failed) {
+        return jdbcTemplate.update("""
+                UPDATE statement_run
+                   SET last_member_id = ?, processed_members = ?, failed_members = ?,
+                       lease_until = now() + make_interval(secs => ?)
+                 WHERE id = ? AND lease_owner = ?
+                """, lastMemberId, processed, failed, lease.toSeconds(), id, owner) > 0;
+    }
+
+    public void markFinished(Long id, UUID owner, String status, String errorMessage) {
+        jdbcTemplate.update("""
+                UPDATE statement_run
+                   SET status = ?, error_message = ?, finished_at = now(), lease_owner = NULL, lease_until = NULL
+                 WHERE id = ? AND lease_owner = ?
+                """, status, errorMessage, id, owner);
+    }
+}
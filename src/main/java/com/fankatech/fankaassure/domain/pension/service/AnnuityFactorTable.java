@@ -0,0 +1,104 @@
+package com.fankatech.fankaassure.domain.pension.service;
+
+/**
+ * Commutation columns and annuity factors for one interest rate, for ages 0..{@link #MAX_AGE} and
+ * both sexes. Built once and never modified, so a table is safely shared by every thread; each
+ * column is a flat {@code double[]} indexed by age.
+ */
+public final class AnnuityFactorTable {
+
+    public static final int MAX_AGE = 120;
+    public static final byte SEX_MALE = 0;
+    public static final byte SEX_FEMALE = 1;
+
+    private static final double RADIX = 100_000;
+
+    // Gompertz-Makeham force of mortality mu(x) = A + B * c^x; females are rated down four years
+    private static final double MAKEHAM_A = 0.0005;
+    private static final double GOMPERTZ_B = 0.00003;
+    private static final double GOMPERTZ_C = 1.1;
+    private static final double FEMALE_AGE_SHIFT = -4;
+
+    private final double interestRate;
+    // [sex][age]
+    private final double[][] lx;
+    private final double[][] dx;
+    private final double[][] nx;
+    private final double[][] annuityDue;
+
+    private AnnuityFactorTable(double interestRate) {
+        this.interestRate = interestRate;
+        this.lx = new double[2][MAX_AGE + 1];
+        this.dx = new double[2][MAX_AGE + 1];
+        this.nx = new double[2][MAX_AGE + 1];
+        this.annuityDue = new double[2][MAX_AGE + 1];
+    }
+
+    public static AnnuityFactorTable build(double interestRate) {
+        AnnuityFactorTable table = new AnnuityFactorTable(interestRate);
+        double v = 1 / (1 + interestRate);
+        for (byte sex = SEX_MALE; sex <= SEX_FEMALE; sex++) {
+            double shift = sex == SEX_FEMALE ? FEMALE_AGE_SHIFT : 0;
+            double[] l = table.lx[sex];
+            double[] d = table.dx[sex];
+            double[] n = table.nx[sex];
+            double[] a = table.annuityDue[sex];
+
+            l[0] = RADIX;
+            double discount = 1;
+            d[0] = l[0];
+            for (int age = 1; age <= MAX_AGE; age++) {
+                l[age] = l[age - 1] * survival(age - 1 + shift);
+                discount *= v;
+                d[age] = discount * l[age];
+            }
+            n[MAX_AGE] = d[MAX_AGE];
+            for (int age = MAX_AGE - 1; age >= 0; age--) {
+                n[age] = n[age + 1] + d[age];
+            }
+            for (int age = 0; age <= MAX_AGE; age++) {
+                a[age] = d[age] > 0 ? n[age] / d[age] : 1;
+            }
+        }
+        return table;
+    }
+
+    public double interestRate() {
+        return interestRate;
+    }
+
+    // Annual annuity-due factor: the price at age x of 1 per year payable in advance for life
+    public double annuityDue(byte sex, int age) {
+        return annuityDue[sex][clamp(age)];
+    }
+
+    // Woolhouse two-term approximation for monthly payments in advance
+    public double monthlyAnnuityDue(byte sex, int age) {
+        return annuityDue(sex, age) - 11.0 / 24;
+    }
+
+    // Price at age x of a life annuity-due starting at age x + n
+    public double deferredAnnuityDue(byte sex, int age, int deferral) {
+        int from = clamp(age);
+        int to = clamp(age + deferral);
+        return dx[sex][from] > 0 ? nx[sex][to] / dx[sex][from] : 0;
+    }
+
+    public double survivalProbability(byte sex, int fromAge, int toAge) {
+        int from = clamp(fromAge);
+        return lx[sex][from] > 0 ? lx[sex][clamp(toAge)] / lx[sex][from] : 0;
+    }
+
+    // Shared, not copied; callers must treat the rows as read-only
+    double[][] annuityDueColumns() {
+        return annuityDue;
+    }
+
+    private static int clamp(int age) {
+        return Math.max(0, Math.min(age, MAX_AGE));
+    }
+
+    private static double survival(double age) {
+        return Math.exp(-MAKEHAM_A - GOMPERTZ_B * Math.pow(GOMPERTZ_C, age) * (GOMPERTZ_C - 1) / Math.log(GOMPERTZ_C));
+    }
+}
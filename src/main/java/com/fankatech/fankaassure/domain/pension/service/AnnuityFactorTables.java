@@ -0,0 +1,49 @@
+package com.fankatech.fankaassure.domain.pension.service;
+
+import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Lazily built {@link AnnuityFactorTable}s keyed by interest rate in basis points, so plans on
+ * the same basis share one instance. A plan's table is looked up by its current rate, so an update
+ * to the plan picks up the new basis without any invalidation. Rates also come from requests, so
+ * the cache is bounded and the least recently used tables are dropped.
+ */
+@Slf4j
+@Component
+public class AnnuityFactorTables {
+
+    private final Cache<Integer, AnnuityFactorTable> byRate;
+    private final double defaultRate;
+
+    public AnnuityFactorTables(@Value("${fankaassure.pension.projection.annuity-rate:0.04}") double defaultRate,
+                               @Value("${fankaassure.pension.projection.annuity-tables-maximum-size:64}") long maximumSize) {
+        this.defaultRate = defaultRate;
+        this.byRate = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public AnnuityFactorTable forRate(double interestRate) {
+        return byRate.get(basisPoints(interestRate), bp -> {
+            AnnuityFactorTable table = AnnuityFactorTable.build(bp / 10_000.0);
+            log.debug("Built annuity factor table at {} bp", bp);
+            return table;
+        });
+    }
+
+    public AnnuityFactorTable forPlan(PensionPlanDTO plan) {
+        BigDecimal rate = plan.getAnnuityRate();
+        return forRate(rate != null ? rate.doubleValue() : defaultRate);
+    }
+
+    private static int basisPoints(double rate) {
+        return (int) Math.round(rate * 10_000);
+    }
+}
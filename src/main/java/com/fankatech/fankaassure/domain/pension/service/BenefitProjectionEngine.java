@@ -0,0 +1,157 @@
+package com.fankatech.fankaassure.domain.pension.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Retirement benefit projections over primitive arrays. A {@link Cohort} holds one member per
+ * index (struct of arrays) and results are written into a caller-supplied {@link Result}, so the
+ * yearly accumulation loop only touches locals and allocates nothing. Whole cohorts are split
+ * across the fork/join pool by index range.
+ */
+@Component
+public class BenefitProjectionEngine {
+
+    // Below this many members a range is projected on the calling thread
+    private static final int SPLIT_THRESHOLD = 2048;
+
+    public record Assumptions(String name, double salaryGrowthRate, double interestRate, double annuityRate) {
+    }
+
+    /**
+     * Members to project, one per index. Balances are the accumulated fund at the valuation date
+     * and contribution rates are total (employee plus employer) fractions of salary.
+     */
+    public static final class Cohort {
+        public final long[] memberIds;
+        public final double[] ages;
+        public final byte[] sexes;
+        public final double[] salaries;
+        public final double[] balances;
+        public final double[] contributionRates;
+        public final int[] retirementAges;
+        private int size;
+
+        public Cohort(int capacity) {
+            memberIds = new long[capacity];
+            ages = new double[capacity];
+            sexes = new byte[capacity];
+            salaries = new double[capacity];
+            balances = new double[capacity];
+            contributionRates = new double[capacity];
+            retirementAges = new int[capacity];
+        }
+
+        public int add(long memberId, double age, byte sex, double salary, double balance,
+                       double contributionRate, int retirementAge) {
+            int i = size++;
+            memberIds[i] = memberId;
+            ages[i] = age;
+            sexes[i] = sex;
+            salaries[i] = salary;
+            balances[i] = balance;
+            contributionRates[i] = contributionRate;
+            retirementAges[i] = retirementAge;
+            return i;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public static final class Result {
+        public final int[] yearsToRetirement;
+        public final double[] projectedSalaries;
+        public final double[] projectedBalances;
+        public final double[] totalContributions;
+        public final double[] annuityFactors;
+        public final double[] annualPensions;
+
+        public Result(int capacity) {
+            yearsToRetirement = new int[capacity];
+            projectedSalaries = new double[capacity];
+            projectedBalances = new double[capacity];
+            totalContributions = new double[capacity];
+            annuityFactors = new double[capacity];
+            annualPensions = new double[capacity];
+        }
+    }
+
+    /**
+     * Projects {@code cohort} under one assumption set, pricing pensions with the annuity-due
+     * factors of {@code factors} at each member's retirement age.
+     */
+    public void project(Cohort cohort, Assumptions assumptions, AnnuityFactorTable factors, Result result) {
+        double[][] annuityFactors = factors.annuityDueColumns();
+        int size = cohort.size();
+        if (size <= SPLIT_THRESHOLD) {
+            projectRange(cohort, assumptions, annuityFactors, result, 0, size);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RangeTask(cohort, assumptions, annuityFactors, result, 0, size));
+        }
+    }
+
+    static void projectRange(Cohort cohort, Assumptions assumptions, double[][] annuityFactors,
+                             Result result, int from, int to) {
+        double growth = 1 + assumptions.salaryGrowthRate();
+        double credit = 1 + assumptions.interestRate();
+        // Contributions arrive through the year, so on average they earn half a year's interest
+        double halfCredit = Math.sqrt(credit);
+
+        for (int i = from; i < to; i++) {
+            int retirementAge = cohort.retirementAges[i];
+            int years = Math.max(0, (int) Math.round(retirementAge - cohort.ages[i]));
+            double salary = cohort.salaries[i];
+            double balance = cohort.balances[i];
+            double rate = cohort.contributionRates[i];
+            double contributed = 0;
+            for (int y = 0; y < years; y++) {
+                double contribution = salary * rate;
+                contributed += contribution;
+                balance = balance * credit + contribution * halfCredit;
+                salary *= growth;
+            }
+            double factor = annuityFactors[cohort.sexes[i]][Math.clamp(retirementAge, 0, AnnuityFactorTable.MAX_AGE)];
+
+            result.yearsToRetirement[i] = years;
+            result.projectedSalaries[i] = salary;
+            result.projectedBalances[i] = balance;
+            result.totalContributions[i] = contributed;
+            result.annuityFactors[i] = factor;
+            result.annualPensions[i] = factor > 0 ? balance / factor : 0;
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final Cohort cohort;
+        private final Assumptions assumptions;
+        private final double[][] annuityFactors;
+        private final Result result;
+        private final int from;
+        private final int to;
+
+        private RangeTask(Cohort cohort, Assumptions assumptions, double[][] annuityFactors,
+                          Result result, int from, int to) {
+            this.cohort = cohort;
+            this.assumptions = assumptions;
+            this.annuityFactors = annuityFactors;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                projectRange(cohort, assumptions, annuityFactors, result, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(cohort, assumptions, annuityFactors, result, from, mid),
+                    new RangeTask(cohort, assumptions, annuityFactors, result, mid, to));
+        }
+    }
+}
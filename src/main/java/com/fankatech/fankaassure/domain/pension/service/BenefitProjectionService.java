@@ -0,0 +1,239 @@
+package com.fankatech.fankaassure.domain.pension.service;
+
+import com.fankatech.fankaassure.domain.pension.repository.ContributionRepository;
+import com.fankatech.fankaassure.domain.pension.repository.PensionMemberRepository;
+import com.fankatech.fankaassure.dto.pension.BenefitCalculationDTO;
+import com.fankatech.fankaassure.dto.pension.PensionMemberDTO;
+import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import com.fankatech.fankaassure.dto.pension.PlanProjectionDTO;
+import com.fankatech.fankaassure.dto.pension.ProjectionAssumptionsDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class BenefitProjectionService {
+
+    private static final int MEMBER_SLICE_SIZE = 5000;
+
+    private final BenefitProjectionEngine engine;
+    private final PensionMemberRepository pensionMemberRepository;
+    private final ContributionRepository contributionRepository;
+    private final PensionPlanService pensionPlanService;
+    private final AnnuityFactorTables annuityFactorTables;
+    private final BenefitProjectionEngine.Assumptions defaultAssumptions;
+    private final double creditedRate;
+
+    public BenefitProjectionService(BenefitProjectionEngine engine,
+                                    PensionMemberRepository pensionMemberRepository,
+                                    ContributionRepository contributionRepository,
+                                    PensionPlanService pensionPlanService,
+                                    AnnuityFactorTables annuityFactorTables,
+                                    @Value("${fankaassure.pension.projection.salary-growth-rate:0.05}") double salaryGrowthRate,
+                                    @Value("${fankaassure.pension.projection.interest-rate:0.07}") double interestRate,
+                                    @Value("${fankaassure.pension.projection.annuity-rate:0.04}") double annuityRate,
+                                    @Value("${fankaassure.pension.projection.credited-rate:0.07}") double creditedRate) {
+        this.engine = engine;
+        this.pensionMemberRepository = pensionMemberRepository;
+        this.contributionRepository = contributionRepository;
+        this.pensionPlanService = pensionPlanService;
+        this.annuityFactorTables = annuityFactorTables;
+        this.defaultAssumptions = new BenefitProjectionEngine.Assumptions("default", salaryGrowthRate, interestRate, annuityRate);
+        this.creditedRate = creditedRate;
+    }
+
+    public BenefitCalculationDTO calculate(BenefitCalculationDTO request) {
+        return calculate(request, null);
+    }
+
+    private BenefitCalculationDTO calculate(BenefitCalculationDTO request, AnnuityFactorTable planFactors) {
+        BenefitProjectionEngine.Assumptions assumptions = new BenefitProjectionEngine.Assumptions("request",
+                rate(request.getSalaryGrowthRate(), defaultAssumptions.salaryGrowthRate()),
+                rate(request.getInterestRate(), defaultAssumptions.interestRate()),
+                rate(request.getAnnuityRate(), defaultAssumptions.annuityRate()));
+        BenefitProjectionEngine.Cohort cohort = new BenefitProjectionEngine.Cohort(1);
+        cohort.add(request.getMemberId() != null ? request.getMemberId() : 0L,
+                request.getCurrentAge(),
+                sex(request.getGender()),
+                request.getCurrentSalary().doubleValue(),
+                request.getCurrentBalance() != null ? request.getCurrentBalance().doubleValue() : 0,
+                request.getContributionRate().doubleValue(),
+                request.getRetirementAge());
+        BenefitProjectionEngine.Result result = new BenefitProjectionEngine.Result(1);
+        AnnuityFactorTable factors = planFactors != null && request.getAnnuityRate() == null
+                ? planFactors
+                : annuityFactorTables.forRate(assumptions.annuityRate());
+        engine.project(cohort, assumptions, factors, result);
+
+        request.setSalaryGrowthRate(BigDecimal.valueOf(assumptions.salaryGrowthRate()));
+        request.setInterestRate(BigDecimal.valueOf(assumptions.interestRate()));
+        request.setAnnuityRate(BigDecimal.valueOf(factors.interestRate()));
+        fill(request, result, 0);
+        return request;
+    }
+
+    public BenefitCalculationDTO projectMember(PensionMemberDTO member, int retirementAge) {
+        PensionPlanDTO plan = pensionPlanService.getPensionPlanById(member.getPlanId());
+        LocalDate valuationDate = LocalDate.now();
+        BenefitCalculationDTO request = BenefitCalculationDTO.builder()
+                .memberId(member.getId())
+                .currentAge((int) Math.floor(ageAt(member.getDateOfBirth(), valuationDate)))
+                .retirementAge(retirementAge)
+                .gender(member.getGender())
+                .currentSalary(member.getSalary() != null ? member.getSalary() : BigDecimal.ZERO)
+                .currentBalance(amount(contributionRepository.accumulatedBalance(member.getId(), creditedRate, valuationDate)))
+                .contributionRate(BigDecimal.valueOf(contributionRate(plan)))
+                .build();
+        return calculate(request, annuityFactorTables.forPlan(plan));
+    }
+
+    /**
+     * Projects every member of a plan under each assumption set. Members are loaded once into a
+     * cohort and each scenario is one parallel pass over it.
+     */
+    @Transactional(readOnly = true)
+    public PlanProjectionDTO projectPlan(Long planId, List<ProjectionAssumptionsDTO> scenarios, boolean includeMembers) {
+        PensionPlanDTO plan = pensionPlanService.getPensionPlanById(planId);
+        List<BenefitProjectionEngine.Assumptions> assumptionSets = new ArrayList<>(scenarios.size());
+        for (ProjectionAssumptionsDTO scenario : scenarios) {
+            assumptionSets.add(new BenefitProjectionEngine.Assumptions(scenario.getName(),
+                    scenario.getSalaryGrowthRate().doubleValue(),
+                    scenario.getInterestRate().doubleValue(),
+                    scenario.getAnnuityRate().doubleValue()));
+        }
+        if (assumptionSets.isEmpty()) {
+            assumptionSets.add(defaultAssumptions);
+        }
+
+        long started = System.nanoTime();
+        LocalDate valuationDate = LocalDate.now();
+        BenefitProjectionEngine.Cohort cohort = loadCohort(plan, valuationDate);
+        BenefitProjectionEngine.Result result = new BenefitProjectionEngine.Result(cohort.size());
+
+        PlanProjectionDTO projection = PlanProjectionDTO.builder()
+                .planId(planId)
+                .valuationDate(valuationDate)
+                .memberCount(cohort.size())
+                .build();
+        for (BenefitProjectionEngine.Assumptions assumptions : assumptionSets) {
+            engine.project(cohort, assumptions, annuityFactorTables.forRate(assumptions.annuityRate()), result);
+            projection.getScenarios().add(summarize(assumptions, cohort, result, includeMembers));
+        }
+        projection.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Projected {} members of plan {} under {} scenario(s) in {} ms",
+                cohort.size(), planId, assumptionSets.size(), projection.getElapsedMillis());
+        return projection;
+    }
+
+    private BenefitProjectionEngine.Cohort loadCohort(PensionPlanDTO plan, LocalDate valuationDate) {
+        int count = pensionMemberRepository.countByPlan(plan.getId());
+        BenefitProjectionEngine.Cohort cohort = new BenefitProjectionEngine.Cohort(count);
+        double rate = contributionRate(plan);
+        int retirementAge = plan.getRetirementAge() != null ? plan.getRetirementAge() : 65;
+
+        long afterId = 0;
+        List<PensionMemberDTO> slice;
+        while (cohort.size() < count
+                && !(slice = pensionMemberRepository.findSlice(plan.getId(), afterId, MEMBER_SLICE_SIZE)).isEmpty()) {
+            for (PensionMemberDTO member : slice) {
+                if (cohort.size() == count) {
+                    break;
+                }
+                cohort.add(member.getId(), ageAt(member.getDateOfBirth(), valuationDate), sex(member.getGender()),
+                        member.getSalary() != null ? member.getSalary().doubleValue() : 0, 0, rate, retirementAge);
+            }
+            afterId = slice.get(slice.size() - 1).getId();
+        }
+
+        // Both sides are in member id order, so balances are merged in with a single cursor
+        int[] cursor = {0};
+        contributionRepository.forEachAccumulatedBalance(plan.getId(), creditedRate, valuationDate, (memberId, balance) -> {
+            while (cursor[0] < cohort.size() && cohort.memberIds[cursor[0]] < memberId) {
+                cursor[0]++;
+            }
+            if (cursor[0] < cohort.size() && cohort.memberIds[cursor[0]] == memberId) {
+                cohort.balances[cursor[0]] = balance;
+            }
+        });
+        return cohort;
+    }
+
+    private static PlanProjectionDTO.Scenario summarize(BenefitProjectionEngine.Assumptions assumptions,
+                                                       BenefitProjectionEngine.Cohort cohort,
+                                                       BenefitProjectionEngine.Result result,
+                                                       boolean includeMembers) {
+        double totalBalance = 0;
+        double totalPension = 0;
+        double ratioSum = 0;
+        int ratioCount = 0;
+        List<PlanProjectionDTO.MemberProjection> members = includeMembers ? new ArrayList<>(cohort.size()) : null;
+        for (int i = 0; i < cohort.size(); i++) {
+            totalBalance += result.projectedBalances[i];
+            totalPension += result.annualPensions[i];
+            double ratio = replacementRatio(result, i);
+            if (result.projectedSalaries[i] > 0) {
+                ratioSum += ratio;
+                ratioCount++;
+            }
+            if (members != null) {
+                members.add(new PlanProjectionDTO.MemberProjection(cohort.memberIds[i], result.yearsToRetirement[i],
+                        amount(result.projectedBalances[i]), amount(result.annualPensions[i]), ratio(ratio)));
+            }
+        }
+        return new PlanProjectionDTO.Scenario(assumptions.name(), amount(totalBalance), amount(totalPension),
+                ratio(ratioCount > 0 ? ratioSum / ratioCount : 0), members);
+    }
+
+    private static void fill(BenefitCalculationDTO dto, BenefitProjectionEngine.Result result, int i) {
+        dto.setYearsToRetirement(result.yearsToRetirement[i]);
+        dto.setProjectedSalary(amount(result.projectedSalaries[i]));
+        dto.setProjectedBalance(amount(result.projectedBalances[i]));
+        dto.setTotalContributions(amount(result.totalContributions[i]));
+        dto.setAnnuityFactor(ratio(result.annuityFactors[i]));
+        dto.setAnnualPension(amount(result.annualPensions[i]));
+        dto.setMonthlyPension(amount(result.annualPensions[i] / 12));
+        dto.setReplacementRatio(ratio(replacementRatio(result, i)));
+    }
+
+    private static double replacementRatio(BenefitProjectionEngine.Result result, int i) {
+        return result.projectedSalaries[i] > 0 ? result.annualPensions[i] / result.projectedSalaries[i] : 0;
+    }
+
+    private static double contributionRate(PensionPlanDTO plan) {
+        double rate = rate(plan.getEmployeeRate(), 0) + rate(plan.getEmployerRate(), 0);
+        if (rate > 1) {
+            throw new BusinessException("Plan " + plan.getPlanCode() + " has contribution rates above 100% of salary");
+        }
+        return rate;
+    }
+
+    private static double ageAt(LocalDate dateOfBirth, LocalDate date) {
+        return ChronoUnit.DAYS.between(dateOfBirth, date) / 365.25;
+    }
+
+    private static byte sex(String gender) {
+        return "F".equalsIgnoreCase(gender) ? AnnuityFactorTable.SEX_FEMALE : AnnuityFactorTable.SEX_MALE;
+    }
+
+    private static double rate(BigDecimal value, double fallback) {
+        return value != null ? value.doubleValue() : fallback;
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal ratio(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+}
@@ -1,22 +1,193 @@
 package com.fankatech.fankaassure.domain.pension.service;
 
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
+import com.fankatech.fankaassure.domain.pension.repository.ContributionRepository;
+import com.fankatech.fankaassure.domain.pension.repository.PensionMemberRepository;
+import com.fankatech.fankaassure.dto.pension.ContributionBatchReportDTO;
 import com.fankatech.fankaassure.dto.pension.ContributionDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+@Slf4j
 @Service
 public class ContributionService {
+
+    private final ContributionRepository contributionRepository;
+    private final PensionMemberRepository pensionMemberRepository;
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ContributionService(ContributionRepository contributionRepository,
+                               PensionMemberRepository pensionMemberRepository,
+                               EventOutbox eventOutbox,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               @Value("${fankaassure.pension.contribution-ingest.chunk-size:1000}") int chunkSize,
+                               @Value("${fankaassure.pension.contribution-ingest.max-reported-errors:1000}") int maxReportedErrors) {
+        this.contributionRepository = contributionRepository;
+        this.pensionMemberRepository = pensionMemberRepository;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Transactional
     public ContributionDTO recordContribution(@Valid ContributionDTO contributionDTO) {
-        return null;
+        ContributionDTO contribution = contributionRepository.save(contributionDTO);
+        eventOutbox.append("pension-member", contribution.getMemberId(), EventOutbox.CONTRIBUTION_RECORDED, contribution);
+        return contribution;
     }
 
+    @Transactional(readOnly = true)
     public List<ContributionDTO> getContributionsByMemberId(Long memberId) {
-        return null;
+        return contributionRepository.findByMemberId(memberId);
     }
 
+    @Transactional
     public List<ContributionDTO> recordBatchContributions(@Valid List<ContributionDTO> contributionDTOs) {
-        return null;
+        List<ContributionDTO> contributions = contributionRepository.saveAll(contributionDTOs);
+        eventOutbox.appendAll("pension-member", ContributionDTO::getMemberId, EventOutbox.CONTRIBUTION_RECORDED, contributions);
+        return contributions;
+    }
+
+    /**
+     * Streams a payroll file (JSON array or newline-delimited JSON) row by row. Valid rows are
+     * written in JDBC batches of {@code chunkSize}, each chunk committed on its own, so only one
+     * chunk is ever held in memory regardless of the file size.
+     */
+    public ContributionBatchReportDTO streamBatchContributions(InputStream body) {
+        ContributionBatchReportDTO report = new ContributionBatchReportDTO();
+        List<ContributionDTO> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+        long row = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                row++;
+                JsonNode node = objectMapper.readTree(parser);
+                ContributionDTO contribution = bindRow(node, row, report);
+                if (contribution != null) {
+                    chunk.add(contribution);
+                    chunkRows.add(row);
+                    if (chunk.size() >= chunkSize) {
+                        flushChunk(chunk, chunkRows, report);
+                    }
+                }
+                token = parser.nextToken();
+            }
+        } catch (IOException e) {
+            log.warn("Contribution stream aborted at row {}: {}", row, e.getMessage());
+            report.setFatalError("Malformed input after row " + row + ": " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            flushChunk(chunk, chunkRows, report);
+        }
+
+        report.setTotalRows(row);
+        log.info("Contribution stream ingested: {} rows, {} accepted, {} rejected, {} chunks committed",
+                row, report.getAcceptedRows(), report.getRejectedRows(), report.getChunksCommitted());
+        return report;
+    }
+
+    private ContributionDTO bindRow(JsonNode node, long row, ContributionBatchReportDTO report) {
+        ContributionDTO contribution;
+        try {
+            contribution = objectMapper.treeToValue(node, ContributionDTO.class);
+        } catch (JsonProcessingException e) {
+            reject(report, row, null, List.of(e.getOriginalMessage()));
+            return null;
+        }
+        Set<ConstraintViolation<ContributionDTO>> violations = validator.validate(contribution);
+        if (!violations.isEmpty()) {
+            List<String> messages = violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .toList();
+            reject(report, row, contribution.getMemberId(), messages);
+            return null;
+        }
+        return contribution;
+    }
+
+    private void flushChunk(List<ContributionDTO> chunk, List<Long> chunkRows, ContributionBatchReportDTO report) {
+        Set<Long> memberIds = new HashSet<>();
+        for (ContributionDTO contribution : chunk) {
+            memberIds.add(contribution.getMemberId());
+        }
+        Set<Long> knownMembers = pensionMemberRepository.findExistingIds(memberIds);
+
+        List<ContributionDTO> accepted = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ContributionDTO contribution = chunk.get(i);
+            if (knownMembers.contains(contribution.getMemberId())) {
+                accepted.add(contribution);
+            } else {
+                reject(report, chunkRows.get(i), contribution.getMemberId(), List.of("memberId does not exist"));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                // Ids are not read back from the rewritten batch, so these events carry none
+                transactionTemplate.executeWithoutResult(status -> {
+                    contributionRepository.batchInsert(accepted);
+                    eventOutbox.appendAll("pension-member", ContributionDTO::getMemberId, EventOutbox.CONTRIBUTION_RECORDED, accepted);
+                });
+                report.setAcceptedRows(report.getAcceptedRows() + accepted.size());
+                report.setChunksCommitted(report.getChunksCommitted() + 1);
+            } catch (DataAccessException e) {
+                log.error("Contribution chunk of {} rows rolled back", accepted.size(), e);
+                report.setChunksFailed(report.getChunksFailed() + 1);
+                String message = "chunk rolled back: " + e.getMostSpecificCause().getMessage();
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (knownMembers.contains(chunk.get(i).getMemberId())) {
+                        reject(report, chunkRows.get(i), chunk.get(i).getMemberId(), List.of(message));
+                    }
+                }
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private void reject(ContributionBatchReportDTO report, long row, Long memberId, List<String> messages) {
+        report.setRejectedRows(report.getRejectedRows() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ContributionBatchReportDTO.RowError(row, memberId, messages));
+        } else {
+            report.setErrorsTruncated(true);
+        }
     }
 }
@@ -1,14 +1,48 @@
 package com.fankatech.fankaassure.domain.pension.service;
 
+import com.fankatech.fankaassure.domain.pension.repository.ContributionRepository;
+import com.fankatech.fankaassure.domain.pension.repository.PensionMemberRepository;
 import com.fankatech.fankaassure.dto.pension.BenefitCalculationDTO;
+import com.fankatech.fankaassure.dto.pension.ContributionDTO;
 import com.fankatech.fankaassure.dto.pension.PensionMemberDTO;
+import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import com.fankatech.fankaassure.util.PdfGenerator;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.fankatech.fankaassure.util.PdfGenerator.addDetail;
 
 @Service
+@RequiredArgsConstructor
 public class PensionMemberService {
+
+    private static final String[] STATEMENT_HEADERS = {"Date", "Reference", "Employee", "Employer", "Voluntary", "Total"};
+
+    private final PensionMemberRepository pensionMemberRepository;
+    private final PensionPlanService pensionPlanService;
+    private final ContributionRepository contributionRepository;
+    private final PdfGenerator pdfGenerator;
+    private final BenefitProjectionService benefitProjectionService;
+
     public PensionMemberDTO registerMember(@Valid PensionMemberDTO memberDTO) {
         return null;
     }
@@ -17,8 +51,10 @@ public class PensionMemberService {
         return null;
     }
 
+    @Transactional(readOnly = true)
     public PensionMemberDTO getMemberById(Long id) {
-        return null;
+        return pensionMemberRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pension member", id));
     }
 
     public PensionMemberDTO updateMember(Long id, @Valid PensionMemberDTO memberDTO) {
@@ -26,14 +62,83 @@ public class PensionMemberService {
     }
 
     public byte[] generateMemberStatement(Long id) {
-        return new byte[0];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            prepareMemberStatement(id).writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Lookups happen here so a missing member fails before the response starts streaming
+    public PdfGenerator.RenderTask prepareMemberStatement(Long id) {
+        PensionMemberDTO member = getMemberById(id);
+        PensionPlanDTO plan = pensionPlanService.getPensionPlanById(member.getPlanId());
+        List<ContributionDTO> contributions = contributionRepository.findByMemberId(id);
+        LocalDate statementDate = LocalDate.now();
+        return out -> writeStatement(member, plan, contributions, statementDate, out);
+    }
+
+    // Renders from data already loaded by the caller, so bulk runs can fetch members in slices
+    public void writeStatement(PensionMemberDTO member, PensionPlanDTO plan, List<ContributionDTO> contributions,
+                               LocalDate statementDate, OutputStream out) throws IOException {
+        pdfGenerator.render(out, "Statement " + member.getMemberNumber(), (document, fonts) -> {
+            document.add(new Paragraph("Member Benefit Statement", fonts.title()));
+            PdfPTable details = PdfGenerator.detailsTable();
+            addDetail(details, fonts, "Member", member.getFirstName() + " " + member.getLastName());
+            addDetail(details, fonts, "Member number", member.getMemberNumber());
+            addDetail(details, fonts, "Plan", plan.getName() + " (" + plan.getPlanCode() + ")");
+            addDetail(details, fonts, "Date of birth", member.getDateOfBirth());
+            addDetail(details, fonts, "Date joined", member.getJoinDate());
+            addDetail(details, fonts, "Normal retirement age", plan.getRetirementAge());
+            addDetail(details, fonts, "Statement date", statementDate);
+            document.add(details);
+
+            PdfPTable table = new PdfPTable(new float[]{1.2f, 1.6f, 1, 1, 1, 1});
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            for (String header : STATEMENT_HEADERS) {
+                table.addCell(new PdfPCell(new Phrase(header, fonts.bold())));
+            }
+            BigDecimal employee = BigDecimal.ZERO;
+            BigDecimal employer = BigDecimal.ZERO;
+            BigDecimal voluntary = BigDecimal.ZERO;
+            for (ContributionDTO contribution : contributions) {
+                BigDecimal extra = contribution.getVoluntaryAmount() != null ? contribution.getVoluntaryAmount() : BigDecimal.ZERO;
+                BigDecimal total = contribution.getEmployeeAmount().add(contribution.getEmployerAmount()).add(extra);
+                table.addCell(new Phrase(PdfGenerator.format(contribution.getContributionDate()), fonts.body()));
+                table.addCell(new Phrase(PdfGenerator.format(contribution.getReference()), fonts.body()));
+                table.addCell(amountCell(contribution.getEmployeeAmount(), fonts.body()));
+                table.addCell(amountCell(contribution.getEmployerAmount(), fonts.body()));
+                table.addCell(amountCell(extra, fonts.body()));
+                table.addCell(amountCell(total, fonts.body()));
+                employee = employee.add(contribution.getEmployeeAmount());
+                employer = employer.add(contribution.getEmployerAmount());
+                voluntary = voluntary.add(extra);
+            }
+            PdfPCell label = new PdfPCell(new Phrase("Total", fonts.bold()));
+            label.setColspan(2);
+            table.addCell(label);
+            table.addCell(amountCell(employee, fonts.bold()));
+            table.addCell(amountCell(employer, fonts.bold()));
+            table.addCell(amountCell(voluntary, fonts.bold()));
+            table.addCell(amountCell(employee.add(employer).add(voluntary), fonts.bold()));
+            document.add(table);
+        });
     }
 
     public BenefitCalculationDTO calculateBenefits(@Valid BenefitCalculationDTO calculationDTO) {
-        return null;
+        return benefitProjectionService.calculate(calculationDTO);
     }
 
     public BenefitCalculationDTO getBenefitsProjection(Long id, int retirementAge) {
-        return null;
+        return benefitProjectionService.projectMember(getMemberById(id), retirementAge);
+    }
+
+    private static PdfPCell amountCell(BigDecimal amount, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(PdfGenerator.format(amount), font));
+        cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        return cell;
     }
 }
@@ -1,26 +1,46 @@
 package com.fankatech.fankaassure.domain.pension.service;
 
+import com.fankatech.fankaassure.cache.CacheNames;
+import com.fankatech.fankaassure.domain.pension.repository.PensionPlanRepository;
 import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@RequiredArgsConstructor
 public class PensionPlanService {
+
+    private final PensionPlanRepository pensionPlanRepository;
+
+    @Transactional
     public PensionPlanDTO createPensionPlan(@Valid PensionPlanDTO planDTO) {
-        return null;
+        return pensionPlanRepository.insert(planDTO);
     }
 
     public Page<PensionPlanDTO> getAllPensionPlans(Pageable pageable) {
         return null;
     }
 
+    @Cacheable(cacheNames = CacheNames.PENSION_PLANS, key = "#id")
     public PensionPlanDTO getPensionPlanById(Long id) {
-        return null;
+        return pensionPlanRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pension plan", id));
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.PENSION_PLANS, key = "#id")
     public PensionPlanDTO updatePensionPlan(Long id, @Valid PensionPlanDTO planDTO) {
-        return null;
+        planDTO.setId(id);
+        if (!pensionPlanRepository.update(planDTO)) {
+            throw new ResourceNotFoundException("Pension plan", id);
+        }
+        return pensionPlanRepository.findById(id).orElseThrow();
     }
 }
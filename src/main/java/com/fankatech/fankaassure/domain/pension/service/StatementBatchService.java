@@ -0,0 +1,315 @@
+package com.fankatech.fankaassure.domain.pension.service;
+
+import com.fankatech.fankaassure.domain.pension.repository.ContributionRepository;
+import com.fankatech.fankaassure.domain.pension.repository.PensionMemberRepository;
+import com.fankatech.fankaassure.domain.pension.repository.StatementRunRepository;
+import com.fankatech.fankaassure.dto.pension.ContributionDTO;
+import com.fankatech.fankaassure.dto.pension.PensionMemberDTO;
+import com.fankatech.fankaassure.dto.pension.PensionPlanDTO;
+import com.fankatech.fankaassure.dto.pension.StatementRunDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates annual statements for a whole plan (or every member) in the background. Members are
+ * read in keyset slices with their contributions fetched in one query per slice; each slice is
+ * rendered in parallel and the run's checkpoint is advanced only once the slice is on disk, so a
+ * failed or interrupted run resumes from the last completed slice.
+ * <p>
+ * A run is claimed in the database under a lease renewed at every checkpoint, so it executes on
+ * one node at a time; a run left RUNNING by a crashed node can be resumed once its lease expires.
+ */
+@Slf4j
+@Service
+public class StatementBatchService {
+
+    public static final String FORMAT_DIRECTORY = "DIRECTORY";
+    public static final String FORMAT_ZIP = "ZIP";
+
+    private final StatementRunRepository statementRunRepository;
+    private final PensionMemberRepository pensionMemberRepository;
+    private final ContributionRepository contributionRepository;
+    private final PensionPlanService pensionPlanService;
+    private final PensionMemberService pensionMemberService;
+    private final Path outputRoot;
+    private final int sliceSize;
+    private final Semaphore renderPermits;
+    private final Duration lease;
+
+    // Rendering is CPU bound; the semaphore, not the thread count, bounds concurrent renders
+    private final ExecutorService renderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService runExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Local fast path only; the lease in statement_run is what excludes other executions
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public StatementBatchService(StatementRunRepository statementRunRepository,
+                                 PensionMemberRepository pensionMemberRepository,
+                                 ContributionRepository contributionRepository,
+                                 PensionPlanService pensionPlanService,
+                                 PensionMemberService pensionMemberService,
+                                 @Value("${fankaassure.pension.statement-batch.output-dir:data/statements}") String outputRoot,
+                                 @Value("${fankaassure.pension.statement-batch.slice-size:500}") int sliceSize,
+                                 @Value("${fankaassure.pension.statement-batch.parallelism:0}") int parallelism,
+                                 @Value("${fankaassure.pension.statement-batch.lease:PT15M}") Duration lease) {
+        this.statementRunRepository = statementRunRepository;
+        this.pensionMemberRepository = pensionMemberRepository;
+        this.contributionRepository = contributionRepository;
+        this.pensionPlanService = pensionPlanService;
+        this.pensionMemberService = pensionMemberService;
+        this.outputRoot = Path.of(outputRoot);
+        this.sliceSize = sliceSize;
+        this.renderPermits = new Semaphore(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.lease = lease;
+    }
+
+    public StatementRunDTO startRun(Long planId, LocalDate statementDate, String outputFormat) {
+        if (planId != null) {
+            pensionPlanService.getPensionPlanById(planId);
+        }
+        String format = outputFormat != null ? outputFormat.toUpperCase() : FORMAT_DIRECTORY;
+        if (!FORMAT_DIRECTORY.equals(format) && !FORMAT_ZIP.equals(format)) {
+            throw new BusinessException("Unsupported statement output format: " + outputFormat);
+        }
+        StatementRunDTO run = statementRunRepository.insert(StatementRunDTO.builder()
+                .planId(planId)
+                .statementDate(statementDate != null ? statementDate : LocalDate.now())
+                .outputFormat(format)
+                .status("PENDING")
+                .build());
+        run.setOutputPath(outputRoot.resolve("run-" + run.getId()).toAbsolutePath().toString());
+        launch(run);
+        return getRun(run.getId());
+    }
+
+    public StatementRunDTO resumeRun(Long runId) {
+        StatementRunDTO run = getRun(runId);
+        if ("COMPLETED".equals(run.getStatus())) {
+            throw new BusinessException("Statement run " + runId + " has already completed");
+        }
+        run.setOutputPath(outputRoot.resolve("run-" + run.getId()).toAbsolutePath().toString());
+        launch(run);
+        return getRun(runId);
+    }
+
+    public StatementRunDTO getRun(Long runId) {
+        return statementRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Statement run", runId));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
+    private void launch(StatementRunDTO run) {
+        if (!activeRuns.add(run.getId())) {
+            throw new BusinessException("Statement run " + run.getId() + " is already in progress");
+        }
+        UUID owner = UUID.randomUUID();
+        boolean claimed = false;
+        try {
+            if (!statementRunRepository.claim(run.getId(), run.getOutputPath(), owner, lease)) {
+                throw new BusinessException("Statement run " + run.getId() + " is already in progress or has completed");
+            }
+            claimed = true;
+            // Re-read under the lease: another node may have advanced the checkpoint since it was loaded
+            StatementRunDTO current = getRun(run.getId());
+            runExecutor.execute(() -> {
+                try {
+                    execute(current, owner);
+                    statementRunRepository.markFinished(current.getId(), owner, "COMPLETED", null);
+                } catch (Exception e) {
+                    log.error("Statement run {} failed; resume to continue after member {}", current.getId(), current.getLastMemberId(), e);
+                    statementRunRepository.markFinished(current.getId(), owner, "FAILED", e.getMessage());
+                } finally {
+                    activeRuns.remove(current.getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Never started, so the run must stay resumable
+            activeRuns.remove(run.getId());
+            if (claimed) {
+                statementRunRepository.markFinished(run.getId(), owner, "FAILED", e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private void execute(StatementRunDTO run, UUID owner) throws IOException, InterruptedException {
+        Path runDir = Files.createDirectories(Path.of(run.getOutputPath()));
+        LocalDate periodEnd = run.getStatementDate();
+        LocalDate periodStart = periodEnd.minusYears(1).plusDays(1);
+        Map<Long, PensionPlanDTO> plans = new HashMap<>();
+        long lastMemberId = run.getLastMemberId() != null ? run.getLastMemberId() : 0L;
+        long processed = run.getProcessedMembers();
+        long failed = run.getFailedMembers();
+        int sliceNumber = (int) ((processed + failed + sliceSize - 1) / sliceSize);
+
+        log.info("Statement run {} starting after member {} into {}", run.getId(), lastMemberId, runDir);
+        while (true) {
+            List<PensionMemberDTO> members = pensionMemberRepository.findSlice(run.getPlanId(), lastMemberId, sliceSize);
+            if (members.isEmpty()) {
+                break;
+            }
+            sliceNumber++;
+            Map<Long, List<ContributionDTO>> contributions = contributionRepository.findByMemberIds(
+                    members.stream().map(PensionMemberDTO::getId).collect(Collectors.toList()), periodStart, periodEnd);
+            for (PensionMemberDTO member : members) {
+                plans.computeIfAbsent(member.getPlanId(), pensionPlanService::getPensionPlanById);
+            }
+
+            SliceResult result = FORMAT_ZIP.equals(run.getOutputFormat())
+                    ? renderZipSlice(runDir, sliceNumber, members, plans, contributions, periodEnd)
+                    : renderDirectorySlice(runDir, members, plans, contributions, periodEnd);
+            if (!result.failures().isEmpty()) {
+                Files.write(runDir.resolve("failures.txt"), result.failures(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+
+            processed += result.written();
+            failed += result.failures().size();
+            lastMemberId = members.get(members.size() - 1).getId();
+            run.setLastMemberId(lastMemberId);
+            if (!statementRunRepository.saveCheckpoint(run.getId(), owner, lease, lastMemberId, processed, failed)) {
+                throw new IllegalStateException("Statement run " + run.getId() + " lost its lease to another execution");
+            }
+            log.debug("Statement run {}: slice {} done, {} written, {} failed so far", run.getId(), sliceNumber, processed, failed);
+        }
+        log.info("Statement run {} finished: {} statements, {} failures", run.getId(), processed, failed);
+    }
+
+    private SliceResult renderDirectorySlice(Path runDir, List<PensionMemberDTO> members, Map<Long, PensionPlanDTO> plans,
+                                             Map<Long, List<ContributionDTO>> contributions, LocalDate statementDate)
+            throws InterruptedException {
+        List<CompletableFuture<String>> tasks = new ArrayList<>(members.size());
+        for (PensionMemberDTO member : members) {
+            tasks.add(submit(() -> {
+                Path target = runDir.resolve(fileName(member));
+                Path partial = runDir.resolve(fileName(member) + ".part");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                    pensionMemberService.writeStatement(member, plans.get(member.getPlanId()),
+                            contributions.getOrDefault(member.getId(), List.of()), statementDate, out);
+                }
+                // Atomic rename: a resumed run never sees a half-written statement
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return null;
+            }, member));
+        }
+        return collect(tasks, members);
+    }
+
+    private SliceResult renderZipSlice(Path runDir, int sliceNumber, List<PensionMemberDTO> members,
+                                       Map<Long, PensionPlanDTO> plans, Map<Long, List<ContributionDTO>> contributions,
+                                       LocalDate statementDate) throws IOException, InterruptedException {
+        List<CompletableFuture<byte[]>> tasks = new ArrayList<>(members.size());
+        for (PensionMemberDTO member : members) {
+            tasks.add(submit(() -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+                pensionMemberService.writeStatement(member, plans.get(member.getPlanId()),
+                        contributions.getOrDefault(member.getId(), List.of()), statementDate, out);
+                return out.toByteArray();
+            }, member));
+        }
+
+        // ZipOutputStream is not thread-safe, so entries are written in member order once rendered
+        Path target = runDir.resolve(String.format("statements-%05d.zip", sliceNumber));
+        Path partial = runDir.resolve(target.getFileName() + ".part");
+        List<String> failures = new ArrayList<>();
+        int written = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            for (int i = 0; i < members.size(); i++) {
+                byte[] pdf = await(tasks.get(i), members.get(i), failures);
+                if (pdf != null) {
+                    zip.putNextEntry(new ZipEntry(fileName(members.get(i))));
+                    zip.write(pdf);
+                    zip.closeEntry();
+                    written++;
+                }
+            }
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new SliceResult(written, failures);
+    }
+
+    private <T> CompletableFuture<T> submit(RenderCall<T> call, PensionMemberDTO member) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                renderPermits.acquire();
+                try {
+                    return call.run();
+                } finally {
+                    renderPermits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted rendering statement for member " + member.getId(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, renderExecutor);
+    }
+
+    private <T> SliceResult collect(List<CompletableFuture<T>> tasks, List<PensionMemberDTO> members)
+            throws InterruptedException {
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            await(tasks.get(i), members.get(i), failures);
+        }
+        return new SliceResult(tasks.size() - failures.size(), failures);
+    }
+
+    private static <T> T await(CompletableFuture<T> task, PensionMemberDTO member, List<String> failures)
+            throws InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            log.warn("Statement for member {} failed", member.getId(), e.getCause());
+            failures.add("member " + member.getId() + ": " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private static String fileName(PensionMemberDTO member) {
+        return "statement_" + (member.getMemberNumber() != null ? member.getMemberNumber() : member.getId()) + ".pdf";
+    }
+
+    @FunctionalInterface
+    private interface RenderCall<T> {
+        T run() throws IOException, InterruptedException;
+    }
+
+    private record SliceResult(int written, List<String> failures) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.fankatech.fankaassure.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenDTO {
+    private String accessToken;
+    @Builder.Default
+    private String tokenType = "Bearer";
+    private Instant expiresAt;
+}
@@ -1,4 +1,61 @@
 package com.fankatech.fankaassure.dto.claims;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ClaimDTO {
+    private Long id;
+
+    private String claimNumber;
+
+    @NotNull
+    private Long policyId;
+
+    private String policyNumber;
+
+    private Long customerId;
+
+    @NotBlank
+    private String claimType;
+
+    @NotNull
+    @PastOrPresent
+    private LocalDate incidentDate;
+
+    private LocalDate claimDate;
+
+    @NotNull
+    @Positive
+    private BigDecimal claimedAmount;
+
+    private BigDecimal approvedAmount;
+
+    private String description;
+
+    // Hospital, garage or other service provider the claim is for
+    @Size(max = 100)
+    private String provider;
+
+    // 0-100, set by FraudScorer at registration
+    private Integer fraudScore;
+
+    // Comma-separated rules that contributed to the fraud score
+    private String fraudFlags;
+
+    // REGISTERED, UNDER_REVIEW, APPROVED, REJECTED or PAID
+    private String status;
 }
@@ -0,0 +1,33 @@
+package com.fankatech.fankaassure.dto.claims;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimDocumentDTO {
+    private Long id;
+
+    private Long claimId;
+
+    private String documentType;
+
+    private String fileName;
+
+    private String contentType;
+
+    private Long sizeBytes;
+
+    // Hex SHA-256 of the content, also its key in the document store
+    private String sha256;
+
+    private String uploadedBy;
+
+    private LocalDateTime uploadedAt;
+}
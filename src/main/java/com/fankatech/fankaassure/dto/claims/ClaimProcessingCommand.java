@@ -0,0 +1,20 @@
+package com.fankatech.fankaassure.dto.claims;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Message on the claim processing topic, keyed by claim id
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimProcessingCommand {
+    private String trackingId;
+    private Long claimId;
+    private BigDecimal assessedAmount;
+    private String notes;
+}
@@ -1,4 +1,40 @@
 package com.fankatech.fankaassure.dto.claims;
 
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ClaimProcessingDTO {
+    // Returned when the request is accepted; poll GET /claims/processing/{trackingId}
+    private String trackingId;
+
+    private Long claimId;
+
+    // Loss assessor's figure; the claimed amount is used when absent
+    @PositiveOrZero
+    private BigDecimal assessedAmount;
+
+    @Size(max = 2000)
+    private String notes;
+
+    // QUEUED, PROCESSING, COMPLETED or FAILED
+    private String status;
+
+    // APPROVED, REJECTED or REFERRED
+    private String decision;
+
+    private BigDecimal approvedAmount;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
 }
@@ -0,0 +1,25 @@
+package com.fankatech.fankaassure.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextCursor back to get the following page
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+
+    // Null on the last page
+    private String nextCursor;
+
+    // Only counted when requested, since the count scans every matching row
+    private Long totalElements;
+}
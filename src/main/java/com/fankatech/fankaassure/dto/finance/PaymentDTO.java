@@ -1,4 +1,43 @@
 package com.fankatech.fankaassure.dto.finance;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PaymentDTO {
+    private Long id;
+
+    @NotBlank
+    private String paymentReference;
+
+    @NotNull
+    private Long customerId;
+
+    private Long policyId;
+
+    private Long premiumId;
+
+    @NotNull
+    @Positive
+    private BigDecimal amount;
+
+    @NotNull
+    private LocalDate paymentDate;
+
+    // MOBILE_MONEY, BANK_TRANSFER, CARD or CASH
+    @NotBlank
+    private String paymentMethod;
+
+    private String status;
 }
@@ -1,4 +1,38 @@
 package com.fankatech.fankaassure.dto.finance;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PremiumDTO {
+    private Long id;
+
+    @NotNull
+    private Long policyId;
+
+    private String policyNumber;
+
+    @NotNull
+    private LocalDate dueDate;
+
+    @NotNull
+    @Positive
+    private BigDecimal amount;
+
+    private BigDecimal paidAmount;
+
+    // DUE, PARTIAL, PAID or CANCELLED
+    private String status;
+
+    private LocalDate paidDate;
 }
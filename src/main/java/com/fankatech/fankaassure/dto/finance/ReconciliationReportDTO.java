@@ -0,0 +1,45 @@
+package com.fankatech.fankaassure.dto.finance;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReportDTO {
+    // PAYMENTS (recorded payments of a day) or STATEMENT (uploaded bank statement)
+    private String source;
+
+    private LocalDate paymentDate;
+
+    private long openPremiums;
+    private long items;
+    private long matched;
+    private long suspense;
+
+    // Statement lines already recorded as payments by an earlier upload
+    private long duplicates;
+
+    // Allocations dropped because the premium was paid elsewhere while reconciling
+    private long conflicts;
+
+    @Builder.Default
+    private BigDecimal matchedAmount = BigDecimal.ZERO;
+
+    @Builder.Default
+    private BigDecimal suspenseAmount = BigDecimal.ZERO;
+
+    // Matches per rule (POLICY_ID, POLICY_REFERENCE, CUSTOMER_AMOUNT)
+    @Builder.Default
+    private Map<String, Long> matchedByRule = new LinkedHashMap<>();
+
+    private long elapsedMillis;
+}
@@ -0,0 +1,32 @@
+package com.fankatech.fankaassure.dto.finance;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderCampaignDTO {
+    private Long id;
+
+    // Premiums falling due in this range were selected when the campaign was created
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    // RUNNING while any reminder is pending, then COMPLETED
+    private String status;
+
+    private long queued;
+    private long pending;
+    private long sent;
+    private long failed;
+    // Not sent because the premium was settled or cancelled first
+    private long cancelled;
+    private LocalDateTime createdAt;
+}
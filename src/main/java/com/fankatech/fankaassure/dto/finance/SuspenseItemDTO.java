@@ -0,0 +1,27 @@
+package com.fankatech.fankaassure.dto.finance;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuspenseItemDTO {
+    private Long id;
+
+    // Null for statement lines, which are only recorded as payments once matched
+    private Long paymentId;
+
+    private String paymentReference;
+    private BigDecimal amount;
+    private LocalDate paymentDate;
+    private String reason;
+    private LocalDateTime createdAt;
+}
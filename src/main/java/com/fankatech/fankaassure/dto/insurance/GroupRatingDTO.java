@@ -0,0 +1,41 @@
+package com.fankatech.fankaassure.dto.insurance;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupRatingDTO {
+    private Long groupId;
+    private Long productId;
+    private Integer productVersion;
+    private BigDecimal coverAmount;
+    private LocalDate startDate;
+    private String premiumFrequency;
+
+    private long memberCount;
+    private long ratedMembers;
+    // Members that already hold a live policy on the product through this group; not rated again
+    private long coveredMembers;
+    private BigDecimal totalAnnualPremium;
+    // Sum of the members' instalments for one premium period
+    private BigDecimal totalInstalmentPremium;
+
+    // Set when policies were issued
+    private Long policiesIssued;
+    private Long instalmentsRaised;
+
+    // Members with no date of birth or an age outside the rate table
+    @Builder.Default
+    private List<Long> unratedCustomerIds = new ArrayList<>();
+    private boolean unratedTruncated;
+}
@@ -0,0 +1,32 @@
+package com.fankatech.fankaassure.dto.insurance;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupRatingRequestDTO {
+    @NotNull
+    private Long productId;
+
+    // Sum insured of every member
+    @NotNull
+    @Positive
+    private BigDecimal coverAmount;
+
+    // Members are rated at their age on this date
+    @NotNull
+    private LocalDate startDate;
+
+    // MONTHLY, QUARTERLY, SEMI_ANNUAL or ANNUAL
+    private String premiumFrequency;
+}
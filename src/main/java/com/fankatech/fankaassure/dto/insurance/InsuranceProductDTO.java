@@ -1,4 +1,47 @@
 package com.fankatech.fankaassure.dto.insurance;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class InsuranceProductDTO {
+    private Long id;
+
+    @NotBlank
+    @Size(max = 32)
+    private String productCode;
+
+    @NotBlank
+    private String name;
+
+    private String description;
+
+    @NotBlank
+    private String category;
+
+    @PositiveOrZero
+    private BigDecimal basePremium;
+
+    @PositiveOrZero
+    private BigDecimal minCoverAmount;
+
+    @PositiveOrZero
+    private BigDecimal maxCoverAmount;
+
+    private Integer termMonths;
+
+    private Boolean active;
+
+    // Bumped on every update; lets derived data (rate tables, caches) detect stale copies
+    private Integer version;
 }
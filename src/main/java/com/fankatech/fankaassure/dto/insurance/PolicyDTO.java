@@ -1,4 +1,48 @@
 package com.fankatech.fankaassure.dto.insurance;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PolicyDTO {
+    private Long id;
+
+    private String policyNumber;
+
+    @NotNull
+    private Long customerId;
+
+    @NotNull
+    private Long productId;
+
+    private Long groupId;
+
+    @NotNull
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @NotNull
+    @Positive
+    private BigDecimal coverAmount;
+
+    @Positive
+    private BigDecimal premiumAmount;
+
+    // MONTHLY, QUARTERLY, SEMI_ANNUAL or ANNUAL
+    private String premiumFrequency;
+
+    private String status;
+
+    private String cancellationReason;
 }
@@ -0,0 +1,41 @@
+package com.fankatech.fankaassure.dto.insurance;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// One cell of a product's group rating table
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRateDTO {
+    @NotNull
+    @PositiveOrZero
+    @Max(120)
+    private Integer minAge;
+
+    @NotNull
+    @PositiveOrZero
+    @Max(120)
+    private Integer maxAge;
+
+    // Lower bound of the cover band; the band runs up to the next bound of the table
+    @PositiveOrZero
+    private BigDecimal minCoverAmount;
+
+    // Annual premium per 1,000 of cover
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal ratePerMille;
+
+    // Fraction of the member's premium added for each dependant
+    @PositiveOrZero
+    private BigDecimal dependantLoading;
+}
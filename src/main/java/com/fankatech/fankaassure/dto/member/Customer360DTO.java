@@ -0,0 +1,27 @@
+package com.fankatech.fankaassure.dto.member;
+
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.finance.PaymentDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Customer360DTO {
+    private CustomerDTO customer;
+
+    // Newest first
+    private List<PolicyDTO> policies;
+
+    // The most recent claims and payments, newest first
+    private List<ClaimDTO> claims;
+
+    private List<PaymentDTO> payments;
+}
@@ -1,4 +1,48 @@
 package com.fankatech.fankaassure.dto.member;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class CustomerDTO {
+    private Long id;
+
+    @NotBlank
+    @Size(max = 100)
+    private String firstName;
+
+    @NotBlank
+    @Size(max = 100)
+    private String lastName;
+
+    @NotBlank
+    @Size(max = 32)
+    private String idNumber;
+
+    @Email
+    private String email;
+
+    @Size(max = 20)
+    private String phone;
+
+    @Past
+    private LocalDate dateOfBirth;
+
+    @Size(max = 1)
+    private String gender;
+
+    private String address;
+
+    private String status;
 }
@@ -1,4 +1,31 @@
 package com.fankatech.fankaassure.dto.member;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class GroupDTO {
+    private Long id;
+
+    @NotBlank
+    @Size(max = 32)
+    private String groupCode;
+
+    @NotBlank
+    private String name;
+
+    private String description;
+
+    @Email
+    private String contactEmail;
+
+    private Long memberCount;
 }
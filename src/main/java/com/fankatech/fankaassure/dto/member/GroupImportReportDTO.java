@@ -0,0 +1,36 @@
+package com.fankatech.fankaassure.dto.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupImportReportDTO {
+    private Long groupId;
+    private long totalRows;
+    private long importedMembers;
+    private long alreadyMembers;
+    private long failedRows;
+    private long memberCount;
+
+    // Capped so a badly formatted sheet cannot blow up the response
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String idNumber;
+        private String message;
+    }
+}
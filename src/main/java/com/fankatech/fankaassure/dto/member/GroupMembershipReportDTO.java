@@ -0,0 +1,24 @@
+package com.fankatech.fankaassure.dto.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupMembershipReportDTO {
+    private Long groupId;
+    private long addedMembers;
+    private long removedMembers;
+    private long memberCount;
+
+    // Requested ids with no customer record; nothing was added for them
+    @Builder.Default
+    private List<Long> unknownCustomerIds = new ArrayList<>();
+}
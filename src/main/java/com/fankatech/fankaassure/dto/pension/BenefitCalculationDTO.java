@@ -1,4 +1,72 @@
 package com.fankatech.fankaassure.dto.pension;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class BenefitCalculationDTO {
+    private Long memberId;
+
+    @NotNull
+    @Min(16)
+    @Max(75)
+    private Integer currentAge;
+
+    @NotNull
+    @Min(40)
+    @Max(75)
+    private Integer retirementAge;
+
+    @Size(max = 1)
+    private String gender;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal currentSalary;
+
+    @PositiveOrZero
+    private BigDecimal currentBalance;
+
+    // Employee plus employer rate as a fraction of salary
+    @NotNull
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private BigDecimal contributionRate;
+
+    // Assumptions; defaults from configuration when omitted
+    @DecimalMin("-0.5")
+    @DecimalMax("0.5")
+    private BigDecimal salaryGrowthRate;
+
+    @DecimalMin("-0.5")
+    @DecimalMax("0.5")
+    private BigDecimal interestRate;
+
+    @DecimalMin("-0.5")
+    @DecimalMax("0.5")
+    private BigDecimal annuityRate;
+
+    // Results
+    private Integer yearsToRetirement;
+    private BigDecimal projectedSalary;
+    private BigDecimal projectedBalance;
+    private BigDecimal totalContributions;
+    private BigDecimal annuityFactor;
+    private BigDecimal annualPension;
+    private BigDecimal monthlyPension;
+    private BigDecimal replacementRatio;
 }
@@ -0,0 +1,38 @@
+package com.fankatech.fankaassure.dto.pension;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionBatchReportDTO {
+    private long totalRows;
+    private long acceptedRows;
+    private long rejectedRows;
+    private int chunksCommitted;
+    private int chunksFailed;
+
+    // Only the first N row errors are kept so the report stays bounded on large files
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Set when the body could not be parsed any further; rows before it are already committed
+    private String fatalError;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private Long memberId;
+        private List<String> messages;
+    }
+}
@@ -1,4 +1,40 @@
 package com.fankatech.fankaassure.dto.pension;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ContributionDTO {
+    private Long id;
+
+    @NotNull
+    private Long memberId;
+
+    @NotNull
+    private LocalDate contributionDate;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal employeeAmount;
+
+    @NotNull
+    @PositiveOrZero
+    private BigDecimal employerAmount;
+
+    @PositiveOrZero
+    private BigDecimal voluntaryAmount;
+
+    @Size(max = 64)
+    private String reference;
 }
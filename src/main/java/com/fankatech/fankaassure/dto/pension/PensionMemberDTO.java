@@ -1,4 +1,49 @@
 package com.fankatech.fankaassure.dto.pension;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PensionMemberDTO {
+    private Long id;
+
+    @NotNull
+    private Long planId;
+
+    @Size(max = 32)
+    private String memberNumber;
+
+    @NotBlank
+    private String firstName;
+
+    @NotBlank
+    private String lastName;
+
+    @NotNull
+    @Past
+    private LocalDate dateOfBirth;
+
+    @Size(max = 1)
+    private String gender;
+
+    @NotNull
+    private LocalDate joinDate;
+
+    @PositiveOrZero
+    private BigDecimal salary;
+
+    private String status;
 }
@@ -1,4 +1,47 @@
 package com.fankatech.fankaassure.dto.pension;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PensionPlanDTO {
+    private Long id;
+
+    @NotBlank
+    @Size(max = 32)
+    private String planCode;
+
+    @NotBlank
+    private String name;
+
+    private String description;
+
+    @PositiveOrZero
+    private BigDecimal employeeRate;
+
+    @PositiveOrZero
+    private BigDecimal employerRate;
+
+    @Min(40)
+    @Max(75)
+    private Integer retirementAge;
+
+    // Interest rate used to price annuities; the configured default applies when null
+    @DecimalMin("-0.05")
+    @DecimalMax("0.2")
+    private BigDecimal annuityRate;
 }
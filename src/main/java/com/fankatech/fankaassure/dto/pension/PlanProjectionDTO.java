@@ -0,0 +1,49 @@
+package com.fankatech.fankaassure.dto.pension;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanProjectionDTO {
+    private Long planId;
+    private LocalDate valuationDate;
+    private int memberCount;
+    private long elapsedMillis;
+
+    @Builder.Default
+    private List<Scenario> scenarios = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Scenario {
+        private String name;
+        private BigDecimal totalProjectedBalance;
+        private BigDecimal totalAnnualPension;
+        private BigDecimal averageReplacementRatio;
+
+        // Only filled when member detail is requested
+        private List<MemberProjection> members;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MemberProjection {
+        private Long memberId;
+        private int yearsToRetirement;
+        private BigDecimal projectedBalance;
+        private BigDecimal annualPension;
+        private BigDecimal replacementRatio;
+    }
+}
@@ -0,0 +1,36 @@
+package com.fankatech.fankaassure.dto.pension;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionAssumptionsDTO {
+    @NotBlank
+    private String name;
+
+    @NotNull
+    @DecimalMin("-0.5")
+    @DecimalMax("0.5")
+    private BigDecimal salaryGrowthRate;
+
+    @NotNull
+    @DecimalMin("-0.5")
+    @DecimalMax("0.5")
+    private BigDecimal interestRate;
+
+    @NotNull
+    @DecimalMin("-0.5")
+    @DecimalMax("0.5")
+    private BigDecimal annuityRate;
+}
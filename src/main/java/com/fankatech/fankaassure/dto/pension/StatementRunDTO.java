@@ -0,0 +1,39 @@
+package com.fankatech.fankaassure.dto.pension;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementRunDTO {
+    private Long id;
+
+    // Null means every member of every plan
+    private Long planId;
+
+    private LocalDate statementDate;
+
+    // DIRECTORY writes one PDF per member; ZIP writes one archive per slice of members
+    private String outputFormat;
+
+    private String outputPath;
+
+    // PENDING, RUNNING, COMPLETED or FAILED
+    private String status;
+
+    // Checkpoint: the highest member id whose slice has been fully written
+    private Long lastMemberId;
+
+    private long processedMembers;
+    private long failedMembers;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
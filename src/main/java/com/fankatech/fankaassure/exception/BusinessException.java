@@ -1,4 +1,12 @@
 package com.fankatech.fankaassure.exception;
 
-public class BusinessException {
+public class BusinessException extends RuntimeException {
+
+    public BusinessException(String message) {
+        super(message);
+    }
+
+    public BusinessException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -1,4 +1,12 @@
 package com.fankatech.fankaassure.exception;
 
-public class ResourceNotFoundException {
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+    public ResourceNotFoundException(String resource, Object id) {
+        super(resource + " not found with id " + id);
+    }
 }
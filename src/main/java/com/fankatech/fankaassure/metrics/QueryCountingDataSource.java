@@ -0,0 +1,92 @@
+package com.fankatech.fankaassure.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the statements executed on a thread while a {@link #begin() scope} is open. Only
+ * connections obtained inside a scope are wrapped, so background jobs use the pool's connections
+ * untouched; the wrappers intercept the {@code execute*} methods and pass everything else,
+ * including {@code unwrap}, to the driver. A batch counts as one statement.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    // Returns the live count of the scope, read after end()
+    static int[] begin() {
+        int[] count = new int[1];
+        COUNT.set(count);
+        return count;
+    }
+
+    static void end() {
+        COUNT.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    // Spring infers the destroy method from this wrapper, so closing is passed on to the pool
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        int[] count = COUNT.get();
+        if (count == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "createStatement", "prepareStatement", "prepareCall" ->
+                            wrap((Statement) invoke(connection, method, args), method.getReturnType(), count);
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    private static Statement wrap(Statement statement, Class<?> type, int[] count) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        count[0]++;
+                    }
+                    return switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> invoke(statement, method, args);
+                    };
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
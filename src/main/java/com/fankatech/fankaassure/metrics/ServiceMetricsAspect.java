@@ -0,0 +1,79 @@
+package com.fankatech.fankaassure.metrics;
+
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code domain.*.service} beans as {@value #TIMER_NAME}, tagged
+ * with domain, service, operation and outcome. The count of each outcome series is the call
+ * counter; percentiles and histogram buckets come from {@code management.metrics.distribution}.
+ * Only calls through the bean proxy are seen, so a service calling its own methods is timed once.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String TIMER_NAME = "fankaassure.service";
+
+    static final String SUCCESS = "SUCCESS";
+    // Business rule violations and missing resources, answered with a 4xx
+    static final String REJECTED = "REJECTED";
+    static final String ERROR = "ERROR";
+
+    private record Operation(Tags tags, Timer success) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.fankatech.fankaassure.domain.*.service.*.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Operation operation = operations.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::operation);
+        long started = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            operation.success().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            String outcome = e instanceof BusinessException || e instanceof ResourceNotFoundException ? REJECTED : ERROR;
+            Timer.builder(TIMER_NAME)
+                    .tags(operation.tags())
+                    .tag("outcome", outcome)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Operation operation(Method method) {
+        Class<?> service = method.getDeclaringClass();
+        // com.fankatech.fankaassure.domain.<domain>.service
+        String[] packages = service.getPackageName().split("\\.");
+        Tags tags = Tags.of(
+                "domain", packages[packages.length - 2],
+                "service", service.getSimpleName(),
+                "operation", method.getName());
+        Timer success = Timer.builder(TIMER_NAME)
+                .tags(tags)
+                .tag("outcome", SUCCESS)
+                .tag("exception", "none")
+                .register(meterRegistry);
+        return new Operation(tags, success);
+    }
+}
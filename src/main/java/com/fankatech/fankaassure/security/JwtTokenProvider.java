@@ -1,4 +1,158 @@
 package com.fankatech.fankaassure.security;
 
+import com.fankatech.fankaassure.dto.auth.TokenDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HMAC-signed access tokens. The verified claims are cached by the SHA-256
+ * of the raw token, so a repeat request costs one hash and a map lookup instead of a signature
+ * check and JSON parse. Entries expire with the token; revocation is checked on every lookup.
+ */
+@Slf4j
+@Component
 public class JwtTokenProvider {
+
+    private static final String ROLES_CLAIM = "roles";
+
+    public record VerifiedToken(String tokenId, String username, Instant expiresAt, List<GrantedAuthority> authorities) {
+
+        // A new Authentication per call, since a security context may mutate the one it holds
+        public Authentication authentication() {
+            return UsernamePasswordAuthenticationToken.authenticated(username, null, authorities);
+        }
+    }
+
+    // The raw token is never kept in memory, only its digest
+    private record TokenKey(long h0, long h1, long h2, long h3) {
+    }
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final TokenRevocationList revocationList;
+    private final Duration expiration;
+    private final Cache<TokenKey, VerifiedToken> verifiedTokens;
+
+    public JwtTokenProvider(SecretKey jwtSigningKey,
+                            JwtParser jwtParser,
+                            TokenRevocationList revocationList,
+                            @Value("${jwt.expiration:86400000}") long expirationMillis,
+                            @Value("${fankaassure.security.token-cache.maximum-size:100000}") long cacheMaximumSize) {
+        this.signingKey = jwtSigningKey;
+        this.jwtParser = jwtParser;
+        this.revocationList = revocationList;
+        this.expiration = Duration.ofMillis(expirationMillis);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<TokenKey, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenKey key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenKey key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenKey key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public TokenDTO createToken(Authentication authentication) {
+        Instant issuedAt = Instant.now();
+        Instant expiresAt = issuedAt.plus(expiration);
+        String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(authentication.getName())
+                .claim(ROLES_CLAIM, authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+        return TokenDTO.builder().accessToken(token).expiresAt(expiresAt).build();
+    }
+
+    /**
+     * Returns the verified token, or null if the token is malformed, badly signed, expired or
+     * revoked. Only successfully verified tokens are cached.
+     */
+    public VerifiedToken verify(String token) {
+        TokenKey key = keyOf(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified == null) {
+            verified = parse(token);
+            if (verified == null) {
+                return null;
+            }
+            verifiedTokens.put(key, verified);
+        }
+        if (revocationList.isRevoked(verified.tokenId())) {
+            verifiedTokens.invalidate(key);
+            return null;
+        }
+        return verified;
+    }
+
+    public void revoke(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified != null) {
+            revocationList.revoke(verified.tokenId(), verified.expiresAt());
+            verifiedTokens.invalidate(keyOf(token));
+        }
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            List<?> roles = claims.get(ROLES_CLAIM, List.class);
+            List<GrantedAuthority> authorities = roles == null ? List.of()
+                    : roles.stream().<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString())).toList();
+            if (claims.getId() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            return new VerifiedToken(claims.getId(), claims.getSubject(), claims.getExpiration().toInstant(), authorities);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected access token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static TokenKey keyOf(String token) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenKey(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
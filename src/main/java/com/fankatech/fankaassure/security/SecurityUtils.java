@@ -1,4 +1,19 @@
 package com.fankatech.fankaassure.security;
 
-public class SecurityUtils {
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+public final class SecurityUtils {
+
+    private SecurityUtils() {
+    }
+
+    public static Optional<String> currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                ? Optional.ofNullable(authentication.getName())
+                : Optional.empty();
+    }
 }
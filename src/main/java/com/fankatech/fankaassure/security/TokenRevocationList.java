@@ -0,0 +1,80 @@
+package com.fankatech.fankaassure.security;
+
+import com.fankatech.fankaassure.domain.auth.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token ids revoked before their expiry. Revocations are written to {@code revoked_token} and
+ * kept in memory until the token would have expired anyway; other nodes' revocations are picked
+ * up by polling the table, so a revoked token stops working everywhere within one refresh interval.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList implements SmartInitializingSingleton {
+
+    // Revocations committed slightly out of revoked_at order are still caught by the next poll
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile Instant watermark;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return !revoked.isEmpty() && revoked.containsKey(tokenId);
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.insert(tokenId, expiresAt);
+        revoked.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            log.warn("Could not load revoked tokens at startup, retrying on the next refresh: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fankaassure.security.revocation-refresh-interval:PT15S}",
+            initialDelayString = "${fankaassure.security.revocation-refresh-interval:PT15S}")
+    public void refresh() {
+        Instant since = watermark;
+        List<RevokedTokenRepository.RevokedToken> tokens =
+                revokedTokenRepository.findRevokedSince(since != null ? since.minus(POLL_OVERLAP) : null);
+        Instant latest = since;
+        for (RevokedTokenRepository.RevokedToken token : tokens) {
+            revoked.put(token.tokenId(), token.expiresAt());
+            if (latest == null || token.revokedAt().isAfter(latest)) {
+                latest = token.revokedAt();
+            }
+        }
+        watermark = latest;
+
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired();
+        if (purged > 0) {
+            log.debug("Purged {} expired token revocation(s)", purged);
+        }
+    }
+}
@@ -1,4 +1,63 @@
 package com.fankatech.fankaassure.security;
 
-public class UserDetailsServiceImpl {
+import com.fankatech.fankaassure.domain.auth.repository.UserAccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Loads accounts from {@code app_user} through a short-lived local cache, so the per-request
+ * account check in {@link JwtAuthenticationFilter} rarely reaches the database. Disabling an
+ * account or changing its roles takes effect everywhere within the cache time-to-live, or at once
+ * on this node via {@link #evict(String)}. Unknown usernames are not cached, so an account created
+ * on another node can sign in at once.
+ */
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService {
+
+    private final UserAccountRepository userAccountRepository;
+    // Accounts are cached as immutable records; Spring erases credentials on the UserDetails it is given
+    private final Cache<String, UserAccountRepository.UserAccount> accounts;
+
+    public UserDetailsServiceImpl(UserAccountRepository userAccountRepository,
+                                  @Value("${fankaassure.security.user-cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${fankaassure.security.user-cache.time-to-live:60s}") Duration timeToLive) {
+        this.userAccountRepository = userAccountRepository;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        UserAccountRepository.UserAccount account = find(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return User.withUsername(account.username())
+                .password(account.passwordHash())
+                .roles(account.roles().split("\\s*,\\s*"))
+                .disabled(!account.enabled())
+                .build();
+    }
+
+    public boolean isActive(String username) {
+        return find(username).map(UserAccountRepository.UserAccount::enabled).orElse(false);
+    }
+
+    public void evict(String username) {
+        accounts.invalidate(username);
+    }
+
+    private Optional<UserAccountRepository.UserAccount> find(String username) {
+        // A null mapping result is not stored
+        return Optional.ofNullable(accounts.get(username, name -> userAccountRepository.findByUsername(name).orElse(null)));
+    }
 }
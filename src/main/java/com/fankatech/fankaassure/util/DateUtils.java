@@ -1,4 +1,16 @@
 package com.fankatech.fankaassure.util;
 
-public class DateUtils {
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+public final class DateUtils {
+
+    public static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private DateUtils() {
+    }
+
+    public static String format(LocalDate date) {
+        return date != null ? DISPLAY_DATE.format(date) : "";
+    }
 }
@@ -0,0 +1,82 @@
+package com.fankatech.fankaassure.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store. Content is streamed to a temporary file while it is hashed and
+ * then moved to {@code <root>/<first two hex digits>/<sha256>}; content that is already stored
+ * is discarded, so identical uploads share one file. Stored files are never rewritten, which
+ * makes the hash a strong ETag.
+ */
+@Component
+public class DocumentStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    public record StoredContent(String sha256, long size, boolean deduplicated) {
+    }
+
+    private final Path root;
+    private final Path incoming;
+
+    public DocumentStore(@Value("${fankaassure.documents.store-dir:data/documents}") String storeDir) throws IOException {
+        this.root = Path.of(storeDir).toAbsolutePath();
+        this.incoming = Files.createDirectories(root.resolve("incoming"));
+    }
+
+    public StoredContent store(InputStream content) throws IOException {
+        Path temp = incoming.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = FileUtils.copy(content, temp, digest);
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(sha256);
+            if (Files.exists(target)) {
+                return new StoredContent(sha256, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently by another upload of the same content
+                return new StoredContent(sha256, size, true);
+            }
+            return new StoredContent(sha256, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Returns the path of stored content.
+     *
+     * @throws IllegalArgumentException if {@code sha256} is not a lowercase hex SHA-256
+     */
+    public Path resolve(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 content key: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,4 +1,149 @@
 package com.fankatech.fankaassure.util;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CreationHelper;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streaming XLSX writer. Rows are pulled from a {@link Stream} and only the last
+ * {@code windowSize} rows are kept in memory; older rows are flushed to a compressed temp file
+ * and copied to the output when the workbook is written.
+ */
+@Slf4j
+@Component
 public class ExcelGenerator {
+
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // Hard limit of the XLSX format, header row included
+    private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private final int windowSize;
+
+    public ExcelGenerator(@Value("${fankaassure.export.excel.row-window:500}") int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public record Column<T>(String header, Function<T, ?> value) {
+    }
+
+    public static <T> Column<T> column(String header, Function<T, ?> value) {
+        return new Column<>(header, value);
+    }
+
+    /**
+     * Writes every row of {@code rows} to {@code out}, rolling over to a new sheet when one is
+     * full. The caller owns both the stream and the output and is responsible for closing them.
+     *
+     * @return the number of data rows written
+     */
+    public <T> long write(OutputStream out, String sheetName, List<Column<T>> columns, Stream<T> rows) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        try {
+            Styles styles = new Styles(workbook);
+            long count = 0;
+            int sheetIndex = 0;
+            SXSSFSheet sheet = newSheet(workbook, sheetName, ++sheetIndex, columns, styles);
+            int rowIndex = 1;
+
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                if (rowIndex == MAX_ROWS_PER_SHEET) {
+                    sheet = newSheet(workbook, sheetName, ++sheetIndex, columns, styles);
+                    rowIndex = 1;
+                }
+                T item = iterator.next();
+                Row row = sheet.createRow(rowIndex++);
+                for (int c = 0; c < columns.size(); c++) {
+                    setCell(row.createCell(c), columns.get(c).value().apply(item), styles);
+                }
+                count++;
+            }
+
+            workbook.write(out);
+            out.flush();
+            log.debug("Excel export '{}' written: {} rows over {} sheet(s)", sheetName, count, sheetIndex);
+            return count;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static <T> SXSSFSheet newSheet(SXSSFWorkbook workbook, String sheetName, int index,
+                                           List<Column<T>> columns, Styles styles) {
+        SXSSFSheet sheet = workbook.createSheet(index == 1 ? sheetName : sheetName + " (" + index + ")");
+        Row header = sheet.createRow(0);
+        for (int c = 0; c < columns.size(); c++) {
+            Cell cell = header.createCell(c);
+            cell.setCellValue(columns.get(c).header());
+            cell.setCellStyle(styles.header);
+            // Auto-sizing would need every row in the window; a fixed width keeps the export streaming
+            sheet.setColumnWidth(c, 18 * 256);
+        }
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private static void setCell(Cell cell, Object value, Styles styles) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            cell.setCellValue(decimal.doubleValue());
+            cell.setCellStyle(styles.amount);
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(styles.date);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(styles.dateTime);
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    // Styles are workbook-scoped and limited in number, so they are created once per export
+    private static final class Styles {
+        private final CellStyle header;
+        private final CellStyle amount;
+        private final CellStyle date;
+        private final CellStyle dateTime;
+
+        private Styles(SXSSFWorkbook workbook) {
+            CreationHelper helper = workbook.getCreationHelper();
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+            amount = workbook.createCellStyle();
+            amount.setDataFormat(helper.createDataFormat().getFormat("#,##0.00"));
+            date = workbook.createCellStyle();
+            date.setDataFormat(helper.createDataFormat().getFormat("yyyy-mm-dd"));
+            dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(helper.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        }
+    }
 }
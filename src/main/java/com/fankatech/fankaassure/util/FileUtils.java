@@ -1,4 +1,126 @@
 package com.fankatech.fankaassure.util;
 
-public class FileUtils {
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.List;
+
+public final class FileUtils {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // Tomcat request attributes for handing a file region to the connector's sendfile
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileUtils() {
+    }
+
+    /**
+     * Copies {@code in} to a new file through one fixed buffer, feeding every byte to
+     * {@code digest} on the way. Returns the number of bytes written.
+     */
+    public static long copy(InputStream in, Path target, MessageDigest digest) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    // FileChannel.transferTo may move fewer bytes than asked, so it is called until the region is sent
+    public static void transfer(Path file, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0 && position >= channel.size()) {
+                    throw new EOFException(file + " is shorter than " + end + " bytes");
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * Serves a file as the response body, honouring a single {@code Range} (guarded by
+     * {@code If-Range}) and {@code If-None-Match} against {@code etag}. Under Tomcat the file
+     * region is handed to the connector's sendfile so the kernel copies it straight to the socket;
+     * otherwise it is streamed with {@link FileChannel#transferTo}. Neither path reads the file
+     * onto the heap. Multi-range requests are answered with the whole file.
+     */
+    public static ResponseEntity<StreamingResponseBody> serve(HttpServletRequest request, Path file, long length,
+                                                              String etag, HttpHeaders headers) {
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setETag(etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && length > 0 && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                // HttpRange does not reject a first position at or past the end of the file
+                if (start >= length || start > end) {
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+            }
+        }
+
+        long count = end - start + 1;
+        headers.setContentLength(count);
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        if (count > 0 && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED)) && !"HEAD".equals(request.getMethod())) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        long position = start;
+        return ResponseEntity.status(status).headers(headers)
+                .body(out -> transfer(file, position, count, Channels.newChannel(out)));
+    }
 }
@@ -0,0 +1,127 @@
+package com.fankatech.fankaassure.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A small pool of connected SMTP transports for bulk mail. {@link JavaMailSenderImpl} opens and
+ * closes a connection (with its TLS and AUTH handshakes) per send call; here each connection is
+ * kept open and reused for many messages, and at most {@code pool-size} are open at once. A
+ * connection is checked before reuse and replaced if the server dropped it.
+ * <p>
+ * The SMTP transport synchronizes around its socket I/O, which would pin the carrier of a virtual
+ * thread for the length of a send, so sends run on {@code pool-size} platform threads and
+ * callers, virtual or not, only wait for the result.
+ */
+@Slf4j
+@Component
+public class MailTransportPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idle = new LinkedBlockingQueue<>();
+    private final ExecutorService senders;
+
+    public MailTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${fankaassure.mail.pool-size:4}") int poolSize) {
+        this.mailSender = mailSender;
+        this.senders = Executors.newFixedThreadPool(poolSize, Thread.ofPlatform().name("smtp-sender-", 0).daemon().factory());
+    }
+
+    public MimeMessage createMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * Sends one message over a pooled connection. A {@link SendFailedException} means the server
+     * rejected the recipients and is not worth retrying; any other exception is a connection or
+     * server problem.
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        Future<?> sent = senders.submit(() -> {
+            sendPooled(message);
+            return null;
+        });
+        try {
+            sent.get();
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case MessagingException cause -> throw cause;
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw new MessagingException("SMTP send failed", (Exception) e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sent.cancel(true);
+            throw new MessagingException("Interrupted while sending", e);
+        }
+    }
+
+    // Runs on a sender thread, so at most pool-size transports are in use
+    private void sendPooled(MimeMessage message) throws MessagingException {
+        Transport transport = idle.poll();
+        try {
+            if (transport == null || !transport.isConnected()) {
+                close(transport);
+                transport = connect();
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+        } catch (SendFailedException e) {
+            if (!transport.isConnected()) {
+                close(transport);
+                transport = null;
+            }
+            throw e;
+        } catch (MessagingException | RuntimeException e) {
+            close(transport);
+            transport = null;
+            throw e;
+        } finally {
+            if (transport != null) {
+                idle.offer(transport);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdownNow();
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private static void close(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+}
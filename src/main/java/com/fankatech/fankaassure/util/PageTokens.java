@@ -0,0 +1,116 @@
+package com.fankatech.fankaassure.util;
+
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.exception.BadRequestException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token carries the sort key of the last row
+ * returned plus a fingerprint of the listing and its filters, so it cannot be replayed against a
+ * different query.
+ */
+public final class PageTokens {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 1000;
+
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '\u001F';
+
+    private PageTokens() {
+    }
+
+    public static String scope(String listing, Object... filters) {
+        return listing + ":" + Integer.toHexString(Objects.hash(filters));
+    }
+
+    public static String encode(String scope, Object... keys) {
+        StringBuilder raw = new StringBuilder(VERSION).append(SEPARATOR).append(scope);
+        for (Object key : keys) {
+            raw.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort key values of {@code token}, or null for the first page.
+     *
+     * @throws BadRequestException if the token is malformed or was issued for another query
+     */
+    public static String[] decode(String token, String scope, int keyCount) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        if (parts.length != keyCount + 2 || !VERSION.equals(parts[0])) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        if (!scope.equals(parts[1])) {
+            throw new BadRequestException("Page cursor does not match the current filters");
+        }
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 2, keys, 0, keyCount);
+        return keys;
+    }
+
+    // Parses one decoded key, treating a value that does not parse as a tampered cursor
+    public static <T> T key(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Offset listings are served in the same fixed order as their keyset counterpart. Accepts an
+     * unsorted request or one asking for exactly that order.
+     *
+     * @throws BadRequestException for any other sort
+     */
+    public static void requireOrder(Pageable pageable, Sort order) {
+        Sort requested = pageable.getSort();
+        if (requested.isSorted() && !requested.equals(order)) {
+            throw new BadRequestException("Unsupported sort '" + requested + "'; this listing is ordered by " + order);
+        }
+    }
+
+    public static int size(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Builds a page from {@code rows}, which must have been fetched with a limit of
+     * {@code size + 1}; the extra row only signals that another page exists.
+     */
+    public static <T> CursorPageDTO<T> page(List<T> rows, int size, String scope,
+                                            Function<T, Object[]> keyOf, LongSupplier count) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? encode(scope, keyOf.apply(content.get(content.size() - 1))) : null;
+        return CursorPageDTO.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasMore(hasMore)
+                .nextCursor(next)
+                .totalElements(count != null ? count.getAsLong() : null)
+                .build();
+    }
+}
@@ -1,4 +1,240 @@
 package com.fankatech.fankaassure.util;
 
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.io.RandomAccessSourceFactory;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfImportedPage;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.itextpdf.text.pdf.RandomAccessFileOrArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * PDF rendering on iText 5. Fonts and the letterhead are built once at startup; the letterhead is
+ * kept as a one-page PDF and stamped onto every page as an imported XObject, and static sections
+ * (terms, notes) can be precompiled with {@link #compile(Body)} and appended as whole pages. Each
+ * render opens these sources with partial readers over the kept bytes, which parse only the
+ * cross-reference table and load objects as pages are imported. Output goes straight to the
+ * caller's stream.
+ */
+@Slf4j
+@Component
 public class PdfGenerator {
+
+    public static final String CONTENT_TYPE = "application/pdf";
+
+    private static final Rectangle PAGE_SIZE = PageSize.A4;
+    private static final float MARGIN_SIDE = 50;
+    private static final float MARGIN_TOP = 110;
+    private static final float MARGIN_BOTTOM = 60;
+
+    @FunctionalInterface
+    public interface Body {
+        void write(Document document, Fonts fonts) throws DocumentException;
+    }
+
+    // A document whose data is already loaded, rendered when the response body is written
+    @FunctionalInterface
+    public interface RenderTask {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // Font instances are only read while rendering, so one set is shared by every document
+    public record Fonts(Font title, Font heading, Font body, Font bold, Font small) {
+    }
+
+    // A precompiled PDF fragment that is copied page by page into each document
+    public record Template(byte[] content, int pages) {
+    }
+
+    private final Fonts fonts;
+    private final Template letterhead;
+
+    public PdfGenerator(@Value("${fankaassure.pdf.company-name:FankaAssure}") String companyName,
+                        @Value("${fankaassure.pdf.company-address:}") String companyAddress) throws IOException {
+        try {
+            BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+            this.fonts = new Fonts(
+                    new Font(bold, 16),
+                    new Font(bold, 12),
+                    new Font(regular, 10),
+                    new Font(bold, 10),
+                    new Font(regular, 8, Font.NORMAL, BaseColor.GRAY));
+            this.letterhead = renderLetterhead(companyName, companyAddress);
+        } catch (DocumentException e) {
+            throw new IOException("Unable to initialise PDF resources", e);
+        }
+    }
+
+    public Fonts getFonts() {
+        return fonts;
+    }
+
+    /**
+     * Renders a static section once so it can be appended to any number of documents without
+     * laying it out again.
+     */
+    public Template compile(Body body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PAGE_SIZE, MARGIN_SIDE, MARGIN_SIDE, MARGIN_TOP, MARGIN_BOTTOM);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+            body.write(document, fonts);
+            document.close();
+        } catch (DocumentException e) {
+            throw new IOException("Unable to compile PDF template", e);
+        }
+        byte[] content = out.toByteArray();
+        PdfReader reader = new PdfReader(content);
+        int pages = reader.getNumberOfPages();
+        reader.close();
+        return new Template(content, pages);
+    }
+
+    /**
+     * Renders a document with the letterhead on every page, followed by the given appendices.
+     * The output stream is flushed but not closed.
+     */
+    public void render(OutputStream out, String title, Body body, Template... appendices) throws IOException {
+        Document document = new Document(PAGE_SIZE, MARGIN_SIDE, MARGIN_SIDE, MARGIN_TOP, MARGIN_BOTTOM);
+        PdfReader letterheadReader = open(letterhead);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            writer.setFullCompression();
+            writer.setPageEvent(new LetterheadEvent(writer.getImportedPage(letterheadReader, 1), fonts.small()));
+            document.addTitle(title);
+            document.open();
+            body.write(document, fonts);
+
+            for (Template appendix : appendices) {
+                PdfReader reader = open(appendix);
+                try {
+                    for (int page = 1; page <= appendix.pages(); page++) {
+                        document.newPage();
+                        writer.getDirectContent().addTemplate(writer.getImportedPage(reader, page), 0, 0);
+                        // Direct content alone does not count as page content for newPage()
+                        writer.setPageEmpty(false);
+                    }
+                    writer.freeReader(reader);
+                } finally {
+                    reader.close();
+                }
+            }
+            document.close();
+            out.flush();
+        } catch (DocumentException e) {
+            throw new IOException("Unable to render PDF '" + title + "'", e);
+        } finally {
+            letterheadReader.close();
+        }
+    }
+
+    public byte[] renderToBytes(String title, Body body, Template... appendices) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        render(out, title, body, appendices);
+        return out.toByteArray();
+    }
+
+    public static PdfPTable detailsTable() {
+        PdfPTable table = new PdfPTable(new float[]{1, 2});
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10);
+        table.setSpacingAfter(10);
+        return table;
+    }
+
+    public static void addDetail(PdfPTable table, Fonts fonts, String label, Object value) {
+        table.addCell(borderless(new Phrase(label, fonts.bold())));
+        table.addCell(borderless(new Phrase(format(value), fonts.body())));
+    }
+
+    public static PdfPCell borderless(Phrase phrase) {
+        PdfPCell cell = new PdfPCell(phrase);
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setPaddingBottom(4);
+        return cell;
+    }
+
+    public static String format(Object value) {
+        if (value == null) {
+            return "-";
+        }
+        if (value instanceof BigDecimal amount) {
+            return String.format("%,.2f", amount);
+        }
+        if (value instanceof LocalDate date) {
+            return DateUtils.format(date);
+        }
+        return value.toString();
+    }
+
+    // An imported page belongs to one writer, so every render needs its own reader
+    private static PdfReader open(Template template) throws IOException {
+        return new PdfReader(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(template.content())), null);
+    }
+
+    private Template renderLetterhead(String companyName, String companyAddress) throws DocumentException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PAGE_SIZE);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+
+        PdfContentByte canvas = writer.getDirectContent();
+        float top = PAGE_SIZE.getTop() - 45;
+        ColumnText.showTextAligned(canvas, Element.ALIGN_LEFT, new Phrase(companyName, fonts.title()), MARGIN_SIDE, top, 0);
+        if (!companyAddress.isBlank()) {
+            ColumnText.showTextAligned(canvas, Element.ALIGN_LEFT, new Phrase(companyAddress, fonts.small()), MARGIN_SIDE, top - 16, 0);
+        }
+        canvas.setColorStroke(BaseColor.GRAY);
+        canvas.setLineWidth(0.5f);
+        canvas.moveTo(MARGIN_SIDE, top - 28);
+        canvas.lineTo(PAGE_SIZE.getRight() - MARGIN_SIDE, top - 28);
+        canvas.stroke();
+        writer.setPageEmpty(false);
+
+        document.close();
+        log.debug("PDF letterhead compiled ({} bytes)", out.size());
+        return new Template(out.toByteArray(), 1);
+    }
+
+    private static final class LetterheadEvent extends PdfPageEventHelper {
+        private final PdfImportedPage background;
+        private final Font footerFont;
+
+        private LetterheadEvent(PdfImportedPage background, Font footerFont) {
+            this.background = background;
+            this.footerFont = footerFont;
+        }
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            writer.getDirectContentUnder().addTemplate(background, 0, 0);
+            ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_RIGHT,
+                    new Phrase("Page " + writer.getPageNumber(), footerFont),
+                    document.right(), document.bottom() - 25, 0);
+        }
+    }
 }
@@ -0,0 +1,30 @@
+-- Open (DUE or PARTIAL) instalments only, clustered by due date so a date range is one index range
+CREATE TABLE premium_due_schedule (
+    due_date       DATE           NOT NULL,
+    premium_id     BIGINT         NOT NULL REFERENCES premium (id),
+    policy_id      BIGINT         NOT NULL REFERENCES policy (id),
+    policy_number  VARCHAR(32)    NOT NULL,
+    amount         NUMERIC(15, 2) NOT NULL,
+    paid_amount    NUMERIC(15, 2) NOT NULL,
+    status         VARCHAR(20)    NOT NULL,
+    paid_date      DATE,
+    PRIMARY KEY (due_date, premium_id)
+);
+
+CREATE UNIQUE INDEX idx_premium_due_schedule_premium ON premium_due_schedule (premium_id);
+CREATE INDEX idx_premium_due_schedule_policy ON premium_due_schedule (policy_id);
+
+-- Open instalment count per due date, so totals for a range read one row per day
+CREATE TABLE premium_due_bucket (
+    due_date       DATE    PRIMARY KEY,
+    premium_count  INTEGER NOT NULL
+);
+
+INSERT INTO premium_due_schedule (due_date, premium_id, policy_id, policy_number, amount, paid_amount, status, paid_date)
+SELECT pr.due_date, pr.id, pr.policy_id, p.policy_number, pr.amount, pr.paid_amount, pr.status, pr.paid_date
+  FROM premium pr
+  JOIN policy p ON p.id = pr.policy_id
+ WHERE pr.status IN ('DUE', 'PARTIAL');
+
+INSERT INTO premium_due_bucket (due_date, premium_count)
+SELECT due_date, count(*) FROM premium_due_schedule GROUP BY due_date;
@@ -0,0 +1,29 @@
+CREATE TABLE reminder_campaign (
+    id          BIGSERIAL PRIMARY KEY,
+    from_date   DATE      NOT NULL,
+    to_date     DATE      NOT NULL,
+    created_at  TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- One row per reminder to send; merge fields are captured when the reminder is queued
+CREATE TABLE reminder_outbox (
+    id               BIGSERIAL PRIMARY KEY,
+    campaign_id      BIGINT         REFERENCES reminder_campaign (id),
+    premium_id       BIGINT         NOT NULL REFERENCES premium (id),
+    recipient        VARCHAR(255)   NOT NULL,
+    customer_name    VARCHAR(201)   NOT NULL,
+    policy_number    VARCHAR(32)    NOT NULL,
+    due_date         DATE           NOT NULL,
+    amount_due       NUMERIC(15, 2) NOT NULL,
+    status           VARCHAR(16)    NOT NULL DEFAULT 'PENDING',
+    attempts         INTEGER        NOT NULL DEFAULT 0,
+    next_attempt_at  TIMESTAMP      NOT NULL DEFAULT now(),
+    locked_until     TIMESTAMP,
+    last_error       TEXT,
+    created_at       TIMESTAMP      NOT NULL DEFAULT now(),
+    sent_at          TIMESTAMP
+);
+
+CREATE INDEX idx_reminder_outbox_dispatch ON reminder_outbox (status, next_attempt_at);
+CREATE INDEX idx_reminder_outbox_campaign ON reminder_outbox (campaign_id, status);
+CREATE INDEX idx_reminder_outbox_premium ON reminder_outbox (premium_id);
@@ -0,0 +1,13 @@
+-- Payments and statement lines that reconciliation could not allocate to a premium
+CREATE TABLE payment_suspense (
+    id                 BIGSERIAL PRIMARY KEY,
+    payment_id         BIGINT         REFERENCES payment (id),
+    payment_reference  VARCHAR(64),
+    amount             NUMERIC(15, 2) NOT NULL,
+    payment_date       DATE           NOT NULL,
+    reason             TEXT           NOT NULL,
+    created_at         TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_payment_suspense_date ON payment_suspense (payment_date, id);
+CREATE INDEX idx_payment_suspense_payment ON payment_suspense (payment_id);
@@ -0,0 +1,10 @@
+-- Domain events written in the same transaction as the change they describe; EventOutboxRelay
+-- publishes them to Kafka in id order and deletes them once acknowledged
+CREATE TABLE event_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    aggregate_type  VARCHAR(32)  NOT NULL,
+    aggregate_id    VARCHAR(64)  NOT NULL,
+    event_type      VARCHAR(64)  NOT NULL,
+    payload         JSONB        NOT NULL,
+    created_at      TIMESTAMP    NOT NULL DEFAULT now()
+);
@@ -0,0 +1,14 @@
+-- Claim document metadata; the content is stored once per distinct SHA-256 by DocumentStore
+CREATE TABLE claim_document (
+    id             BIGSERIAL PRIMARY KEY,
+    claim_id       BIGINT       NOT NULL REFERENCES claim (id),
+    document_type  VARCHAR(50)  NOT NULL,
+    file_name      VARCHAR(255) NOT NULL,
+    content_type   VARCHAR(127) NOT NULL,
+    size_bytes     BIGINT       NOT NULL,
+    sha256         CHAR(64)     NOT NULL,
+    uploaded_by    VARCHAR(100),
+    uploaded_at    TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_claim_document_claim ON claim_document (claim_id, id);
@@ -0,0 +1,4 @@
+-- Service provider (hospital, garage, ...) named on a claim and the fraud assessment made at intake
+ALTER TABLE claim ADD COLUMN provider VARCHAR(100);
+ALTER TABLE claim ADD COLUMN fraud_score SMALLINT;
+ALTER TABLE claim ADD COLUMN fraud_flags VARCHAR(255);
@@ -0,0 +1,17 @@
+-- Group rating table of a product: annual premium per 1,000 of cover by age band and cover band,
+-- loaded by a fraction of the member's premium for each covered dependant
+CREATE TABLE product_rate (
+    product_id         BIGINT         NOT NULL REFERENCES insurance_product (id),
+    min_age            SMALLINT       NOT NULL,
+    max_age            SMALLINT       NOT NULL,
+    min_cover_amount   NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    rate_per_mille     NUMERIC(9, 4)  NOT NULL,
+    dependant_loading  NUMERIC(7, 4)  NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, min_age, min_cover_amount),
+    CHECK (min_age <= max_age)
+);
+
+-- Dependants covered with the member under the group's scheme
+ALTER TABLE group_member ADD COLUMN dependants SMALLINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_policy_group_product ON policy (group_id, product_id) WHERE group_id IS NOT NULL;
@@ -0,0 +1,8 @@
+-- At most one reminder per premium may wait to go out; older duplicates win
+UPDATE reminder_outbox o
+   SET status = 'CANCELLED', locked_until = NULL, last_error = 'Duplicate of an earlier reminder'
+ WHERE o.status IN ('PENDING', 'SENDING')
+   AND EXISTS (SELECT 1 FROM reminder_outbox d
+                WHERE d.premium_id = o.premium_id AND d.status IN ('PENDING', 'SENDING') AND d.id < o.id);
+
+CREATE UNIQUE INDEX uq_reminder_outbox_active_premium ON reminder_outbox (premium_id) WHERE status IN ('PENDING', 'SENDING');
@@ -0,0 +1,11 @@
+-- Spread each day's open instalment count over 16 slots keyed by premium_id % 16, so concurrent
+-- writers for the same due date rarely update the same row. Must match
+-- PremiumScheduleRepository.BUCKET_SLOTS; readers sum the slots of a day.
+TRUNCATE premium_due_bucket;
+
+ALTER TABLE premium_due_bucket DROP CONSTRAINT premium_due_bucket_pkey;
+ALTER TABLE premium_due_bucket ADD COLUMN slot SMALLINT NOT NULL;
+ALTER TABLE premium_due_bucket ADD PRIMARY KEY (due_date, slot);
+
+INSERT INTO premium_due_bucket (due_date, slot, premium_count)
+SELECT due_date, premium_id % 16, count(*) FROM premium_due_schedule GROUP BY due_date, premium_id % 16;
@@ -0,0 +1,3 @@
+-- A run is claimed by one execution at a time; a lease left behind by a crashed node expires
+ALTER TABLE statement_run ADD COLUMN lease_owner UUID;
+ALTER TABLE statement_run ADD COLUMN lease_until TIMESTAMP;
@@ -0,0 +1,41 @@
+CREATE TABLE pension_plan (
+    id              BIGSERIAL PRIMARY KEY,
+    plan_code       VARCHAR(32)  NOT NULL UNIQUE,
+    name            VARCHAR(255) NOT NULL,
+    description     TEXT,
+    employee_rate   NUMERIC(7, 4),
+    employer_rate   NUMERIC(7, 4),
+    retirement_age  INTEGER      NOT NULL DEFAULT 65,
+    created_at      TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE TABLE pension_member (
+    id              BIGSERIAL PRIMARY KEY,
+    plan_id         BIGINT       NOT NULL REFERENCES pension_plan (id),
+    member_number   VARCHAR(32)  NOT NULL UNIQUE,
+    first_name      VARCHAR(100) NOT NULL,
+    last_name       VARCHAR(100) NOT NULL,
+    date_of_birth   DATE         NOT NULL,
+    gender          VARCHAR(1),
+    join_date       DATE         NOT NULL,
+    salary          NUMERIC(15, 2),
+    status          VARCHAR(20)  NOT NULL DEFAULT 'ACTIVE',
+    created_at      TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_pension_member_plan ON pension_member (plan_id, id);
+
+CREATE TABLE contribution (
+    id                BIGSERIAL PRIMARY KEY,
+    member_id         BIGINT         NOT NULL REFERENCES pension_member (id),
+    contribution_date DATE           NOT NULL,
+    employee_amount   NUMERIC(15, 2) NOT NULL,
+    employer_amount   NUMERIC(15, 2) NOT NULL,
+    voluntary_amount  NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    reference         VARCHAR(64),
+    created_at        TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_contribution_member_date ON contribution (member_id, contribution_date);
@@ -0,0 +1,30 @@
+CREATE TABLE insurance_product (
+    id                BIGSERIAL PRIMARY KEY,
+    product_code      VARCHAR(32)    NOT NULL UNIQUE,
+    name              VARCHAR(255)   NOT NULL,
+    description       TEXT,
+    category          VARCHAR(50)    NOT NULL,
+    base_premium      NUMERIC(15, 2),
+    min_cover_amount  NUMERIC(15, 2),
+    max_cover_amount  NUMERIC(15, 2),
+    term_months       INTEGER,
+    active            BOOLEAN        NOT NULL DEFAULT TRUE,
+    version           INTEGER        NOT NULL DEFAULT 1,
+    created_at        TIMESTAMP      NOT NULL DEFAULT now(),
+    updated_at        TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE TABLE customer (
+    id             BIGSERIAL PRIMARY KEY,
+    first_name     VARCHAR(100) NOT NULL,
+    last_name      VARCHAR(100) NOT NULL,
+    id_number      VARCHAR(32)  NOT NULL UNIQUE,
+    email          VARCHAR(255),
+    phone          VARCHAR(20),
+    date_of_birth  DATE,
+    gender         VARCHAR(1),
+    address        TEXT,
+    status         VARCHAR(20)  NOT NULL DEFAULT 'ACTIVE',
+    created_at     TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at     TIMESTAMP    NOT NULL DEFAULT now()
+);
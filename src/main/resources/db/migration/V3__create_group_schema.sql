@@ -0,0 +1,18 @@
+CREATE TABLE customer_group (
+    id             BIGSERIAL PRIMARY KEY,
+    group_code     VARCHAR(32)  NOT NULL UNIQUE,
+    name           VARCHAR(255) NOT NULL,
+    description    TEXT,
+    contact_email  VARCHAR(255),
+    created_at     TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at     TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE TABLE group_member (
+    group_id     BIGINT    NOT NULL REFERENCES customer_group (id),
+    customer_id  BIGINT    NOT NULL REFERENCES customer (id),
+    joined_at    TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (group_id, customer_id)
+);
+
+CREATE INDEX idx_group_member_customer ON group_member (customer_id);
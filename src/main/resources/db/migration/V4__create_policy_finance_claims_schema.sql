@@ -0,0 +1,69 @@
+CREATE TABLE policy (
+    id                   BIGSERIAL PRIMARY KEY,
+    policy_number        VARCHAR(32)    NOT NULL UNIQUE,
+    customer_id          BIGINT         NOT NULL REFERENCES customer (id),
+    product_id           BIGINT         NOT NULL REFERENCES insurance_product (id),
+    group_id             BIGINT         REFERENCES customer_group (id),
+    start_date           DATE           NOT NULL,
+    end_date             DATE,
+    cover_amount         NUMERIC(15, 2) NOT NULL,
+    premium_amount       NUMERIC(15, 2),
+    premium_frequency    VARCHAR(20)    NOT NULL DEFAULT 'MONTHLY',
+    status               VARCHAR(20)    NOT NULL DEFAULT 'ACTIVE',
+    cancellation_reason  TEXT,
+    created_at           TIMESTAMP      NOT NULL DEFAULT now(),
+    updated_at           TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_policy_customer ON policy (customer_id);
+
+CREATE TABLE premium (
+    id           BIGSERIAL PRIMARY KEY,
+    policy_id    BIGINT         NOT NULL REFERENCES policy (id),
+    due_date     DATE           NOT NULL,
+    amount       NUMERIC(15, 2) NOT NULL,
+    paid_amount  NUMERIC(15, 2) NOT NULL DEFAULT 0,
+    status       VARCHAR(20)    NOT NULL DEFAULT 'DUE',
+    paid_date    DATE,
+    created_at   TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_premium_policy ON premium (policy_id);
+CREATE INDEX idx_premium_status_due ON premium (status, due_date);
+
+CREATE TABLE payment (
+    id                 BIGSERIAL PRIMARY KEY,
+    payment_reference  VARCHAR(64)    NOT NULL,
+    customer_id        BIGINT         NOT NULL REFERENCES customer (id),
+    policy_id          BIGINT         REFERENCES policy (id),
+    premium_id         BIGINT         REFERENCES premium (id),
+    amount             NUMERIC(15, 2) NOT NULL,
+    payment_date       DATE           NOT NULL,
+    payment_method     VARCHAR(20)    NOT NULL,
+    status             VARCHAR(20)    NOT NULL DEFAULT 'RECEIVED',
+    created_at         TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_payment_date ON payment (payment_date, id);
+CREATE INDEX idx_payment_customer ON payment (customer_id);
+CREATE INDEX idx_payment_reference ON payment (payment_reference);
+
+CREATE TABLE claim (
+    id               BIGSERIAL PRIMARY KEY,
+    claim_number     VARCHAR(32)    NOT NULL UNIQUE,
+    policy_id        BIGINT         NOT NULL REFERENCES policy (id),
+    customer_id      BIGINT         NOT NULL REFERENCES customer (id),
+    claim_type       VARCHAR(50)    NOT NULL,
+    incident_date    DATE           NOT NULL,
+    claim_date       DATE           NOT NULL DEFAULT CURRENT_DATE,
+    claimed_amount   NUMERIC(15, 2) NOT NULL,
+    approved_amount  NUMERIC(15, 2),
+    description      TEXT,
+    status           VARCHAR(20)    NOT NULL DEFAULT 'REGISTERED',
+    created_at       TIMESTAMP      NOT NULL DEFAULT now(),
+    updated_at       TIMESTAMP      NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_claim_policy ON claim (policy_id);
+CREATE INDEX idx_claim_customer ON claim (customer_id);
+CREATE INDEX idx_claim_date ON claim (claim_date, id);
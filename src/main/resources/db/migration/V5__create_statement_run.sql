@@ -0,0 +1,15 @@
+CREATE TABLE statement_run (
+    id                 BIGSERIAL PRIMARY KEY,
+    plan_id            BIGINT REFERENCES pension_plan (id),
+    statement_date     DATE        NOT NULL,
+    output_format      VARCHAR(16) NOT NULL,
+    output_path        VARCHAR(1024),
+    status             VARCHAR(16) NOT NULL,
+    last_member_id     BIGINT,
+    processed_members  BIGINT      NOT NULL DEFAULT 0,
+    failed_members     BIGINT      NOT NULL DEFAULT 0,
+    error_message      TEXT,
+    started_at         TIMESTAMP,
+    finished_at        TIMESTAMP,
+    created_at         TIMESTAMP   NOT NULL DEFAULT now()
+);
@@ -0,0 +1 @@
+ALTER TABLE pension_plan ADD COLUMN annuity_rate NUMERIC(7, 4);
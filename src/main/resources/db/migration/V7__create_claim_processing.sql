@@ -0,0 +1,14 @@
+CREATE TABLE claim_processing (
+    tracking_id      UUID PRIMARY KEY,
+    claim_id         BIGINT         NOT NULL REFERENCES claim (id),
+    assessed_amount  NUMERIC(15, 2),
+    notes            TEXT,
+    status           VARCHAR(16)    NOT NULL DEFAULT 'QUEUED',
+    decision         VARCHAR(16),
+    approved_amount  NUMERIC(15, 2),
+    message          TEXT,
+    submitted_at     TIMESTAMP      NOT NULL DEFAULT now(),
+    completed_at     TIMESTAMP
+);
+
+CREATE INDEX idx_claim_processing_claim ON claim_processing (claim_id);
@@ -0,0 +1 @@
+CREATE INDEX idx_customer_updated_at ON customer (updated_at);
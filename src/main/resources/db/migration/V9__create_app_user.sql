@@ -0,0 +1,17 @@
+CREATE TABLE app_user (
+    id             BIGSERIAL PRIMARY KEY,
+    username       VARCHAR(100) NOT NULL UNIQUE,
+    password_hash  VARCHAR(100) NOT NULL,
+    roles          VARCHAR(255) NOT NULL DEFAULT 'USER',
+    enabled        BOOLEAN      NOT NULL DEFAULT TRUE,
+    created_at     TIMESTAMP    NOT NULL DEFAULT now(),
+    updated_at     TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE TABLE revoked_token (
+    token_id    VARCHAR(64) PRIMARY KEY,
+    expires_at  TIMESTAMP   NOT NULL,
+    revoked_at  TIMESTAMP   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_token (revoked_at);
@@ -0,0 +1,47 @@
+package com.fankatech.fankaassure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationSubscriberTest {
+
+    private RedisConnectionFactory connectionFactory;
+    private TwoTierCacheManager cacheManager;
+    private CacheInvalidationSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        cacheManager = mock(TwoTierCacheManager.class);
+        subscriber = new CacheInvalidationSubscriber(connectionFactory, cacheManager, "cache-invalidation");
+    }
+
+    @Test
+    void unreachableRedisLeavesLocalTiersAndIsRetried() {
+        subscriber.subscribe();
+        subscriber.subscribe();
+
+        assertThat(subscriber.isSubscribed()).isFalse();
+        verify(connectionFactory, times(2)).getConnection();
+        verify(cacheManager, never()).clearLocalTiers();
+    }
+
+    @Test
+    void noAttemptIsMadeOnceDestroyed() {
+        subscriber.destroy();
+        subscriber.subscribe();
+
+        assertThat(subscriber.isSubscribed()).isFalse();
+        verify(connectionFactory, never()).getConnection();
+    }
+}
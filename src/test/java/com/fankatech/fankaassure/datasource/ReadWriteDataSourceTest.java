@@ -0,0 +1,110 @@
+package com.fankatech.fankaassure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the primary and a replica; each knows which one it is
+class ReadWriteDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaSet replicaSet;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        replicaSet = new ReplicaSet(Map.of("replica-1", replica), "SELECT seconds FROM replica_lag", Duration.ofSeconds(5));
+        ReadWriteDataSource dataSource = new ReadWriteDataSource(primary, replicaSet);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.close();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnceItPassesAProbe() {
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        replicaSet.checkReplicas();
+
+        assertThat(node(readOnly)).isEqualTo("replica");
+        assertThat(node(readWrite)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+        assertThat(replicaSet.statuses()).singleElement()
+                .satisfies(status -> assertThat(status.state()).isEqualTo(ReplicaSet.State.UP));
+    }
+
+    @Test
+    void replicaBehindTheLagToleranceIsTakenOutOfRotation() {
+        replicaSet.checkReplicas();
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+
+        replicaSet.checkReplicas();
+
+        assertThat(replicaSet.statuses()).singleElement().satisfies(status -> {
+            assertThat(status.state()).isEqualTo(ReplicaSet.State.LAGGING);
+            assertThat(status.lag()).isEqualTo(Duration.ofSeconds(30));
+        });
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 1");
+        replicaSet.checkReplicas();
+
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() {
+        replicaSet.checkReplicas();
+        replica.close();
+
+        assertThat(node(readOnly)).isEqualTo("primary");
+        assertThat(replicaSet.statuses()).singleElement()
+                .satisfies(status -> assertThat(status.state()).isEqualTo(ReplicaSet.State.DOWN));
+
+        replicaSet.checkReplicas();
+
+        assertThat(replicaSet.statuses()).singleElement()
+                .satisfies(status -> assertThat(status.state()).isEqualTo(ReplicaSet.State.DOWN));
+    }
+
+    private String node(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,114 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.domain.claims.repository.ClaimDocumentRepository;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimRepository;
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClaimFeatureStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    private ClaimRepository claimRepository;
+    private ClaimFeatureStore store;
+
+    @BeforeEach
+    void setUp() {
+        claimRepository = mock(ClaimRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        store = new ClaimFeatureStore(claimRepository, mock(ClaimDocumentRepository.class), transactionTemplate);
+    }
+
+    @Test
+    void countsRecentAndWindowClaimsPerKey() throws InterruptedException {
+        load(claim(1, 10, 100, "Clinic A", TODAY.minusDays(200), 1000),
+                claim(2, 10, 100, "clinic a ", TODAY.minusDays(5), 3000),
+                claim(3, 11, 101, "Clinic B", TODAY.minusDays(1), 500));
+        // Registered out of date order
+        register(claim(4, 10, 101, "Clinic A", TODAY.minusDays(40), 2000));
+
+        ClaimFeatureStore.Features features = store.features(claim(5, 10, 100, "CLINIC A", TODAY, 0), TODAY);
+
+        assertThat(features.customer()).isEqualTo(new ClaimFeatureStore.Snapshot(1, 3, 6000));
+        assertThat(features.policy()).isEqualTo(new ClaimFeatureStore.Snapshot(1, 2, 4000));
+        assertThat(features.provider()).isEqualTo(new ClaimFeatureStore.Snapshot(1, 3, 6000));
+        assertThat(features.claimType()).isEqualTo(new ClaimFeatureStore.Snapshot(2, 4, 6500));
+        assertThat(features.customer().meanAmount()).isEqualTo(2000);
+    }
+
+    @Test
+    void expiresClaimsThatLeaveTheWindow() throws InterruptedException {
+        load(claim(1, 10, 100, "Clinic A", TODAY.minusDays(ClaimFeatureStore.WINDOW_DAYS - 1), 1000),
+                claim(2, 10, 100, "Clinic A", TODAY.minusDays(10), 3000));
+
+        ClaimFeatureStore.Features features = store.features(claim(3, 10, 100, "Clinic A", TODAY, 0), TODAY.plusDays(1));
+        assertThat(features.customer()).isEqualTo(new ClaimFeatureStore.Snapshot(1, 1, 3000));
+        assertThat(features.provider()).isEqualTo(new ClaimFeatureStore.Snapshot(1, 1, 3000));
+
+        // A claim added to a customer window after it expired is counted on its own
+        register(claim(4, 10, 100, "Clinic A", TODAY.plusDays(1), 700));
+        features = store.features(claim(5, 10, 100, "Clinic A", TODAY, 0), TODAY.plusDays(1));
+        assertThat(features.customer()).isEqualTo(new ClaimFeatureStore.Snapshot(2, 2, 3700));
+    }
+
+    @Test
+    void dropsKeysOnceTheirWindowIsEmpty() throws InterruptedException {
+        load(claim(1, 10, 100, "Clinic A", TODAY.minusDays(300), 1000),
+                claim(2, 11, 101, "Clinic B", TODAY.minusDays(10), 3000));
+        assertThat(store.windowCount()).isEqualTo(7);
+
+        // Reading an expired key drops it
+        ClaimFeatureStore.Features features = store.features(claim(3, 10, 100, "Clinic A", TODAY, 0), TODAY.plusDays(100));
+        assertThat(features.customer()).isEqualTo(ClaimFeatureStore.Snapshot.EMPTY);
+        assertThat(store.windowCount()).isEqualTo(4);
+
+        store.sweep(TODAY.plusDays(ClaimFeatureStore.WINDOW_DAYS));
+        assertThat(store.windowCount()).isZero();
+
+        register(claim(4, 10, 100, null, TODAY.plusDays(ClaimFeatureStore.WINDOW_DAYS), 500));
+        assertThat(store.windowCount()).isEqualTo(3);
+    }
+
+    private void load(ClaimDTO... claims) throws InterruptedException {
+        when(claimRepository.streamByDateRange(any(), any(), any())).thenReturn(Stream.of(claims));
+        store.loadOnStartup();
+        for (int i = 0; i < 500 && !store.isReady(); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(store.isReady()).isTrue();
+    }
+
+    private void register(ClaimDTO claim) {
+        store.onClaimRegistered(new ClaimRegisteredEvent(claim));
+    }
+
+    private static ClaimDTO claim(long id, long customerId, long policyId, String provider, LocalDate date, long amount) {
+        return ClaimDTO.builder()
+                .id(id)
+                .customerId(customerId)
+                .policyId(policyId)
+                .provider(provider)
+                .claimType("OUTPATIENT")
+                .claimDate(date)
+                .claimedAmount(BigDecimal.valueOf(amount))
+                .build();
+    }
+}
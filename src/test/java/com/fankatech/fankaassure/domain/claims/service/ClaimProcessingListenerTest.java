@@ -0,0 +1,166 @@
+package com.fankatech.fankaassure.domain.claims.service;
+
+import com.fankatech.fankaassure.config.KafkaConfig;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimProcessingRepository;
+import com.fankatech.fankaassure.domain.claims.repository.ClaimRepository;
+import com.fankatech.fankaassure.domain.events.service.EventOutbox;
+import com.fankatech.fankaassure.domain.insurance.repository.PolicyRepository;
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.claims.ClaimProcessingCommand;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(
+        classes = {KafkaAutoConfiguration.class, KafkaConfig.class, ClaimProcessingListener.class,
+                ClaimProcessingRecoverer.class, ClaimAdjudicator.class},
+        properties = {
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.consumer.auto-offset-reset=earliest",
+                "fankaassure.claims.processing.topic=claims-processing-test",
+                "fankaassure.claims.processing.partitions=3",
+                "fankaassure.claims.processing.concurrency=3",
+                "fankaassure.claims.processing.auto-approve-limit=50000"
+        })
+@EmbeddedKafka(partitions = 3, topics = "claims-processing-test")
+class ClaimProcessingListenerTest {
+
+    private static final long TIMEOUT_MS = 15_000;
+
+    @Autowired
+    private KafkaTemplate<String, ClaimProcessingCommand> claimProcessingKafkaTemplate;
+
+    @MockitoBean
+    private ClaimRepository claimRepository;
+
+    @MockitoBean
+    private ClaimProcessingRepository claimProcessingRepository;
+
+    @MockitoBean
+    private PolicyRepository policyRepository;
+
+    @MockitoBean
+    private EventOutbox eventOutbox;
+
+    @BeforeEach
+    void setUp() {
+        when(policyRepository.findById(20L)).thenReturn(Optional.of(PolicyDTO.builder()
+                .id(20L)
+                .status("ACTIVE")
+                .startDate(LocalDate.now().minusYears(1))
+                .endDate(LocalDate.now().plusYears(1))
+                .coverAmount(new BigDecimal("100000"))
+                .build()));
+    }
+
+    @Test
+    void adjudicatesQueuedCommand() {
+        stubClaim(10L, "1000.00");
+        when(claimProcessingRepository.tryStart("t-approve")).thenReturn(true);
+
+        claimProcessingKafkaTemplate.sendDefault("10", command("t-approve", 10L, null));
+
+        verify(claimRepository, timeout(TIMEOUT_MS)).updateAdjudication(10L, "APPROVED", new BigDecimal("1000.00"));
+        verify(claimProcessingRepository, timeout(TIMEOUT_MS))
+                .complete(eq("t-approve"), eq("APPROVED"), eq(new BigDecimal("1000.00")), any());
+        verify(eventOutbox, timeout(TIMEOUT_MS)).append(eq("claim"), eq(10L), eq(EventOutbox.CLAIM_APPROVED), any());
+    }
+
+    @Test
+    void refersSettlementAboveAutoApprovalLimit() {
+        stubClaim(12L, "80000.00");
+        when(claimProcessingRepository.tryStart("t-refer")).thenReturn(true);
+
+        claimProcessingKafkaTemplate.sendDefault("12", command("t-refer", 12L, null));
+
+        verify(claimRepository, timeout(TIMEOUT_MS)).updateAdjudication(12L, "UNDER_REVIEW", null);
+        verify(claimProcessingRepository, timeout(TIMEOUT_MS)).complete(eq("t-refer"), eq("REFERRED"), eq(null), any());
+        verify(eventOutbox, never()).append(any(), eq(12L), any(), any());
+    }
+
+    @Test
+    void redeliveredCommandIsAppliedOnce() {
+        stubClaim(11L, "500.00");
+        when(claimProcessingRepository.tryStart("t-duplicate")).thenReturn(true, false);
+
+        ClaimProcessingCommand command = command("t-duplicate", 11L, new BigDecimal("450.00"));
+        claimProcessingKafkaTemplate.sendDefault("11", command);
+        claimProcessingKafkaTemplate.sendDefault("11", command);
+
+        verify(claimProcessingRepository, timeout(TIMEOUT_MS).times(2)).tryStart("t-duplicate");
+        verify(claimRepository, times(1)).updateAdjudication(11L, "APPROVED", new BigDecimal("450.00"));
+        verify(claimProcessingRepository, never()).fail(eq("t-duplicate"), any());
+    }
+
+    @Test
+    void secondCommandForDecidedClaimIsSkipped() {
+        stubClaim(13L, "700.00");
+        when(claimRepository.updateAdjudication(eq(13L), any(), any())).thenReturn(true, false);
+        when(claimProcessingRepository.tryStart("t-first")).thenReturn(true);
+        when(claimProcessingRepository.tryStart("t-second")).thenReturn(true);
+
+        claimProcessingKafkaTemplate.sendDefault("13", command("t-first", 13L, null));
+        claimProcessingKafkaTemplate.sendDefault("13", command("t-second", 13L, null));
+
+        verify(claimProcessingRepository, timeout(TIMEOUT_MS))
+                .complete(eq("t-first"), eq("APPROVED"), eq(new BigDecimal("700.00")), any());
+        verify(claimProcessingRepository, timeout(TIMEOUT_MS)).complete(eq("t-second"), eq("SKIPPED"), eq(null), any());
+        verify(claimRepository, times(2)).updateAdjudication(13L, "APPROVED", new BigDecimal("700.00"));
+        verify(eventOutbox, times(1)).append(eq("claim"), eq(13L), eq(EventOutbox.CLAIM_APPROVED), any());
+    }
+
+    @Test
+    void commandForClosedClaimIsSkippedWithoutUpdate() {
+        when(claimRepository.findById(14L)).thenReturn(Optional.of(ClaimDTO.builder()
+                .id(14L)
+                .claimNumber("CLM-14")
+                .policyId(20L)
+                .status("REJECTED")
+                .build()));
+        when(claimProcessingRepository.tryStart("t-closed")).thenReturn(true);
+
+        claimProcessingKafkaTemplate.sendDefault("14", command("t-closed", 14L, null));
+
+        verify(claimProcessingRepository, timeout(TIMEOUT_MS)).complete(eq("t-closed"), eq("SKIPPED"), eq(null), any());
+        verify(claimRepository, never()).updateAdjudication(eq(14L), any(), any());
+        verify(eventOutbox, never()).append(any(), eq(14L), any(), any());
+    }
+
+    private void stubClaim(long id, String claimedAmount) {
+        when(claimRepository.updateAdjudication(eq(id), any(), any())).thenReturn(true);
+        when(claimRepository.findById(id)).thenReturn(Optional.of(ClaimDTO.builder()
+                .id(id)
+                .claimNumber("CLM-" + id)
+                .policyId(20L)
+                .incidentDate(LocalDate.now().minusDays(3))
+                .claimedAmount(new BigDecimal(claimedAmount))
+                .status("REGISTERED")
+                .build()));
+    }
+
+    private static ClaimProcessingCommand command(String trackingId, Long claimId, BigDecimal assessedAmount) {
+        return ClaimProcessingCommand.builder()
+                .trackingId(trackingId)
+                .claimId(claimId)
+                .assessedAmount(assessedAmount)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.finance.repository.PremiumScheduleRepository.OpenPremium;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconciliationEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 5, 1);
+
+    private final ReconciliationEngine engine = new ReconciliationEngine();
+
+    @Test
+    void matchesOnPolicyIdFirst() {
+        ReconciliationEngine.Index index = index(premium(1, 10, 100, "POL-0010", "250.00", "0"));
+
+        ReconciliationEngine.Result result = engine.match(index, List.of(item(10L, "unrelated", 100L, "250.00")));
+
+        assertThat(result.unmatched()).isEmpty();
+        ReconciliationEngine.Allocation allocation = result.allocations().get(0);
+        assertThat(allocation.rule()).isEqualTo(ReconciliationEngine.Rule.POLICY_ID);
+        assertThat(allocation.premium().premiumId()).isEqualTo(1);
+        assertThat(allocation.expectedPaidAmount()).isEqualByComparingTo("0");
+        assertThat(allocation.paidAmount()).isEqualByComparingTo("250.00");
+        assertThat(allocation.settled()).isTrue();
+    }
+
+    @Test
+    void resolvesPolicyNumberInsideFreeTextReference() {
+        ReconciliationEngine.Index index = index(premium(1, 10, 100, "POL-2024-0001", "99.50", "0"));
+
+        ReconciliationEngine.Result result = engine.match(index, List.of(item(null, "Premium POL-2024-0001 May", null, "99.50")));
+
+        assertThat(result.allocations()).singleElement()
+                .satisfies(a -> assertThat(a.rule()).isEqualTo(ReconciliationEngine.Rule.POLICY_REFERENCE));
+    }
+
+    @Test
+    void fallsBackToCustomerAndExactAmount() {
+        ReconciliationEngine.Index index = index(
+                premium(1, 10, 100, "POL-0010", "120.00", "0"),
+                premium(2, 11, 100, "POL-0011", "80.00", "0"));
+
+        ReconciliationEngine.Result result = engine.match(index, List.of(
+                item(null, "transfer", 100L, "80.00"),
+                item(null, "transfer", 100L, "75.00")));
+
+        assertThat(result.allocations()).singleElement().satisfies(a -> {
+            assertThat(a.rule()).isEqualTo(ReconciliationEngine.Rule.CUSTOMER_AMOUNT);
+            assertThat(a.premium().premiumId()).isEqualTo(2);
+        });
+        assertThat(result.unmatched()).singleElement()
+                .satisfies(u -> assertThat(u.item().amount()).isEqualByComparingTo("75.00"));
+    }
+
+    @Test
+    void fillsInstalmentsOldestFirstWithoutOverAllocating() {
+        ReconciliationEngine.Index index = index(
+                premium(1, 10, 100, "POL-0010", "100.00", "40.00"),
+                premium(2, 10, 100, "POL-0010", "100.00", "0"));
+
+        ReconciliationEngine.Result result = engine.match(index, List.of(
+                item(10L, "POL-0010", null, "60.00"),
+                item(10L, "POL-0010", null, "30.00"),
+                item(10L, "POL-0010", null, "70.00"),
+                item(10L, "POL-0010", null, "50.00")));
+
+        List<ReconciliationEngine.Allocation> allocations = result.allocations();
+        assertThat(allocations).hasSize(3);
+        assertThat(allocations.get(0).premium().premiumId()).isEqualTo(1);
+        assertThat(allocations.get(0).settled()).isTrue();
+        assertThat(allocations.get(1).premium().premiumId()).isEqualTo(2);
+        assertThat(allocations.get(1).settled()).isFalse();
+        assertThat(allocations.get(2).premium().premiumId()).isEqualTo(2);
+        assertThat(allocations.get(2).expectedPaidAmount()).isEqualByComparingTo("30.00");
+        assertThat(allocations.get(2).paidAmount()).isEqualByComparingTo("100.00");
+        assertThat(allocations.get(2).settled()).isTrue();
+        assertThat(result.unmatched()).singleElement()
+                .satisfies(u -> assertThat(u.item().amount()).isEqualByComparingTo("50.00"));
+    }
+
+    @Test
+    void prefersInstalmentOwingExactlyTheAmount() {
+        ReconciliationEngine.Index index = index(
+                premium(1, 10, 100, "POL-0010", "100.00", "0"),
+                premium(2, 10, 100, "POL-0010", "100.00", "55.00"));
+
+        ReconciliationEngine.Result result = engine.match(index, List.of(item(10L, null, null, "45.00")));
+
+        assertThat(result.allocations()).singleElement().satisfies(a -> {
+            assertThat(a.premium().premiumId()).isEqualTo(2);
+            assertThat(a.settled()).isTrue();
+        });
+    }
+
+    @Test
+    void rejectsNonPositiveAndUnknownPayments() {
+        ReconciliationEngine.Index index = index(premium(1, 10, 100, "POL-0010", "100.00", "0"));
+
+        ReconciliationEngine.Result result = engine.match(index, List.of(
+                item(10L, "POL-0010", null, "0"),
+                item(10L, "POL-0010", null, "-5.00"),
+                item(null, "POL-9999", 200L, "100.00")));
+
+        assertThat(result.allocations()).isEmpty();
+        assertThat(result.unmatched()).extracting(ReconciliationEngine.Unmatched::reason).containsExactly(
+                "Amount must be positive",
+                "Amount must be positive",
+                "No open premium matches the policy, reference or amount");
+    }
+
+    private ReconciliationEngine.Index index(OpenPremium... premiums) {
+        ReconciliationEngine.Index index = engine.newIndex();
+        for (OpenPremium premium : premiums) {
+            index.add(premium);
+        }
+        assertThat(index.size()).isEqualTo(premiums.length);
+        return index;
+    }
+
+    private static OpenPremium premium(long premiumId, long policyId, long customerId, String policyNumber,
+                                       String amount, String paidAmount) {
+        return new OpenPremium(premiumId, policyId, customerId, policyNumber, TODAY.plusMonths(premiumId),
+                new BigDecimal(amount), new BigDecimal(paidAmount));
+    }
+
+    private static ReconciliationEngine.Item item(Long policyId, String reference, Long customerId, String amount) {
+        return new ReconciliationEngine.Item(null, reference, customerId, policyId, new BigDecimal(amount), TODAY);
+    }
+}
@@ -0,0 +1,116 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.finance.repository.ReminderOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReminderDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration BACKOFF = Duration.ofMinutes(1);
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private ReminderOutboxRepository repository;
+    private ReminderSender sender;
+    private ReminderDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReminderOutboxRepository.class);
+        sender = mock(ReminderSender.class);
+        dispatcher = new ReminderDispatcher(repository, sender, BATCH_SIZE, MAX_ATTEMPTS, BACKOFF, LEASE);
+    }
+
+    @Test
+    void leasesBatchesUntilNoneAreDue() {
+        ReminderOutboxRepository.Reminder first = reminder(1, 1);
+        ReminderOutboxRepository.Reminder second = reminder(2, 1);
+        ReminderOutboxRepository.Reminder third = reminder(3, 1);
+        when(repository.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(first, second), List.of(third), List.of());
+        when(sender.send(List.of(first, second))).thenReturn(List.of(sent(first), sent(second)));
+        when(sender.send(List.of(third))).thenReturn(List.of(sent(third)));
+
+        dispatcher.dispatch();
+
+        verify(repository, times(3)).claim(BATCH_SIZE, LEASE);
+        verify(repository).markSent(List.of(1L, 2L));
+        verify(repository).markSent(List.of(3L));
+        verify(repository, never()).markRetry(anyLong(), any(), any());
+        verify(repository, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    void retryableFailureIsRetriedWithExponentialBackoff() {
+        ReminderOutboxRepository.Reminder reminder = reminder(7, 2);
+        when(repository.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(reminder), List.of());
+        when(sender.send(List.of(reminder))).thenReturn(List.of(failed(reminder, true)));
+
+        Instant before = Instant.now();
+        dispatcher.dispatch();
+
+        ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+        verify(repository).markRetry(eq(7L), eq("connection refused"), nextAttempt.capture());
+        // Second attempt: the base backoff doubled once
+        assertThat(nextAttempt.getValue()).isBetween(before.plus(BACKOFF.multipliedBy(2)), Instant.now().plus(BACKOFF.multipliedBy(2)));
+        verify(repository).markSent(List.of());
+        verify(repository, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    void givesUpOnceAttemptsRunOut() {
+        // Claimed again after its lease ran out, which counted another attempt
+        ReminderOutboxRepository.Reminder exhausted = reminder(8, MAX_ATTEMPTS);
+        when(repository.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(exhausted), List.of());
+        when(sender.send(List.of(exhausted))).thenReturn(List.of(failed(exhausted, true)));
+
+        dispatcher.dispatch();
+
+        verify(repository).markFailed(8L, "connection refused");
+        verify(repository, never()).markRetry(anyLong(), any(), any());
+    }
+
+    @Test
+    void rejectedRecipientFailsWithoutRetry() {
+        ReminderOutboxRepository.Reminder rejected = reminder(9, 1);
+        ReminderOutboxRepository.Reminder delivered = reminder(10, 1);
+        when(repository.claim(BATCH_SIZE, LEASE)).thenReturn(List.of(rejected, delivered), List.of());
+        when(sender.send(List.of(rejected, delivered))).thenReturn(List.of(failed(rejected, false), sent(delivered)));
+
+        dispatcher.dispatch();
+
+        verify(repository).markFailed(9L, "connection refused");
+        verify(repository).markSent(List.of(10L));
+        verify(repository, never()).markRetry(anyLong(), any(), any());
+    }
+
+    private static ReminderOutboxRepository.Reminder reminder(long id, int attempts) {
+        return new ReminderOutboxRepository.Reminder(id, "customer" + id + "@example.com", "Customer " + id,
+                String.format("POL-%05d", id), LocalDate.of(2026, 3, 5), new BigDecimal("1250.00"), attempts);
+    }
+
+    private static ReminderSender.Outcome sent(ReminderOutboxRepository.Reminder reminder) {
+        return new ReminderSender.Outcome(reminder, true, false, null);
+    }
+
+    private static ReminderSender.Outcome failed(ReminderOutboxRepository.Reminder reminder, boolean retryable) {
+        return new ReminderSender.Outcome(reminder, false, retryable, "connection refused");
+    }
+}
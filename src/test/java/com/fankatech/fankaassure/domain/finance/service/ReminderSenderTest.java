@@ -0,0 +1,161 @@
+package com.fankatech.fankaassure.domain.finance.service;
+
+import com.fankatech.fankaassure.domain.finance.repository.ReminderOutboxRepository;
+import com.fankatech.fankaassure.util.MailTransportPool;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailTransportPool transportPool;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        transportPool = new MailTransportPool(mailSender, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transportPool.destroy();
+    }
+
+    @Test
+    void sendsRenderedRemindersOverPooledConnections() throws Exception {
+        ReminderSender sender = new ReminderSender(transportPool, "billing@fankaassure.test", 0);
+        List<ReminderOutboxRepository.Reminder> reminders = IntStream.rangeClosed(1, 25)
+                .mapToObj(i -> reminder(i, "customer" + i + "@example.com"))
+                .toList();
+
+        List<ReminderSender.Outcome> outcomes = sender.send(reminders);
+
+        assertThat(outcomes).hasSize(25).allMatch(ReminderSender.Outcome::sent);
+        assertThat(greenMail.waitForIncomingEmail(5_000, 25)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessagesForDomain("example.com");
+        assertThat(received).hasSize(25);
+
+        MimeMessage first = greenMail.getReceivedMessagesForDomain("customer1@example.com")[0];
+        assertThat(first.getSubject()).isEqualTo("Premium due on policy POL-00001");
+        assertThat(first.getFrom()[0].toString()).isEqualTo("billing@fankaassure.test");
+        assertThat(GreenMailUtil.getBody(first))
+                .contains("Dear Customer 1,")
+                .contains("on policy POL-00001 is due on 05/03/2026");
+    }
+
+    @Test
+    void reusesPooledConnectionsAcrossSends() throws Exception {
+        Session session = Session.getInstance(new Properties());
+        session.setProvider(new Provider(Provider.Type.TRANSPORT, "smtp", CountingTransport.class.getName(), "FankaAssure", null));
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(session);
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        MailTransportPool countingPool = new MailTransportPool(mailSender, 2);
+        CountingTransport.CONNECTS.set(0);
+        try {
+            ReminderSender sender = new ReminderSender(countingPool, "billing@fankaassure.test", 0);
+            List<ReminderOutboxRepository.Reminder> reminders = IntStream.rangeClosed(1, 40)
+                    .mapToObj(i -> reminder(i, "customer" + i + "@example.com"))
+                    .toList();
+
+            assertThat(sender.send(reminders)).allMatch(ReminderSender.Outcome::sent);
+            assertThat(sender.send(reminders.subList(0, 10))).allMatch(ReminderSender.Outcome::sent);
+        } finally {
+            countingPool.destroy();
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(5_000, 50)).isTrue();
+        // 50 messages over a pool of two never open more than two connections
+        assertThat(CountingTransport.CONNECTS.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void pacesSendsToTheConfiguredRate() throws Exception {
+        ReminderSender sender = new ReminderSender(transportPool, "billing@fankaassure.test", 20);
+        List<ReminderOutboxRepository.Reminder> reminders = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> reminder(i, "customer" + i + "@example.com"))
+                .toList();
+
+        long started = System.nanoTime();
+        List<ReminderSender.Outcome> outcomes = sender.send(reminders);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(outcomes).allMatch(ReminderSender.Outcome::sent);
+        // Ten sends at 20 per second need at least nine 50 ms gaps
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    void malformedRecipientFailsWithoutRetry() throws Exception {
+        ReminderSender sender = new ReminderSender(transportPool, "billing@fankaassure.test", 0);
+
+        List<ReminderSender.Outcome> outcomes = sender.send(List.of(reminder(1, "not an address")));
+
+        assertThat(outcomes).singleElement().satisfies(outcome -> {
+            assertThat(outcome.sent()).isFalse();
+            assertThat(outcome.retryable()).isFalse();
+        });
+    }
+
+    @Test
+    void unreachableServerIsRetryable() throws Exception {
+        ReminderSender sender = new ReminderSender(transportPool, "billing@fankaassure.test", 0);
+        greenMail.stop();
+
+        List<ReminderSender.Outcome> outcomes = sender.send(List.of(reminder(1, "customer1@example.com")));
+
+        assertThat(outcomes).singleElement().satisfies(outcome -> {
+            assertThat(outcome.sent()).isFalse();
+            assertThat(outcome.retryable()).isTrue();
+        });
+    }
+
+    // SMTP transport counting the connections it opens
+    public static class CountingTransport extends SMTPTransport {
+        static final AtomicInteger CONNECTS = new AtomicInteger();
+
+        public CountingTransport(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        @Override
+        protected synchronized boolean protocolConnect(String host, int port, String user, String password) throws MessagingException {
+            boolean connected = super.protocolConnect(host, port, user, password);
+            if (connected) {
+                CONNECTS.incrementAndGet();
+            }
+            return connected;
+        }
+    }
+
+    private static ReminderOutboxRepository.Reminder reminder(int i, String recipient) {
+        return new ReminderOutboxRepository.Reminder(i, recipient, "Customer " + i, String.format("POL-%05d", i),
+                LocalDate.of(2026, 3, 5), new BigDecimal("1250.00"), 1);
+    }
+}
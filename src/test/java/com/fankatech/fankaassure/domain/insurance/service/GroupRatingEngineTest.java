@@ -0,0 +1,65 @@
+package com.fankatech.fankaassure.domain.insurance.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.fankatech.fankaassure.domain.insurance.service.ProductRateTableTest.rate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GroupRatingEngineTest {
+
+    private static final ProductRateTable TABLE = ProductRateTable.build(1, 1, List.of(
+            rate(18, 64, "0", "2.00", "0.10"),
+            rate(18, 64, "100000", "1.50", "0.10")));
+
+    private final GroupRatingEngine engine = new GroupRatingEngine();
+
+    @Test
+    void ratesEveryMemberAndLeavesUnratedAsNaN() {
+        GroupRatingEngine.Members members = new GroupRatingEngine.Members(0);
+        members.add(101, 30, 50_000, 0);
+        members.add(102, 45, 200_000, 2);
+        members.add(103, -1, 50_000, 0);
+        members.add(104, 70, 50_000, 0);
+        double[] premiums = new double[members.size()];
+
+        engine.rate(TABLE, members, premiums);
+
+        assertThat(premiums[0]).isCloseTo(100.0, within(1e-9));
+        assertThat(premiums[1]).isCloseTo(360.0, within(1e-9));
+        assertThat(premiums[2]).isNaN();
+        assertThat(premiums[3]).isNaN();
+    }
+
+    @Test
+    void membersGrowPastInitialCapacity() {
+        GroupRatingEngine.Members members = new GroupRatingEngine.Members(1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(members.add(1000 + i, 30, 50_000, 0)).isEqualTo(i);
+        }
+
+        assertThat(members.size()).isEqualTo(100);
+        assertThat(members.customerId(0)).isEqualTo(1000);
+        assertThat(members.customerId(99)).isEqualTo(1099);
+    }
+
+    @Test
+    void parallelSplitMatchesSequentialRating() {
+        int size = 50_000;
+        GroupRatingEngine.Members members = new GroupRatingEngine.Members(size);
+        for (int i = 0; i < size; i++) {
+            members.add(i, i % 80 - 5, 10_000 + (i % 25) * 10_000, i % 4);
+        }
+        double[] sequential = new double[size];
+        GroupRatingEngine.rateRange(TABLE, members, sequential, 0, size);
+        double[] parallel = new double[size];
+
+        engine.rate(TABLE, members, parallel);
+
+        assertThat(parallel).containsExactly(sequential);
+        assertThat(Arrays.stream(parallel).filter(Double::isNaN).count()).isBetween(1L, size - 1L);
+    }
+}
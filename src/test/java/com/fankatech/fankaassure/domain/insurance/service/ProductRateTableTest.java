@@ -0,0 +1,101 @@
+package com.fankatech.fankaassure.domain.insurance.service;
+
+import com.fankatech.fankaassure.dto.insurance.ProductRateDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ProductRateTableTest {
+
+    private static final ProductRateTable TABLE = ProductRateTable.build(7, 3, List.of(
+            rate(18, 39, "0", "2.00", "0.10"),
+            rate(18, 39, "100000", "1.50", "0.10"),
+            rate(40, 64, "0", "4.00", "0.25"),
+            rate(40, 64, "100000", "3.00", null)));
+
+    @Test
+    void looksUpAgeAndCoverBand() {
+        assertThat(TABLE.productId()).isEqualTo(7);
+        assertThat(TABLE.version()).isEqualTo(3);
+        assertThat(TABLE.isEmpty()).isFalse();
+
+        assertThat(TABLE.annualPremium(18, 50_000, 0)).isCloseTo(100.0, within(1e-9));
+        assertThat(TABLE.annualPremium(39, 99_999.99, 0)).isCloseTo(199.99998, within(1e-9));
+        assertThat(TABLE.annualPremium(39, 100_000, 0)).isCloseTo(150.0, within(1e-9));
+        assertThat(TABLE.annualPremium(40, 250_000, 0)).isCloseTo(750.0, within(1e-9));
+    }
+
+    @Test
+    void appliesDependantLoading() {
+        assertThat(TABLE.annualPremium(30, 50_000, 2)).isCloseTo(120.0, within(1e-9));
+        assertThat(TABLE.annualPremium(50, 50_000, 1)).isCloseTo(250.0, within(1e-9));
+        assertThat(TABLE.annualPremium(50, 200_000, 3)).isCloseTo(600.0, within(1e-9));
+    }
+
+    @Test
+    void unratedCellsAreNaN() {
+        assertThat(TABLE.annualPremium(17, 50_000, 0)).isNaN();
+        assertThat(TABLE.annualPremium(65, 50_000, 0)).isNaN();
+        assertThat(TABLE.annualPremium(-1, 50_000, 0)).isNaN();
+        assertThat(TABLE.annualPremium(ProductRateTable.MAX_AGE + 1, 50_000, 0)).isNaN();
+
+        ProductRateTable banded = ProductRateTable.build(1, 1, List.of(rate(0, 120, "10000", "1.00", null)));
+        assertThat(banded.annualPremium(30, 9_999, 0)).isNaN();
+        assertThat(banded.annualPremium(30, 10_000, 0)).isCloseTo(10.0, within(1e-9));
+    }
+
+    @Test
+    void emptyTableRatesNobody() {
+        ProductRateTable empty = ProductRateTable.build(1, 1, List.of());
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.annualPremium(30, 50_000, 0)).isNaN();
+    }
+
+    @Test
+    void rejectsOverlappingRows() {
+        assertThatThrownBy(() -> ProductRateTable.build(1, 1, List.of(
+                rate(18, 40, "0", "2.00", null),
+                rate(40, 64, "0", "4.00", null))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("overlap at age 40");
+    }
+
+    @Test
+    void rowsInDifferentCoverBandsDoNotOverlap() {
+        ProductRateTable table = ProductRateTable.build(1, 1, List.of(
+                rate(18, 64, "0", "2.00", null),
+                rate(18, 64, "50000", "1.00", null)));
+
+        assertThat(table.annualPremium(30, 40_000, 0)).isCloseTo(80.0, within(1e-9));
+        assertThat(table.annualPremium(30, 60_000, 0)).isCloseTo(60.0, within(1e-9));
+    }
+
+    @Test
+    void rejectsInvalidRows() {
+        assertThatThrownBy(() -> ProductRateTable.build(1, 1, List.of(rate(40, 30, "0", "1.00", null))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Invalid rate age band");
+        assertThatThrownBy(() -> ProductRateTable.build(1, 1, List.of(rate(0, ProductRateTable.MAX_AGE + 1, "0", "1.00", null))))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> ProductRateTable.build(1, 1, List.of(ProductRateDTO.builder().minAge(0).maxAge(10).build())))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("ratePerMille");
+    }
+
+    static ProductRateDTO rate(int minAge, int maxAge, String minCover, String ratePerMille, String dependantLoading) {
+        return ProductRateDTO.builder()
+                .minAge(minAge)
+                .maxAge(maxAge)
+                .minCoverAmount(new BigDecimal(minCover))
+                .ratePerMille(new BigDecimal(ratePerMille))
+                .dependantLoading(dependantLoading != null ? new BigDecimal(dependantLoading) : null)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.fankatech.fankaassure.domain.member.service;
+
+import com.fankatech.fankaassure.domain.claims.service.ClaimService;
+import com.fankatech.fankaassure.domain.finance.service.PaymentService;
+import com.fankatech.fankaassure.domain.insurance.service.PolicyService;
+import com.fankatech.fankaassure.dto.claims.ClaimDTO;
+import com.fankatech.fankaassure.dto.finance.PaymentDTO;
+import com.fankatech.fankaassure.dto.insurance.PolicyDTO;
+import com.fankatech.fankaassure.dto.member.Customer360DTO;
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import com.fankatech.fankaassure.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class Customer360ServiceTest {
+
+    private static final int MAX_CUSTOMERS = 3;
+    private static final int RECENT_ROWS = 5;
+
+    private CustomerService customerService;
+    private PolicyService policyService;
+    private ClaimService claimService;
+    private PaymentService paymentService;
+    private Customer360Service service;
+
+    @BeforeEach
+    void setUp() {
+        customerService = mock(CustomerService.class);
+        policyService = mock(PolicyService.class);
+        claimService = mock(ClaimService.class);
+        paymentService = mock(PaymentService.class);
+        service = new Customer360Service(customerService, policyService, claimService, paymentService, MAX_CUSTOMERS, RECENT_ROWS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void mergesSectionsPerCustomerInRequestedOrder() {
+        when(customerService.getCustomersByIds(any())).thenReturn(List.of(customer(1), customer(2), customer(3)));
+        when(policyService.getPoliciesByCustomerIds(any())).thenReturn(List.of(
+                PolicyDTO.builder().id(10L).customerId(1L).build(),
+                PolicyDTO.builder().id(30L).customerId(3L).build(),
+                PolicyDTO.builder().id(31L).customerId(3L).build()));
+        when(claimService.getLatestClaimsByCustomerIds(any(), anyInt())).thenReturn(List.of(
+                ClaimDTO.builder().id(22L).customerId(2L).build(),
+                ClaimDTO.builder().id(21L).customerId(2L).build()));
+        when(paymentService.getLatestPaymentsByCustomerIds(any(), anyInt())).thenReturn(List.of(
+                PaymentDTO.builder().id(100L).customerId(1L).build()));
+
+        List<Customer360DTO> views = service.getCustomers360(List.of(3L, 1L, 2L));
+
+        assertThat(views).extracting(v -> v.getCustomer().getId()).containsExactly(3L, 1L, 2L);
+        assertThat(views.get(0).getPolicies()).extracting(PolicyDTO::getId).containsExactly(30L, 31L);
+        assertThat(views.get(0).getClaims()).isEmpty();
+        assertThat(views.get(1).getPolicies()).extracting(PolicyDTO::getId).containsExactly(10L);
+        assertThat(views.get(1).getPayments()).extracting(PaymentDTO::getId).containsExactly(100L);
+        // Newest first, as returned by the batched query
+        assertThat(views.get(2).getClaims()).extracting(ClaimDTO::getId).containsExactly(22L, 21L);
+        assertThat(views.get(2).getPayments()).isEmpty();
+        verify(claimService).getLatestClaimsByCustomerIds(Set.of(1L, 2L, 3L), RECENT_ROWS);
+    }
+
+    @Test
+    void skipsUnknownAndDuplicateIds() {
+        when(customerService.getCustomersByIds(any())).thenReturn(List.of(customer(2)));
+
+        List<Customer360DTO> views = service.getCustomers360(Arrays.asList(2L, 9L, null, 2L));
+
+        assertThat(views).singleElement().satisfies(v -> {
+            assertThat(v.getCustomer().getId()).isEqualTo(2L);
+            assertThat(v.getPolicies()).isEmpty();
+        });
+        verify(customerService).getCustomersByIds(Set.of(2L, 9L));
+    }
+
+    @Test
+    void singleUnknownCustomerIsNotFound() {
+        when(customerService.getCustomersByIds(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.getCustomer360(9L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void rejectsMoreThanMaxCustomers() {
+        assertThatThrownBy(() -> service.getCustomers360(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("At most 3");
+        assertThat(service.getCustomers360(List.of())).isEmpty();
+        verifyNoInteractions(customerService, policyService, claimService, paymentService);
+    }
+
+    @Test
+    void sectionFailureIsRethrown() {
+        when(customerService.getCustomersByIds(anyCollection())).thenReturn(List.of(customer(1)));
+        when(policyService.getPoliciesByCustomerIds(anyCollection())).thenThrow(new BusinessException("replica unavailable"));
+
+        assertThatThrownBy(() -> service.getCustomers360(List.of(1L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("replica unavailable");
+    }
+
+    private static CustomerDTO customer(long id) {
+        return CustomerDTO.builder().id(id).build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.fankatech.fankaassure.domain.member.service;
+
+import com.fankatech.fankaassure.domain.member.repository.CustomerRepository;
+import com.fankatech.fankaassure.dto.member.CustomerDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerSearchIndexTest {
+
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private CustomerRepository customerRepository;
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        index = new CustomerSearchIndex(customerRepository, transactionTemplate);
+    }
+
+    @Test
+    void splitsQueriesAndFieldsIntoTokens() {
+        assertThat(CustomerSearchIndex.terms("  Jane,Doe;; jane ")).containsExactly("jane", "doe");
+        assertThat(CustomerSearchIndex.terms(null)).isEmpty();
+        assertThat(CustomerSearchIndex.words("O'Brien-Smith  Zoë")).containsExactly("o", "brien", "smith", "zoë");
+        assertThat(CustomerSearchIndex.digits("+254 (712) 345-678")).isEqualTo("254712345678");
+        assertThat(CustomerSearchIndex.identifier("ab-12 34")).isEqualTo("ab1234");
+        assertThat(CustomerSearchIndex.trigrams("ab")).containsExactly("$ab", "ab$");
+        assertThat(CustomerSearchIndex.soundex("robert")).isEqualTo("R163");
+        assertThat(CustomerSearchIndex.soundex("rupert")).isEqualTo("R163");
+        assertThat(CustomerSearchIndex.soundex("ashcraft")).isEqualTo("A261");
+        assertThat(CustomerSearchIndex.soundex("lee")).isEqualTo("L000");
+    }
+
+    @Test
+    void matchesIdentifiersExactlyOrByPrefix() {
+        index(customer(1, "Jane", "Doe", "ID-1001", "jane.doe@example.com", "+254 712 000 001"),
+                customer(2, "John", "Smith", "ID-2002", "jsmith@example.com", "+254 733 000 002"));
+
+        assertThat(index.search("id1001", 10).customerIds()).containsExactly(1L);
+        // "jane" in the address also sounds like "john"
+        assertThat(index.search("JANE.DOE@example.com", 10).customerIds()).startsWith(1L);
+        assertThat(index.search("jsmith@ex", 10).customerIds()).containsExactly(2L);
+        assertThat(index.search("254733", 10).customerIds()).containsExactly(2L);
+        // Too short for a prefix match
+        assertThat(index.search("id", 10).total()).isZero();
+        assertThat(index.search(" ,; ", 10).customerIds()).isEmpty();
+    }
+
+    @Test
+    void ranksExactNamesAboveSoundAlikesAndBreaksTiesById() {
+        index(customer(5, "Mary", "Smyth", null, null, null),
+                customer(4, "Anna", "Smith", null, null, null),
+                customer(3, "Peter", "Smith", null, null, null),
+                customer(6, "Mary", "Jones", null, null, null));
+
+        CustomerSearchIndex.Hits hits = index.search("smith", 10);
+        assertThat(hits.customerIds()).containsExactly(3L, 4L, 5L);
+        assertThat(hits.total()).isEqualTo(3);
+
+        assertThat(index.search("mary smith", 10).customerIds()).startsWith(5L);
+        assertThat(index.search("smith", 1)).satisfies(limited -> {
+            assertThat(limited.customerIds()).containsExactly(3L);
+            assertThat(limited.total()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void toleratesMisspeltNames() {
+        index(customer(1, "Thompson", "Okafor", null, null, null),
+                customer(2, "Amara", "Okonkwo", null, null, null));
+
+        assertThat(index.search("thompsen", 10).customerIds()).containsExactly(1L);
+        assertThat(index.search("okonkow", 10).customerIds()).containsExactly(2L);
+    }
+
+    @Test
+    void updatedCustomerIsFoundOnlyUnderItsNewFields() {
+        // Enough documents that one stale copy does not trigger a rebuild
+        index(customer(1, "Jane", "Doe", "ID-1001", "jane@example.com", null),
+                customer(2, "Amara", "Okonkwo", null, null, null),
+                customer(3, "Peter", "Mwangi", null, null, null),
+                customer(4, "Grace", "Otieno", null, null, null));
+
+        index(customer(1, "Jane", "Roe", "ID-1001", "jane.roe@example.com", null));
+
+        assertThat(index.search("doe", 10).total()).isZero();
+        assertThat(index.search("roe", 10).customerIds()).containsExactly(1L);
+        assertThat(index.search("jane", 10).customerIds()).containsExactly(1L);
+        assertThat(index.search("jane.roe@example.com", 10).customerIds()).containsExactly(1L);
+        assertThat(index.search("id1001", 10).customerIds()).containsExactly(1L);
+    }
+
+    @Test
+    void buildsOnStartupAndPicksUpDeltas() throws Exception {
+        when(customerRepository.maxUpdatedAt()).thenReturn(LOADED_AT, LOADED_AT.plusMinutes(5));
+        doAnswer(invocation -> {
+            invocation.<Consumer<CustomerDTO>>getArgument(1).accept(customer(1, "Jane", "Doe", null, null, null));
+            return null;
+        }).when(customerRepository).forEachSearchEntry(isNull(), any());
+        doAnswer(invocation -> {
+            invocation.<Consumer<CustomerDTO>>getArgument(1).accept(customer(2, "John", "Smith", null, null, null));
+            return null;
+        }).when(customerRepository).forEachSearchEntry(any(LocalDateTime.class), any());
+
+        index.buildOnStartup();
+        for (int i = 0; i < 500 && !index.isReady(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("jane", 10).customerIds()).containsExactly(1L);
+        assertThat(index.search("smith", 10).total()).isZero();
+
+        index.refresh();
+
+        assertThat(index.search("smith", 10).customerIds()).containsExactly(2L);
+    }
+
+    @Test
+    void retriesAFailedStartupBuildOnRefresh() throws Exception {
+        when(customerRepository.maxUpdatedAt())
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(LOADED_AT);
+        doAnswer(invocation -> {
+            invocation.<Consumer<CustomerDTO>>getArgument(1).accept(customer(1, "Jane", "Doe", null, null, null));
+            return null;
+        }).when(customerRepository).forEachSearchEntry(isNull(), any());
+
+        index.buildOnStartup();
+        for (int i = 0; i < 500 && !index.isReady(); i++) {
+            index.refresh();
+            Thread.sleep(10);
+        }
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("jane", 10).customerIds()).containsExactly(1L);
+    }
+
+    private void index(CustomerDTO... customers) {
+        for (CustomerDTO customer : List.of(customers)) {
+            index.onCustomerChanged(new CustomerChangedEvent(customer));
+        }
+    }
+
+    private static CustomerDTO customer(long id, String firstName, String lastName, String idNumber, String email, String phone) {
+        return CustomerDTO.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .idNumber(idNumber)
+                .email(email)
+                .phone(phone)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.fankatech.fankaassure.domain.pension.service;
+
+import com.fankatech.fankaassure.domain.pension.repository.ContributionRepository;
+import com.fankatech.fankaassure.domain.pension.repository.PensionMemberRepository;
+import com.fankatech.fankaassure.domain.pension.repository.StatementRunRepository;
+import com.fankatech.fankaassure.dto.pension.StatementRunDTO;
+import com.fankatech.fankaassure.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatementBatchServiceTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(15);
+
+    @TempDir
+    Path outputRoot;
+
+    private StatementRunRepository statementRunRepository;
+    private StatementBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        statementRunRepository = mock(StatementRunRepository.class);
+        PensionMemberRepository pensionMemberRepository = mock(PensionMemberRepository.class);
+        when(pensionMemberRepository.findSlice(any(), anyLong(), anyInt())).thenReturn(List.of());
+        service = new StatementBatchService(statementRunRepository, pensionMemberRepository, mock(ContributionRepository.class),
+                mock(PensionPlanService.class), mock(PensionMemberService.class), outputRoot.toString(), 10, 1, LEASE);
+        when(statementRunRepository.findById(5L)).thenAnswer(invocation -> Optional.of(StatementRunDTO.builder()
+                .id(5L)
+                .statementDate(LocalDate.of(2025, 12, 31))
+                .outputFormat(StatementBatchService.FORMAT_DIRECTORY)
+                .outputPath(outputRoot.resolve("run-5").toString())
+                .status("FAILED")
+                .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void runThatFailedToStartCanBeResumed() {
+        when(statementRunRepository.claim(eq(5L), any(), any(), eq(LEASE)))
+                .thenThrow(new QueryTimeoutException("statement_run update timed out"))
+                .thenReturn(true);
+
+        assertThatThrownBy(() -> service.resumeRun(5L)).isInstanceOf(QueryTimeoutException.class);
+        service.resumeRun(5L);
+
+        verify(statementRunRepository, timeout(5_000)).markFinished(eq(5L), any(), eq("COMPLETED"), isNull());
+    }
+
+    @Test
+    void rejectsRunClaimedByAnotherNode() {
+        when(statementRunRepository.claim(eq(5L), any(), any(), eq(LEASE))).thenReturn(false, true);
+
+        assertThatThrownBy(() -> service.resumeRun(5L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("already in progress");
+        verify(statementRunRepository, never()).markFinished(any(), any(), any(), any());
+
+        // Once the other lease has expired the run can be claimed here
+        service.resumeRun(5L);
+        verify(statementRunRepository, timeout(5_000)).markFinished(eq(5L), any(), eq("COMPLETED"), isNull());
+    }
+
+    @Test
+    void rejectsSecondLaunchWhileRunning() {
+        when(statementRunRepository.claim(eq(5L), any(), any(), eq(LEASE))).thenReturn(true);
+        PensionMemberRepository blocking = mock(PensionMemberRepository.class);
+        when(blocking.findSlice(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return List.of();
+        });
+        StatementBatchService slow = new StatementBatchService(statementRunRepository, blocking, mock(ContributionRepository.class),
+                mock(PensionPlanService.class), mock(PensionMemberService.class), outputRoot.toString(), 10, 1, LEASE);
+        try {
+            slow.resumeRun(5L);
+
+            assertThatThrownBy(() -> slow.resumeRun(5L))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("already in progress");
+        } finally {
+            slow.shutdown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fankatech.fankaassure.security;
+
+import com.fankatech.fankaassure.domain.auth.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor("test-signing-key-with-at-least-256-bits!!".getBytes(StandardCharsets.UTF_8));
+
+    private JwtTokenProvider provider;
+    private UserDetailsServiceImpl userDetailsService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        provider = new JwtTokenProvider(KEY, Jwts.parserBuilder().setSigningKey(KEY).build(),
+                new TokenRevocationList(mock(RevokedTokenRepository.class)), 60_000, 100);
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+        filter = new JwtAuthenticationFilter(provider, userDetailsService);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesActiveAccount() throws Exception {
+        when(userDetailsService.isActive("alice")).thenReturn(true);
+
+        Authentication authentication = filter(bearer(token("alice")));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("alice");
+        assertThat(AuthorityUtils.authorityListToSet(authentication.getAuthorities())).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void disabledAccountStaysUnauthenticated() throws Exception {
+        when(userDetailsService.isActive("alice")).thenReturn(false);
+
+        assertThat(filter(bearer(token("alice")))).isNull();
+    }
+
+    @Test
+    void missingOrInvalidTokenStaysUnauthenticated() throws Exception {
+        when(userDetailsService.isActive("alice")).thenReturn(true);
+
+        assertThat(filter(new MockHttpServletRequest())).isNull();
+        assertThat(filter(bearer("not-a-token"))).isNull();
+        MockHttpServletRequest basic = new MockHttpServletRequest();
+        basic.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + token("alice"));
+        assertThat(filter(basic)).isNull();
+    }
+
+    @Test
+    void extractsBearerTokenCaseInsensitively() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "bearer  abc.def.ghi ");
+        assertThat(JwtAuthenticationFilter.bearerToken(request)).isEqualTo("abc.def.ghi");
+
+        MockHttpServletRequest blank = new MockHttpServletRequest();
+        blank.addHeader(HttpHeaders.AUTHORIZATION, "Bearer   ");
+        assertThat(JwtAuthenticationFilter.bearerToken(blank)).isNull();
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(chain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String token(String username) {
+        return provider.createToken(UsernamePasswordAuthenticationToken.authenticated(username, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"))).getAccessToken();
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.fankatech.fankaassure.security;
+
+import com.fankatech.fankaassure.domain.auth.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtTokenProviderTest {
+
+    private static final SecretKey KEY = key("test-signing-key-with-at-least-256-bits!!");
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationList revocationList;
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revocationList = new TokenRevocationList(revokedTokenRepository);
+        provider = provider(KEY, 60_000);
+    }
+
+    @Test
+    void verifiesSignedToken() {
+        String token = provider.createToken(user("alice", "ROLE_ADMIN", "ROLE_USER")).getAccessToken();
+
+        JwtTokenProvider.VerifiedToken verified = provider.verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.username()).isEqualTo("alice");
+        assertThat(verified.tokenId()).isNotBlank();
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(AuthorityUtils.authorityListToSet(verified.authorities())).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(provider.verify(token)).isSameAs(verified);
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String forged = provider(key("another-signing-key-with-at-least-256-bits"), 60_000)
+                .createToken(user("alice", "ROLE_ADMIN")).getAccessToken();
+
+        assertThat(provider.verify(forged)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedToken() {
+        String token = provider.createToken(user("alice", "ROLE_USER")).getAccessToken();
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + Jwts.builder().setSubject("mallory").compact().split("\\.")[1] + "." + parts[2];
+
+        assertThat(provider.verify(tampered)).isNull();
+        assertThat(provider.verify("not-a-token")).isNull();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = provider(KEY, -1_000).createToken(user("alice", "ROLE_USER")).getAccessToken();
+
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenAfterItWasCached() {
+        String token = provider.createToken(user("alice", "ROLE_USER")).getAccessToken();
+        JwtTokenProvider.VerifiedToken verified = provider.verify(token);
+
+        provider.revoke(token);
+
+        verify(revokedTokenRepository).insert(eq(verified.tokenId()), eq(verified.expiresAt()));
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void revocationByAnotherNodeRejectsCachedToken() {
+        String token = provider.createToken(user("alice", "ROLE_USER")).getAccessToken();
+        JwtTokenProvider.VerifiedToken verified = provider.verify(token);
+        when(revokedTokenRepository.findRevokedSince(any())).thenReturn(List.of(
+                new RevokedTokenRepository.RevokedToken(verified.tokenId(), verified.expiresAt(), Instant.now())));
+
+        revocationList.refresh();
+
+        assertThat(provider.verify(token)).isNull();
+    }
+
+    @Test
+    void everyRequestGetsItsOwnAuthentication() {
+        String token = provider.createToken(user("alice", "ROLE_USER")).getAccessToken();
+        JwtTokenProvider.VerifiedToken verified = provider.verify(token);
+
+        Authentication first = verified.authentication();
+        ((UsernamePasswordAuthenticationToken) first).setDetails("request-1");
+        Authentication second = provider.verify(token).authentication();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getDetails()).isNull();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("alice");
+    }
+
+    private JwtTokenProvider provider(SecretKey key, long expirationMillis) {
+        return new JwtTokenProvider(key, Jwts.parserBuilder().setSigningKey(KEY).build(), revocationList, expirationMillis, 100);
+    }
+
+    private static Authentication user(String username, String... roles) {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(roles);
+        return UsernamePasswordAuthenticationToken.authenticated(username, null, authorities);
+    }
+
+    private static SecretKey key(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
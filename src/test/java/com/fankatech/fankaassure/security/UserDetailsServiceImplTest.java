@@ -0,0 +1,74 @@
+package com.fankatech.fankaassure.security;
+
+import com.fankatech.fankaassure.domain.auth.repository.UserAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTest {
+
+    private UserAccountRepository repository;
+    private UserDetailsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserAccountRepository.class);
+        service = new UserDetailsServiceImpl(repository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void loadsAccountOnceWithinTimeToLive() {
+        when(repository.findByUsername("alice")).thenReturn(Optional.of(account("alice", true)));
+
+        UserDetails user = service.loadUserByUsername("alice");
+
+        assertThat(user.isEnabled()).isTrue();
+        assertThat(AuthorityUtils.authorityListToSet(user.getAuthorities())).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(service.isActive("alice")).isTrue();
+        verify(repository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void disabledAccountIsNotActive() {
+        when(repository.findByUsername("bob")).thenReturn(Optional.of(account("bob", false)));
+
+        assertThat(service.isActive("bob")).isFalse();
+        assertThat(service.loadUserByUsername("bob").isEnabled()).isFalse();
+    }
+
+    @Test
+    void unknownUsernameIsNotCached() {
+        when(repository.findByUsername("carol")).thenReturn(Optional.empty(), Optional.of(account("carol", true)));
+
+        assertThatThrownBy(() -> service.loadUserByUsername("carol")).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(service.isActive("carol")).isTrue();
+        verify(repository, times(2)).findByUsername("carol");
+    }
+
+    @Test
+    void evictReloadsAccount() {
+        when(repository.findByUsername("dave")).thenReturn(Optional.of(account("dave", true)), Optional.of(account("dave", false)));
+        assertThat(service.isActive("dave")).isTrue();
+
+        service.evict("dave");
+
+        assertThat(service.isActive("dave")).isFalse();
+        verify(repository, times(2)).findByUsername("dave");
+    }
+
+    private static UserAccountRepository.UserAccount account(String username, boolean enabled) {
+        return new UserAccountRepository.UserAccount(username, "{noop}secret", "ADMIN, USER", enabled);
+    }
+}
@@ -0,0 +1,78 @@
+package com.fankatech.fankaassure.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentStoreTest {
+
+    // sha256("hello world")
+    private static final String HELLO_SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    Path root;
+
+    private DocumentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new DocumentStore(root.toString());
+    }
+
+    @Test
+    void storesContentUnderItsSha256() throws IOException {
+        DocumentStore.StoredContent stored = store.store(content("hello world"));
+
+        assertThat(stored.sha256()).isEqualTo(HELLO_SHA256);
+        assertThat(stored.size()).isEqualTo(11);
+        assertThat(stored.deduplicated()).isFalse();
+        Path path = store.resolve(HELLO_SHA256);
+        assertThat(path).isEqualTo(root.toAbsolutePath().resolve("b9").resolve(HELLO_SHA256));
+        assertThat(Files.readString(path)).isEqualTo("hello world");
+    }
+
+    @Test
+    void identicalContentSharesOneFile() throws IOException {
+        store.store(content("hello world"));
+
+        DocumentStore.StoredContent again = store.store(content("hello world"));
+
+        assertThat(again.sha256()).isEqualTo(HELLO_SHA256);
+        assertThat(again.deduplicated()).isTrue();
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(store.resolve(HELLO_SHA256));
+        }
+    }
+
+    @Test
+    void storesEmptyContentAndLeavesNoTemporaryFiles() throws IOException {
+        DocumentStore.StoredContent stored = store.store(content(""));
+
+        assertThat(stored.sha256()).isEqualTo("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        assertThat(stored.size()).isZero();
+        try (var incoming = Files.list(root.resolve("incoming"))) {
+            assertThat(incoming).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsKeysThatAreNotSha256() {
+        assertThatThrownBy(() -> store.resolve("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.resolve(HELLO_SHA256.toUpperCase())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.resolve(HELLO_SHA256.substring(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.resolve(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
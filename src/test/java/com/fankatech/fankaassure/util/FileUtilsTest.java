@@ -0,0 +1,177 @@
+package com.fankatech.fankaassure.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileUtilsTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String ETAG = "\"abc123\"";
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.writeString(dir.resolve("document.bin"), CONTENT);
+    }
+
+    @Test
+    void copyHashesEveryByte() throws Exception {
+        byte[] data = new byte[200_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        long size = FileUtils.copy(new ByteArrayInputStream(data), dir.resolve("copy.bin"), digest);
+
+        assertThat(size).isEqualTo(data.length);
+        assertThat(Files.readAllBytes(dir.resolve("copy.bin"))).isEqualTo(data);
+        assertThat(HexFormat.of().formatHex(digest.digest()))
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data)));
+        assertThatThrownBy(() -> FileUtils.copy(new ByteArrayInputStream(data), dir.resolve("copy.bin"), digest))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void transferRejectsRegionPastEndOfFile() {
+        assertThatThrownBy(() -> FileUtils.transfer(file, 15, 10, Channels.newChannel(new ByteArrayOutputStream())))
+                .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void servesWholeFileWithoutRange() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = serve(new MockHttpServletRequest("GET", "/"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(CONTENT.length());
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getETag()).isEqualTo(ETAG);
+        assertThat(body(response)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void servesSingleRange() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = serve(request("bytes=5-9"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(5);
+        assertThat(body(response)).isEqualTo("56789");
+    }
+
+    @Test
+    void servesSuffixAndOpenEndedRanges() throws IOException {
+        ResponseEntity<StreamingResponseBody> suffix = serve(request("bytes=-4"));
+        assertThat(suffix.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 16-19/20");
+        assertThat(body(suffix)).isEqualTo("ghij");
+
+        ResponseEntity<StreamingResponseBody> openEnded = serve(request("bytes=18-"));
+        assertThat(openEnded.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 18-19/20");
+        assertThat(body(openEnded)).isEqualTo("ij");
+
+        // Clamped to the file length
+        ResponseEntity<StreamingResponseBody> past = serve(request("bytes=15-99"));
+        assertThat(past.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 15-19/20");
+        assertThat(body(past)).isEqualTo("fghij");
+    }
+
+    @Test
+    void unsatisfiableRangeIs416() {
+        ResponseEntity<StreamingResponseBody> response = serve(request("bytes=20-30"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void multipleOrMalformedRangesGetWholeFile() throws IOException {
+        for (String range : new String[]{"bytes=0-1,5-6", "pages=1-2"}) {
+            ResponseEntity<StreamingResponseBody> response = serve(request(range));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(body(response)).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void staleIfRangeGetsWholeFile() throws IOException {
+        MockHttpServletRequest request = request("bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        ResponseEntity<StreamingResponseBody> response = serve(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(body(response)).isEqualTo(CONTENT);
+
+        MockHttpServletRequest current = request("bytes=0-3");
+        current.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        assertThat(body(serve(current))).isEqualTo("0123");
+    }
+
+    @Test
+    void matchingEtagIsNotModified() {
+        MockHttpServletRequest request = request("bytes=0-3");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        ResponseEntity<StreamingResponseBody> response = serve(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void handsRangeToSendfileWhenSupported() {
+        MockHttpServletRequest request = request("bytes=5-9");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        ResponseEntity<StreamingResponseBody> response = serve(request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getBody()).isNull();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(file.toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(5L);
+        // Exclusive end
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(10L);
+    }
+
+    private ResponseEntity<StreamingResponseBody> serve(MockHttpServletRequest request) {
+        return FileUtils.serve(request, file, CONTENT.length(), ETAG, new HttpHeaders());
+    }
+
+    private static MockHttpServletRequest request(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,63 @@
+package com.fankatech.fankaassure.util;
+
+import com.fankatech.fankaassure.dto.common.CursorPageDTO;
+import com.fankatech.fankaassure.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageTokensTest {
+
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "claimDate", "id");
+
+    @Test
+    void cursorRoundTripsItsKeys() {
+        String scope = PageTokens.scope("claims", "CLM-1", null);
+        String token = PageTokens.encode(scope, LocalDate.of(2025, 3, 1), 42L);
+
+        assertThat(PageTokens.decode(token, scope, 2)).containsExactly("2025-03-01", "42");
+        assertThat(PageTokens.decode(null, scope, 2)).isNull();
+    }
+
+    @Test
+    void rejectsCursorFromOtherFiltersOrTampered() {
+        String token = PageTokens.encode(PageTokens.scope("claims", "CLM-1"), "2025-03-01", 42L);
+
+        assertThatThrownBy(() -> PageTokens.decode(token, PageTokens.scope("claims", "CLM-2"), 2))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("does not match");
+        assertThatThrownBy(() -> PageTokens.decode("%%%", PageTokens.scope("claims", "CLM-1"), 2))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageTokens.key("x", Long::valueOf))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void pageUsesExtraRowOnlyToSignalMore() {
+        CursorPageDTO<Integer> page = PageTokens.page(List.of(1, 2, 3), 2, "s", i -> new Object[]{i}, null);
+
+        assertThat(page.getContent()).containsExactly(1, 2);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(PageTokens.decode(page.getNextCursor(), "s", 1)).containsExactly("2");
+        assertThat(PageTokens.page(List.of(1), 2, "s", i -> new Object[]{i}, () -> 1).getNextCursor()).isNull();
+    }
+
+    @Test
+    void acceptsOnlyTheListingOrder() {
+        assertThatCode(() -> PageTokens.requireOrder(PageRequest.of(0, 20), ORDER)).doesNotThrowAnyException();
+        assertThatCode(() -> PageTokens.requireOrder(PageRequest.of(0, 20, ORDER), ORDER)).doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> PageTokens.requireOrder(PageRequest.of(0, 20, Sort.by("amount")), ORDER))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("amount");
+        assertThatThrownBy(() -> PageTokens.requireOrder(PageRequest.of(0, 20, Sort.by("claimDate", "id")), ORDER))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fankatech.fankaassure.util;
+
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfGeneratorTest {
+
+    private final PdfGenerator generator = generator();
+
+    @Test
+    void appendsCompiledTemplatesUnderTheLetterhead() throws Exception {
+        PdfGenerator.Template terms = generator.compile((document, fonts) -> {
+            document.add(new Paragraph("Terms and conditions", fonts.heading()));
+            document.newPage();
+            document.add(new Paragraph("Claims procedure", fonts.body()));
+        });
+        assertThat(terms.pages()).isEqualTo(2);
+
+        // Rendered twice, so each render must import the shared sources into its own writer
+        for (int i = 0; i < 2; i++) {
+            byte[] pdf = generator.renderToBytes("Policy schedule",
+                    (document, fonts) -> document.add(new Paragraph("Policy POL-0001", fonts.body())), terms);
+
+            PdfReader reader = new PdfReader(pdf);
+            try {
+                assertThat(reader.getNumberOfPages()).isEqualTo(3);
+                assertThat(PdfTextExtractor.getTextFromPage(reader, 1)).contains("Policy POL-0001", "Acme Life", "Page 1");
+                assertThat(PdfTextExtractor.getTextFromPage(reader, 2)).contains("Terms and conditions", "Acme Life", "Page 2");
+                assertThat(PdfTextExtractor.getTextFromPage(reader, 3)).contains("Claims procedure");
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private static PdfGenerator generator() {
+        try {
+            return new PdfGenerator("Acme Life", "1 Main Street");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}